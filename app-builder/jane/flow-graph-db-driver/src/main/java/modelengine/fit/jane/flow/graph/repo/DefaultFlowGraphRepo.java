@@ -8,6 +8,9 @@ package modelengine.fit.jane.flow.graph.repo;
 
 import static modelengine.fit.jober.common.ErrorCodes.INPUT_PARAM_IS_EMPTY;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import modelengine.fit.jane.flow.graph.FlowGraphMapper;
 import modelengine.fit.jane.flow.graph.entity.FlowGraphDefinition;
 import modelengine.fit.jober.common.ErrorCodes;
@@ -19,8 +22,11 @@ import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.model.RangedResultSet;
 import modelengine.fitframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * DefaultFlowGraphRepo
@@ -35,6 +41,14 @@ public class DefaultFlowGraphRepo implements FlowGraphRepo {
 
     private final FlowGraphMapper flowGraphMapper;
 
+    /**
+     * 分页列表的总数缓存，首页查询时刷新，翻页时复用，流程新增或删除时清空。
+     */
+    private final Cache<List<Object>, Integer> countCache = Caffeine.newBuilder()
+            .expireAfterWrite(30, TimeUnit.SECONDS)
+            .maximumSize(1024)
+            .build();
+
     public DefaultFlowGraphRepo(FlowGraphMapper flowGraphMapper) {
         this.flowGraphMapper = flowGraphMapper;
     }
@@ -47,6 +61,7 @@ public class DefaultFlowGraphRepo implements FlowGraphRepo {
         Optional<FlowGraphDefinition> findOne = flowGraphMapper.find(tenantId, id, version);
         if (!findOne.isPresent()) {
             flowGraphMapper.create(flowGraphDefinition);
+            this.countCache.invalidateAll();
         } else {
             if (!StringUtils.equals(findOne.get().getStatus(), "unpublished")) {
                 log.error("graph data with id: {} version: {} has been published, can not be modified.", id, version);
@@ -88,7 +103,9 @@ public class DefaultFlowGraphRepo implements FlowGraphRepo {
     public int delete(String flowId, String version) {
         Validation.notNull(flowId, () -> new JobberParamException(INPUT_PARAM_IS_EMPTY, "flowId"));
         Validation.notNull(version, () -> new JobberParamException(INPUT_PARAM_IS_EMPTY, "version"));
-        return flowGraphMapper.delete(flowId, version);
+        int deleted = flowGraphMapper.delete(flowId, version);
+        this.countCache.invalidateAll();
+        return deleted;
     }
 
     @Override
@@ -112,7 +129,23 @@ public class DefaultFlowGraphRepo implements FlowGraphRepo {
             int limit) {
         List<FlowGraphDefinition> flowGraphList = flowGraphMapper.findByFlowIdsOrUser(flowIds, createdBy, offset,
                 limit);
-        int total = flowGraphMapper.getCount(flowIds, createdBy);
-        return RangedResultSet.create(flowGraphList, offset, limit, total);
+        return RangedResultSet.create(flowGraphList, offset, limit,
+                this.getTotal(flowIds, createdBy, offset, limit, flowGraphList.size()));
+    }
+
+    private int getTotal(List<String> flowIds, String createdBy, int offset, int limit, int size) {
+        List<Object> key = Arrays.asList(flowIds == null ? null : new ArrayList<>(flowIds), createdBy);
+        // 未取满一页且不为空（或位于首页）时已到达末尾，总数可以直接算出，无需统计.
+        if (size < limit && (size > 0 || offset == 0)) {
+            int total = offset + size;
+            this.countCache.put(key, total);
+            return total;
+        }
+        if (offset == 0) {
+            int total = flowGraphMapper.getCount(flowIds, createdBy);
+            this.countCache.put(key, total);
+            return total;
+        }
+        return this.countCache.get(key, ignored -> flowGraphMapper.getCount(flowIds, createdBy));
     }
 }
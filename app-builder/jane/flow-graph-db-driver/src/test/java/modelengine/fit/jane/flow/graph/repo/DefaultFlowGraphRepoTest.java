@@ -0,0 +1,73 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jane.flow.graph.repo;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jane.flow.graph.FlowGraphMapper;
+import modelengine.fit.jane.flow.graph.entity.FlowGraphDefinition;
+import modelengine.fitframework.model.RangedResultSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link DefaultFlowGraphRepo} 对应测试类。
+ *
+ * @author 孙怡菲
+ * @since 2025-04-28
+ */
+class DefaultFlowGraphRepoTest {
+    private FlowGraphMapper flowGraphMapper;
+
+    private DefaultFlowGraphRepo repo;
+
+    @BeforeEach
+    void setUp() {
+        flowGraphMapper = Mockito.mock(FlowGraphMapper.class);
+        repo = new DefaultFlowGraphRepo(flowGraphMapper);
+    }
+
+    @Test
+    @DisplayName("测试首页未取满时直接得到总数，不执行统计")
+    void shouldSkipCountWhenFirstPageIsNotFull() {
+        when(flowGraphMapper.findByFlowIdsOrUser(any(), eq("user"), eq(0), eq(10))).thenReturn(
+                List.of(new FlowGraphDefinition(), new FlowGraphDefinition()));
+
+        RangedResultSet<FlowGraphDefinition> result = repo.getFlowList(Collections.emptyList(), "user", 0, 10);
+
+        Assertions.assertEquals(2, result.getRange().getTotal());
+        verify(flowGraphMapper, never()).getCount(any(), any());
+    }
+
+    @Test
+    @DisplayName("测试翻页时复用首页统计的总数")
+    void shouldReuseCountWhenTurningPages() {
+        List<FlowGraphDefinition> fullPage = Collections.nCopies(10, new FlowGraphDefinition());
+        when(flowGraphMapper.findByFlowIdsOrUser(any(), eq("user"), anyInt(), eq(10))).thenReturn(fullPage);
+        when(flowGraphMapper.getCount(any(), eq("user"))).thenReturn(100);
+
+        repo.getFlowList(Collections.emptyList(), "user", 0, 10);
+        repo.getFlowList(Collections.emptyList(), "user", 10, 10);
+        RangedResultSet<FlowGraphDefinition> result = repo.getFlowList(Collections.emptyList(), "user", 20, 10);
+
+        Assertions.assertEquals(100, result.getRange().getTotal());
+        verify(flowGraphMapper, times(1)).getCount(any(), eq("user"));
+    }
+}
@@ -9,6 +9,7 @@ package modelengine.fit.jane.meta.multiversion;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.common.BadRequestException;
 import modelengine.fit.jober.common.JoberGenericableException;
@@ -110,6 +111,19 @@ public interface MetaInstanceService {
     @Genericable(id = "fcf1745068eb47559af543a037b89eg5")
     RangedResultSet<Instance> list(List<String> ids, long offset, int limit, OperationContext context);
 
+    /**
+     * 按游标查询meta实例。
+     * <p>结果按创建时间与实例唯一标识升序排列，查询代价与所在页的深度无关，且不统计总数。</p>
+     *
+     * @param versionId 表示实例所属meta唯一标识的 {@link String}。
+     * @param cursor 表示上一页返回的游标的 {@link String}，为 {@code null} 时从第一条开始查询。
+     * @param limit 表示查询到的结果集中的最大数量的 32 位整数的 {@code int}。
+     * @param context 表示操作上下文的 {@link OperationContext}。
+     * @return 表示查询到的结果页的 {@link InstancePage}。
+     */
+    @Genericable(id = "15262a4fd34f411685df807b78357654")
+    InstancePage listByCursor(String versionId, String cursor, int limit, OperationContext context);
+
     /**
      * 根据给定的实例唯一标识获取对应的 meta 唯一标识。
      *
@@ -0,0 +1,53 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jane.meta.multiversion.instance;
+
+import java.util.List;
+
+/**
+ * 表示按游标查询的meta实例结果页。
+ *
+ * @author 邬涨财
+ * @since 2025-04-28
+ */
+public class InstancePage {
+    private List<Instance> results;
+
+    private String nextCursor;
+
+    /**
+     * InstancePage
+     */
+    public InstancePage() {
+    }
+
+    public InstancePage(List<Instance> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Instance> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Instance> results) {
+        this.results = results;
+    }
+
+    /**
+     * 获取下一页的游标，没有更多数据时为 {@code null}。
+     *
+     * @return 表示下一页游标的 {@link String}。
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,42 @@
+#!/bin/sh
+# 对话启动首字节耗时（time-to-first-byte）基准脚本.
+# 对已发布应用连续发起 N 次 /app_chat 请求，统计从发出请求到收到第一个 SSE 字节的耗时分位数.
+# 首次请求会构建运行时快照（冷启动），其后的请求复用快照；修改应用配置参数 app-engine.runtime-snapshot.enabled
+# 为 false 后重新执行，可对比关闭快照时的耗时.
+#
+# 用法：BASE_URL=http://127.0.0.1:8080 TENANT_ID=31f20efc7e0848deab6a6bc10fc3021e APP_ID=<已发布应用id> \
+#       COOKIE='<登录cookie>' ROUNDS=200 sh chat_start_ttfb.sh
+set -e
+
+BASE_URL=${BASE_URL:-http://127.0.0.1:8080}
+TENANT_ID=${TENANT_ID:?TENANT_ID is required}
+APP_ID=${APP_ID:?APP_ID is required}
+ROUNDS=${ROUNDS:-100}
+QUESTION=${QUESTION:-hello}
+COOKIE=${COOKIE:-}
+
+URL="$BASE_URL/v1/api/$TENANT_ID/app_chat"
+BODY="{\"app_id\":\"$APP_ID\",\"question\":\"$QUESTION\",\"context\":{\"use_memory\":false,\"user_context\":{}}}"
+RESULT=$(mktemp)
+trap 'rm -f "$RESULT"' EXIT
+
+i=0
+while [ "$i" -lt "$ROUNDS" ]; do
+    # time_starttransfer 即首字节耗时，curl 仍会读完整个对话流，保证每轮对话互不重叠.
+    curl -s -o /dev/null -N --max-time 60 -X POST "$URL" \
+        -H 'Content-Type: application/json' -H 'Accept: text/event-stream' -H "Cookie: $COOKIE" \
+        -d "$BODY" -w '%{time_starttransfer}\n' >> "$RESULT" || true
+    i=$((i + 1))
+done
+
+echo "first request (cold): $(head -n 1 "$RESULT")s"
+tail -n +2 "$RESULT" | sort -n | awk '
+    { v[NR] = $1; sum += $1 }
+    END {
+        if (NR == 0) { exit }
+        printf "warm requests: %d\n", NR
+        printf "avg: %.4fs\n", sum / NR
+        printf "p50: %.4fs\n", v[int(NR * 0.50) > 0 ? int(NR * 0.50) : 1]
+        printf "p90: %.4fs\n", v[int(NR * 0.90) > 0 ? int(NR * 0.90) : 1]
+        printf "p99: %.4fs\n", v[int(NR * 0.99) > 0 ? int(NR * 0.99) : 1]
+    }'
@@ -0,0 +1,55 @@
+#!/bin/sh
+# 大文件并发下载压测脚本.
+# 在 /var/share 下生成一个大文件，并发发起完整下载与 Range 下载，校验下载内容的字节数，并输出服务进程的堆使用情况.
+# 建议以受限的堆启动服务（例如 -Xmx512m）后执行：文件以流的方式返回，堆使用不随文件大小与并发数增长.
+#
+# 用法：BASE_URL=http://127.0.0.1:8080 TENANT_ID=31f20efc7e0848deab6a6bc10fc3021e COOKIE='<登录cookie>' \
+#       FILE_SIZE_MB=1024 CONCURRENCY=32 SERVICE_PID=<服务进程号> sh file_download_load.sh
+set -e
+
+BASE_URL=${BASE_URL:-http://127.0.0.1:8080}
+TENANT_ID=${TENANT_ID:?TENANT_ID is required}
+FILE_SIZE_MB=${FILE_SIZE_MB:-1024}
+CONCURRENCY=${CONCURRENCY:-32}
+COOKIE=${COOKIE:-}
+SERVICE_PID=${SERVICE_PID:-}
+FILE=/var/share/download-benchmark.bin
+
+if [ ! -f "$FILE" ]; then
+    dd if=/dev/urandom of="$FILE" bs=1M count="$FILE_SIZE_MB" status=none
+fi
+SIZE=$(stat -c %s "$FILE")
+URL="$BASE_URL/v1/api/$TENANT_ID/file?filePath=$FILE&fileName=download-benchmark.bin"
+PART=$((SIZE / CONCURRENCY))
+
+heap() {
+    if [ -n "$SERVICE_PID" ]; then
+        jstat -gc "$SERVICE_PID" | awk 'NR == 2 { printf "heap used: %.1f MB\n", ($3 + $4 + $6 + $8) / 1024 }'
+    fi
+}
+
+heap
+if [ -n "$SERVICE_PID" ]; then
+    # 下载期间每秒采样一次堆使用.
+    (while true; do heap; sleep 1; done) &
+    SAMPLER=$!
+    trap 'kill "$SAMPLER" 2>/dev/null' EXIT
+fi
+start=$(date +%s)
+PIDS=""
+i=0
+while [ "$i" -lt "$CONCURRENCY" ]; do
+    if [ $((i % 2)) -eq 0 ]; then
+        curl -s -o /dev/null -H "Cookie: $COOKIE" -w "full  %{http_code} %{size_download}\n" "$URL" &
+    else
+        from=$((i * PART))
+        to=$((from + PART - 1))
+        curl -s -o /dev/null -H "Cookie: $COOKIE" -H "Range: bytes=$from-$to" \
+            -w "range %{http_code} %{size_download}\n" "$URL" &
+    fi
+    PIDS="$PIDS $!"
+    i=$((i + 1))
+done
+wait $PIDS
+end=$(date +%s)
+echo "file size: $SIZE bytes, range part: $PART bytes, elapsed: $((end - start))s"
@@ -0,0 +1,89 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.config;
+
+import modelengine.fit.jane.task.util.Entities;
+import modelengine.fit.jober.aipp.mapper.ChatSessionRelayMapper;
+import modelengine.fit.jober.aipp.service.ChatSessionBus;
+import modelengine.fit.jober.aipp.service.impl.DbChatSessionBus;
+import modelengine.fit.jober.aipp.service.impl.LocalChatSessionBus;
+import modelengine.fitframework.annotation.Bean;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.plugin.Plugin;
+import modelengine.fitframework.plugin.PluginStoppingObserver;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.StringUtils;
+
+/**
+ * 会话总线配置
+ * <p>插件停止时关闭数据库中转总线的拉取与清理任务。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+@Component
+public class ChatSessionBusConfig implements PluginStoppingObserver {
+    private static final Logger log = Logger.get(ChatSessionBusConfig.class);
+    private static final String DB_TYPE = "db";
+
+    private final Plugin plugin;
+    private volatile DbChatSessionBus dbChatSessionBus;
+
+    /**
+     * 构造会话总线配置。
+     *
+     * @param plugin 表示当前插件的 {@link Plugin}。
+     */
+    public ChatSessionBusConfig(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * 注入会话总线，集群部署时配置为 {@code db}，默认只在本节点内投递。
+     *
+     * @param relayMapper 表示会话中转数据库操作的 {@link ChatSessionRelayMapper}。
+     * @param serializer 表示转发数据序列化器的 {@link ObjectSerializer}。
+     * @param type 表示总线类型的 {@link String}。
+     * @param nodeId 表示本节点标识的 {@link String}，为空时随机生成。
+     * @param pollIntervalMillis 表示拉取转发数据间隔的 {@code long}。
+     * @param messageTtlSeconds 表示转发数据存活时间的 {@code long}。
+     * @param batchSize 表示单次拉取条数的 {@code int}。
+     * @return 表示会话总线的 {@link ChatSessionBus}。
+     */
+    @Bean
+    public ChatSessionBus getChatSessionBus(ChatSessionRelayMapper relayMapper,
+            @Fit(alias = "json") ObjectSerializer serializer,
+            @Value("${app-engine.session-bus.type:local}") String type,
+            @Value("${app-engine.session-bus.node-id:}") String nodeId,
+            @Value("${app-engine.session-bus.poll-interval-millis:100}") long pollIntervalMillis,
+            @Value("${app-engine.session-bus.message-ttl-seconds:60}") long messageTtlSeconds,
+            @Value("${app-engine.session-bus.batch-size:100}") int batchSize) {
+        if (!StringUtils.equalsIgnoreCase(DB_TYPE, type)) {
+            return new LocalChatSessionBus();
+        }
+        String actualNodeId = StringUtils.isBlank(nodeId) ? Entities.generateId() : nodeId;
+        log.info("Chat session bus relays through database. [nodeId={}]", actualNodeId);
+        this.dbChatSessionBus = new DbChatSessionBus(relayMapper,
+                serializer,
+                actualNodeId,
+                pollIntervalMillis,
+                messageTtlSeconds,
+                batchSize);
+        return this.dbChatSessionBus;
+    }
+
+    @Override
+    public void onPluginStopping(Plugin plugin) {
+        DbChatSessionBus bus = this.dbChatSessionBus;
+        if (plugin == this.plugin && bus != null) {
+            bus.close();
+        }
+    }
+}
@@ -30,6 +30,7 @@ import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.condition.AppQueryCondition;
 import modelengine.fit.jober.aipp.converters.ConverterFactory;
+import modelengine.fit.jober.aipp.domains.app.service.AppArchiveService;
 import modelengine.fit.jober.aipp.domains.app.service.AppDomainService;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
@@ -43,6 +44,7 @@ import modelengine.fit.jober.aipp.dto.PublishedAppResDto;
 import modelengine.fit.jober.aipp.dto.check.AppCheckDto;
 import modelengine.fit.jober.aipp.dto.check.CheckResult;
 import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.dto.export.AppImportResult;
 import modelengine.fit.jober.aipp.events.AppCreatingEvent;
 import modelengine.fit.jober.aipp.service.AppBuilderAppService;
 import modelengine.fit.jober.aipp.util.AppImExportUtil;
@@ -60,7 +62,12 @@ import modelengine.jade.service.annotations.SpanAttr;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -85,6 +92,7 @@ public class AppBuilderAppController extends AbstractController {
     private final LocaleService localeService;
     private final AppVersionService appVersionService;
     private final AppDomainService appDomainService;
+    private final AppArchiveService appArchiveService;
     private final ConverterFactory converterFactory;
     private final Map<String, String> exportMeta;
     private final FitRuntime fitRuntime;
@@ -98,14 +106,16 @@ public class AppBuilderAppController extends AbstractController {
      * @param appGenericable 表示app通用服务的 {@link AppBuilderAppService}。
      * @param excludeNames 表示排除名称列表的 {@link List}{@code <}{@link String}{@code >}。
      * @param localeService 表示获取国际化信息的 {@link LocaleService}。
+     * @param appArchiveService 表示应用批量导入导出服务的 {@link AppArchiveService}。
      * @param fitRuntime 表示FIT运行时环境的 {@link FitRuntime}。
      */
     public AppBuilderAppController(Authenticator authenticator, AppBuilderAppService appService,
             modelengine.fit.jober.aipp.genericable.AppBuilderAppService appGenericable,
             @Value("${app-engine.exclude-names}") List<String> excludeNames, LocaleService localeService,
             AppVersionService appVersionService, AppDomainService appDomainService,
-            @Value("${export-meta}") Map<String, String> exportMeta, ConverterFactory converterFactory,
-            @Value("${app-engine.max-number}") Integer maxAppNum, FitRuntime fitRuntime) {
+            AppArchiveService appArchiveService, @Value("${export-meta}") Map<String, String> exportMeta,
+            ConverterFactory converterFactory, @Value("${app-engine.max-number}") Integer maxAppNum,
+            FitRuntime fitRuntime) {
         super(authenticator);
         // 需要FIT框架支持exclude-names配置大括号
         this.excludeNames = replaceAsterisks(excludeNames);
@@ -114,6 +124,7 @@ public class AppBuilderAppController extends AbstractController {
         this.localeService = localeService;
         this.appVersionService = appVersionService;
         this.appDomainService = appDomainService;
+        this.appArchiveService = appArchiveService;
         this.exportMeta = exportMeta;
         this.converterFactory = converterFactory;
         this.fitRuntime = fitRuntime;
@@ -388,6 +399,57 @@ public class AppBuilderAppController extends AbstractController {
                 fileStream.available());
     }
 
+    /**
+     * 批量导出应用配置。
+     * <p>应用逐个写入临时压缩包，响应读取完毕后临时文件被删除，内存占用与应用个数无关。</p>
+     *
+     * @param httpRequest 表示 http 请求的 {@link HttpClassicServerRequest}。
+     * @param tenantId 表示租户 id 的 {@link String}。
+     * @param appIds 表示待导出配置的应用 id 列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param response 表示服务端响应的 {@link HttpClassicServerResponse}。
+     * @return 表示导出的应用压缩包的 {@link FileEntity}。
+     */
+    @CarverSpan(value = "operation.appBuilderApp.batchExport")
+    @PostMapping(path = "/export", description = "批量导出应用配置")
+    public FileEntity exportApps(HttpClassicServerRequest httpRequest, @PathVariable("tenant_id") String tenantId,
+            @RequestBody List<String> appIds, HttpClassicServerResponse response) {
+        if (appIds == null || appIds.isEmpty()) {
+            throw new AippException(AippErrCode.INPUT_PARAM_IS_INVALID, "appIds");
+        }
+        Path archive = null;
+        try {
+            archive = Files.createTempFile("app-export-", ".zip");
+            try (OutputStream out = Files.newOutputStream(archive)) {
+                this.appArchiveService.exportApps(appIds, this.exportMeta, out, this.contextOf(httpRequest, tenantId));
+            }
+            long length = Files.size(archive);
+            return FileEntity.create(response,
+                    "apps.zip",
+                    Files.newInputStream(archive, StandardOpenOption.DELETE_ON_CLOSE),
+                    length,
+                    FileEntity.Position.ATTACHMENT,
+                    null);
+        } catch (IOException e) {
+            deleteQuietly(archive);
+            log.error("Failed to create application archive", e);
+            throw new AippException(AippErrCode.EXPORT_ARCHIVE_FAILED);
+        } catch (RuntimeException e) {
+            deleteQuietly(archive);
+            throw e;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary application archive. [path={}]", path, e);
+        }
+    }
+
     /**
      * 根据应用配置进行可用性校验。
      *
@@ -438,6 +500,47 @@ public class AppBuilderAppController extends AbstractController {
         }
     }
 
+    /**
+     * 根据批量导出的压缩包导入应用。
+     * <p>压缩包以流的方式读取，返回每个应用的导入结果。导入中断时，将已成功的源应用 id 通过 {@code completed}
+     * 传入即可从中断处继续导入。</p>
+     *
+     * @param httpRequest 表示 http 请求的 {@link HttpClassicServerRequest}。
+     * @param tenantId 表示租户 id 的 {@link String}。
+     * @param completedAppIds 表示需要跳过的源应用 id 列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param archive 表示上传的压缩包的 {@link PartitionedEntity}。
+     * @return 表示每个应用导入结果的 {@link List}{@code <}{@link AppImportResult}{@code >}。
+     * @throws AippException 上传文件异常时抛出该异常
+     */
+    @CarverSpan(value = "operation.appBuilderApp.batchImport")
+    @PostMapping(path = "/import/batch", description = "批量导入应用配置")
+    public Rsp<List<AppImportResult>> importApps(HttpClassicServerRequest httpRequest,
+            @PathVariable("tenant_id") String tenantId,
+            @RequestQuery(name = "completed", required = false) List<String> completedAppIds,
+            PartitionedEntity archive) {
+        this.fitRuntime.publisherOfEvents().publishEvent(new AppCreatingEvent(this));
+        AppQueryCondition cond = this.buildAppQueryCondition(new AppQueryCondition(), DEFAULT_TYPE);
+        long appCount = this.appService.getAppCount(tenantId, cond);
+        if (appCount >= this.maxAppNum) {
+            throw new AippException(AippErrCode.TOO_MANY_APPS);
+        }
+        if (archive.entities().isEmpty() || !archive.entities().get(0).isFile()) {
+            throw new AippException(AippErrCode.UPLOAD_FAILED);
+        }
+        try (FileEntity archiveEntity = archive.entities().get(0).asFile()) {
+            if (!archiveEntity.filename().endsWith(".zip")) {
+                throw new IOException("Uploaded archive is not a '.zip' file.");
+            }
+            return Rsp.ok(this.appArchiveService.importApps(archiveEntity.getInputStream(),
+                    completedAppIds == null ? new HashSet<>() : new HashSet<>(completedAppIds),
+                    (int) (this.maxAppNum - appCount),
+                    this.contextOf(httpRequest, tenantId)));
+        } catch (IOException e) {
+            log.error("Failed to read uploaded application archive", e);
+            throw new AippException(AippErrCode.UPLOAD_FAILED);
+        }
+    }
+
     /**
      * 恢复应用到指定历史版本。
      *
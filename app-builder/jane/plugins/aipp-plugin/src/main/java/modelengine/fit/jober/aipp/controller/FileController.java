@@ -82,7 +82,8 @@ public class FileController extends AbstractController {
             @RequestParam(value = "fileName") String fileName, HttpClassicServerResponse httpClassicServerResponse)
             throws IOException {
         OperationContext context = new OperationContext();
-        return this.fileService.getFile(context, fileCanonicalPath, fileName, httpClassicServerResponse);
+        return this.fileService.getFile(context, fileCanonicalPath, fileName, httpRequest,
+                httpClassicServerResponse);
     }
 
     /**
@@ -147,14 +148,15 @@ public class FileController extends AbstractController {
      * 获取表单模板
      *
      * @param httpRequest 表示Http请求的 {@link HttpClassicServerRequest}。
+     * @param httpResponse 表示Http响应的 {@link HttpClassicServerResponse}。
      * @param tenantId 表示租户Id的 {@link String}。
      * @return 表示表单模板文件的 {@link FileEntity}。
      * @throws IOException 文件读取异常。
      */
     @GetMapping(path = "/file/smart_form/template", description = "下载表单模板")
-    public FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest,
+    public FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest, HttpClassicServerResponse httpResponse,
             @PathVariable("tenant_id") String tenantId) throws IOException {
-        return this.fileService.getSmartFormTemplate(httpRequest, contextOf(httpRequest, tenantId));
+        return this.fileService.getSmartFormTemplate(httpRequest, httpResponse, contextOf(httpRequest, tenantId));
     }
 
     /**
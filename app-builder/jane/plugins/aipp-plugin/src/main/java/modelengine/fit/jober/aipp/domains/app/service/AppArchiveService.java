@@ -0,0 +1,47 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.app.service;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jober.aipp.dto.export.AppImportResult;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 应用批量导入导出服务.
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+public interface AppArchiveService {
+    /**
+     * 将多个应用逐个写入一个压缩包.
+     *
+     * @param appIds 待导出应用的版本id列表.
+     * @param exportMeta 导出应用元数据.
+     * @param out 压缩包的输出流，由调用方关闭.
+     * @param context 操作上下文.
+     */
+    void exportApps(List<String> appIds, Map<String, String> exportMeta, OutputStream out, OperationContext context);
+
+    /**
+     * 以流的方式读取压缩包并导入其中的应用.
+     * <p>读取与导入并行进行，同时导入的应用个数有上限；单个应用导入失败不影响其他应用.</p>
+     *
+     * @param archive 压缩包的输入流.
+     * @param completedAppIds 之前已导入成功、本次需要跳过的源应用id集合.
+     * @param quota 本次最多可以新建的应用个数.
+     * @param context 操作上下文.
+     * @return {@link List}{@code <}{@link AppImportResult}{@code >} 按压缩包内顺序排列的每个应用的导入结果.
+     */
+    List<AppImportResult> importApps(InputStream archive, Set<String> completedAppIds, int quota,
+            OperationContext context);
+}
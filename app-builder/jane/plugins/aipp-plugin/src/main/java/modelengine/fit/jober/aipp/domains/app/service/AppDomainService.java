@@ -36,6 +36,15 @@ public interface AppDomainService {
      */
     AppBuilderAppDto importApp(String appConfig, OperationContext context);
 
+    /**
+     * 导入一个已解析的应用。
+     *
+     * @param appExportDto 应用导入配置。
+     * @param context 操作上下文。
+     * @return {@link AppBuilderAppDto} 应用dto对象。
+     */
+    AppBuilderAppDto importApp(AppExportDto appExportDto, OperationContext context);
+
     /**
      * 导出一个应用。
      *
@@ -0,0 +1,149 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.app.service.impl;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jober.aipp.common.exception.AippErrCode;
+import modelengine.fit.jober.aipp.common.exception.AippException;
+import modelengine.fit.jober.aipp.domains.app.service.AppArchiveService;
+import modelengine.fit.jober.aipp.domains.app.service.AppDomainService;
+import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
+import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
+import modelengine.fit.jober.aipp.dto.AppBuilderAppDto;
+import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.dto.export.AppImportResult;
+import modelengine.fit.jober.aipp.util.AppArchiveUtil;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 应用批量导入导出服务实现类.
+ * <p>导出时逐个应用写入压缩包，头像以原始内容写入；导入时边读取边提交，同时导入的应用个数不超过并行度，
+ * 读取线程在达到上限时等待，因此内存中最多只保留并行度个应用的数据.</p>
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+@Component
+public class AppArchiveServiceImpl implements AppArchiveService {
+    private static final Logger log = Logger.get(AppArchiveServiceImpl.class);
+
+    private final AppVersionService appVersionService;
+    private final AppDomainService appDomainService;
+    private final int parallelism;
+    private final ExecutorService importExecutor;
+
+    public AppArchiveServiceImpl(AppVersionService appVersionService, AppDomainService appDomainService,
+            @Value("${app-engine.import.parallelism:4}") int parallelism) {
+        this.appVersionService = appVersionService;
+        this.appDomainService = appDomainService;
+        this.parallelism = Math.max(1, parallelism);
+        this.importExecutor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "app-archive-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void exportApps(List<String> appIds, Map<String, String> exportMeta, OutputStream out,
+            OperationContext context) {
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(out));
+        try {
+            for (String appId : new LinkedHashSet<>(appIds)) {
+                AppVersion appVersion = this.appVersionService.retrieval(appId);
+                AppExportDto appExportDto = appVersion.export(context, exportMeta, false);
+                AppArchiveUtil.writeApp(zip, appId, appExportDto, AppArchiveUtil.getIconFile(appVersion.getIcon()));
+            }
+            zip.finish();
+            zip.flush();
+        } catch (IOException e) {
+            log.error("Failed to write app archive.", e);
+            throw new AippException(AippErrCode.EXPORT_ARCHIVE_FAILED);
+        }
+    }
+
+    @Override
+    public List<AppImportResult> importApps(InputStream archive, Set<String> completedAppIds, int quota,
+            OperationContext context) {
+        List<CompletableFuture<AppImportResult>> futures = new ArrayList<>();
+        Semaphore permits = new Semaphore(this.parallelism);
+        AtomicInteger remaining = new AtomicInteger(quota);
+        try {
+            AppArchiveUtil.readApps(archive, (sourceAppId, appExportDto) -> {
+                if (completedAppIds.contains(sourceAppId)) {
+                    futures.add(CompletableFuture.completedFuture(
+                            result(sourceAppId, appExportDto, AppImportResult.SKIPPED, null)));
+                    return;
+                }
+                if (remaining.getAndDecrement() <= 0) {
+                    futures.add(CompletableFuture.completedFuture(result(sourceAppId, appExportDto,
+                            AppImportResult.FAILED, new AippException(AippErrCode.TOO_MANY_APPS).getMessage())));
+                    return;
+                }
+                permits.acquireUninterruptibly();
+                futures.add(CompletableFuture.supplyAsync(() -> this.importApp(sourceAppId, appExportDto, context),
+                        this.importExecutor).whenComplete((result, error) -> permits.release()));
+            });
+        } catch (IOException e) {
+            // 已提交的应用继续完成导入，损坏位置之后的应用不再读取，调用方可以跳过已完成的应用后重新导入.
+            log.error("Failed to read app archive. [readApps={}]", futures.size(), e);
+            futures.add(CompletableFuture.completedFuture(AppImportResult.builder()
+                    .status(AppImportResult.FAILED)
+                    .errorMessage(new AippException(AippErrCode.IMPORT_ARCHIVE_BROKEN).getMessage())
+                    .build()));
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private AppImportResult importApp(String sourceAppId, AppExportDto appExportDto, OperationContext context) {
+        if (appExportDto.getApp() == null) {
+            return result(sourceAppId, appExportDto, AppImportResult.FAILED,
+                    new AippException(AippErrCode.IMPORT_CONFIG_FIELD_ERROR, AppArchiveUtil.APP_ENTRY).getMessage());
+        }
+        try {
+            AppBuilderAppDto app = this.appDomainService.importApp(appExportDto, context);
+            return AppImportResult.builder()
+                    .sourceAppId(sourceAppId)
+                    .appId(app.getId())
+                    .name(app.getName())
+                    .status(AppImportResult.SUCCESS)
+                    .build();
+        } catch (RuntimeException e) {
+            log.warn("Failed to import app from archive. [sourceAppId={}]", sourceAppId, e);
+            return result(sourceAppId, appExportDto, AppImportResult.FAILED, e.getMessage());
+        }
+    }
+
+    private static AppImportResult result(String sourceAppId, AppExportDto appExportDto, String status,
+            String errorMessage) {
+        return AppImportResult.builder()
+                .sourceAppId(sourceAppId)
+                .name(appExportDto.getApp() == null ? null : appExportDto.getApp().getName())
+                .status(status)
+                .errorMessage(errorMessage)
+                .build();
+    }
+}
@@ -77,10 +77,7 @@ public class AppDomainServiceImpl implements AppDomainService {
     public AppBuilderAppDto importApp(String appConfig, OperationContext context) {
         try {
             AppExportDto appExportDto = new ObjectMapper().readValue(appConfig, AppExportDto.class);
-            String suiteId = Entities.generateId();
-            App app = this.appFactory.create(suiteId);
-            AppVersion appVersion = app.importData(appExportDto, this.contextRoot, context);
-            return this.converterFactory.convert(appVersion, AppBuilderAppDto.class);
+            return this.importApp(appExportDto, context);
         } catch (JsonProcessingException e) {
             log.error("Imported config file is not json", e);
             throw new AippException(AippErrCode.IMPORT_CONFIG_NOT_JSON, e.getLocation().getLineNr(),
@@ -88,6 +85,15 @@ public class AppDomainServiceImpl implements AppDomainService {
         }
     }
 
+    @Override
+    @Transactional
+    public AppBuilderAppDto importApp(AppExportDto appExportDto, OperationContext context) {
+        String suiteId = Entities.generateId();
+        App app = this.appFactory.create(suiteId);
+        AppVersion appVersion = app.importData(appExportDto, this.contextRoot, context);
+        return this.converterFactory.convert(appVersion, AppBuilderAppDto.class);
+    }
+
     @Override
     public AppExportDto exportApp(String appId, Map<String, String> exportMeta, OperationContext context) {
         AppVersion appVersion = this.appVersionService.retrieval(appId);
@@ -0,0 +1,136 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.appversion;
+
+import modelengine.fit.jade.waterflow.dto.FlowInfo;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.domain.AppBuilderFormProperty;
+import modelengine.fit.jober.aipp.domains.task.AppTask;
+import modelengine.fit.jober.aipp.dto.AppInputParam;
+import modelengine.fit.jober.common.exceptions.JobberException;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.ObjectUtils;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 已发布应用版本的运行时快照.
+ * <p>快照在发布或首次对话时构建，包含已发布的任务、流程定义唯一标识、输入参数、记忆配置以及表单配置项，
+ * 启动对话时不再查询任务列表与流程定义。快照本身不可变，每次对话通过 {@link #newTask(AppVersion)} 获取独立的任务对象.</p>
+ *
+ * @author 张越
+ * @since 2025-04-28
+ */
+public final class AppRuntimeSnapshot {
+    private static final String INPUT_PARAM_NAME = "input";
+
+    @Getter
+    private final String stamp;
+
+    @Getter
+    private final String flowDefinitionId;
+
+    @Getter
+    private final List<String> inputParamNames;
+
+    @Getter
+    private final List<AppBuilderFormProperty> formProperties;
+
+    private final AppTask task;
+    private final List<Map<String, Object>> inputParams;
+    private final List<Map<String, Object>> memoryConfigs;
+
+    private AppRuntimeSnapshot(String stamp, AppTask task, List<Map<String, Object>> inputParams,
+            List<Map<String, Object>> memoryConfigs) {
+        this.stamp = stamp;
+        this.task = task;
+        this.flowDefinitionId = task.getEntity().getFlowDefinitionId();
+        this.inputParams = inputParams;
+        this.inputParamNames = inputParams.stream().map(AppInputParam::from).map(AppInputParam::getName).toList();
+        this.memoryConfigs = memoryConfigs;
+        this.formProperties = Collections.unmodifiableList(
+                ObjectUtils.nullIf(task.getFormProperties(), Collections.emptyList()));
+    }
+
+    /**
+     * 构建运行时快照.
+     *
+     * @param stamp 应用版本的版本戳，版本戳不一致时快照失效.
+     * @param task 已发布的任务.
+     * @param flowInfo 任务对应的流程定义.
+     * @return {@link AppRuntimeSnapshot} 对象.
+     */
+    public static AppRuntimeSnapshot build(String stamp, AppTask task, FlowInfo flowInfo) {
+        Validation.notNull(task, "The task cannot be null.");
+        Validation.notNull(flowInfo, "The flow info cannot be null.");
+        List<Map<String, Object>> memoryConfigs;
+        try {
+            memoryConfigs = copyOf(flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY));
+        } catch (JobberException e) {
+            // 缺少记忆配置时由任务运行时按原有方式报错.
+            memoryConfigs = null;
+        }
+        return new AppRuntimeSnapshot(stamp,
+                task,
+                copyOf(flowInfo.getInputParamsByName(INPUT_PARAM_NAME)),
+                memoryConfigs);
+    }
+
+    /**
+     * 为一次对话创建独立的任务对象.
+     *
+     * @param appVersion 发起对话的应用版本.
+     * @return {@link AppTask} 对象.
+     */
+    public AppTask newTask(AppVersion appVersion) {
+        AppTask copied = this.task.copy();
+        copied.setAppVersion(appVersion);
+        copied.setRuntimeSnapshot(this);
+        return copied;
+    }
+
+    /**
+     * 获取输入参数定义，返回的集合可由调用方修改.
+     *
+     * @return 输入参数定义集合.
+     */
+    public List<Map<String, Object>> getInputParams() {
+        return copyOf(this.inputParams);
+    }
+
+    /**
+     * 判断快照中是否包含记忆配置.
+     *
+     * @return 包含时返回 {@code true}.
+     */
+    public boolean hasMemoryConfigs() {
+        return this.memoryConfigs != null;
+    }
+
+    /**
+     * 获取记忆配置，返回的集合可由调用方修改.
+     *
+     * @return 记忆配置集合.
+     */
+    public List<Map<String, Object>> getMemoryConfigs() {
+        return copyOf(this.memoryConfigs);
+    }
+
+    private static List<Map<String, Object>> copyOf(List<Map<String, Object>> params) {
+        if (params == null) {
+            return new ArrayList<>();
+        }
+        return params.stream().<Map<String, Object>>map(HashMap::new).collect(Collectors.toList());
+    }
+}
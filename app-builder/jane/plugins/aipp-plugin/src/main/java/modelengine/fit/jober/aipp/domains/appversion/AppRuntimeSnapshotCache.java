@@ -0,0 +1,108 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.appversion;
+
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link AppRuntimeSnapshot} 的缓存.
+ * <p>以 appSuiteId 为键，每个快照携带构建时应用版本的版本戳。对话时使用本次加载的应用版本计算版本戳，
+ * 与缓存中的不一致即重新构建，因此任一节点发布后，其它节点在下一次对话时自动失效，无需广播.</p>
+ *
+ * @author 张越
+ * @since 2025-04-28
+ */
+@Component
+public class AppRuntimeSnapshotCache {
+    private final boolean enabled;
+    private final Cache<String, AppRuntimeSnapshot> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AppRuntimeSnapshotCache(@Value("${app-engine.runtime-snapshot.enabled:true}") boolean enabled,
+            @Value("${app-engine.runtime-snapshot.expire-seconds:600}") long expireSeconds,
+            @Value("${app-engine.runtime-snapshot.maximum-size:1000}") long maximumSize) {
+        Validation.isTrue(expireSeconds > 0, "The expire seconds must be positive.");
+        Validation.isTrue(maximumSize > 0, "The maximum size must be positive.");
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * 获取版本戳一致的快照，不存在或版本戳不一致时重新构建.
+     *
+     * @param appSuiteId 应用的 appSuiteId.
+     * @param stamp 当前应用版本的版本戳.
+     * @param builder 快照构建方法.
+     * @return {@link AppRuntimeSnapshot} 对象.
+     */
+    public AppRuntimeSnapshot get(String appSuiteId, String stamp, Supplier<AppRuntimeSnapshot> builder) {
+        if (!this.enabled || StringUtils.isBlank(appSuiteId)) {
+            return builder.get();
+        }
+        AppRuntimeSnapshot snapshot = this.cache.getIfPresent(appSuiteId);
+        if (snapshot != null && StringUtils.equals(snapshot.getStamp(), stamp)) {
+            this.hits.increment();
+            return snapshot;
+        }
+        this.misses.increment();
+        snapshot = builder.get();
+        this.cache.put(appSuiteId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 使指定应用的快照失效.
+     *
+     * @param appSuiteId 应用的 appSuiteId.
+     */
+    public void invalidate(String appSuiteId) {
+        if (StringUtils.isNotBlank(appSuiteId)) {
+            this.cache.invalidate(appSuiteId);
+        }
+    }
+
+    /**
+     * 判断缓存是否启用.
+     *
+     * @return 启用时返回 {@code true}.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * 获取命中次数.
+     *
+     * @return 命中次数.
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * 获取未命中次数.
+     *
+     * @return 未命中次数.
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+}
@@ -127,6 +127,7 @@ import modelengine.jade.store.service.PluginService;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -196,6 +197,7 @@ public class AppVersion {
     private final FlowDefinitionService flowDefinitionService;
     private final KnowledgeCenterService knowledgeCenterService;
     private final String resourcePath;
+    private final AppRuntimeSnapshotCache runtimeSnapshotCache;
 
     AppVersion(AppBuilderAppPo data, Dependencies dependencies) {
         this.data = data;
@@ -228,6 +230,7 @@ public class AppVersion {
         this.maxUserContextLen = dependencies.getMaxUserContextLen();
         this.knowledgeCenterService = dependencies.getKnowledgeCenterService();
         this.resourcePath = dependencies.getResourcePath();
+        this.runtimeSnapshotCache = dependencies.getRuntimeSnapshotCache();
     }
 
     /**
@@ -363,6 +366,21 @@ public class AppVersion {
             this.data.setPath(this.generateUniquePath());
         }
         this.appVersionRepository.update(this);
+        this.warmRuntimeSnapshot(context.getOperationContext());
+    }
+
+    private void warmRuntimeSnapshot(OperationContext context) {
+        this.runtimeSnapshotCache.invalidate(this.data.getAppSuiteId());
+        if (!this.runtimeSnapshotCache.isEnabled()) {
+            return;
+        }
+        try {
+            this.getRuntimeSnapshot(context);
+        } catch (RuntimeException e) {
+            // 预热失败不影响发布，首次对话时重新构建.
+            LOGGER.warn("Failed to warm runtime snapshot. [appId={}, appSuiteId={}]", this.data.getAppId(),
+                    this.data.getAppSuiteId(), e);
+        }
     }
 
     private String generateUniquePath() {
@@ -436,8 +454,10 @@ public class AppVersion {
 
         // 添加用户上下文数据，输入参数校验.
         OperationContext ctx = context.getOperationContext();
-        AppTask task = isDebug ? this.getLatestTask(ctx) : this.getLatestPublishedTask(ctx);
-        this.validateUserContext(task, context.getUserContext(), context.getOperationContext());
+        List<Map<String, Object>> inputParams = isDebug
+                ? this.getInputParams(this.getLatestTask(ctx), ctx)
+                : this.getRuntimeSnapshot(ctx).getInputParams();
+        this.validateUserContext(inputParams, context.getUserContext());
     }
 
     /**
@@ -476,7 +496,7 @@ public class AppVersion {
 
         // 获取将要运行的任务对象.
         OperationContext ctx = context.getOperationContext();
-        AppTask task = context.isDebug() ? this.getLatestTask(ctx) : this.getLatestPublishedTask(ctx);
+        AppTask task = context.isDebug() ? this.getLatestTask(ctx) : this.getRuntimeSnapshot(ctx).newTask(this);
 
         // 执行任务.
         context.initStartParams();
@@ -490,11 +510,13 @@ public class AppVersion {
                 this.data.getAppId());
     }
 
-    private void validateUserContext(AppTask task, Map<String, Object> userContext, OperationContext context) {
-        String flowDefinitionId = task.getEntity().getFlowDefinitionId();
-        FlowInfo flowInfo = this.flowsService.getFlows(flowDefinitionId, context);
-        List<AppInputParam> inputParams = flowInfo.getInputParamsByName("input")
-                .stream()
+    private List<Map<String, Object>> getInputParams(AppTask task, OperationContext context) {
+        return this.flowsService.getFlows(task.getEntity().getFlowDefinitionId(), context)
+                .getInputParamsByName("input");
+    }
+
+    private void validateUserContext(List<Map<String, Object>> inputParamSpecs, Map<String, Object> userContext) {
+        List<AppInputParam> inputParams = inputParamSpecs.stream()
                 .peek(map -> map.put("stringMaxLength", this.maxUserContextLen))
                 .map(AppInputParam::from)
                 .toList();
@@ -555,6 +577,27 @@ public class AppVersion {
                 .orElseThrow(() -> new AippException(APP_CHAT_PUBLISHED_META_NOT_FOUND));
     }
 
+    /**
+     * 获取已发布任务的运行时快照，版本戳与当前应用版本不一致时重新构建.
+     *
+     * @param ctx 操作人上下文信息.
+     * @return {@link AppRuntimeSnapshot} 对象.
+     */
+    public AppRuntimeSnapshot getRuntimeSnapshot(OperationContext ctx) {
+        String stamp = this.getRuntimeStamp();
+        return this.runtimeSnapshotCache.get(this.data.getAppSuiteId(), stamp, () -> {
+            AppTask task = this.getLatestPublishedTask(ctx);
+            FlowInfo flowInfo = this.flowsService.getFlows(task.getEntity().getFlowDefinitionId(), ctx);
+            return AppRuntimeSnapshot.build(stamp, task, flowInfo);
+        });
+    }
+
+    private String getRuntimeStamp() {
+        // 数据库时间精度低于内存中的时间，统一截断到毫秒，保证发布时预热的快照在重新加载后仍然有效.
+        LocalDateTime updateAt = this.data.getUpdateAt();
+        return this.data.getVersion() + "@" + (updateAt == null ? "" : updateAt.truncatedTo(ChronoUnit.MILLIS));
+    }
+
     /**
      * 获取任意已发布的任务集合
      *
@@ -919,6 +962,19 @@ public class AppVersion {
      * @return {@link AppExportDto} 导出的数据.
      */
     public AppExportDto export(OperationContext context, Map<String, String> exportMeta) {
+        return this.export(context, exportMeta, true);
+    }
+
+    /**
+     * 导出.
+     * <p>批量导出时头像文件以原始内容单独写入压缩包，此时不在导出数据中内嵌头像.</p>
+     *
+     * @param context 操作人上下文信息.
+     * @param exportMeta 导出元数据.
+     * @param isIconEmbedded 是否在导出数据中内嵌 base64 编码的头像.
+     * @return {@link AppExportDto} 导出的数据.
+     */
+    public AppExportDto export(OperationContext context, Map<String, String> exportMeta, boolean isIconEmbedded) {
         if (!StringUtils.equals(this.getData().getCreateBy(), context.getName())) {
             throw new AippException(AippErrCode.EXPORT_CONFIG_UNAUTHED);
         }
@@ -934,8 +990,9 @@ public class AppVersion {
         }
         try {
             AppExportApp exportAppInfo = this.converterFactory.convert(this, AppExportApp.class);
-            String icon = this.getIcon();
-            doIfNotBlank(icon, exportAppInfo::setIcon);
+            if (isIconEmbedded) {
+                doIfNotBlank(this.getIcon(), exportAppInfo::setIcon);
+            }
 
             return AppExportDto.builder()
                     .version(exportMeta.get("version"))
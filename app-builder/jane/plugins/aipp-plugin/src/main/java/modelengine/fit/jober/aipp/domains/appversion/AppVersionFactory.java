@@ -69,6 +69,7 @@ public class AppVersionFactory {
     private final Integer maxUserContextLen;
     private final KnowledgeCenterService knowledgeCenterService;
     private final String resourcePath;
+    private final AppRuntimeSnapshotCache runtimeSnapshotCache;
 
     public AppVersionFactory(AppBuilderFormPropertyRepository formPropertyRepository, AppTaskService appTaskService,
             AppBuilderConfigRepository configRepository, AppBuilderFormRepository formRepository,
@@ -83,7 +84,7 @@ public class AppVersionFactory {
             @Value("${app-engine.question.max-length}") Integer maxQuestionLen,
             @Value("${app-engine.user-context.max-length}") Integer maxUserContextLen,
             KnowledgeCenterService knowledgeCenterService,
-            @Value("${app-engine.resource.path}") String resourcePath) {
+            @Value("${app-engine.resource.path}") String resourcePath, AppRuntimeSnapshotCache runtimeSnapshotCache) {
         this.formPropertyRepository = formPropertyRepository;
         this.appTaskService = appTaskService;
         this.configRepository = configRepository;
@@ -109,6 +110,7 @@ public class AppVersionFactory {
         this.maxUserContextLen = maxUserContextLen != null ? maxUserContextLen : 500;
         this.knowledgeCenterService = knowledgeCenterService;
         this.resourcePath = resourcePath;
+        this.runtimeSnapshotCache = runtimeSnapshotCache;
     }
 
     /**
@@ -146,6 +148,7 @@ public class AppVersionFactory {
                 .maxUserContextLen(this.maxUserContextLen)
                 .knowledgeCenterService(this.knowledgeCenterService)
                 .resourcePath(this.resourcePath)
+                .runtimeSnapshotCache(this.runtimeSnapshotCache)
                 .build());
     }
 }
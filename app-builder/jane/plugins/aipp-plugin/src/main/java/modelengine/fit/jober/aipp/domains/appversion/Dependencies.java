@@ -68,4 +68,5 @@ public class Dependencies {
     private Integer maxUserContextLen;
     private KnowledgeCenterService knowledgeCenterService;
     private String resourcePath;
+    private AppRuntimeSnapshotCache runtimeSnapshotCache;
 }
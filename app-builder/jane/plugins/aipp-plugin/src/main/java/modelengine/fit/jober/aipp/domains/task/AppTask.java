@@ -28,6 +28,7 @@ import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.convertor.FormMetaConvertor;
 import modelengine.fit.jober.aipp.domain.AppBuilderFormProperty;
+import modelengine.fit.jober.aipp.domains.appversion.AppRuntimeSnapshot;
 import modelengine.fit.jober.aipp.domains.appversion.AppVersion;
 import modelengine.fit.jober.aipp.domains.business.RunContext;
 import modelengine.fit.jober.aipp.domains.log.repository.AippLogRepository;
@@ -95,6 +96,9 @@ public class AppTask implements AppTaskRunnable {
     @Setter
     private AppVersion appVersion;
 
+    @Setter
+    private AppRuntimeSnapshot runtimeSnapshot;
+
     private List<AppTaskInstance> instances;
     private List<AppBuilderFormProperty> formProperties;
 
@@ -119,6 +123,20 @@ public class AppTask implements AppTaskRunnable {
         this.appChatSseService = appChatSseService;
     }
 
+    /**
+     * 复制任务，新任务与当前任务共享依赖和表单配置项，不共享任务实例等运行期状态.
+     *
+     * @return {@link AppTask} 对象.
+     */
+    public AppTask copy() {
+        AppTask copied = new AppTask(this.aippLogRepository, this.appTaskInstanceService, this.flowsService,
+                this.appChatSessionService, this.flowInstanceService, this.appTaskService, this.formPropertyRepository,
+                this.aopAippLogService, this.appChatSseService);
+        copied.entity.loadFrom(this.entity);
+        copied.formProperties = this.formProperties;
+        return copied;
+    }
+
     /**
      * 作为实体.
      *
@@ -252,13 +270,9 @@ public class AppTask implements AppTaskRunnable {
     }
 
     private Map<String, Object> buildLogInfos(RunContext runContext) {
-        FlowInfo flowInfo = this.flowsService.getFlows(this.entity.getFlowDefinitionId(),
-                runContext.getOperationContext());
-        List<String> names = flowInfo.getInputParamsByName("input")
-                .stream()
-                .map(AppInputParam::from)
-                .map(AppInputParam::getName)
-                .toList();
+        List<String> names = this.runtimeSnapshot != null
+                ? this.runtimeSnapshot.getInputParamNames()
+                : this.getInputParamNames(runContext.getOperationContext());
         if (CollectionUtils.isEmpty(names)) {
             return new HashMap<>();
         }
@@ -273,6 +287,15 @@ public class AppTask implements AppTaskRunnable {
         return infos;
     }
 
+    private List<String> getInputParamNames(OperationContext context) {
+        FlowInfo flowInfo = this.flowsService.getFlows(this.entity.getFlowDefinitionId(), context);
+        return flowInfo.getInputParamsByName("input")
+                .stream()
+                .map(AppInputParam::from)
+                .map(AppInputParam::getName)
+                .toList();
+    }
+
     private void persistAippFormLog(RunContext context, AppTaskInstance instance) {
         String formId = this.entity.getStartFormId();
         String formVersion = this.entity.getStartFormVersion();
@@ -336,6 +359,9 @@ public class AppTask implements AppTaskRunnable {
     }
 
     private List<Map<String, Object>> getMemoryConfigs(String flowDefinitionId, OperationContext context) {
+        if (this.runtimeSnapshot != null && this.runtimeSnapshot.hasMemoryConfigs()) {
+            return this.runtimeSnapshot.getMemoryConfigs();
+        }
         try {
             FlowInfo flowInfo = this.flowsService.getFlows(flowDefinitionId, context);
             return flowInfo.getInputParamsByName(AippConst.MEMORY_CONFIG_KEY);
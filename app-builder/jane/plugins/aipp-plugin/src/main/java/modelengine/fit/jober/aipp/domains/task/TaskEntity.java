@@ -423,6 +423,26 @@ public abstract class TaskEntity<T extends TaskEntity<T>> {
         this.attributes = meta.getAttributes();
     }
 
+    /**
+     * 从另一个 {@link TaskEntity} 中复制数据，属性与配置项复制为新的集合.
+     *
+     * @param other 被复制的 {@link TaskEntity} 对象.
+     */
+    void loadFrom(TaskEntity<?> other) {
+        this.appSuiteId = other.appSuiteId;
+        this.taskId = other.taskId;
+        this.name = other.name;
+        this.category = other.category;
+        this.creator = other.creator;
+        this.lastModifier = other.lastModifier;
+        this.tenant = other.tenant;
+        this.version = other.version;
+        this.creationTime = other.creationTime;
+        this.lastModificationTime = other.lastModificationTime;
+        this.properties = other.properties == null ? null : new ArrayList<>(other.properties);
+        this.attributes = other.attributes == null ? null : new HashMap<>(other.attributes);
+    }
+
     @Override
     public TaskEntity clone() throws CloneNotSupportedException {
         return ObjectUtils.cast(super.clone());
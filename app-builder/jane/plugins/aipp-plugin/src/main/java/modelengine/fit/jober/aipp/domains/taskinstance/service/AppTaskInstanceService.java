@@ -58,6 +58,13 @@ public interface AppTaskInstanceService {
      */
     void update(AppTaskInstance instance, OperationContext context);
 
+    /**
+     * 将任务实例尚未写入的修改立即写入数据库，作为检查点使用.
+     *
+     * @param taskInstanceId 任务实例唯一标识.
+     */
+    void flush(String taskInstanceId);
+
     /**
      * 创建任务实例.
      *
@@ -14,32 +14,67 @@ import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstance;
 import modelengine.fit.jober.aipp.domains.taskinstance.AppTaskInstanceFactory;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
-import modelengine.fit.jober.aipp.util.MetaUtils;
 
-import lombok.RequiredArgsConstructor;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.plugin.Plugin;
+import modelengine.fitframework.plugin.PluginStoppingObserver;
+import modelengine.fitframework.schedule.annotation.Scheduled;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * 应用任务实例服务实现类.
+ * <p>开启写缓冲后，非终态的修改先在 {@link TaskInstanceWriteBuffer} 中按实例合并，在终态、检查点、
+ * 定时任务或插件停止时写入数据库. 单个实例的查询会叠加尚未写入的字段，列表查询前先写入该任务的缓冲修改.</p>
+ * <p>缓冲区只在本节点内可见：其他节点或直接查询数据库时，非终态字段最多滞后
+ * {@code app-engine.task-instance.write-behind.max-delay-millis} 加一个定时写入周期，数据库故障重试期间滞后更久.
+ * 需要跨节点读取最新进度的场景应关闭写缓冲.</p>
  *
  * @author 张越
  * @since 2024-12-31
  */
 @Component
-@RequiredArgsConstructor
-public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
+public class AppTaskInstanceServiceImpl implements AppTaskInstanceService, PluginStoppingObserver {
+    private static final Logger log = Logger.get(AppTaskInstanceServiceImpl.class);
+
     private final MetaInstanceService metaInstanceService;
     private final AppTaskInstanceFactory factory;
+    private final Plugin plugin;
+    private final TaskInstanceWriteBuffer writeBuffer;
+
+    /**
+     * 构造函数.
+     *
+     * @param metaInstanceService 实例持久化服务.
+     * @param factory 任务实例工厂.
+     * @param plugin 当前插件.
+     * @param isWriteBehindEnabled 是否开启写缓冲.
+     * @param maxDelayMillis 修改在写缓冲中的最长停留时间（毫秒）.
+     */
+    public AppTaskInstanceServiceImpl(MetaInstanceService metaInstanceService, AppTaskInstanceFactory factory,
+            Plugin plugin,
+            @Value("${app-engine.task-instance.write-behind.enabled:true}") boolean isWriteBehindEnabled,
+            @Value("${app-engine.task-instance.write-behind.max-delay-millis:1000}") long maxDelayMillis) {
+        this.metaInstanceService = metaInstanceService;
+        this.factory = factory;
+        this.plugin = plugin;
+        this.writeBuffer = isWriteBehindEnabled
+                ? new TaskInstanceWriteBuffer(metaInstanceService, maxDelayMillis)
+                : null;
+    }
 
     @Override
     public Optional<AppTaskInstance> getInstance(String taskId, String taskInstanceId, OperationContext context) {
+        Map<String, Object> pendingInfos = this.getPendingInfos(taskInstanceId);
         Instance metaInst = this.metaInstanceService.retrieveById(taskInstanceId, context);
-        return Optional.ofNullable(metaInst).map(i -> this.factory.create(i, taskId, this));
+        return Optional.ofNullable(metaInst).map(i -> this.create(i, taskId, pendingInfos));
     }
 
     @Override
@@ -49,14 +84,35 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
 
     @Override
     public Stream<AppTaskInstance> getInstanceStreamByTaskId(String taskId, int limit, OperationContext context) {
-        return MetaUtils.getAllFromRangedResult(limit, os -> metaInstanceService.list(taskId, os, limit, context))
+        if (this.writeBuffer != null) {
+            this.writeBuffer.flushTask(taskId);
+        }
+        // 按游标逐页拉取，避免深分页的 offset 扫描与每页的总数统计.
+        return Stream.iterate(this.metaInstanceService.listByCursor(taskId, null, limit, context),
+                        Objects::nonNull,
+                        page -> page.getNextCursor() == null
+                                ? null
+                                : this.metaInstanceService.listByCursor(taskId, page.getNextCursor(), limit, context))
+                .flatMap(page -> page.getResults().stream())
                 .map(instance -> this.factory.create(instance, taskId, this));
     }
 
     @Override
     public void update(AppTaskInstance instance, OperationContext context) {
         InstanceDeclarationInfo declarationInfo = this.factory.toDeclarationInfo(instance);
-        this.metaInstanceService.patchMetaInstance(instance.getTaskId(), instance.getId(), declarationInfo, context);
+        if (this.writeBuffer == null) {
+            this.metaInstanceService.patchMetaInstance(instance.getTaskId(), instance.getId(), declarationInfo,
+                    context);
+            return;
+        }
+        this.writeBuffer.submit(instance.getTaskId(), instance.getId(), declarationInfo, context);
+    }
+
+    @Override
+    public void flush(String taskInstanceId) {
+        if (this.writeBuffer != null) {
+            this.writeBuffer.flush(taskInstanceId);
+        }
     }
 
     @Override
@@ -68,6 +124,9 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
 
     @Override
     public void delete(String taskId, String taskInstanceId, OperationContext context) {
+        if (this.writeBuffer != null) {
+            this.writeBuffer.discard(taskInstanceId);
+        }
         this.metaInstanceService.deleteMetaInstance(taskId, taskInstanceId, context);
     }
 
@@ -79,7 +138,56 @@ public class AppTaskInstanceServiceImpl implements AppTaskInstanceService {
     @Override
     public Optional<AppTaskInstance> getInstanceById(String taskInstanceId, OperationContext context) {
         String taskId = this.getTaskId(taskInstanceId);
+        Map<String, Object> pendingInfos = this.getPendingInfos(taskInstanceId);
         Instance metaInst = this.metaInstanceService.retrieveById(taskInstanceId, context);
-        return Optional.ofNullable(metaInst).map(i -> this.factory.create(i, taskId, this));
+        return Optional.ofNullable(metaInst).map(i -> this.create(i, taskId, pendingInfos));
+    }
+
+    /**
+     * 定时写入停留时间超过上限的缓冲修改.
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "200")
+    public void flushExpired() {
+        if (this.writeBuffer != null) {
+            this.writeBuffer.flushExpired();
+        }
+    }
+
+    /**
+     * 每 5 分钟输出一次写缓冲的合并效果.
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "300000")
+    public void logStats() {
+        if (this.writeBuffer != null) {
+            log.info("Task instance write buffer stats: submitted={}, written={}, pending={}.",
+                    this.writeBuffer.getSubmittedCount(),
+                    this.writeBuffer.getWrittenCount(),
+                    this.writeBuffer.size());
+        }
+    }
+
+    @Override
+    public void onPluginStopping(Plugin plugin) {
+        if (plugin == this.plugin && this.writeBuffer != null) {
+            this.writeBuffer.flushAll();
+        }
+    }
+
+    private Map<String, Object> getPendingInfos(String taskInstanceId) {
+        if (this.writeBuffer == null) {
+            return Map.of();
+        }
+        // 有标签修改时直接写入，避免标签叠加与覆盖语义不一致.
+        if (this.writeBuffer.hasPendingTags(taskInstanceId)) {
+            this.writeBuffer.flush(taskInstanceId);
+        }
+        // 先取缓冲快照再查询数据库，快照在查询期间被写入时叠加结果依旧一致.
+        return this.writeBuffer.getPendingInfos(taskInstanceId);
+    }
+
+    private AppTaskInstance create(Instance instance, String taskId, Map<String, Object> pendingInfos) {
+        AppTaskInstance appTaskInstance = this.factory.create(instance, taskId, this);
+        appTaskInstance.getEntity().getInfos().putAll(pendingInfos);
+        return appTaskInstance;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,318 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.taskinstance.service.impl;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
+import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.enums.MetaInstStatusEnum;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 任务实例修改的写缓冲区.
+ * <p>同一实例的多次修改在内存中按字段合并，后写入的字段覆盖先写入的字段，标签以最后一次为准，
+ * 与逐次调用 {@code patchMetaInstance} 得到的最终结果一致。实例进入终态时立即写入，
+ * 其余修改由调用方在检查点或定时任务中写入.</p>
+ * <p>写入失败的修改保留在缓冲区中，定时写入按指数退避重试，不会丢弃. 重试期间同一实例的新修改改为同步写入，
+ * 失败时直接抛给调用方. {@link #flushAll()} 在放弃前会同步重试数次，仍失败时记录全部未写入的内容并抛出异常.</p>
+ *
+ * @author 张越
+ * @since 2025-04-25
+ */
+public class TaskInstanceWriteBuffer {
+    private static final Logger log = Logger.get(TaskInstanceWriteBuffer.class);
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of(MetaInstStatusEnum.ARCHIVED.name(),
+            MetaInstStatusEnum.ERROR.name(),
+            MetaInstStatusEnum.TERMINATED.name());
+
+    private static final long RETRY_BASE_DELAY_MILLIS = 200;
+    private static final long RETRY_MAX_DELAY_MILLIS = 30000;
+    private static final int FLUSH_ALL_ATTEMPTS = 5;
+
+    private final MetaInstanceService metaInstanceService;
+    private final long maxDelayNanos;
+    private final Map<String, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    /**
+     * 构造写缓冲区.
+     *
+     * @param metaInstanceService 实例持久化服务.
+     * @param maxDelayMillis 修改在缓冲区中的最长停留时间（毫秒）.
+     */
+    public TaskInstanceWriteBuffer(MetaInstanceService metaInstanceService, long maxDelayMillis) {
+        Validation.notNull(metaInstanceService, "Meta instance service cannot be null.");
+        Validation.isTrue(maxDelayMillis >= 0, "Max delay millis cannot be negative.");
+        this.metaInstanceService = metaInstanceService;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+    }
+
+    /**
+     * 提交一次实例修改，终态修改或该实例写入失败后的修改会连同已合并的修改立即写入.
+     *
+     * @param taskId 任务唯一标识.
+     * @param instanceId 任务实例唯一标识.
+     * @param declaration 本次修改的内容.
+     * @param context 操作人上下文信息.
+     */
+    public void submit(String taskId, String instanceId, InstanceDeclarationInfo declaration,
+            OperationContext context) {
+        this.submitted.increment();
+        Map<String, Object> infos = Boolean.TRUE.equals(declaration.getInfo().getDefined())
+                ? ObjectUtils.nullIf(declaration.getInfo().getValue(), Collections.emptyMap())
+                : Collections.emptyMap();
+        List<String> tags = Boolean.TRUE.equals(declaration.getTags().getDefined())
+                ? declaration.getTags().getValue()
+                : null;
+        while (true) {
+            PendingUpdate update = this.pending.computeIfAbsent(instanceId, key -> new PendingUpdate());
+            boolean isRetrying;
+            synchronized (update) {
+                if (update.written) {
+                    // 该缓冲项刚被写入并移除，重新创建.
+                    continue;
+                }
+                update.merge(taskId, infos, tags, context);
+                isRetrying = update.attempts > 0;
+            }
+            // 写入失败期间改为同步写入，由调用方感知数据库故障，避免缓冲区持续堆积.
+            if (isTerminal(infos) || isRetrying) {
+                this.write(instanceId, update, true);
+            }
+            return;
+        }
+    }
+
+    /**
+     * 写入指定实例的缓冲修改.
+     *
+     * @param instanceId 任务实例唯一标识.
+     */
+    public void flush(String instanceId) {
+        PendingUpdate update = this.pending.get(instanceId);
+        if (update != null) {
+            this.write(instanceId, update, true);
+        }
+    }
+
+    /**
+     * 写入指定任务下所有实例的缓冲修改.
+     *
+     * @param taskId 任务唯一标识.
+     */
+    public void flushTask(String taskId) {
+        this.pending.forEach((instanceId, update) -> {
+            if (Objects.equals(taskId, update.taskId)) {
+                this.write(instanceId, update, true);
+            }
+        });
+    }
+
+    /**
+     * 写入停留时间超过上限的缓冲修改，写入失败的修改在退避时间到达后重试.
+     */
+    public void flushExpired() {
+        long now = System.nanoTime();
+        this.pending.forEach((instanceId, update) -> {
+            if (now - update.firstSubmitNanos >= this.maxDelayNanos && now - update.nextAttemptNanos >= 0) {
+                this.write(instanceId, update, false);
+            }
+        });
+    }
+
+    /**
+     * 写入所有缓冲修改，失败时按退避时间同步重试.
+     *
+     * @throws IllegalStateException 当重试后仍有修改写入失败时.
+     */
+    public void flushAll() {
+        for (int attempt = 0; attempt < FLUSH_ALL_ATTEMPTS && !this.pending.isEmpty(); attempt++) {
+            if (attempt > 0 && !sleep(retryDelayMillis(attempt))) {
+                break;
+            }
+            this.pending.forEach((instanceId, update) -> this.write(instanceId, update, false));
+        }
+        if (this.pending.isEmpty()) {
+            return;
+        }
+        this.pending.forEach((instanceId, update) -> {
+            synchronized (update) {
+                log.error("Failed to write task instance. [taskId={}, instanceId={}, infos={}, tags={}]",
+                        update.taskId,
+                        instanceId,
+                        update.infos,
+                        update.tags);
+            }
+        });
+        throw new IllegalStateException(StringUtils.format("Failed to write {0} buffered task instances.",
+                this.pending.size()));
+    }
+
+    /**
+     * 丢弃指定实例的缓冲修改.
+     *
+     * @param instanceId 任务实例唯一标识.
+     */
+    public void discard(String instanceId) {
+        PendingUpdate update = this.pending.remove(instanceId);
+        if (update != null) {
+            synchronized (update) {
+                update.written = true;
+            }
+        }
+    }
+
+    /**
+     * 获取指定实例尚未写入的字段快照.
+     *
+     * @param instanceId 任务实例唯一标识.
+     * @return 字段快照，没有缓冲修改时返回空集合.
+     */
+    public Map<String, Object> getPendingInfos(String instanceId) {
+        PendingUpdate update = this.pending.get(instanceId);
+        if (update == null) {
+            return Collections.emptyMap();
+        }
+        synchronized (update) {
+            return update.written ? Collections.emptyMap() : new HashMap<>(update.infos);
+        }
+    }
+
+    /**
+     * 判断指定实例是否有尚未写入的标签修改.
+     *
+     * @param instanceId 任务实例唯一标识.
+     * @return 有非空标签修改时返回 {@code true}.
+     */
+    public boolean hasPendingTags(String instanceId) {
+        PendingUpdate update = this.pending.get(instanceId);
+        if (update == null) {
+            return false;
+        }
+        synchronized (update) {
+            return !update.written && update.tags != null && !update.tags.isEmpty();
+        }
+    }
+
+    /**
+     * 获取缓冲区中的实例数量.
+     *
+     * @return 实例数量.
+     */
+    public int size() {
+        return this.pending.size();
+    }
+
+    /**
+     * 获取累计提交的修改次数.
+     *
+     * @return 提交次数.
+     */
+    public long getSubmittedCount() {
+        return this.submitted.sum();
+    }
+
+    /**
+     * 获取累计写入数据库的次数.
+     *
+     * @return 写入次数.
+     */
+    public long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    private void write(String instanceId, PendingUpdate update, boolean rethrow) {
+        synchronized (update) {
+            if (update.written) {
+                return;
+            }
+            InstanceDeclarationInfo declaration = InstanceDeclarationInfo.custom()
+                    .info(new HashMap<>(update.infos))
+                    .tags(update.tags == null ? new ArrayList<>() : new ArrayList<>(update.tags))
+                    .build();
+            try {
+                this.metaInstanceService.patchMetaInstance(update.taskId, instanceId, declaration, update.context);
+                this.written.increment();
+                this.remove(instanceId, update);
+            } catch (RuntimeException e) {
+                update.attempts++;
+                long delayMillis = retryDelayMillis(update.attempts);
+                update.nextAttemptNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+                log.warn("Failed to write task instance, retry later. [instanceId={}, attempts={}, delayMillis={}]",
+                        instanceId,
+                        update.attempts,
+                        delayMillis,
+                        e);
+                if (rethrow) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void remove(String instanceId, PendingUpdate update) {
+        update.written = true;
+        this.pending.remove(instanceId, update);
+    }
+
+    private static long retryDelayMillis(int attempts) {
+        int shift = Math.min(attempts - 1, 20);
+        return Math.min(RETRY_BASE_DELAY_MILLIS << shift, RETRY_MAX_DELAY_MILLIS);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static boolean isTerminal(Map<String, Object> infos) {
+        Object status = infos.get(AippConst.INST_STATUS_KEY);
+        return status != null && TERMINAL_STATUSES.contains(status.toString());
+    }
+
+    private static class PendingUpdate {
+        private final Map<String, Object> infos = new HashMap<>();
+        private final long firstSubmitNanos = System.nanoTime();
+        private String taskId;
+        private List<String> tags;
+        private OperationContext context;
+        private int attempts;
+        private long nextAttemptNanos = this.firstSubmitNanos;
+        private boolean written;
+
+        private void merge(String taskId, Map<String, Object> infos, List<String> tags, OperationContext context) {
+            this.taskId = taskId;
+            this.infos.putAll(infos);
+            if (tags != null) {
+                this.tags = new ArrayList<>(tags);
+            }
+            this.context = context;
+        }
+    }
+}
@@ -45,6 +45,10 @@ public class AppExportDto {
     @Property(description = "应用流程图配置信息")
     AppExportFlowGraph flowGraph;
 
+    @JsonIgnore
+    @Property(description = "批量导入时以原始字节读取的头像内容")
+    byte[] iconContent;
+
     /**
      * 获取头像文件的路径。
      *
@@ -56,6 +60,13 @@ public class AppExportDto {
     @JsonIgnore
     public String getIconPath(String contextRoot, String resourcePath, OperationContext context) {
         Object iconAttr = this.app.getAttributes().get("icon");
+        if (this.iconContent != null && iconAttr instanceof Map) {
+            return AppImExportUtil.saveIconFile(this.iconContent,
+                    ObjectUtils.cast(ObjectUtils.<Map<String, Object>>cast(iconAttr).get("type")),
+                    context.getTenantId(),
+                    contextRoot,
+                    resourcePath);
+        }
         String iconContent = iconAttr instanceof Map ? ObjectUtils.cast(
                 ObjectUtils.<Map<String, Object>>cast(iconAttr).get("content")) : StringUtils.EMPTY;
         if (StringUtils.isBlank(iconContent)) {
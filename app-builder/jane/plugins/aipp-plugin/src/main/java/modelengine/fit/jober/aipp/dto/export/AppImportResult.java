@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.dto.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import modelengine.fitframework.annotation.Property;
+
+/**
+ * 批量导入时单个应用的导入结果。
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AppImportResult {
+    /** 导入成功。 */
+    public static final String SUCCESS = "success";
+
+    /** 导入失败。 */
+    public static final String FAILED = "failed";
+
+    /** 已在之前的导入中完成，本次跳过。 */
+    public static final String SKIPPED = "skipped";
+
+    @Property(description = "压缩包中应用的源 id")
+    private String sourceAppId;
+
+    @Property(description = "导入后生成的应用 id")
+    private String appId;
+
+    @Property(description = "应用名称")
+    private String name;
+
+    @Property(description = "导入状态，取值为 success、failed 或 skipped")
+    private String status;
+
+    @Property(description = "导入失败的原因")
+    private String errorMessage;
+}
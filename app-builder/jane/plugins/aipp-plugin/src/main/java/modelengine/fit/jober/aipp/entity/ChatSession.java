@@ -6,12 +6,18 @@
 
 package modelengine.fit.jober.aipp.entity;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import modelengine.fitframework.flowable.Emitter;
+import modelengine.fitframework.log.Logger;
 
 import java.time.LocalDateTime;
 import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 表示建立应用会话的类。
@@ -23,6 +29,11 @@ import java.util.Locale;
 @Getter
 @Setter
 public class ChatSession<T> {
+    private static final Logger log = Logger.get(ChatSession.class);
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final long OFFER_TIMEOUT_MILLIS = 5000L;
+    private static final Object COMPLETE = new Object();
+
     Emitter<Object> emitter;
     String appId;
     boolean isDebug;
@@ -30,6 +41,12 @@ public class ChatSession<T> {
     LocalDateTime expireTime;
     boolean isOccupied;
 
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<Object> pending = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger wip = new AtomicInteger();
+
     public ChatSession(Emitter<Object> emitter, String appId, boolean isDebug, Locale locale) {
         this.appId = appId;
         this.emitter = emitter;
@@ -38,4 +55,64 @@ public class ChatSession<T> {
         this.expireTime = LocalDateTime.now().plusMinutes(30);
         this.isOccupied = false;
     }
+
+    /**
+     * 向会话发送数据。
+     * <p>数据先进入会话独占的有界队列，再由当前正在发送的线程依次写入 {@link Emitter}，
+     * 多个子实例同时向同一会话转发时不会并发写入。队列已满时最多等待 5 秒，
+     * 仍无法入队则丢弃该数据。</p>
+     *
+     * @param data 表示待发送数据的 {@link Object}。
+     */
+    public void emit(Object data) {
+        this.enqueue(data);
+    }
+
+    /**
+     * 在已入队的数据全部发送后结束会话。
+     */
+    public void complete() {
+        this.enqueue(COMPLETE);
+    }
+
+    private void enqueue(Object item) {
+        boolean isOffered;
+        try {
+            isOffered = this.pending.offer(item, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isOffered = false;
+        }
+        if (!isOffered) {
+            log.warn("The chat session queue is full, drop the data. [appId={}]", this.appId);
+            return;
+        }
+        this.drain();
+    }
+
+    private void drain() {
+        if (this.wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            Object item;
+            while ((item = this.pending.poll()) != null) {
+                this.deliver(item);
+            }
+            missed = this.wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void deliver(Object item) {
+        try {
+            if (item == COMPLETE) {
+                this.emitter.complete();
+            } else {
+                this.emitter.emit(item);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to send data to chat session. [appId={}]", this.appId, e);
+        }
+    }
 }
@@ -0,0 +1,97 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 会话总线的转发统计信息
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public class ChatSessionBusStats {
+    private final LongAdder relayed = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder unrouted = new LongAdder();
+    private final LongAdder latencySum = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * 记录一条已发出的转发数据.
+     */
+    public void recordRelayed() {
+        this.relayed.increment();
+    }
+
+    /**
+     * 记录一条已写入会话的转发数据.
+     *
+     * @param latencyMillis 从发出到写入会话的时延，单位毫秒.
+     */
+    public void recordDelivered(long latencyMillis) {
+        long latency = Math.max(0L, latencyMillis);
+        this.delivered.increment();
+        this.latencySum.add(latency);
+        this.maxLatency.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * 记录丢弃的转发数据.
+     *
+     * @param count 丢弃的条数.
+     */
+    public void recordDropped(long count) {
+        this.dropped.add(count);
+    }
+
+    /**
+     * 记录一条找不到会话所在节点的数据.
+     */
+    public void recordUnrouted() {
+        this.unrouted.increment();
+    }
+
+    public long getRelayed() {
+        return this.relayed.sum();
+    }
+
+    public long getDelivered() {
+        return this.delivered.sum();
+    }
+
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    public long getUnrouted() {
+        return this.unrouted.sum();
+    }
+
+    public long getMaxLatencyMillis() {
+        return this.maxLatency.get();
+    }
+
+    /**
+     * 获取已写入会话的转发数据的平均时延.
+     *
+     * @return 平均时延，单位毫秒.
+     */
+    public double getAvgLatencyMillis() {
+        long count = this.delivered.sum();
+        return count == 0 ? 0D : (double) this.latencySum.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[relayed=%d, delivered=%d, dropped=%d, unrouted=%d, avgLatencyMillis=%.1f, "
+                        + "maxLatencyMillis=%d]", this.getRelayed(), this.getDelivered(), this.getDropped(),
+                this.getUnrouted(), this.getAvgLatencyMillis(), this.getMaxLatencyMillis());
+    }
+}
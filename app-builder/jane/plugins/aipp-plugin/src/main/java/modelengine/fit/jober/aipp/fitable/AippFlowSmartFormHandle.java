@@ -192,5 +192,7 @@ public class AippFlowSmartFormHandle implements FlowSmartFormService {
         this.appTaskInstanceService.update(updateEntity,
                 JsonUtils.parseObject(ObjectUtils.cast(businessData.get(AippConst.BS_HTTP_CONTEXT_KEY)),
                         OperationContext.class));
+        // 实例进入等待用户输入的状态，作为检查点立即写入.
+        this.appTaskInstanceService.flush(taskInstanceId);
     }
 }
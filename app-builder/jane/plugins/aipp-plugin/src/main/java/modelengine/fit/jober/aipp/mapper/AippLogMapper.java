@@ -12,6 +12,7 @@ import modelengine.fit.jober.aipp.entity.AippInstLog;
 
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -219,4 +220,82 @@ public interface AippLogMapper {
      * @return 表示实例历史记录列表的 {@link List}{@code <}{@link AippInstLog}{@code >}。
      */
     List<AippInstLog> selectByLogIds(@Param("logIds") List<Long> logIds);
+
+    /**
+     * 按日志唯一标识升序分页查询超期的会话记录，下一页从上一页最后一条记录的唯一标识之后开始。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示上一页最后一条记录唯一标识的 {@link Long}。
+     * @param limit 表示查询条数的 {@code int}。
+     * @return 表示实例历史记录列表的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    List<AippInstLog> selectExpireInstanceLogs(@Param("aippType") String aippType,
+            @Param("expireBefore") LocalDateTime expireBefore, @Param("afterLogId") Long afterLogId,
+            @Param("limit") int limit);
+
+    /**
+     * 按日志唯一标识升序分页查询超期的会话记录唯一标识。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示上一页最后一条记录唯一标识的 {@link Long}。
+     * @param limit 表示查询条数的 {@code int}。
+     * @return 表示历史会话记录的id列表的 {@link List}{@code <}{@link Long}{@code >}。
+     */
+    List<Long> selectExpireInstanceLogIds(@Param("aippType") String aippType,
+            @Param("expireBefore") LocalDateTime expireBefore, @Param("afterLogId") Long afterLogId,
+            @Param("limit") int limit);
+
+    /**
+     * 按范围删除超期的会话记录。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param excludedPartitions 表示不删除其中数据的分区名称列表的 {@link List}{@code <}{@link String}{@code >}，
+     * 为空时不限制。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示删除范围内最小日志唯一标识（不包含）的 {@link Long}。
+     * @param maxLogId 表示删除范围内最大日志唯一标识（包含）的 {@link Long}。
+     * @return 表示删除条数的 {@code int}。
+     */
+    int deleteExpireInstanceLogs(@Param("aippType") String aippType,
+            @Param("excludedPartitions") List<String> excludedPartitions,
+            @Param("expireBefore") LocalDateTime expireBefore, @Param("afterLogId") Long afterLogId,
+            @Param("maxLogId") Long maxLogId);
+
+    /**
+     * 判断指定时间范围内是否存在指定类型的会话记录。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param createdFrom 表示创建时间下界（包含）的 {@link LocalDateTime}。
+     * @param createdTo 表示创建时间上界（不包含）的 {@link LocalDateTime}。
+     * @return 表示是否存在记录的 {@code boolean}。
+     */
+    boolean existsInstanceLogs(@Param("aippType") String aippType, @Param("createdFrom") LocalDateTime createdFrom,
+            @Param("createdTo") LocalDateTime createdTo);
+
+    /**
+     * 查询会话记录表的全部分区名称，非分区表返回空列表。
+     *
+     * @return 表示分区名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> selectInstanceLogPartitions();
+
+    /**
+     * 创建会话记录表的月分区，已存在时忽略。
+     * <p>默认分区中已有落在该月范围内的数据时，先将这些数据移入新分区再挂载，否则无法创建分区。</p>
+     *
+     * @param partitionName 表示分区名称的 {@link String}。
+     * @param from 表示分区时间下界（包含）的 {@link String}，格式为 {@code yyyy-MM-dd}。
+     * @param to 表示分区时间上界（不包含）的 {@link String}，格式为 {@code yyyy-MM-dd}。
+     */
+    void createInstanceLogPartition(@Param("partitionName") String partitionName, @Param("from") String from,
+            @Param("to") String to);
+
+    /**
+     * 删除会话记录表的分区。
+     *
+     * @param partitionName 表示分区名称的 {@link String}。
+     */
+    void dropInstanceLogPartition(@Param("partitionName") String partitionName);
 }
@@ -0,0 +1,84 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.mapper;
+
+import modelengine.fit.jober.aipp.po.ChatSessionRelayPo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 会话路由与跨节点转发数据的数据库操作
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public interface ChatSessionRelayMapper {
+    /**
+     * 记录会话所在的节点，已存在时覆盖
+     *
+     * @param instanceId 会话对应的实例id
+     * @param nodeId 持有会话的节点id
+     * @param updateAt 更新时间
+     */
+    void upsertRoute(String instanceId, String nodeId, LocalDateTime updateAt);
+
+    /**
+     * 删除指定节点上会话的路由
+     *
+     * @param instanceId 会话对应的实例id
+     * @param nodeId 持有会话的节点id
+     */
+    void deleteRoute(String instanceId, String nodeId);
+
+    /**
+     * 查询持有会话的节点
+     *
+     * @param instanceId 会话对应的实例id
+     * @return 节点id，会话不存在时为 {@code null}
+     */
+    String getRouteNode(String instanceId);
+
+    /**
+     * 写入一条待转发的会话数据
+     *
+     * @param relayPo 待转发的会话数据
+     */
+    void insertMessage(ChatSessionRelayPo relayPo);
+
+    /**
+     * 按写入顺序查询发往指定节点的会话数据
+     *
+     * @param nodeId 节点id
+     * @param limit 最多查询的条数
+     * @return 会话数据列表
+     */
+    List<ChatSessionRelayPo> selectMessages(String nodeId, int limit);
+
+    /**
+     * 删除已处理的会话数据
+     *
+     * @param ids 会话数据id列表
+     */
+    void deleteMessages(List<Long> ids);
+
+    /**
+     * 删除在指定时间之前写入、仍未被处理的会话数据
+     *
+     * @param before 截止时间
+     * @return 删除的条数
+     */
+    int deleteExpiredMessages(LocalDateTime before);
+
+    /**
+     * 删除在指定时间之前更新的路由
+     *
+     * @param before 截止时间
+     * @return 删除的条数
+     */
+    int deleteExpiredRoutes(LocalDateTime before);
+}
@@ -4,24 +4,30 @@
  *  Licensed under the MIT License. See License.txt in the project root for license information.
  *--------------------------------------------------------------------------------------------*/
 
-package modelengine.jade.app.engine.metrics.po;
+package modelengine.fit.jober.aipp.po;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 /**
- * MetricAccessPO类消息处理策略
+ * 转发给会话所在节点的会话数据.
  *
- * @author 陈霄宇
- * @since 2024/05/24
+ * @author 陈潇文
+ * @since 2025-04-30
  */
+@Builder
 @Data
 @NoArgsConstructor
-public class MetricsAccessPo {
+@AllArgsConstructor
+public class ChatSessionRelayPo {
     private Long id;
-    private String appId;
-    private Integer totalAccess;
-    private LocalDateTime createTime;
+    private String nodeId;
+    private String instanceId;
+    private String payload;
+    private int isLast;
+    private LocalDateTime createAt;
 }
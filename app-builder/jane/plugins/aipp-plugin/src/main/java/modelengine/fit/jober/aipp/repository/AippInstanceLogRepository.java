@@ -8,6 +8,8 @@ package modelengine.fit.jober.aipp.repository;
 
 import modelengine.fit.jober.aipp.entity.AippInstLog;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -40,4 +42,71 @@ public interface AippInstanceLogRepository {
      * @return 表示实例历史记录列表的 {@link List}{@code <}{@link AippInstLog}{@code >}。
      */
     List<AippInstLog> selectByLogIds(List<Long> logIds);
+
+    /**
+     * 按日志唯一标识升序分页查询超期的会话记录。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示上一页最后一条记录唯一标识的 {@code long}，首页传 {@code 0}。
+     * @param limit 表示查询条数的 {@code int}。
+     * @return 表示实例历史记录列表的 {@link List}{@code <}{@link AippInstLog}{@code >}。
+     */
+    List<AippInstLog> selectExpireInstanceLogs(String aippType, LocalDateTime expireBefore, long afterLogId,
+            int limit);
+
+    /**
+     * 按日志唯一标识升序分页查询超期的会话记录唯一标识。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示上一页最后一条记录唯一标识的 {@code long}，首页传 {@code 0}。
+     * @param limit 表示查询条数的 {@code int}。
+     * @return 表示超期历史记录id的 {@link List}{@code <}{@link Long}{@code >}。
+     */
+    List<Long> selectExpireInstanceLogIds(String aippType, LocalDateTime expireBefore, long afterLogId, int limit);
+
+    /**
+     * 按范围删除超期的会话记录，范围为日志唯一标识位于 ({@code afterLogId}, {@code maxLogId}] 内、
+     * 创建时间早于 {@code expireBefore} 且不在 {@code excludedPartitions} 分区中的记录。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param excludedPartitions 表示随后整体删除、无需逐行删除的分区月份的 {@link List}{@code <}{@link YearMonth}{@code >}。
+     * @param expireBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterLogId 表示删除范围内最小日志唯一标识（不包含）的 {@code long}。
+     * @param maxLogId 表示删除范围内最大日志唯一标识（包含）的 {@code long}。
+     * @return 表示删除条数的 {@code int}。
+     */
+    int deleteExpireInstanceLogs(String aippType, List<YearMonth> excludedPartitions, LocalDateTime expireBefore,
+            long afterLogId, long maxLogId);
+
+    /**
+     * 判断指定月份内是否存在指定类型的会话记录。
+     *
+     * @param aippType 表示应用类型的 {@link String}。
+     * @param month 表示月份的 {@link YearMonth}。
+     * @return 表示是否存在记录的 {@code boolean}。
+     */
+    boolean existsInstanceLogs(String aippType, YearMonth month);
+
+    /**
+     * 获取会话记录表已有的月分区，非分区表返回空列表。
+     *
+     * @return 表示分区月份的 {@link List}{@code <}{@link YearMonth}{@code >}。
+     */
+    List<YearMonth> getInstanceLogPartitions();
+
+    /**
+     * 创建指定月份的会话记录分区，已存在时忽略；默认分区中该月的数据会移入新分区。
+     *
+     * @param month 表示分区月份的 {@link YearMonth}。
+     */
+    void createInstanceLogPartition(YearMonth month);
+
+    /**
+     * 删除指定月份的会话记录分区。
+     *
+     * @param month 表示分区月份的 {@link YearMonth}。
+     */
+    void dropInstanceLogPartition(YearMonth month);
 }
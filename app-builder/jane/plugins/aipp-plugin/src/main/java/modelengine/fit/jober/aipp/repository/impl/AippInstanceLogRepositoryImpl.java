@@ -12,7 +12,13 @@ import modelengine.fit.jober.aipp.repository.AippInstanceLogRepository;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.util.CollectionUtils;
 
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * {@link AippInstanceLogRepository} 对应实现类。
@@ -22,6 +28,11 @@ import java.util.List;
  */
 @Component
 public class AippInstanceLogRepositoryImpl implements AippInstanceLogRepository {
+    private static final String PARTITION_PREFIX = "aipp_instance_log_p";
+    private static final Pattern PARTITION_PATTERN = Pattern.compile(PARTITION_PREFIX + "(\\d{6})");
+    private static final DateTimeFormatter PARTITION_FORMATTER = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
     private final AippLogMapper aippLogMapper;
 
     /**
@@ -48,4 +59,60 @@ public class AippInstanceLogRepositoryImpl implements AippInstanceLogRepository
     public List<AippInstLog> selectByLogIds(List<Long> logIds) {
         return this.aippLogMapper.selectByLogIds(logIds);
     }
+
+    @Override
+    public List<AippInstLog> selectExpireInstanceLogs(String aippType, LocalDateTime expireBefore, long afterLogId,
+            int limit) {
+        return this.aippLogMapper.selectExpireInstanceLogs(aippType, expireBefore, afterLogId, limit);
+    }
+
+    @Override
+    public List<Long> selectExpireInstanceLogIds(String aippType, LocalDateTime expireBefore, long afterLogId,
+            int limit) {
+        return this.aippLogMapper.selectExpireInstanceLogIds(aippType, expireBefore, afterLogId, limit);
+    }
+
+    @Override
+    public int deleteExpireInstanceLogs(String aippType, List<YearMonth> excludedPartitions,
+            LocalDateTime expireBefore, long afterLogId, long maxLogId) {
+        List<String> partitionNames = excludedPartitions.stream()
+                .map(AippInstanceLogRepositoryImpl::partitionName)
+                .toList();
+        return this.aippLogMapper.deleteExpireInstanceLogs(aippType, partitionNames, expireBefore, afterLogId,
+                maxLogId);
+    }
+
+    @Override
+    public boolean existsInstanceLogs(String aippType, YearMonth month) {
+        return this.aippLogMapper.existsInstanceLogs(aippType, month.atDay(1).atStartOfDay(),
+                month.plusMonths(1).atDay(1).atStartOfDay());
+    }
+
+    @Override
+    public List<YearMonth> getInstanceLogPartitions() {
+        return this.aippLogMapper.selectInstanceLogPartitions()
+                .stream()
+                .map(PARTITION_PATTERN::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.parse(matcher.group(1), PARTITION_FORMATTER))
+                .sorted()
+                .toList();
+    }
+
+    @Override
+    public void createInstanceLogPartition(YearMonth month) {
+        this.aippLogMapper.createInstanceLogPartition(partitionName(month),
+                month.atDay(1).format(BOUND_FORMATTER),
+                month.plusMonths(1).atDay(1).format(BOUND_FORMATTER));
+    }
+
+    @Override
+    public void dropInstanceLogPartition(YearMonth month) {
+        this.aippLogMapper.dropInstanceLogPartition(partitionName(month));
+    }
+
+    private static String partitionName(YearMonth month) {
+        // 分区名通过 ${} 拼接进 DDL，只允许由月份生成。
+        return PARTITION_PREFIX + Objects.requireNonNull(month).format(PARTITION_FORMATTER);
+    }
 }
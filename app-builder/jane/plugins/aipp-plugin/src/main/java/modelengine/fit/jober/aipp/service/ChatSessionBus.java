@@ -0,0 +1,72 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service;
+
+import modelengine.fit.jober.aipp.entity.ChatSessionBusStats;
+
+/**
+ * 会话总线，用于将会话数据转发给持有该会话的节点
+ * <p>SSE 会话只存在于建立连接的节点上，流程回调可能落在集群中的任意节点。
+ * 本节点没有对应会话时，通过总线将数据转发给持有会话的节点。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public interface ChatSessionBus {
+    /**
+     * 声明本节点持有会话.
+     *
+     * @param instanceId 实例id.
+     */
+    void register(String instanceId);
+
+    /**
+     * 取消本节点对会话的持有.
+     *
+     * @param instanceId 实例id.
+     */
+    void unregister(String instanceId);
+
+    /**
+     * 将数据转发给持有会话的节点.
+     *
+     * @param instanceId 实例id.
+     * @param data 会话数据.
+     * @param isLast 是否为会话的最后一条数据.
+     */
+    void relay(String instanceId, Object data, boolean isLast);
+
+    /**
+     * 订阅其他节点转发给本节点的数据.
+     *
+     * @param receiver 数据的接收者.
+     */
+    void subscribe(Receiver receiver);
+
+    /**
+     * 获取转发的统计信息.
+     *
+     * @return 统计信息.
+     */
+    ChatSessionBusStats getStats();
+
+    /**
+     * 转发数据的接收者.
+     */
+    @FunctionalInterface
+    interface Receiver {
+        /**
+         * 接收转发给本节点的数据.
+         *
+         * @param instanceId 实例id.
+         * @param data 会话数据.
+         * @param isLast 是否为会话的最后一条数据.
+         * @return 本节点存在会话并已写入时返回 {@code true}，否则返回 {@code false}.
+         */
+        boolean receive(String instanceId, Object data, boolean isLast);
+    }
+}
@@ -41,12 +41,14 @@ public interface FileService {
      * @param context 操作上下文的 {@link OperationContext}
      * @param fileCanonicalPath 文件的规范路径
      * @param fileName 文件名
+     * @param httpRequest Http请求，用于处理 Range 与 If-None-Match 等条件请求
      * @param httpClassicServerResponse Http响应
      * @return 文件实体
      * @throws IOException 文件读取异常
      */
     FileEntity getFile(OperationContext context, String fileCanonicalPath, String fileName,
-            HttpClassicServerResponse httpClassicServerResponse) throws IOException;
+            HttpClassicServerRequest httpRequest, HttpClassicServerResponse httpClassicServerResponse)
+            throws IOException;
 
     /**
      * 上传文件
@@ -77,9 +79,11 @@ public interface FileService {
      * 获取表单模板
      *
      * @param httpRequest 表示Http请求的 {@link HttpClassicServerRequest}。
+     * @param httpResponse 表示Http响应的 {@link HttpClassicServerResponse}。
      * @param context 表示操作上下文的 {@link OperationContext}。
      * @return 表示表单模板文件的 {@link FileEntity}。
      * @throws IOException 文件读取异常。
      */
-    FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest, OperationContext context) throws IOException;
+    FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest, HttpClassicServerResponse httpResponse,
+            OperationContext context) throws IOException;
 }
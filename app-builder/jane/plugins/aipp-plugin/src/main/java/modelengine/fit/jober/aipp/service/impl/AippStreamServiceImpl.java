@@ -6,14 +6,11 @@
 
 package modelengine.fit.jober.aipp.service.impl;
 
-import modelengine.fit.jober.aipp.service.AippLogService;
 import modelengine.fit.jober.aipp.service.AippStreamService;
-import modelengine.fit.jober.aipp.util.AippLogUtils;
 import modelengine.fit.jober.aipp.util.JsonUtils;
 
 import modelengine.fit.http.websocket.Session;
 import modelengine.fitframework.annotation.Component;
-import modelengine.fitframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,10 +38,10 @@ public class AippStreamServiceImpl implements AippStreamService {
      */
     private final Map<String, Boolean> instIdIsNewChat = new ConcurrentHashMap<>();
 
-    private final AippLogService logService;
+    private final AncestorInstanceCache ancestorInstanceCache;
 
-    public AippStreamServiceImpl(AippLogService logService) {
-        this.logService = logService;
+    public AippStreamServiceImpl(AncestorInstanceCache ancestorInstanceCache) {
+        this.ancestorInstanceCache = ancestorInstanceCache;
     }
 
     @Override
@@ -100,11 +97,6 @@ public class AippStreamServiceImpl implements AippStreamService {
 
     @Override
     public void sendToAncestor(String instanceId, Object data) {
-        String processedInstanceId = instanceId;
-        String path = this.logService.getParentPath(processedInstanceId);
-        if (StringUtils.isNotEmpty(path)) {
-            processedInstanceId = path.split(AippLogUtils.PATH_DELIMITER)[1];
-        }
-        this.send(processedInstanceId, data);
+        this.send(this.ancestorInstanceCache.getAncestor(instanceId), data);
     }
 }
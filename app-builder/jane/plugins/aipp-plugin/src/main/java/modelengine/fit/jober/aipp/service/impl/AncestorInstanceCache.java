@@ -0,0 +1,77 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.impl;
+
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.util.AippLogUtils;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 实例到其最顶层祖先实例的缓存.
+ * <p>嵌套调用的子实例每条流式消息都需要转发给祖先实例的会话。祖先链在实例的整个生命周期内不变，
+ * 因此每个实例只查询一次日志路径，实例结束时失效；未正常结束的实例在一段时间未访问后自动过期.
+ * 尚未写入日志路径的实例不缓存，下次转发时重新查询.</p>
+ *
+ * @author 邬涨财
+ * @since 2025-04-30
+ */
+@Component
+public class AncestorInstanceCache {
+    private final AippLogMapper aippLogMapper;
+    private final Cache<String, String> cache;
+
+    public AncestorInstanceCache(AippLogMapper aippLogMapper,
+            @Value("${app-engine.ancestor-cache.expire-seconds:1800}") long expireSeconds,
+            @Value("${app-engine.ancestor-cache.maximum-size:10000}") long maximumSize) {
+        Validation.isTrue(expireSeconds > 0, "The expire seconds must be positive.");
+        Validation.isTrue(maximumSize > 0, "The maximum size must be positive.");
+        this.aippLogMapper = aippLogMapper;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds(expireSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * 获取实例最顶层的祖先实例，没有祖先时返回实例自身.
+     *
+     * @param instanceId 实例id.
+     * @return 祖先实例id.
+     */
+    public String getAncestor(String instanceId) {
+        String ancestor = this.cache.getIfPresent(instanceId);
+        if (ancestor != null) {
+            return ancestor;
+        }
+        String path = this.aippLogMapper.getParentPath(instanceId);
+        if (StringUtils.isEmpty(path)) {
+            return instanceId;
+        }
+        ancestor = path.split(AippLogUtils.PATH_DELIMITER)[1];
+        this.cache.put(instanceId, ancestor);
+        return ancestor;
+    }
+
+    /**
+     * 实例结束时使其缓存失效.
+     *
+     * @param instanceId 实例id.
+     */
+    public void invalidate(String instanceId) {
+        if (instanceId != null) {
+            this.cache.invalidate(instanceId);
+        }
+    }
+}
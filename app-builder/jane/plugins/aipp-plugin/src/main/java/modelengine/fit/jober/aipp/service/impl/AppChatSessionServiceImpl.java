@@ -12,6 +12,7 @@ import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
 import modelengine.fit.jober.aipp.service.AppChatSessionService;
+import modelengine.fit.jober.aipp.service.ChatSessionBus;
 
 import lombok.RequiredArgsConstructor;
 import modelengine.fitframework.annotation.Component;
@@ -39,6 +40,7 @@ public class AppChatSessionServiceImpl implements AppChatSessionService {
 
     private final Map<String, ChatSession<Object>> emitterMap = new ConcurrentHashMap<>();
     private final AppChatNumMapper appChatNumMapper;
+    private final ChatSessionBus chatSessionBus;
 
     @Override
     public void addSession(String instanceId, ChatSession<Object> chatSession) {
@@ -52,11 +54,15 @@ public class AppChatSessionServiceImpl implements AppChatSessionService {
             log.warn("chat queue too long");
             throw new AippException(AippErrCode.CHAT_QUEUE_TOO_LONG);
         }
+        this.chatSessionBus.register(instanceId);
     }
 
     @Override
     public void removeSession(String instanceId) {
         ChatSession<Object> removedSession = this.emitterMap.remove(instanceId);
+        if (removedSession != null) {
+            this.chatSessionBus.unregister(instanceId);
+        }
         Optional.ofNullable(removedSession)
                 .filter(ChatSession::isOccupied)
                 .ifPresent(session -> this.appChatNumMapper.minusOne(session.getAppId(),
@@ -7,28 +7,35 @@
 package modelengine.fit.jober.aipp.service.impl;
 
 import modelengine.fit.jober.aipp.entity.ChatSession;
-import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.service.AppChatSessionService;
 import modelengine.fit.jober.aipp.service.AppChatSseService;
-import modelengine.fit.jober.aipp.util.AippLogUtils;
+import modelengine.fit.jober.aipp.service.ChatSessionBus;
 
-import lombok.RequiredArgsConstructor;
 import modelengine.fitframework.annotation.Component;
-import modelengine.fitframework.util.StringUtils;
 
 import java.util.Optional;
 
 /**
  * {@link AppChatSseService} 的默认实现
+ * <p>子实例的祖先实例通过 {@link AncestorInstanceCache} 解析，每个实例只查询一次数据库；
+ * 数据经会话独占的有界队列写入会话；本节点没有会话时，经 {@link ChatSessionBus} 转发给持有会话的节点。</p>
  *
  * @author 邬涨财
  * @since 2024-07-28
  */
 @Component
-@RequiredArgsConstructor
 public class AppChatSseServiceImpl implements AppChatSseService {
-    private final AippLogMapper aippLogMapper;
+    private final AncestorInstanceCache ancestorInstanceCache;
     private final AppChatSessionService appChatSessionService;
+    private final ChatSessionBus chatSessionBus;
+
+    public AppChatSseServiceImpl(AncestorInstanceCache ancestorInstanceCache,
+            AppChatSessionService appChatSessionService, ChatSessionBus chatSessionBus) {
+        this.ancestorInstanceCache = ancestorInstanceCache;
+        this.appChatSessionService = appChatSessionService;
+        this.chatSessionBus = chatSessionBus;
+        this.chatSessionBus.subscribe(this::receive);
+    }
 
     @Override
     public Optional<ChatSession<Object>> getEmitter(String instanceId) {
@@ -37,35 +44,52 @@ public class AppChatSseServiceImpl implements AppChatSseService {
 
     @Override
     public void send(String instanceId, Object data) {
-        if (data != null) {
-            this.getEmitter(instanceId).ifPresent(e -> e.getEmitter().emit(data));
+        if (data == null) {
+            return;
+        }
+        Optional<ChatSession<Object>> session = this.getEmitter(instanceId);
+        if (session.isPresent()) {
+            session.get().emit(data);
+        } else {
+            this.chatSessionBus.relay(instanceId, data, false);
         }
     }
 
     @Override
     public void sendLastData(String instanceId, Object data) {
-        this.send(instanceId, data);
-        this.getEmitter(instanceId).ifPresent(e -> e.getEmitter().complete());
-        this.appChatSessionService.removeSession(instanceId);
+        Optional<ChatSession<Object>> session = this.getEmitter(instanceId);
+        if (session.isPresent()) {
+            if (data != null) {
+                session.get().emit(data);
+            }
+            session.get().complete();
+            this.appChatSessionService.removeSession(instanceId);
+        } else {
+            this.chatSessionBus.relay(instanceId, data, true);
+        }
+        this.ancestorInstanceCache.invalidate(instanceId);
     }
 
     @Override
     public void sendToAncestor(String instanceId, Object data) {
-        String processedInstanceId = this.getProcessedInstanceId(instanceId);
-        this.send(processedInstanceId, data);
+        this.send(this.ancestorInstanceCache.getAncestor(instanceId), data);
     }
 
     @Override
     public void sendToAncestorLastData(String instanceId, Object data) {
-        String processedInstanceId = this.getProcessedInstanceId(instanceId);
-        this.sendLastData(processedInstanceId, data);
+        this.sendLastData(this.ancestorInstanceCache.getAncestor(instanceId), data);
+        this.ancestorInstanceCache.invalidate(instanceId);
     }
 
-    private String getProcessedInstanceId(String instanceId) {
-        String path = this.aippLogMapper.getParentPath(instanceId);
-        if (StringUtils.isNotEmpty(path)) {
-            return path.split(AippLogUtils.PATH_DELIMITER)[1];
+    private boolean receive(String instanceId, Object data, boolean isLast) {
+        if (!this.getEmitter(instanceId).isPresent()) {
+            return false;
+        }
+        if (isLast) {
+            this.sendLastData(instanceId, data);
+        } else {
+            this.send(instanceId, data);
         }
-        return instanceId;
+        return true;
     }
 }
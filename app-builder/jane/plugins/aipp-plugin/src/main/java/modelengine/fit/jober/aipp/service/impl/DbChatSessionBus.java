@@ -0,0 +1,193 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.impl;
+
+import modelengine.fit.jober.aipp.entity.ChatSessionBusStats;
+import modelengine.fit.jober.aipp.mapper.ChatSessionRelayMapper;
+import modelengine.fit.jober.aipp.po.ChatSessionRelayPo;
+import modelengine.fit.jober.aipp.service.ChatSessionBus;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 基于数据库中转的 {@link ChatSessionBus} 实现
+ * <p>节点持有会话时在路由表中登记，其他节点将数据写入中转表，持有会话的节点按固定间隔拉取，
+ * 因此转发时延不超过拉取间隔加一次查询的耗时。超过存活时间仍未被拉取的数据（如节点宕机）会被清理并记为丢弃。
+ * 本节点持有的会话定期刷新路由，长时间未刷新的路由视为节点已下线并被清理。
+ * 转发时延按写入时间计算，跨机器部署时包含节点间的时钟偏差。
+ * 数据使用与 SSE 输出相同的 FIT 序列化器转换，转发后的字段名与本节点直接输出时一致。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public class DbChatSessionBus implements ChatSessionBus {
+    private static final Logger log = Logger.get(DbChatSessionBus.class);
+    private static final long CLEANUP_INTERVAL_SECONDS = 60L;
+    private static final long ROUTE_TTL_SECONDS = CLEANUP_INTERVAL_SECONDS * 5;
+
+    private final ChatSessionRelayMapper relayMapper;
+    private final ObjectSerializer serializer;
+    private final String nodeId;
+    private final long messageTtlSeconds;
+    private final int batchSize;
+    private final ChatSessionBusStats stats = new ChatSessionBusStats();
+    private final Set<String> localInstanceIds = ConcurrentHashMap.newKeySet();
+    private final Cache<String, String> routeCache;
+    private final ScheduledExecutorService scheduler;
+    private volatile Receiver receiver;
+
+    public DbChatSessionBus(ChatSessionRelayMapper relayMapper, ObjectSerializer serializer, String nodeId,
+            long pollIntervalMillis, long messageTtlSeconds, int batchSize) {
+        Validation.notNull(serializer, "The serializer cannot be null.");
+        Validation.notBlank(nodeId, "The node id cannot be blank.");
+        Validation.isTrue(pollIntervalMillis > 0, "The poll interval must be positive.");
+        Validation.isTrue(messageTtlSeconds > 0, "The message ttl must be positive.");
+        Validation.isTrue(batchSize > 0, "The batch size must be positive.");
+        this.relayMapper = relayMapper;
+        this.serializer = serializer;
+        this.nodeId = nodeId;
+        this.messageTtlSeconds = messageTtlSeconds;
+        this.batchSize = batchSize;
+        // 会话所在节点在会话结束前不变，短时缓存避免每条数据都查询路由表.
+        // 没有路由的结果不缓存，其他节点刚登记的会话可以立即收到数据.
+        this.routeCache = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(2)).maximumSize(10000).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "chat-session-bus-" + nodeId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        this.scheduler.scheduleWithFixedDelay(this::cleanup, CLEANUP_INTERVAL_SECONDS, CLEANUP_INTERVAL_SECONDS,
+                TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void register(String instanceId) {
+        this.relayMapper.upsertRoute(instanceId, this.nodeId, LocalDateTime.now());
+        this.localInstanceIds.add(instanceId);
+        this.routeCache.invalidate(instanceId);
+    }
+
+    @Override
+    public void unregister(String instanceId) {
+        this.localInstanceIds.remove(instanceId);
+        this.relayMapper.deleteRoute(instanceId, this.nodeId);
+    }
+
+    @Override
+    public void relay(String instanceId, Object data, boolean isLast) {
+        String owner = this.routeCache.get(instanceId, this.relayMapper::getRouteNode);
+        if (StringUtils.isEmpty(owner)) {
+            this.stats.recordUnrouted();
+            return;
+        }
+        if (isLast) {
+            this.routeCache.invalidate(instanceId);
+        }
+        if (StringUtils.equals(owner, this.nodeId)) {
+            // 路由指向本节点但会话已不存在，例如会话已过期清理.
+            this.stats.recordDropped(1);
+            return;
+        }
+        this.relayMapper.insertMessage(ChatSessionRelayPo.builder()
+                .nodeId(owner)
+                .instanceId(instanceId)
+                .payload(data == null ? null : this.serializer.serialize(data))
+                .isLast(isLast ? 1 : 0)
+                .createAt(LocalDateTime.now())
+                .build());
+        this.stats.recordRelayed();
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public ChatSessionBusStats getStats() {
+        return this.stats;
+    }
+
+    /**
+     * 停止拉取和清理任务.
+     */
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    private void poll() {
+        Receiver current = this.receiver;
+        if (current == null) {
+            return;
+        }
+        try {
+            List<ChatSessionRelayPo> messages;
+            do {
+                messages = this.relayMapper.selectMessages(this.nodeId, this.batchSize);
+                if (messages.isEmpty()) {
+                    return;
+                }
+                messages.forEach(message -> this.deliver(current, message));
+                this.relayMapper.deleteMessages(messages.stream()
+                        .map(ChatSessionRelayPo::getId)
+                        .collect(Collectors.toList()));
+            } while (messages.size() == this.batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll relayed chat session messages. [nodeId={}]", this.nodeId, e);
+        }
+    }
+
+    private void deliver(Receiver current, ChatSessionRelayPo message) {
+        // 单条数据投递失败只丢弃该条数据，不影响同一批次的其他数据，也不会导致整批重复投递.
+        try {
+            Object data = message.getPayload() == null
+                    ? null
+                    : this.serializer.<Object>deserialize(message.getPayload(), Object.class);
+            if (current.receive(message.getInstanceId(), data, message.getIsLast() == 1)) {
+                this.stats.recordDelivered(ChronoUnit.MILLIS.between(message.getCreateAt(), LocalDateTime.now()));
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to deliver relayed chat session message. [instanceId={}, id={}]",
+                    message.getInstanceId(),
+                    message.getId(),
+                    e);
+        }
+        this.stats.recordDropped(1);
+    }
+
+    private void cleanup() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            this.localInstanceIds.forEach(instanceId -> this.relayMapper.upsertRoute(instanceId, this.nodeId, now));
+            this.relayMapper.deleteExpiredRoutes(now.minusSeconds(ROUTE_TTL_SECONDS));
+            int expired = this.relayMapper.deleteExpiredMessages(now.minusSeconds(this.messageTtlSeconds));
+            this.stats.recordDropped(expired);
+            log.info("Chat session bus stats. [nodeId={}, stats={}]", this.nodeId, this.stats);
+        } catch (RuntimeException e) {
+            log.warn("Failed to clean up chat session relay. [nodeId={}]", this.nodeId, e);
+        }
+    }
+}
@@ -15,13 +15,13 @@ import modelengine.fit.jane.common.response.Rsp;
 import modelengine.fit.jane.task.util.Entities;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
-import modelengine.fit.jober.aipp.common.thread.StreamConsumer;
 import modelengine.fit.jober.aipp.config.FormFileUploadConfig;
 import modelengine.fit.jober.aipp.dto.FileRspDto;
 import modelengine.fit.jober.aipp.dto.FormFileDto;
 import modelengine.fit.jober.aipp.dto.GenerateImageDto;
 import modelengine.fit.jober.aipp.service.FileService;
 import modelengine.fit.jober.aipp.service.UploadedFileManageService;
+import modelengine.fit.jober.aipp.util.FileDownloadUtils;
 import modelengine.fit.jober.aipp.util.HttpUtils;
 import modelengine.fit.jober.aipp.util.JsonUtils;
 import modelengine.fit.jober.aipp.validation.FormFileValidator;
@@ -49,7 +49,6 @@ import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.UuidUtils;
 import modelengine.fitframework.util.support.Unzip;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -58,8 +57,11 @@ import java.net.URLDecoder;
 import java.nio.charset.Charset;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.GroupPrincipal;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -68,6 +70,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * FileService 接口的实现类。
@@ -167,7 +170,8 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
 
     @Override
     public FileEntity getFile(OperationContext context, String fileCanonicalPath, String fileName,
-            HttpClassicServerResponse httpClassicServerResponse) throws IOException {
+            HttpClassicServerRequest httpRequest, HttpClassicServerResponse httpClassicServerResponse)
+            throws IOException {
         if (StringUtils.isNotBlank(fileCanonicalPath)) {
             String operator = context.getOperator();
             if (!fileCanonicalPath.startsWith(NAS_SHARE_DIR) || fileCanonicalPath.contains("..")) {
@@ -179,11 +183,11 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
             if (!filePath.toFile().exists()) {
                 throw new AippException(context, AippErrCode.FILE_EXPIRED_OR_BROKEN);
             }
-            ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(Files.readAllBytes(filePath));
-            return FileEntity.createAttachment(httpClassicServerResponse,
+            return FileDownloadUtils.download(httpRequest,
+                    httpClassicServerResponse,
+                    filePath,
                     fileName,
-                    byteArrayInputStream,
-                    byteArrayInputStream.available());
+                    FileEntity.Position.ATTACHMENT);
         } else {
             throw new IllegalArgumentException("FileCanonicalPath is empty");
         }
@@ -241,12 +245,9 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
             throw new AippException(AippErrCode.NO_FILE_UPLOAD_ERROR);
         }
         this.validateFormConstraintInfo();
-        File tempDir;
+        File tempDir = this.unZipFormFile(uniqueFileName, this.formFullTemporaryPath, this.formFullPath, entities);
         if (StringUtils.isNotBlank(this.groupName)) {
-            tempDir = this.unZipFormFile(uniqueFileName, this.formFullTemporaryPath, this.formFullPath, entities);
-            this.setNewGroupName();
-        } else {
-            tempDir = this.unZipFormFile(uniqueFileName, this.formFullTemporaryPath, this.formFullPath, entities);
+            this.setNewGroupName(tempDir.toPath());
         }
 
         File[] files = this.getFiles(tempDir);
@@ -285,29 +286,31 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
         return tmpPath;
     }
 
-    private void setNewGroupName() throws IOException {
-        Process changeGroupProcess = new ProcessBuilder("chgrp", "-R", this.groupName, this.formFullPath).start();
-        try {
-            handleProcessOutputAndWait(changeGroupProcess);
-        } catch (InterruptedException e) {
-            log.error("Failed to get original group");
-            throw new AippException(AippErrCode.SAVE_FORM_FILE_FAILED);
+    /**
+     * 只修改本次解压出的文件与目录的属组，不再对整个表单目录执行 {@code chgrp -R}.
+     *
+     * @param formDir 本次解压出的表单目录.
+     * @throws IOException 修改属组失败时抛出.
+     */
+    private void setNewGroupName(Path formDir) throws IOException {
+        if (Files.getFileAttributeView(formDir, PosixFileAttributeView.class) == null) {
+            log.warn("Posix file attributes are not supported, skip changing group. [path={}]", formDir);
+            return;
+        }
+        GroupPrincipal group = formDir.getFileSystem()
+                .getUserPrincipalLookupService()
+                .lookupPrincipalByGroupName(this.groupName);
+        try (Stream<Path> paths = Files.walk(formDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                Files.getFileAttributeView(path, PosixFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+                        .setGroup(group);
+            }
         }
-    }
-
-    private static void handleProcessOutputAndWait(Process changeGroupProcess) throws InterruptedException {
-        StreamConsumer errConsumer = new StreamConsumer(changeGroupProcess.getErrorStream());
-        StreamConsumer outputConsumer = new StreamConsumer(changeGroupProcess.getInputStream());
-        errConsumer.start();
-        outputConsumer.start();
-        changeGroupProcess.waitFor();
-        errConsumer.join();
-        outputConsumer.join();
     }
 
     @Override
-    public FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest, OperationContext context)
-            throws IOException {
+    public FileEntity getSmartFormTemplate(HttpClassicServerRequest httpRequest,
+            HttpClassicServerResponse httpResponse, OperationContext context) throws IOException {
         String operator = context.getOperator();
         String templatePath = this.formFullPath + "/" + TEMPLATE_ZIP;
         log.info("Download form template file: operator={}.", operator);
@@ -315,11 +318,11 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
         if (!path.toFile().exists()) {
             throw new AippException(AippErrCode.FILE_EXPIRED_OR_BROKEN);
         }
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(Files.readAllBytes(path));
-        return FileEntity.createAttachment(httpRequest,
+        return FileDownloadUtils.download(httpRequest,
+                httpResponse,
+                path,
                 TEMPLATE_ZIP,
-                byteArrayInputStream,
-                byteArrayInputStream.available());
+                FileEntity.Position.ATTACHMENT);
     }
 
     @Override
@@ -337,21 +340,20 @@ public class FileServiceImpl implements FileService, CustomResourceHandler {
         if (!path.toFile().exists()) {
             throw new AippException(AippErrCode.FILE_EXPIRED_OR_BROKEN);
         }
-        ByteArrayInputStream byteArrayInputStream;
-        try {
-            byteArrayInputStream = new ByteArrayInputStream(Files.readAllBytes(path));
-        } catch (IOException e) {
-            throw new AippException(AippErrCode.EXTRACT_FILE_FAILED);
-        }
         int index = formPath.lastIndexOf("/");
         if (index == -1) {
             log.error("Url is incorrect. Url={}", request.path());
             throw new IllegalArgumentException(request.path());
         }
-        return FileEntity.createInline(request,
-                formPath.substring(index + 1),
-                byteArrayInputStream,
-                byteArrayInputStream.available());
+        try {
+            return FileDownloadUtils.download(request,
+                    response,
+                    path,
+                    formPath.substring(index + 1),
+                    FileEntity.Position.INLINE);
+        } catch (IOException e) {
+            throw new AippException(AippErrCode.EXTRACT_FILE_FAILED);
+        }
     }
 
     @Override
@@ -0,0 +1,40 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.impl;
+
+import modelengine.fit.jober.aipp.entity.ChatSessionBusStats;
+import modelengine.fit.jober.aipp.service.ChatSessionBus;
+
+/**
+ * 单节点部署使用的 {@link ChatSessionBus} 实现
+ * <p>会话只可能在本节点，因此不做转发，本节点找不到会话的数据记为无法路由。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public class LocalChatSessionBus implements ChatSessionBus {
+    private final ChatSessionBusStats stats = new ChatSessionBusStats();
+
+    @Override
+    public void register(String instanceId) {}
+
+    @Override
+    public void unregister(String instanceId) {}
+
+    @Override
+    public void relay(String instanceId, Object data, boolean isLast) {
+        this.stats.recordUnrouted();
+    }
+
+    @Override
+    public void subscribe(Receiver receiver) {}
+
+    @Override
+    public ChatSessionBusStats getStats() {
+        return this.stats;
+    }
+}
@@ -6,8 +6,6 @@
 
 package modelengine.fit.jober.aipp.service.scheduletask;
 
-import com.opencsv.CSVWriter;
-
 import modelengine.fit.jober.aipp.entity.AippInstLog;
 import modelengine.fit.jober.aipp.enums.AippTypeEnum;
 import modelengine.fit.jober.aipp.repository.AippInstanceLogRepository;
@@ -18,18 +16,24 @@ import modelengine.fitframework.util.CollectionUtils;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static modelengine.fit.jober.aipp.service.scheduletask.AppBuilderDbCleanScheduler.FILE_MAX_NUM;
 
 /**
  * 应用实例日志清理器。
+ * <p>超期数据按日志唯一标识做键集分页，逐页写入 gzip 压缩的滚动备份文件，落盘后再按范围删除。
+ * 若会话记录表已按月分区，整月超期的分区在备份完成后直接删除，不再逐行删除；默认分区中的超期数据仍逐行删除。</p>
  *
  * @author 杨祥宇
  * @since 2025-04-15
@@ -40,6 +44,9 @@ public class AippInstanceLogCleaner {
     private static final String FILE_NAME = "aipp-instance-log";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     private static final String CONNECTOR = "-";
+    private static final String LEGACY_FILE_SUFFIX = ".csv";
+    private static final int DATE_LENGTH = 8;
+    private static final long MAX_ROWS_PER_FILE = 100000L;
 
     private final AippInstanceLogRepository instanceLogRepo;
     private final CsvWriterHelper csvWriterHelper;
@@ -61,20 +68,27 @@ public class AippInstanceLogCleaner {
 
     /**
      * 清理已发布的应用对话历史记录表数据，并备份。
+     * <p>整月超期的分区在全部数据备份完成后删除。调试数据由 {@link #cleanAippInstancePreviewLog(int, int)}
+     * 单独清理，分区内仍有调试数据（例如调试数据保留时长更长）时不删除该分区，其中的已发布数据逐行删除。</p>
      *
      * @param expiredDays 表示数据最大保留时长的 {@code int}。
      * @param limit 表示批量处理数量的 {@code int}。
      */
     public void cleanAippInstanceNormalLog(int expiredDays, int limit) {
+        LocalDateTime expireBefore = LocalDateTime.now().minusDays(expiredDays);
         try {
-            while (true) {
-                List<Long> instanceLogIds =
-                        this.instanceLogRepo.getExpireInstanceLogIds(AippTypeEnum.NORMAL.type(), expiredDays, limit);
-                if (instanceLogIds.isEmpty()) {
-                    break;
-                }
-                backupData(instanceLogIds);
-                this.instanceLogRepo.forceDeleteInstanceLogs(instanceLogIds);
+            List<YearMonth> partitions = this.instanceLogRepo.getInstanceLogPartitions();
+            List<YearMonth> expiredPartitions = partitions.stream()
+                    .filter(month -> !month.plusMonths(1).atDay(1).atStartOfDay().isAfter(expireBefore))
+                    .filter(this::hasNoPreviewLogs)
+                    .toList();
+            // 超期分区中的数据只备份不逐行删除，备份完成后整体删除分区。
+            this.backupAndDelete(expireBefore, expiredPartitions, limit);
+            expiredPartitions.forEach(this.instanceLogRepo::dropInstanceLogPartition);
+            if (!partitions.isEmpty()) {
+                YearMonth current = YearMonth.now();
+                this.instanceLogRepo.createInstanceLogPartition(current);
+                this.instanceLogRepo.createInstanceLogPartition(current.plusMonths(1));
             }
             cleanupOldBackups(FILE_MAX_NUM);
         } catch (Exception e) {
@@ -82,37 +96,75 @@ public class AippInstanceLogCleaner {
         }
     }
 
-    private void backupData(List<Long> logIds) {
-        List<AippInstLog> aippInstLogs = this.instanceLogRepo.selectByLogIds(logIds);
-        if (CollectionUtils.isEmpty(aippInstLogs)) {
-            return;
+    private boolean hasNoPreviewLogs(YearMonth month) {
+        if (!this.instanceLogRepo.existsInstanceLogs(AippTypeEnum.PREVIEW.type(), month)) {
+            return true;
         }
-        String currentDate = LocalDate.now().format(DATE_FORMATTER);
-        Path backupPath = Paths.get(this.aippInstanceLogFilePath, FILE_NAME + CONNECTOR + currentDate + ".csv");
-        try (CSVWriter csvWriter = this.csvWriterHelper.createCsvWriter(backupPath, true)) {
-            List<String[]> backupData = aippInstLogs.stream().map(aippInstLog -> new String[] {
-                    String.valueOf(aippInstLog.getLogId()), aippInstLog.getAippId(), aippInstLog.getVersion(),
-                    aippInstLog.getInstanceId(), aippInstLog.getLogData(), aippInstLog.getLogType(),
-                    String.valueOf(aippInstLog.getCreateAt()), aippInstLog.getCreateUserAccount(), aippInstLog.getPath()
-            }).toList();
-            csvWriter.writeAll(backupData);
+        log.warn("Keep expired aipp instance log partition because it still has preview logs. [month={}]", month);
+        return false;
+    }
+
+    private void backupAndDelete(LocalDateTime expireBefore, List<YearMonth> droppedPartitions, int limit)
+            throws IOException {
+        String filePrefix = FILE_NAME + CONNECTOR + LocalDate.now().format(DATE_FORMATTER);
+        try (RotatingCsvBackupWriter writer = new RotatingCsvBackupWriter(this.csvWriterHelper,
+                Paths.get(this.aippInstanceLogFilePath),
+                filePrefix,
+                MAX_ROWS_PER_FILE)) {
+            long lastLogId = 0L;
+            while (true) {
+                List<AippInstLog> aippInstLogs = this.instanceLogRepo.selectExpireInstanceLogs(
+                        AippTypeEnum.NORMAL.type(), expireBefore, lastLogId, limit);
+                if (CollectionUtils.isEmpty(aippInstLogs)) {
+                    break;
+                }
+                writer.writeAll(aippInstLogs.stream().map(AippInstanceLogCleaner::toCsvRow).toList());
+                long maxLogId = aippInstLogs.get(aippInstLogs.size() - 1).getLogId();
+                this.instanceLogRepo.deleteExpireInstanceLogs(AippTypeEnum.NORMAL.type(),
+                        droppedPartitions,
+                        expireBefore,
+                        lastLogId,
+                        maxLogId);
+                lastLogId = maxLogId;
+            }
         } catch (IOException e) {
             log.error("Error occurred while writing aipp-instance-log.", e);
-            throw new IllegalStateException(e);
+            throw e;
         }
     }
 
+    private static String[] toCsvRow(AippInstLog aippInstLog) {
+        return new String[] {
+                String.valueOf(aippInstLog.getLogId()), aippInstLog.getAippId(), aippInstLog.getVersion(),
+                aippInstLog.getInstanceId(), aippInstLog.getLogData(), aippInstLog.getLogType(),
+                String.valueOf(aippInstLog.getCreateAt()), aippInstLog.getCreateUserAccount(), aippInstLog.getPath()
+        };
+    }
+
     private void cleanupOldBackups(int fileMaxNum) {
         File backupFolder = this.csvWriterHelper.getFile(this.aippInstanceLogFilePath);
-        File[] backupFiles = backupFolder.listFiles((dir, name) -> name.startsWith(FILE_NAME) && name.endsWith(".csv"));
+        File[] backupFiles = backupFolder.listFiles((dir, name) -> name.startsWith(FILE_NAME) && (
+                name.endsWith(LEGACY_FILE_SUFFIX) || name.endsWith(RotatingCsvBackupWriter.FILE_SUFFIX)));
         if (backupFiles == null) {
             return;
         }
-        List<File> sortedFiles =
-                Arrays.stream(backupFiles).sorted(Comparator.comparing(File::getName).reversed()).toList();
-        for (int i = fileMaxNum; i < sortedFiles.size(); i++) {
-            sortedFiles.get(i).delete();
+        // 同一天的备份可能滚动为多个文件，按日期保留最近的若干天。
+        List<String> sortedDates = Arrays.stream(backupFiles)
+                .map(AippInstanceLogCleaner::backupDate)
+                .distinct()
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        if (sortedDates.size() <= fileMaxNum) {
+            return;
         }
+        Set<String> keptDates = new HashSet<>(sortedDates.subList(0, fileMaxNum));
+        Arrays.stream(backupFiles).filter(file -> !keptDates.contains(backupDate(file))).forEach(File::delete);
+    }
+
+    private static String backupDate(File backupFile) {
+        String name = backupFile.getName();
+        int start = FILE_NAME.length() + CONNECTOR.length();
+        return name.substring(Math.min(start, name.length()), Math.min(start + DATE_LENGTH, name.length()));
     }
 
     /**
@@ -123,14 +175,22 @@ public class AippInstanceLogCleaner {
      */
     public void cleanAippInstancePreviewLog(int expiredDays, int limit) {
         log.info("Start cleaning aipp preview instance logs");
+        LocalDateTime expireBefore = LocalDateTime.now().minusDays(expiredDays);
         try {
+            long lastLogId = 0L;
             while (true) {
-                List<Long> instanceLogIds =
-                        this.instanceLogRepo.getExpireInstanceLogIds(AippTypeEnum.PREVIEW.type(), expiredDays, limit);
+                List<Long> instanceLogIds = this.instanceLogRepo.selectExpireInstanceLogIds(
+                        AippTypeEnum.PREVIEW.type(), expireBefore, lastLogId, limit);
                 if (instanceLogIds.isEmpty()) {
                     break;
                 }
-                this.instanceLogRepo.forceDeleteInstanceLogs(instanceLogIds);
+                long maxLogId = instanceLogIds.get(instanceLogIds.size() - 1);
+                this.instanceLogRepo.deleteExpireInstanceLogs(AippTypeEnum.PREVIEW.type(),
+                        Collections.emptyList(),
+                        expireBefore,
+                        lastLogId,
+                        maxLogId);
+                lastLogId = maxLogId;
             }
         } catch (Exception e) {
             log.error("clean instance logs failed, exception:", e);
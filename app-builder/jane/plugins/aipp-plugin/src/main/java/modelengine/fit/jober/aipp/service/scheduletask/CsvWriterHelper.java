@@ -10,10 +10,16 @@ import com.opencsv.CSVWriter;
 
 import modelengine.fitframework.annotation.Component;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * csv 文件写入助手。
@@ -35,6 +41,20 @@ public class CsvWriterHelper {
         return new CSVWriter(new FileWriter(path.toFile(), isAppend));
     }
 
+    /**
+     * 生成写入 gzip 压缩文件的 CsvWriter 对象，文件必须不存在。
+     * <p>压缩流开启同步刷新，调用 {@link CSVWriter#flush()} 后已写入的数据即可完整解压。</p>
+     *
+     * @param path 表示文件路径的 {@link Path}。
+     * @return 表示生成 CSVWriter类的 {@link CSVWriter}。
+     * @throws IOException 表示可能抛出异常的 {@link IOException}。
+     */
+    public CSVWriter createGzipCsvWriter(Path path) throws IOException {
+        GZIPOutputStream outputStream = new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE_NEW)), true);
+        return new CSVWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
     /**
      * 生成 File 对象。
      *
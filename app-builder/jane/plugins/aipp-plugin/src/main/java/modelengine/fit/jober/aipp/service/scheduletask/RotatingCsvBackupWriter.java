@@ -0,0 +1,95 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service.scheduletask;
+
+import com.opencsv.CSVWriter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 按行数滚动的 gzip 压缩 csv 备份文件写入器。
+ * <p>文件在首次写入时才创建，命名为 {@code <前缀>-<序号>.csv.gz}，序号跳过已存在的文件，
+ * 因此同一天多次执行不会覆盖已有备份。</p>
+ *
+ * @author 杨祥宇
+ * @since 2025-04-22
+ */
+public class RotatingCsvBackupWriter implements Closeable {
+    /**
+     * 表示备份文件的后缀。
+     */
+    public static final String FILE_SUFFIX = ".csv.gz";
+
+    private final CsvWriterHelper csvWriterHelper;
+    private final Path directory;
+    private final String filePrefix;
+    private final long maxRowsPerFile;
+
+    private CSVWriter current;
+    private long currentRows;
+    private int part;
+
+    /**
+     * 表示用文件写入助手构造 {@link RotatingCsvBackupWriter} 的实例。
+     *
+     * @param csvWriterHelper 表示文件写入助手实例的 {@link CsvWriterHelper}。
+     * @param directory 表示备份目录的 {@link Path}。
+     * @param filePrefix 表示文件名前缀的 {@link String}。
+     * @param maxRowsPerFile 表示单个文件最大行数的 {@code long}。
+     */
+    public RotatingCsvBackupWriter(CsvWriterHelper csvWriterHelper, Path directory, String filePrefix,
+            long maxRowsPerFile) {
+        this.csvWriterHelper = csvWriterHelper;
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.maxRowsPerFile = maxRowsPerFile;
+    }
+
+    /**
+     * 写入一批数据并刷新到磁盘，返回后这批数据即可被安全删除。
+     *
+     * @param rows 表示待写入数据的 {@link List}{@code <}{@link String}{@code []>}。
+     * @throws IOException 表示写入失败时抛出的 {@link IOException}。
+     */
+    public void writeAll(List<String[]> rows) throws IOException {
+        for (String[] row : rows) {
+            if (this.current == null || this.currentRows >= this.maxRowsPerFile) {
+                this.rotate();
+            }
+            this.current.writeNext(row);
+            this.currentRows++;
+        }
+        if (this.current != null) {
+            this.current.flush();
+            if (this.current.checkError()) {
+                throw new IOException("Failed to write backup file.");
+            }
+        }
+    }
+
+    private void rotate() throws IOException {
+        this.close();
+        Path path;
+        do {
+            this.part++;
+            path = this.directory.resolve(this.filePrefix + "-" + this.part + FILE_SUFFIX);
+        } while (this.csvWriterHelper.getFile(path.toString()).exists());
+        this.current = this.csvWriterHelper.createGzipCsvWriter(path);
+        this.currentRows = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.current != null) {
+            this.current.close();
+            this.current = null;
+        }
+    }
+}
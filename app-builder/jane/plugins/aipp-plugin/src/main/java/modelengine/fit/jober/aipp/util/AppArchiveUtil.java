@@ -0,0 +1,182 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.util;
+
+import modelengine.fit.jober.aipp.dto.export.AppExportConfig;
+import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.dto.export.AppExportFlowGraph;
+import modelengine.fitframework.util.FileUtils;
+import modelengine.fitframework.util.MapBuilder;
+import modelengine.fitframework.util.StringUtils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 应用批量导入导出压缩包的读写工具。
+ * <p>压缩包内每个应用占用一个以源应用 id 命名的目录，目录下为基础信息 {@code app.json}、配置 {@code config.json}、
+ * 流程图 {@code flow-graph.json} 以及原始内容的头像文件 {@code icon.<扩展名>}。同一应用的条目连续写入，
+ * 读取时逐个还原应用，内存中只保留当前应用的数据。</p>
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+public class AppArchiveUtil {
+    /** 应用基础信息的条目名。 */
+    public static final String APP_ENTRY = "app.json";
+
+    /** 应用配置的条目名。 */
+    public static final String CONFIG_ENTRY = "config.json";
+
+    /** 应用流程图的条目名。 */
+    public static final String FLOW_GRAPH_ENTRY = "flow-graph.json";
+
+    private static final String ICON_ENTRY_PREFIX = "icon.";
+    private static final char ENTRY_DELIM = '/';
+    private static final int MAX_ICON_SIZE = 5 * 1024 * 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final ObjectMapper MAPPER = new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    /**
+     * 将一个应用写入压缩包。
+     *
+     * @param zip 表示压缩包输出流的 {@link ZipOutputStream}。
+     * @param appId 表示源应用 id 的 {@link String}，作为应用在压缩包内的目录名。
+     * @param appExportDto 表示不内嵌头像的应用导出数据的 {@link AppExportDto}。
+     * @param iconFile 表示头像文件的 {@link File}，没有头像时为 {@code null}。
+     * @throws IOException 写入压缩包失败时抛出。
+     */
+    public static void writeApp(ZipOutputStream zip, String appId, AppExportDto appExportDto, File iconFile)
+            throws IOException {
+        String iconExtension = iconFile == null ? null : AppImExportUtil.extractIconExtension(iconFile.getName());
+        boolean hasIcon = iconExtension != null && AppImExportUtil.isLegalIconType(iconExtension);
+        if (hasIcon) {
+            appExportDto.getApp()
+                    .getAttributes()
+                    .put("icon", MapBuilder.<String, String>get().put("type", iconExtension).build());
+        }
+        AppExportDto header = AppExportDto.builder()
+                .version(appExportDto.getVersion())
+                .app(appExportDto.getApp())
+                .build();
+        writeJson(zip, appId + ENTRY_DELIM + APP_ENTRY, header);
+        writeJson(zip, appId + ENTRY_DELIM + CONFIG_ENTRY, appExportDto.getConfig());
+        writeJson(zip, appId + ENTRY_DELIM + FLOW_GRAPH_ENTRY, appExportDto.getFlowGraph());
+        if (hasIcon) {
+            zip.putNextEntry(new ZipEntry(appId + ENTRY_DELIM + ICON_ENTRY_PREFIX + iconExtension));
+            Files.copy(iconFile.toPath(), zip);
+            zip.closeEntry();
+        }
+    }
+
+    /**
+     * 按写入顺序逐个读取压缩包内的应用。
+     *
+     * @param in 表示压缩包输入流的 {@link InputStream}。
+     * @param consumer 表示接收源应用 id 与应用导出数据的 {@link BiConsumer}{@code <}{@link String}{@code ,
+     * }{@link AppExportDto}{@code >}，缺少基础信息的应用其 {@link AppExportDto#getApp()} 为 {@code null}。
+     * @throws IOException 读取压缩包失败或同一应用的条目不连续时抛出。
+     */
+    public static void readApps(InputStream in, BiConsumer<String, AppExportDto> consumer) throws IOException {
+        Set<String> finished = new HashSet<>();
+        String current = null;
+        AppExportDto appExportDto = null;
+        ZipInputStream zip = new ZipInputStream(in);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            String name = entry.getName();
+            int delim = name.indexOf(ENTRY_DELIM);
+            if (entry.isDirectory() || delim <= 0 || name.indexOf(ENTRY_DELIM, delim + 1) != -1) {
+                continue;
+            }
+            String appId = name.substring(0, delim);
+            if (!StringUtils.equals(appId, current)) {
+                if (current != null) {
+                    consumer.accept(current, appExportDto);
+                    finished.add(current);
+                }
+                if (finished.contains(appId)) {
+                    throw new IOException(StringUtils.format("The entries of app are not contiguous. [appId={0}]",
+                            appId));
+                }
+                current = appId;
+                appExportDto = new AppExportDto();
+            }
+            readEntry(zip, name.substring(delim + 1), appExportDto);
+        }
+        if (current != null) {
+            consumer.accept(current, appExportDto);
+        }
+    }
+
+    /**
+     * 获取应用头像对应的本地文件。
+     *
+     * @param icon 表示应用头像地址的 {@link String}。
+     * @return 表示头像文件的 {@link File}，头像不存在时为 {@code null}。
+     */
+    public static File getIconFile(String icon) {
+        String iconPath = AippFileUtils.getFileNameFromIcon(icon);
+        if (StringUtils.isBlank(iconPath)) {
+            return null;
+        }
+        try {
+            File iconFile = FileUtils.canonicalize(iconPath);
+            return iconFile.isFile() ? iconFile : null;
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static void readEntry(ZipInputStream zip, String fileName, AppExportDto appExportDto) throws IOException {
+        if (StringUtils.equals(fileName, APP_ENTRY)) {
+            AppExportDto header = MAPPER.readValue(zip, AppExportDto.class);
+            appExportDto.setVersion(header.getVersion());
+            appExportDto.setApp(header.getApp());
+        } else if (StringUtils.equals(fileName, CONFIG_ENTRY)) {
+            appExportDto.setConfig(MAPPER.readValue(zip, AppExportConfig.class));
+        } else if (StringUtils.equals(fileName, FLOW_GRAPH_ENTRY)) {
+            appExportDto.setFlowGraph(MAPPER.readValue(zip, AppExportFlowGraph.class));
+        } else if (fileName.startsWith(ICON_ENTRY_PREFIX)) {
+            appExportDto.setIconContent(readIcon(zip));
+        }
+    }
+
+    private static byte[] readIcon(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > MAX_ICON_SIZE) {
+                // 头像过大时忽略，应用按无头像导入.
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static void writeJson(ZipOutputStream zip, String entryName, Object value) throws IOException {
+        zip.putNextEntry(new ZipEntry(entryName));
+        MAPPER.writeValue(zip, value);
+        zip.closeEntry();
+    }
+}
@@ -36,7 +36,6 @@ import modelengine.fitframework.util.StringUtils;
 import org.apache.commons.io.FileUtils;
 
 import java.io.BufferedInputStream;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
@@ -541,24 +540,52 @@ public class AppImExportUtil {
      */
     public static String saveIconFile(String iconContent, String iconExtension, String tenantId, String contextRoot,
             String resourcePath) {
-        boolean isValidExtension = Stream.of(LEGAL_ICON_TYPE)
-                .anyMatch(type -> StringUtils.equalsIgnoreCase(type, iconExtension));
-        if (!isValidExtension) {
+        byte[] iconBytes;
+        try {
+            iconBytes = Base64.getDecoder().decode(iconContent.getBytes(StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return StringUtils.EMPTY;
+        }
+        return saveIconFile(iconBytes, iconExtension, tenantId, contextRoot, resourcePath);
+    }
+
+    /**
+     * 保存头像文件的原始内容。
+     *
+     * @param iconContent 表示头像文件内容的 {@code byte[]}。
+     * @param iconExtension 表示头像文件扩展名的 {@link String}。
+     * @param tenantId 表示租户 id 的 {@link String}。
+     * @param contextRoot 表示请求上下文根的 {@link String}。
+     * @param resourcePath 表示资源目录的 {@link String}。
+     * @return 表示头像文件访问路径的 {@link String}，保存失败时为空字符串。
+     */
+    public static String saveIconFile(byte[] iconContent, String iconExtension, String tenantId, String contextRoot,
+            String resourcePath) {
+        if (!isLegalIconType(iconExtension)) {
             return StringUtils.EMPTY;
         }
         String newFileName = UUIDUtil.uuid() + "." + iconExtension;
         File iconFile = Paths.get(resourcePath, newFileName).toFile();
-        byte[] iconBytes = iconContent.getBytes(StandardCharsets.UTF_8);
-        try (InputStream inputStream = new ByteArrayInputStream(Base64.getDecoder().decode(iconBytes))) {
-            FileUtils.copyInputStreamToFile(inputStream, iconFile);
+        try {
+            FileUtils.writeByteArrayToFile(iconFile, iconContent);
             return MessageFormat.format(contextRoot + ICON_URL_PATTERN, tenantId, iconFile.getCanonicalPath(),
                     newFileName);
-        } catch (IOException | IllegalArgumentException e) {
+        } catch (IOException e) {
             iconFile.delete();
             return StringUtils.EMPTY;
         }
     }
 
+    /**
+     * 判断头像文件扩展名是否合法。
+     *
+     * @param iconExtension 表示头像文件扩展名的 {@link String}。
+     * @return 合法时返回 {@code true}，否则返回 {@code false}。
+     */
+    public static boolean isLegalIconType(String iconExtension) {
+        return Stream.of(LEGAL_ICON_TYPE).anyMatch(type -> StringUtils.equalsIgnoreCase(type, iconExtension));
+    }
+
     /**
      * 判断上传的文件是否为 json 格式。
      *
@@ -0,0 +1,193 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.util;
+
+import modelengine.fit.http.entity.FileEntity;
+import modelengine.fit.http.server.HttpClassicServerRequest;
+import modelengine.fit.http.server.HttpClassicServerResponse;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.util.StringUtils;
+
+import org.apache.commons.io.input.BoundedInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 文件下载工具.
+ * <p>以流的方式返回文件内容，不把文件整体读入内存。完整下载时携带文件的真实路径，由 HTTP 服务器直接从文件传输；
+ * 支持单段 {@code Range} 请求，以及基于 {@code ETag} 的 {@code If-None-Match}、{@code If-Range} 条件请求.</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-29
+ */
+public class FileDownloadUtils {
+    /** 表示 {@code Accept-Ranges} 响应头. */
+    public static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    /** 表示 {@code Content-Range} 响应头. */
+    public static final String CONTENT_RANGE = "Content-Range";
+
+    /** 表示 {@code ETag} 响应头. */
+    public static final String ETAG = "ETag";
+
+    /** 表示 {@code Last-Modified} 响应头. */
+    public static final String LAST_MODIFIED = "Last-Modified";
+
+    private static final String RANGE = "Range";
+    private static final String IF_RANGE = "If-Range";
+    private static final String IF_NONE_MATCH = "If-None-Match";
+    private static final String BYTES_UNIT = "bytes";
+    private static final String RANGE_PREFIX = BYTES_UNIT + "=";
+    private static final int STATUS_PARTIAL_CONTENT = 206;
+    private static final int STATUS_NOT_MODIFIED = 304;
+    private static final int STATUS_RANGE_NOT_SATISFIABLE = 416;
+
+    private FileDownloadUtils() {}
+
+    /**
+     * 创建文件下载的响应实体.
+     *
+     * @param request 表示 HTTP 请求的 {@link HttpClassicServerRequest}。
+     * @param response 表示 HTTP 响应的 {@link HttpClassicServerResponse}。
+     * @param path 表示文件路径的 {@link Path}。
+     * @param fileName 表示下载文件名的 {@link String}。
+     * @param position 表示文件展示方式的 {@link FileEntity.Position}。
+     * @return 表示响应实体的 {@link FileEntity}。
+     * @throws IOException 读取文件失败时抛出.
+     */
+    public static FileEntity download(HttpClassicServerRequest request, HttpClassicServerResponse response,
+            Path path, String fileName, FileEntity.Position position) throws IOException {
+        Validation.notNull(response, "The response cannot be null.");
+        Validation.notNull(path, "The file path cannot be null.");
+        File file = path.toFile();
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long length = attributes.size();
+        String etag = etag(attributes);
+        response.headers().set(ETAG, etag);
+        response.headers().set(ACCEPT_RANGES, BYTES_UNIT);
+        response.headers()
+                .set(LAST_MODIFIED,
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                                attributes.lastModifiedTime().toInstant().atOffset(ZoneOffset.UTC)));
+
+        if (matches(header(request, IF_NONE_MATCH).orElse(null), etag)) {
+            response.statusCode(STATUS_NOT_MODIFIED);
+            return empty(response, fileName, position);
+        }
+        Optional<String> range = header(request, RANGE);
+        Optional<String> ifRange = header(request, IF_RANGE);
+        if (range.isEmpty() || (ifRange.isPresent() && !StringUtils.equals(ifRange.get(), etag))) {
+            return FileEntity.create(response, fileName, Files.newInputStream(path), length, position, file);
+        }
+        long[] bounds = parseRange(range.get(), length);
+        if (bounds == null) {
+            // 多段、无法解析或起止颠倒的范围按完整下载处理.
+            return FileEntity.create(response, fileName, Files.newInputStream(path), length, position, file);
+        }
+        if (bounds.length == 0) {
+            response.statusCode(STATUS_RANGE_NOT_SATISFIABLE);
+            response.headers().set(CONTENT_RANGE, BYTES_UNIT + " */" + length);
+            return empty(response, fileName, position);
+        }
+        long start = bounds[0];
+        long count = bounds[1] - bounds[0] + 1;
+        response.statusCode(STATUS_PARTIAL_CONTENT);
+        response.headers().set(CONTENT_RANGE, BYTES_UNIT + " " + bounds[0] + "-" + bounds[1] + "/" + length);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ).position(start);
+        InputStream in = BoundedInputStream.builder()
+                .setInputStream(Channels.newInputStream(channel))
+                .setMaxCount(count)
+                .get();
+        return FileEntity.create(response, fileName, in, count, position, null);
+    }
+
+    /**
+     * 根据文件大小与修改时间计算强校验的 {@code ETag}.
+     *
+     * @param attributes 表示文件属性的 {@link BasicFileAttributes}。
+     * @return 表示 {@code ETag} 的 {@link String}。
+     */
+    public static String etag(BasicFileAttributes attributes) {
+        long modified = attributes.lastModifiedTime().toInstant().toEpochMilli();
+        return "\"" + Long.toHexString(modified) + "-" + Long.toHexString(attributes.size()) + "\"";
+    }
+
+    /**
+     * 解析单段 {@code Range} 请求头.
+     *
+     * @param range 表示 {@code Range} 请求头的 {@link String}。
+     * @param length 表示文件长度的 {@code long}。
+     * @return 包含起止位置（含）的数组；起始位置超出文件长度时返回空数组；多段、格式错误或起止颠倒时返回 {@code null}。
+     */
+    public static long[] parseRange(String range, long length) {
+        if (range == null || !range.startsWith(RANGE_PREFIX) || range.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = range.substring(RANGE_PREFIX.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 后缀范围：bytes=-N 表示最后 N 个字节.
+                long suffix = Long.parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix == 0 || length == 0) {
+                    return new long[0];
+                }
+                return new long[] {Math.max(0, length - suffix), length - 1};
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return new long[0];
+            }
+            return new long[] {start, Math.min(end, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .anyMatch(tag -> "*".equals(tag) || etag.equals(tag) || ("W/" + etag).equals(tag));
+    }
+
+    private static Optional<String> header(HttpClassicServerRequest request, String name) {
+        return request == null ? Optional.empty() : request.headers().first(name);
+    }
+
+    private static FileEntity empty(HttpClassicServerResponse response, String fileName,
+            FileEntity.Position position) {
+        return FileEntity.create(response, fileName, new ByteArrayInputStream(new byte[0]), 0, position, null);
+    }
+}
@@ -26,6 +26,7 @@ create table if not exists aipp_instance_log
     );
 
 CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_path" ON "aipp_instance_log" USING btree ("path" COLLATE "pg_catalog"."default" "pg_catalog"."text_pattern_ops" ASC NULLS LAST);
+CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_type_create_at" ON "aipp_instance_log" USING btree ("aipp_type", "create_at");
 
 create table if not exists form_data(
     form_id varchar(64) not null,
@@ -270,6 +271,24 @@ create table if not exists app_chat_num (
 );
 create unique index if not exists idx_app_chat_mode on app_chat_num("app_id", "chat_mode");
 
+create table if not exists aipp_chat_session_route
+(
+    instance_id varchar(255) not null primary key,
+    node_id     varchar(64)  not null,
+    update_at   timestamp    not null default current_timestamp
+);
+
+create table if not exists aipp_chat_session_relay
+(
+    id          bigserial    not null primary key,
+    node_id     varchar(64)  not null,
+    instance_id varchar(255) not null,
+    payload     text,
+    is_last     int2         not null default 0,
+    create_at   timestamp    not null default current_timestamp
+);
+create index if not exists idx_aipp_chat_session_relay_node on aipp_chat_session_relay(node_id, id);
+
 CREATE UNIQUE INDEX IF NOT EXISTS idx_unique_inspiration ON user_custom_inspiration (aipp_id, inspiration_id);
 
 CREATE TABLE IF NOT EXISTS aipp_system_config (
@@ -328,6 +347,11 @@ CREATE TABLE IF NOT EXISTS task_new (
     "updated_at" timestamp(6) NOT NULL,
     "is_deleted" int2 NOT NULL DEFAULT 0
 );
+CREATE INDEX IF NOT EXISTS idx_task_new_template_id ON task_new (template_id) WHERE is_deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_task_new_attr_app_id ON task_new ((attributes ->> 'app_id')) WHERE is_deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_task_new_attr_aipp_type ON task_new ((attributes ->> 'aipp_type')) WHERE is_deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_task_new_attr_unique_name ON task_new ((attributes ->> 'unique_name'))
+    WHERE is_deleted = 0;
 
 CREATE TABLE IF NOT EXISTS task_instance_new (
     "id" char(32) NOT NULL PRIMARY KEY,
@@ -350,4 +374,10 @@ CREATE TABLE IF NOT EXISTS task_instance_new (
     "instance_curr_node_id" varchar(127),
     "is_deleted" int2 NOT NULL DEFAULT 0,
     "resume_duration" varchar(127)
-);
\ No newline at end of file
+);
+CREATE INDEX IF NOT EXISTS idx_task_instance_new_task_create ON task_instance_new (task_id, create_time, id)
+    WHERE is_deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_task_instance_new_task_modify ON task_instance_new (task_id, modify_time)
+    WHERE is_deleted = 0;
+CREATE INDEX IF NOT EXISTS idx_task_instance_new_expired ON task_instance_new (create_time)
+    WHERE instance_status != 'RUNNING';
\ No newline at end of file
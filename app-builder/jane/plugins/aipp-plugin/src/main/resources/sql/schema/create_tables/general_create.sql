@@ -198,6 +198,23 @@ comment on column flow_retry.last_retry_time is '表示上次执行的任务重
 comment on column flow_retry.retry_count is '表示到目前为止的任务重试次数';
 comment on column flow_retry.version is '表示当前重试的版本号';
 
+CREATE TABLE IF NOT EXISTS flow_data_blob
+(
+    blob_id   VARCHAR(64) NOT NULL,
+    trace_id  TEXT NOT NULL,
+    data      TEXT NOT NULL,
+    create_at timestamp without time zone NOT NULL,
+    PRIMARY KEY (blob_id)
+    );
+
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_DATA_BLOB_TRACE_ID ON flow_data_blob (trace_id);
+
+comment on table flow_data_blob is '流程上下文外置数据记录';
+comment on column flow_data_blob.blob_id is '表示外置数据的唯一标识，由链路和内容计算得出';
+comment on column flow_data_blob.trace_id is '表示外置数据所属的流程链路ID';
+comment on column flow_data_blob.data is '表示外置数据的内容';
+comment on column flow_data_blob.create_at is '表示外置数据的创建时间';
+
 CREATE TABLE IF NOT EXISTS flow_lock
 (
     lock_key VARCHAR(100) NOT NULL PRIMARY KEY,
@@ -225,4 +242,5 @@ CREATE TABLE IF NOT EXISTS flow_graph
     previous         VARCHAR(50),
     is_deleted       BOOLEAN DEFAULT FALSE,
     PRIMARY KEY (id, version)
-    );
\ No newline at end of file
+    );
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_GRAPH_CREATED_BY ON flow_graph (created_by);
\ No newline at end of file
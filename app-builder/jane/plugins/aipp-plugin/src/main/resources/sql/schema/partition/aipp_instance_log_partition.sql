@@ -0,0 +1,57 @@
+-- 可选迁移：将 aipp_instance_log 改造为按 create_at 月分区的表，迁移期间需停止应用写入。
+-- 分区命名为 aipp_instance_log_pYYYYMM，清理任务会删除整月超期的分区并预建当月与下月分区。
+-- 预建分区时，默认分区 aipp_instance_log_default 中落在该月范围内的数据会先移入新分区。
+begin;
+
+alter table aipp_instance_log rename to aipp_instance_log_legacy;
+alter table aipp_instance_log_legacy rename constraint aipp_instance_log_pkey to aipp_instance_log_legacy_pkey;
+drop index if exists idx_aipp_instance_log_path;
+drop index if exists idx_aipp_instance_log_type_create_at;
+
+create table aipp_instance_log
+(
+    log_id                 bigint not null default nextval('aipp_instance_log_log_id_seq'),
+    aipp_id                varchar(255) not null,
+    version                varchar(255),
+    aipp_type              varchar(64),
+    instance_id            varchar(255) not null,
+    log_data               json not null,
+    log_type               varchar(64) not null,
+    create_at              timestamp not null default current_timestamp,
+    create_by              varchar(64) not null,
+    path                   text,
+    is_deleted int2 DEFAULT 0,
+    primary key (log_id, create_at)
+) partition by range (create_at);
+
+alter sequence aipp_instance_log_log_id_seq owned by aipp_instance_log.log_id;
+
+create table aipp_instance_log_default partition of aipp_instance_log default;
+
+do $$
+declare
+    month_start date;
+begin
+    for month_start in
+        select generate_series(
+            date_trunc('month', coalesce((select min(create_at) from aipp_instance_log_legacy), now())),
+            date_trunc('month', now()) + interval '1 month',
+            interval '1 month')::date
+    loop
+        execute format('create table if not exists %I partition of aipp_instance_log for values from (%L) to (%L)',
+            'aipp_instance_log_p' || to_char(month_start, 'YYYYMM'), month_start, month_start + interval '1 month');
+    end loop;
+end $$;
+
+insert into aipp_instance_log (log_id, aipp_id, version, aipp_type, instance_id, log_data, log_type, create_at,
+    create_by, path, is_deleted)
+select log_id, aipp_id, version, aipp_type, instance_id, log_data, log_type, coalesce(create_at, now()),
+    create_by, path, is_deleted
+from aipp_instance_log_legacy;
+
+CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_path" ON "aipp_instance_log" USING btree ("path" COLLATE "pg_catalog"."default" "pg_catalog"."text_pattern_ops" ASC NULLS LAST);
+CREATE INDEX IF NOT EXISTS "idx_aipp_instance_log_type_create_at" ON "aipp_instance_log" USING btree ("aipp_type", "create_at");
+
+drop table aipp_instance_log_legacy;
+
+commit;
@@ -0,0 +1,114 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jober.aipp.common.exception.AippErrCode;
+import modelengine.fit.jober.aipp.common.exception.AippException;
+import modelengine.fit.jober.aipp.domains.app.service.AppArchiveService;
+import modelengine.fit.jober.aipp.domains.app.service.AppDomainService;
+import modelengine.fit.jober.aipp.domains.app.service.impl.AppArchiveServiceImpl;
+import modelengine.fit.jober.aipp.domains.appversion.service.AppVersionService;
+import modelengine.fit.jober.aipp.dto.AppBuilderAppDto;
+import modelengine.fit.jober.aipp.dto.export.AppExportApp;
+import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.dto.export.AppImportResult;
+import modelengine.fit.jober.aipp.util.AppArchiveUtil;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link AppArchiveServiceImpl} 的测试。
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+@DisplayName("测试 AppArchiveServiceImpl")
+public class AppArchiveServiceTest {
+    private AppDomainService appDomainService;
+    private AppArchiveService appArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        this.appDomainService = mock(AppDomainService.class);
+        this.appArchiveService = new AppArchiveServiceImpl(mock(AppVersionService.class), this.appDomainService, 2);
+    }
+
+    @Test
+    @DisplayName("批量导入时按压缩包顺序返回每个应用的结果，单个应用失败不影响其他应用")
+    void shouldReturnResultPerAppWhenImportApps() throws IOException {
+        when(this.appDomainService.importApp(any(AppExportDto.class), any())).thenAnswer(invocation -> {
+            AppExportDto dto = invocation.getArgument(0);
+            if ("broken".equals(dto.getApp().getName())) {
+                throw new AippException(AippErrCode.IMPORT_CONFIG_FIELD_ERROR, "name");
+            }
+            return AppBuilderAppDto.builder().id("new-" + dto.getApp().getName()).name(dto.getApp().getName()).build();
+        });
+
+        List<AppImportResult> results = this.appArchiveService.importApps(archive("a", "broken", "c", "d", "e"),
+                Collections.emptySet(), 100, new OperationContext());
+
+        assertThat(results.stream().map(AppImportResult::getSourceAppId)).containsExactly("a", "broken", "c", "d",
+                "e");
+        assertThat(results.stream().map(AppImportResult::getStatus)).containsExactly(AppImportResult.SUCCESS,
+                AppImportResult.FAILED, AppImportResult.SUCCESS, AppImportResult.SUCCESS, AppImportResult.SUCCESS);
+        assertThat(results.get(0).getAppId()).isEqualTo("new-a");
+        assertThat(results.get(1).getErrorMessage()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("重新导入时跳过已完成的应用，并且不超过可新建的应用个数")
+    void shouldSkipCompletedAppsAndRespectQuota() throws IOException {
+        when(this.appDomainService.importApp(any(AppExportDto.class), any())).thenAnswer(invocation -> {
+            AppExportDto dto = invocation.getArgument(0);
+            return AppBuilderAppDto.builder().id("new-" + dto.getApp().getName()).name(dto.getApp().getName()).build();
+        });
+
+        List<AppImportResult> results = this.appArchiveService.importApps(archive("a", "b", "c", "d"),
+                new HashSet<>(Arrays.asList("a", "b")), 1, new OperationContext());
+
+        assertThat(results.stream().map(AppImportResult::getStatus).collect(Collectors.toList())).containsExactly(
+                AppImportResult.SKIPPED, AppImportResult.SKIPPED, AppImportResult.SUCCESS, AppImportResult.FAILED);
+        verify(this.appDomainService, never()).importApp(argThat((AppExportDto dto) -> dto != null
+                && Arrays.asList("a", "b", "d").contains(dto.getApp().getName())), any());
+    }
+
+    private static ByteArrayInputStream archive(String... appIds) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            for (String appId : appIds) {
+                AppExportDto dto = AppExportDto.builder()
+                        .version("1.0.1")
+                        .app(AppExportApp.builder().name(appId).attributes(new HashMap<>()).build())
+                        .build();
+                AppArchiveUtil.writeApp(zip, appId, dto, null);
+            }
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -197,7 +197,8 @@ public class AppVersionTest {
                 this.aippModelCenter,
                 converterFactory,
                 this.aippFlowDefinitionService,
-                this.flowDefinitionService, 20000, 300, this.knowledgeCenterService, "/var/share");
+                this.flowDefinitionService, 20000, 300, this.knowledgeCenterService, "/var/share",
+                new AppRuntimeSnapshotCache(true, 600, 100));
     }
 
     /**
@@ -593,6 +594,58 @@ public class AppVersionTest {
             verify(appTask, times(1)).run(any(), eq(null));
         }
 
+        @Test
+        @DisplayName("测试已发布应用多次对话复用运行时快照，版本变化后重新构建")
+        public void testReuseRuntimeSnapshot() {
+            // given.
+            AppTask appTask = mock(AppTask.class);
+            when(AppVersionTest.this.appTaskService.getTaskList(anyString(), anyString(), anyString(),
+                    any())).thenReturn(List.of(appTask));
+            when(appTask.copy()).thenReturn(appTask);
+            when(appTask.getEntity()).thenReturn(AppTask.asEntity().setFlowDefinitionId("flow_definition_id_1"));
+            doNothing().when(appTask).run(any(), eq(null));
+
+            FlowInfo flowInfo = mock(FlowInfo.class);
+            when(AppVersionTest.this.flowsService.getFlows(anyString(), any())).thenReturn(flowInfo);
+            when(flowInfo.getInputParamsByName(anyString())).thenReturn(
+                    List.of(buildInputParam("Question", "String", "问题")));
+
+            // when.
+            AppVersion appVersion = this.createPublishedVersion("1.0.0");
+            for (int i = 0; i < 3; i++) {
+                RunContext runContext = new RunContext(new HashMap<>(), new OperationContext());
+                runContext.setQuestion("123");
+                appVersion.validate(runContext, false);
+                appVersion.run(runContext, null);
+            }
+
+            // then.
+            verify(AppVersionTest.this.appTaskService, times(1)).getTaskList(anyString(), anyString(), anyString(),
+                    any());
+            verify(AppVersionTest.this.flowsService, times(1)).getFlows(anyString(), any());
+            verify(appTask, times(3)).run(any(), eq(null));
+
+            // when.
+            RunContext runContext = new RunContext(new HashMap<>(), new OperationContext());
+            runContext.setQuestion("123");
+            this.createPublishedVersion("1.0.1").run(runContext, null);
+
+            // then.
+            verify(AppVersionTest.this.appTaskService, times(2)).getTaskList(anyString(), anyString(), anyString(),
+                    any());
+        }
+
+        private AppVersion createPublishedVersion(String version) {
+            AppBuilderAppPo data = new AppBuilderAppPo();
+            data.setType(APP.code());
+            data.setAppId("app_version_1");
+            data.setAppSuiteId("app_1");
+            data.setVersion(version);
+            AppVersion appVersion = AppVersionTest.this.factory.create(data, AppVersionTest.this.appVersionRepository);
+            appVersion.getAttributes().put("is_update", false);
+            return appVersion;
+        }
+
         @Test
         @DisplayName("测试启动atApp")
         public void testStartAtApp() {
@@ -682,6 +735,7 @@ public class AppVersionTest {
             AppTask appTask = mock(AppTask.class);
             when(AppVersionTest.this.appTaskService.getTaskList(anyString(), anyString(), anyString(),
                     any())).thenReturn(List.of(appTask));
+            when(appTask.copy()).thenReturn(appTask);
             when(appTask.getEntity()).thenReturn(AppTask.asEntity().setFlowDefinitionId("flow_definition_id_1"));
             doNothing().when(appTask).run(any(), eq(null));
 
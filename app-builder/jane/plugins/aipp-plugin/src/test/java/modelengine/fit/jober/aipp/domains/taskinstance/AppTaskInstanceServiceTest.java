@@ -9,10 +9,9 @@ package modelengine.fit.jober.aipp.domains.taskinstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -22,11 +21,13 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.AppTaskInstanceService;
 import modelengine.fit.jober.aipp.domains.taskinstance.service.impl.AppTaskInstanceServiceImpl;
 import modelengine.fit.jober.common.RangedResultSet;
 import modelengine.fitframework.model.support.DefaultRange;
+import modelengine.fitframework.plugin.Plugin;
 import modelengine.fitframework.util.MapBuilder;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -54,7 +55,11 @@ public class AppTaskInstanceServiceTest {
     public void setUp() {
         this.metaInstanceService = mock(MetaInstanceService.class);
         AppTaskInstanceFactory factory = new AppTaskInstanceFactory(null, null, null, null, null);
-        this.appTaskInstanceService = new AppTaskInstanceServiceImpl(this.metaInstanceService, factory);
+        this.appTaskInstanceService = new AppTaskInstanceServiceImpl(this.metaInstanceService,
+                factory,
+                mock(Plugin.class),
+                false,
+                1000);
     }
 
     @Test
@@ -103,9 +108,10 @@ public class AppTaskInstanceServiceTest {
 
         Instance instance2 = new Instance();
         instance2.setId("task_instance_id_2");
-        when(this.metaInstanceService.list(eq("task_id"), anyLong(), anyInt(), any())).thenReturn(
-                        RangedResultSet.create(List.of(instance, instance1), new DefaultRange(0, 2), 3))
-                .thenReturn(RangedResultSet.create(List.of(instance2), new DefaultRange(0, 2), 3));
+        when(this.metaInstanceService.listByCursor(eq("task_id"), isNull(), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance, instance1), "cursor_1"));
+        when(this.metaInstanceService.listByCursor(eq("task_id"), eq("cursor_1"), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance2), null));
 
         // when.
         List<AppTaskInstance> instances = this.appTaskInstanceService.getInstancesByTaskId("task_id", 2,
@@ -116,7 +122,7 @@ public class AppTaskInstanceServiceTest {
         assertEquals("task_instance_id", instances.get(0).getId());
         assertEquals("task_instance_id_1", instances.get(1).getId());
         assertEquals("task_instance_id_2", instances.get(2).getId());
-        verify(this.metaInstanceService, times(2)).list(eq("task_id"), anyLong(), anyInt(), any());
+        verify(this.metaInstanceService, times(2)).listByCursor(eq("task_id"), any(), eq(2), any());
     }
 
     @Test
@@ -129,8 +135,8 @@ public class AppTaskInstanceServiceTest {
         Instance instance1 = new Instance();
         instance1.setId("task_instance_id_1");
 
-        when(this.metaInstanceService.list(eq("task_id"), anyLong(), anyInt(), any())).thenReturn(
-                RangedResultSet.create(List.of(instance, instance1), new DefaultRange(0, 2), 2));
+        when(this.metaInstanceService.listByCursor(eq("task_id"), isNull(), eq(2), any())).thenReturn(
+                new InstancePage(List.of(instance, instance1), null));
 
         // when.
         Stream<AppTaskInstance> instanceStream = this.appTaskInstanceService.getInstanceStreamByTaskId("task_id", 2,
@@ -142,7 +148,7 @@ public class AppTaskInstanceServiceTest {
         assertEquals(2, instances.size());
         assertEquals("task_instance_id", instances.get(0).getId());
         assertEquals("task_instance_id_1", instances.get(1).getId());
-        verify(this.metaInstanceService, times(1)).list(eq("task_id"), anyLong(), anyInt(), any());
+        verify(this.metaInstanceService, times(1)).listByCursor(eq("task_id"), any(), eq(2), any());
     }
 
     @Test
@@ -167,6 +173,57 @@ public class AppTaskInstanceServiceTest {
         assertEquals("active", info.getInfo().getValue().get(AippConst.INST_STATUS_KEY));
     }
 
+    @Test
+    @DisplayName("测试开启写缓冲时update合并修改，查询能读到尚未写入的字段")
+    public void testUpdateWithWriteBehindShouldReadOwnWrites() {
+        // given.
+        AppTaskInstanceService service = new AppTaskInstanceServiceImpl(this.metaInstanceService,
+                new AppTaskInstanceFactory(null, null, null, null, null),
+                mock(Plugin.class),
+                true,
+                60000);
+        Instance instance = new Instance();
+        instance.setId("task_instance_id");
+        instance.setInfo(MapBuilder.<String, String>get().put(AippConst.INST_STATUS_KEY, "RUNNING").build());
+        when(this.metaInstanceService.retrieveById(eq("task_instance_id"), any())).thenReturn(instance);
+
+        // when.
+        service.update(AppTaskInstance.asUpdate("task_id", "task_instance_id").setProgress("10").build(),
+                new OperationContext());
+        service.update(AppTaskInstance.asUpdate("task_id", "task_instance_id").setProgress("50").build(),
+                new OperationContext());
+        Optional<AppTaskInstance> result = service.getInstance("task_id", "task_instance_id", new OperationContext());
+
+        // then.
+        verify(this.metaInstanceService, times(0)).patchMetaInstance(any(), any(), any(), any());
+        assertTrue(result.isPresent());
+        assertEquals("50", result.get().getEntity().getInfos().get(AippConst.INST_PROGRESS_KEY));
+        assertEquals("RUNNING", result.get().getEntity().getStatus().orElse(null));
+    }
+
+    @Test
+    @DisplayName("测试只有当前插件停止时才写入缓冲的修改")
+    public void testFlushOnlyWhenOwnPluginStopping() {
+        // given.
+        Plugin plugin = mock(Plugin.class);
+        AppTaskInstanceServiceImpl service = new AppTaskInstanceServiceImpl(this.metaInstanceService,
+                new AppTaskInstanceFactory(null, null, null, null, null),
+                plugin,
+                true,
+                60000);
+        service.update(AppTaskInstance.asUpdate("task_id", "task_instance_id").setProgress("10").build(),
+                new OperationContext());
+
+        // when.
+        service.onPluginStopping(mock(Plugin.class));
+
+        // then.
+        verify(this.metaInstanceService, times(0)).patchMetaInstance(any(), any(), any(), any());
+        service.onPluginStopping(plugin);
+        verify(this.metaInstanceService, times(1)).patchMetaInstance(eq("task_id"), eq("task_instance_id"), any(),
+                any());
+    }
+
     @Test
     @DisplayName("测试createInstance方法")
     public void testCreateInstanceShouldOk() {
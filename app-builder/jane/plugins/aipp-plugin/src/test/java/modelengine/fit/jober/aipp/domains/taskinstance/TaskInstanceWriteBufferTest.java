@@ -0,0 +1,163 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.domains.taskinstance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
+import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fit.jober.aipp.domains.taskinstance.service.impl.TaskInstanceWriteBuffer;
+import modelengine.fit.jober.aipp.enums.MetaInstStatusEnum;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TaskInstanceWriteBuffer} 的测试类。
+ *
+ * @author 张越
+ * @since 2025-04-25
+ */
+public class TaskInstanceWriteBufferTest {
+    private MetaInstanceService metaInstanceService;
+
+    private TaskInstanceWriteBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        this.metaInstanceService = mock(MetaInstanceService.class);
+        this.buffer = new TaskInstanceWriteBuffer(this.metaInstanceService, 60000);
+    }
+
+    @Test
+    @DisplayName("测试多次非终态修改合并为一次写入")
+    public void shouldMergeUpdatesIntoOneWrite() {
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "10"),
+                new OperationContext());
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_CURR_NODE_ID_KEY, "node1"),
+                new OperationContext());
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "50"),
+                new OperationContext());
+        verify(this.metaInstanceService, never()).patchMetaInstance(any(), any(), any(), any());
+
+        this.buffer.flush("inst_id");
+
+        ArgumentCaptor<InstanceDeclarationInfo> captor = ArgumentCaptor.forClass(InstanceDeclarationInfo.class);
+        verify(this.metaInstanceService, times(1)).patchMetaInstance(eq("task_id"), eq("inst_id"), captor.capture(),
+                any());
+        Map<String, Object> infos = captor.getValue().getInfo().getValue();
+        assertEquals("50", infos.get(AippConst.INST_PROGRESS_KEY));
+        assertEquals("node1", infos.get(AippConst.INST_CURR_NODE_ID_KEY));
+        assertEquals(3, this.buffer.getSubmittedCount());
+        assertEquals(1, this.buffer.getWrittenCount());
+        assertEquals(0, this.buffer.size());
+    }
+
+    @Test
+    @DisplayName("测试终态修改连同已合并的修改立即写入")
+    public void shouldWriteImmediatelyWhenTerminal() {
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "90"),
+                new OperationContext());
+        this.buffer.submit("task_id", "inst_id",
+                declaration(AippConst.INST_STATUS_KEY, MetaInstStatusEnum.ARCHIVED.name()), new OperationContext());
+
+        ArgumentCaptor<InstanceDeclarationInfo> captor = ArgumentCaptor.forClass(InstanceDeclarationInfo.class);
+        verify(this.metaInstanceService, times(1)).patchMetaInstance(eq("task_id"), eq("inst_id"), captor.capture(),
+                any());
+        Map<String, Object> infos = captor.getValue().getInfo().getValue();
+        assertEquals("90", infos.get(AippConst.INST_PROGRESS_KEY));
+        assertEquals(MetaInstStatusEnum.ARCHIVED.name(), infos.get(AippConst.INST_STATUS_KEY));
+        assertTrue(this.buffer.getPendingInfos("inst_id").isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试写入失败时保留修改，下次写入成功")
+    public void shouldKeepPendingUpdateWhenWriteFailed() {
+        doThrow(new IllegalStateException("db down")).doNothing()
+                .when(this.metaInstanceService)
+                .patchMetaInstance(any(), any(), any(), any());
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "10"),
+                new OperationContext());
+
+        assertThrows(IllegalStateException.class, () -> this.buffer.flush("inst_id"));
+        assertEquals("10", this.buffer.getPendingInfos("inst_id").get(AippConst.INST_PROGRESS_KEY));
+
+        this.buffer.flushAll();
+        verify(this.metaInstanceService, times(2)).patchMetaInstance(any(), any(), any(), any());
+        assertEquals(0, this.buffer.size());
+    }
+
+    @Test
+    @DisplayName("测试写入失败后不丢弃修改，新的修改改为同步写入")
+    public void shouldWriteSynchronouslyWhileRetrying() {
+        doThrow(new IllegalStateException("db down")).when(this.metaInstanceService)
+                .patchMetaInstance(any(), any(), any(), any());
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "10"),
+                new OperationContext());
+        for (int i = 0; i < 5; i++) {
+            assertThrows(IllegalStateException.class, () -> this.buffer.flush("inst_id"));
+        }
+        assertEquals("10", this.buffer.getPendingInfos("inst_id").get(AippConst.INST_PROGRESS_KEY));
+
+        assertThrows(IllegalStateException.class,
+                () -> this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "20"),
+                        new OperationContext()));
+        verify(this.metaInstanceService, times(6)).patchMetaInstance(any(), any(), any(), any());
+        assertEquals("20", this.buffer.getPendingInfos("inst_id").get(AippConst.INST_PROGRESS_KEY));
+    }
+
+    @Test
+    @DisplayName("测试写入所有修改时重试后仍失败则抛出异常")
+    public void shouldThrowWhenFlushAllFailed() {
+        doThrow(new IllegalStateException("db down")).when(this.metaInstanceService)
+                .patchMetaInstance(any(), any(), any(), any());
+        this.buffer.submit("task_id", "inst_id", declaration(AippConst.INST_PROGRESS_KEY, "10"),
+                new OperationContext());
+
+        assertThrows(IllegalStateException.class, () -> this.buffer.flushAll());
+        assertEquals(1, this.buffer.size());
+    }
+
+    @Test
+    @DisplayName("测试按任务写入与丢弃缓冲修改")
+    public void shouldFlushByTaskAndDiscard() {
+        this.buffer.submit("task_1", "inst_1", declaration(AippConst.INST_PROGRESS_KEY, "10"),
+                new OperationContext());
+        this.buffer.submit("task_2", "inst_2", declaration(AippConst.INST_PROGRESS_KEY, "20"),
+                new OperationContext());
+
+        this.buffer.flushTask("task_1");
+        this.buffer.discard("inst_2");
+        this.buffer.flushAll();
+
+        verify(this.metaInstanceService, times(1)).patchMetaInstance(eq("task_1"), eq("inst_1"), any(), any());
+        verify(this.metaInstanceService, never()).patchMetaInstance(eq("task_2"), any(), any(), any());
+    }
+
+    private static InstanceDeclarationInfo declaration(String key, Object value) {
+        Map<String, Object> infos = new HashMap<>();
+        infos.put(key, value);
+        return InstanceDeclarationInfo.custom().info(infos).tags(List.of()).build();
+    }
+}
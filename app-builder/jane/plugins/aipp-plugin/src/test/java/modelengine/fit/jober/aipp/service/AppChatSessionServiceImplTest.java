@@ -11,6 +11,7 @@ import static org.mockito.Mockito.mock;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
 import modelengine.fit.jober.aipp.service.impl.AppChatSessionServiceImpl;
+import modelengine.fit.jober.aipp.service.impl.LocalChatSessionBus;
 
 import modelengine.fitframework.flowable.Emitter;
 import modelengine.fitframework.flowable.emitter.DefaultEmitter;
@@ -36,7 +37,7 @@ public class AppChatSessionServiceImplTest {
 
     @BeforeEach
     void before() {
-        this.appChatSessionService = new AppChatSessionServiceImpl(this.mockMapper);
+        this.appChatSessionService = new AppChatSessionServiceImpl(this.mockMapper, new LocalChatSessionBus());
     }
 
     @Test
@@ -11,8 +11,10 @@ import static org.mockito.Mockito.mock;
 import modelengine.fit.jober.aipp.entity.ChatSession;
 import modelengine.fit.jober.aipp.mapper.AippLogMapper;
 import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
+import modelengine.fit.jober.aipp.service.impl.AncestorInstanceCache;
 import modelengine.fit.jober.aipp.service.impl.AppChatSessionServiceImpl;
 import modelengine.fit.jober.aipp.service.impl.AppChatSseServiceImpl;
+import modelengine.fit.jober.aipp.service.impl.LocalChatSessionBus;
 
 import modelengine.fitframework.flowable.Emitter;
 import modelengine.fitframework.flowable.emitter.DefaultEmitter;
@@ -26,8 +28,15 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * {@link AppChatSseService} 的测试类
@@ -50,8 +59,10 @@ public class AppChatSseServiceImplTest {
 
     @BeforeEach
     void before() {
-        this.appChatSessionService = new AppChatSessionServiceImpl(mockMapper);
-        this.appChatSseService = new AppChatSseServiceImpl(aippLogMapper, appChatSessionService);
+        ChatSessionBus chatSessionBus = new LocalChatSessionBus();
+        this.appChatSessionService = new AppChatSessionServiceImpl(mockMapper, chatSessionBus);
+        this.appChatSseService = new AppChatSseServiceImpl(new AncestorInstanceCache(aippLogMapper, 60, 100),
+                appChatSessionService, chatSessionBus);
     }
 
     @Test
@@ -85,4 +96,54 @@ public class AppChatSseServiceImplTest {
         Mockito.verify(emitter, Mockito.times(1)).emit("hello");
         Mockito.verify(emitter, Mockito.times(1)).complete();
     }
+
+    @Test
+    @DisplayName("测试多次发送到祖先时只查询一次父路径，实例结束后失效")
+    void shouldQueryParentPathOnceWhenSendToAncestorRepeatedly() {
+        this.appChatSessionService.addSession("hello", new ChatSession<>(emitter, "123", true, Locale.ENGLISH));
+        Mockito.when(aippLogMapper.getParentPath("child")).thenReturn("/hello/child");
+
+        for (int i = 0; i < 100; i++) {
+            this.appChatSseService.sendToAncestor("child", "chunk");
+        }
+        this.appChatSseService.sendToAncestorLastData("child", "last");
+        this.appChatSseService.sendToAncestor("child", "late");
+
+        Mockito.verify(emitter, Mockito.times(100)).emit("chunk");
+        Mockito.verify(emitter, Mockito.times(1)).emit("last");
+        Mockito.verify(emitter, Mockito.never()).emit("late");
+        Mockito.verify(aippLogMapper, Mockito.times(2)).getParentPath("child");
+    }
+
+    @Test
+    @DisplayName("测试多个子实例并发发送时，会话按顺序逐条写入且不丢失数据")
+    void shouldDeliverSeriallyWhenSendConcurrently() throws InterruptedException {
+        List<Object> received = new CopyOnWriteArrayList<>();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            received.add(invocation.getArgument(0));
+            active.decrementAndGet();
+            return null;
+        }).when(emitter).emit(Mockito.any());
+        this.appChatSessionService.addSession("hello", new ChatSession<>(emitter, "123", true, Locale.ENGLISH));
+        int threads = 8;
+        int messages = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < messages; i++) {
+                    this.appChatSseService.send("hello", "data");
+                }
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        Assertions.assertEquals(threads * messages, received.size());
+        Assertions.assertEquals(1, maxActive.get());
+    }
 }
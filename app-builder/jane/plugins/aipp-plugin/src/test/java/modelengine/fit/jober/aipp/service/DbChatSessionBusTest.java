@@ -0,0 +1,266 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.service;
+
+import static org.mockito.Mockito.mock;
+
+import modelengine.fit.jober.aipp.dto.chat.AppChatRsp;
+import modelengine.fit.jober.aipp.entity.ChatSession;
+import modelengine.fit.jober.aipp.entity.ChatSessionBusStats;
+import modelengine.fit.jober.aipp.mapper.AippLogMapper;
+import modelengine.fit.jober.aipp.mapper.AppChatNumMapper;
+import modelengine.fit.jober.aipp.mapper.ChatSessionRelayMapper;
+import modelengine.fit.jober.aipp.po.ChatSessionRelayPo;
+import modelengine.fit.jober.aipp.service.impl.AncestorInstanceCache;
+import modelengine.fit.jober.aipp.service.impl.AppChatSessionServiceImpl;
+import modelengine.fit.jober.aipp.service.impl.AppChatSseServiceImpl;
+import modelengine.fit.jober.aipp.service.impl.DbChatSessionBus;
+import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
+import modelengine.fitframework.flowable.Emitter;
+import modelengine.fitframework.serialization.ObjectSerializer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DbChatSessionBus} 的测试类
+ * <p>两个节点共用同一个中转表，模拟会话与流程回调落在不同节点的场景。</p>
+ *
+ * @author 陈潇文
+ * @since 2025-04-30
+ */
+public class DbChatSessionBusTest {
+    private final InMemoryRelayMapper relayMapper = new InMemoryRelayMapper();
+    private final ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
+
+    private DbChatSessionBus busA;
+    private DbChatSessionBus busB;
+    private AppChatSessionService sessionServiceA;
+    private AppChatSseService sseServiceA;
+    private AppChatSseService sseServiceB;
+
+    @BeforeEach
+    void before() {
+        this.busA = new DbChatSessionBus(this.relayMapper, this.serializer, "node-a", 10, 60, 2);
+        this.busB = new DbChatSessionBus(this.relayMapper, this.serializer, "node-b", 10, 60, 2);
+        this.sessionServiceA = new AppChatSessionServiceImpl(mock(AppChatNumMapper.class), this.busA);
+        AppChatSessionService sessionServiceB = new AppChatSessionServiceImpl(mock(AppChatNumMapper.class), this.busB);
+        this.sseServiceA = new AppChatSseServiceImpl(new AncestorInstanceCache(mock(AippLogMapper.class), 60, 100),
+                this.sessionServiceA, this.busA);
+        this.sseServiceB = new AppChatSseServiceImpl(new AncestorInstanceCache(mock(AippLogMapper.class), 60, 100),
+                sessionServiceB, this.busB);
+    }
+
+    @AfterEach
+    void after() {
+        this.busA.close();
+        this.busB.close();
+    }
+
+    @Test
+    @DisplayName("测试会话不在本节点时，数据按顺序转发给持有会话的节点并结束会话")
+    void shouldRelayToOwnerNodeWhenSessionNotLocal() {
+        @SuppressWarnings("unchecked")
+        Emitter<Object> emitter = mock(Emitter.class);
+        this.sessionServiceA.addSession("hello", new ChatSession<>(emitter, "123", true, Locale.ENGLISH));
+
+        for (int i = 0; i < 5; i++) {
+            this.sseServiceB.send("hello", "chunk" + i);
+        }
+        this.sseServiceB.sendLastData("hello", "last");
+
+        Mockito.verify(emitter, Mockito.timeout(5000)).complete();
+        InOrder inOrder = Mockito.inOrder(emitter);
+        for (int i = 0; i < 5; i++) {
+            inOrder.verify(emitter).emit("chunk" + i);
+        }
+        inOrder.verify(emitter).emit("last");
+        Assertions.assertFalse(this.sessionServiceA.getSession("hello").isPresent());
+        Assertions.assertNull(this.relayMapper.getRouteNode("hello"));
+        Assertions.assertEquals(6, this.busB.getStats().getRelayed());
+        ChatSessionBusStats stats = this.busA.getStats();
+        Assertions.assertEquals(6, stats.getDelivered());
+        Assertions.assertEquals(0, stats.getDropped());
+        Assertions.assertTrue(stats.getMaxLatencyMillis() >= stats.getAvgLatencyMillis());
+    }
+
+    @Test
+    @DisplayName("测试持有会话的节点已不存在会话时，转发数据记为丢弃")
+    void shouldCountDroppedWhenOwnerSessionGone() throws InterruptedException {
+        this.busA.register("gone");
+
+        this.sseServiceB.send("gone", "data");
+        this.sseServiceB.send("unknown", "data");
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (this.busA.getStats().getDropped() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(1, this.busA.getStats().getDropped());
+        Assertions.assertEquals(1, this.busB.getStats().getUnrouted());
+        Assertions.assertEquals(0, this.busA.getStats().getDelivered());
+        Assertions.assertTrue(this.relayMapper.isEmpty());
+        Assertions.assertFalse(this.sseServiceA.getEmitter("gone").isPresent());
+    }
+
+    @Test
+    @DisplayName("测试单条数据投递异常时，同批次其他数据正常投递且异常数据不会重复投递")
+    void shouldIsolateReceiverFailure() throws InterruptedException {
+        this.busA.register("bad");
+        this.busA.register("good");
+        AtomicInteger badCount = new AtomicInteger();
+        List<Object> received = new CopyOnWriteArrayList<>();
+        this.busA.subscribe((instanceId, data, isLast) -> {
+            if ("bad".equals(instanceId)) {
+                badCount.incrementAndGet();
+                throw new IllegalStateException("receive failed");
+            }
+            received.add(data);
+            return true;
+        });
+
+        this.busB.relay("bad", "data", false);
+        this.busB.relay("good", "data", false);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        Assertions.assertEquals(Collections.singletonList("data"), received);
+        Assertions.assertEquals(1, badCount.get());
+        Assertions.assertEquals(1, this.busA.getStats().getDelivered());
+        Assertions.assertEquals(1, this.busA.getStats().getDropped());
+        Assertions.assertTrue(this.relayMapper.isEmpty());
+    }
+
+    @Test
+    @DisplayName("测试转发的对话结果与本节点直接输出时的字段名一致")
+    void shouldKeepPropertyNamesWhenRelayChatRsp() {
+        @SuppressWarnings("unchecked")
+        Emitter<Object> emitter = mock(Emitter.class);
+        this.sessionServiceA.addSession("rsp", new ChatSession<>(emitter, "123", true, Locale.ENGLISH));
+        AppChatRsp rsp = AppChatRsp.builder()
+                .chatId("chat")
+                .atChatId("at-chat")
+                .status("RUNNING")
+                .instanceId("rsp")
+                .logId("log")
+                .extension(Collections.singletonMap("key", "value"))
+                .build();
+
+        this.sseServiceB.sendLastData("rsp", rsp);
+
+        Mockito.verify(emitter, Mockito.timeout(5000)).complete();
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        Mockito.verify(emitter).emit(captor.capture());
+        Assertions.assertEquals(this.serializer.serialize(rsp), this.serializer.serialize(captor.getValue()));
+        Map<?, ?> relayed = Assertions.assertInstanceOf(Map.class, captor.getValue());
+        Assertions.assertEquals("chat", relayed.get("chat_id"));
+        Assertions.assertEquals("at-chat", relayed.get("at_chat_id"));
+        Assertions.assertEquals("log", relayed.get("log_id"));
+        Assertions.assertEquals(Collections.singletonMap("key", "value"), relayed.get("extensions"));
+    }
+
+    @Test
+    @DisplayName("测试会话在其他节点登记后，之前没有路由的会话可以立即转发")
+    void shouldRelayOnceRouteRegisteredAfterMiss() {
+        this.busB.relay("late", "data", false);
+        this.busA.register("late");
+        this.busB.relay("late", "data", false);
+
+        Assertions.assertEquals(1, this.busB.getStats().getUnrouted());
+        Assertions.assertEquals(1, this.busB.getStats().getRelayed());
+    }
+
+    private static class InMemoryRelayMapper implements ChatSessionRelayMapper {
+        private final Map<String, String> routes = new HashMap<>();
+        private final Map<String, LocalDateTime> routeUpdateTimes = new HashMap<>();
+        private final List<ChatSessionRelayPo> messages = new ArrayList<>();
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public synchronized void upsertRoute(String instanceId, String nodeId, LocalDateTime updateAt) {
+            this.routes.put(instanceId, nodeId);
+            this.routeUpdateTimes.put(instanceId, updateAt);
+        }
+
+        @Override
+        public synchronized void deleteRoute(String instanceId, String nodeId) {
+            if (Objects.equals(this.routes.get(instanceId), nodeId)) {
+                this.routes.remove(instanceId);
+                this.routeUpdateTimes.remove(instanceId);
+            }
+        }
+
+        @Override
+        public synchronized String getRouteNode(String instanceId) {
+            return this.routes.get(instanceId);
+        }
+
+        @Override
+        public synchronized void insertMessage(ChatSessionRelayPo relayPo) {
+            relayPo.setId(this.sequence.incrementAndGet());
+            this.messages.add(relayPo);
+        }
+
+        @Override
+        public synchronized List<ChatSessionRelayPo> selectMessages(String nodeId, int limit) {
+            return this.messages.stream()
+                    .filter(message -> message.getNodeId().equals(nodeId))
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        }
+
+        @Override
+        public synchronized void deleteMessages(List<Long> ids) {
+            this.messages.removeIf(message -> ids.contains(message.getId()));
+        }
+
+        @Override
+        public synchronized int deleteExpiredMessages(LocalDateTime before) {
+            int size = this.messages.size();
+            this.messages.removeIf(message -> message.getCreateAt().isBefore(before));
+            return size - this.messages.size();
+        }
+
+        @Override
+        public synchronized int deleteExpiredRoutes(LocalDateTime before) {
+            List<String> expired = this.routeUpdateTimes.entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().isBefore(before))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            expired.forEach(this.routes::remove);
+            expired.forEach(this.routeUpdateTimes::remove);
+            return expired.size();
+        }
+
+        synchronized boolean isEmpty() {
+            return this.messages.isEmpty();
+        }
+    }
+}
@@ -7,10 +7,10 @@
 package modelengine.fit.jober.aipp.service.scheduletask;
 
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -33,6 +33,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -62,46 +63,95 @@ public class AippInstanceLogCleanerTest {
     @Test
     @DisplayName("测试清理 Normal 信息并备份")
     void cleanAippInstanceNormalLogShouldBackupAndDelete() throws Exception {
-        List<Long> mockLogIds = List.of(1L, 2L);
-        when(this.instanceLogRepo.getExpireInstanceLogIds(AippTypeEnum.NORMAL.type(), 30, 100)).thenReturn(mockLogIds)
-                .thenReturn(Collections.emptyList());
         AippInstLog mockLog = new AippInstLog();
-        when(this.instanceLogRepo.selectByLogIds(anyList())).thenReturn(List.of(mockLog));
+        mockLog.setLogId(2L);
+        when(this.instanceLogRepo.selectExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), any(), anyLong(),
+                eq(100))).thenReturn(List.of(mockLog)).thenReturn(Collections.emptyList());
         CSVWriter csvWriter = mock(CSVWriter.class);
-        when(this.csvWriterHelper.createCsvWriter(any(), anyBoolean())).thenReturn(csvWriter);
+        when(this.csvWriterHelper.createGzipCsvWriter(any())).thenReturn(csvWriter);
         File file = mock(File.class);
         File csvFile = mock(File.class);
+        when(csvFile.getName()).thenReturn("aipp-instance-log-20250418-1.csv.gz");
         when(this.csvWriterHelper.getFile(anyString())).thenReturn(file);
         when(file.listFiles(any(FilenameFilter.class))).thenReturn(new File[] {csvFile});
         this.logCleaner.cleanAippInstanceNormalLog(30, 100);
-        verify(this.instanceLogRepo, times(2)).getExpireInstanceLogIds(anyString(), anyInt(), anyInt());
-        verify(this.instanceLogRepo, times(1)).forceDeleteInstanceLogs(anyList());
-        verify(csvWriter, times(1)).writeAll(anyList());
+        verify(this.instanceLogRepo).selectExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), any(), eq(0L), eq(100));
+        verify(this.instanceLogRepo).selectExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), any(), eq(2L), eq(100));
+        verify(this.instanceLogRepo, times(1)).deleteExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()),
+                eq(Collections.emptyList()), any(), eq(0L), eq(2L));
+        verify(csvWriter, times(1)).writeNext(any());
+        verify(csvWriter, times(1)).close();
         verify(csvFile, times(0)).delete();
     }
 
     @Test
     @DisplayName("测试 Normal 信息备份失败时不清理数据")
     void cleanAippInstanceNormalLogShouldNotDeleteWhenBackupFailed() throws Exception {
-        List<Long> mockLogIds = List.of(1L, 2L);
-        when(this.instanceLogRepo.getExpireInstanceLogIds(AippTypeEnum.NORMAL.type(), 30, 100)).thenReturn(mockLogIds)
-                .thenReturn(Collections.emptyList());
-        when(this.instanceLogRepo.selectByLogIds(anyList())).thenReturn(Collections.singletonList(new AippInstLog()));
-        CSVWriter csvWriter = mock(CSVWriter.class);
-        when(this.csvWriterHelper.createCsvWriter(any(), anyBoolean())).thenThrow(new IOException("error"));
+        when(this.instanceLogRepo.selectExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), any(), anyLong(),
+                anyInt())).thenReturn(Collections.singletonList(new AippInstLog()));
+        when(this.csvWriterHelper.getFile(anyString())).thenReturn(mock(File.class));
+        when(this.csvWriterHelper.createGzipCsvWriter(any())).thenThrow(new IOException("error"));
+        this.logCleaner.cleanAippInstanceNormalLog(30, 100);
+        verify(this.instanceLogRepo, times(1)).selectExpireInstanceLogs(anyString(), any(), anyLong(), anyInt());
+        verify(this.instanceLogRepo, times(0)).deleteExpireInstanceLogs(anyString(), any(), any(), anyLong(),
+                anyLong());
+    }
+
+    @Test
+    @DisplayName("测试整月超期的分区在备份后直接删除")
+    void cleanAippInstanceNormalLogShouldDropExpiredPartitions() {
+        YearMonth current = YearMonth.now();
+        YearMonth expired = current.minusMonths(3);
+        when(this.instanceLogRepo.getInstanceLogPartitions()).thenReturn(List.of(expired, current));
+        when(this.instanceLogRepo.selectExpireInstanceLogs(anyString(), any(), anyLong(), anyInt())).thenReturn(
+                Collections.emptyList());
+        File file = mock(File.class);
+        when(this.csvWriterHelper.getFile(anyString())).thenReturn(file);
         this.logCleaner.cleanAippInstanceNormalLog(30, 100);
-        verify(this.instanceLogRepo, times(1)).getExpireInstanceLogIds(anyString(), anyInt(), anyInt());
-        verify(this.instanceLogRepo, times(0)).forceDeleteInstanceLogs(anyList());
-        verify(csvWriter, times(0)).writeAll(anyList());
+        verify(this.instanceLogRepo).dropInstanceLogPartition(expired);
+        verify(this.instanceLogRepo, times(0)).dropInstanceLogPartition(current);
+        verify(this.instanceLogRepo).createInstanceLogPartition(current);
+        verify(this.instanceLogRepo).createInstanceLogPartition(current.plusMonths(1));
+    }
+
+    @Test
+    @DisplayName("测试超期分区仍有调试数据时不删除分区，其中的数据逐行删除")
+    void cleanAippInstanceNormalLogShouldKeepPartitionWithPreviewLogs() throws Exception {
+        YearMonth current = YearMonth.now();
+        YearMonth withPreview = current.minusMonths(4);
+        YearMonth expired = current.minusMonths(3);
+        when(this.instanceLogRepo.getInstanceLogPartitions()).thenReturn(List.of(withPreview, expired, current));
+        when(this.instanceLogRepo.existsInstanceLogs(AippTypeEnum.PREVIEW.type(), withPreview)).thenReturn(true);
+        when(this.instanceLogRepo.existsInstanceLogs(AippTypeEnum.PREVIEW.type(), expired)).thenReturn(false);
+        AippInstLog first = new AippInstLog();
+        first.setLogId(5L);
+        AippInstLog second = new AippInstLog();
+        second.setLogId(9L);
+        when(this.instanceLogRepo.selectExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), any(), anyLong(),
+                eq(1))).thenReturn(List.of(first)).thenReturn(List.of(second)).thenReturn(Collections.emptyList());
+        when(this.csvWriterHelper.createGzipCsvWriter(any())).thenReturn(mock(CSVWriter.class));
+        when(this.csvWriterHelper.getFile(anyString())).thenReturn(mock(File.class));
+        this.logCleaner.cleanAippInstanceNormalLog(30, 1);
+        verify(this.instanceLogRepo, times(0)).dropInstanceLogPartition(withPreview);
+        verify(this.instanceLogRepo).dropInstanceLogPartition(expired);
+        verify(this.instanceLogRepo).deleteExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), eq(List.of(expired)),
+                any(), eq(0L), eq(5L));
+        verify(this.instanceLogRepo).deleteExpireInstanceLogs(eq(AippTypeEnum.NORMAL.type()), eq(List.of(expired)),
+                any(), eq(5L), eq(9L));
     }
 
     @Test
     public void cleanAippInstancePreviewLogMultipleBatches_DeletesAll() {
-        Mockito.when(this.instanceLogRepo.getExpireInstanceLogIds(Mockito.eq(AippTypeEnum.PREVIEW.type()),
-                Mockito.anyInt(),
+        Mockito.when(this.instanceLogRepo.selectExpireInstanceLogIds(Mockito.eq(AippTypeEnum.PREVIEW.type()),
+                Mockito.any(),
+                Mockito.anyLong(),
                 Mockito.anyInt())).thenReturn(Arrays.asList(1L, 2L)).thenReturn(Collections.emptyList());
         this.logCleaner.cleanAippInstancePreviewLog(30, 100);
-        Mockito.verify(this.instanceLogRepo, Mockito.times(2)).getExpireInstanceLogIds(AippTypeEnum.PREVIEW.type(), 30, 100);
-        Mockito.verify(this.instanceLogRepo).forceDeleteInstanceLogs(Arrays.asList(1L, 2L));
+        Mockito.verify(this.instanceLogRepo, Mockito.times(2))
+                .selectExpireInstanceLogIds(Mockito.eq(AippTypeEnum.PREVIEW.type()), Mockito.any(), Mockito.anyLong(),
+                        Mockito.eq(100));
+        Mockito.verify(this.instanceLogRepo)
+                .deleteExpireInstanceLogs(Mockito.eq(AippTypeEnum.PREVIEW.type()), Mockito.eq(Collections.emptyList()),
+                        Mockito.any(), Mockito.eq(0L), Mockito.eq(2L));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import modelengine.fit.jober.aipp.dto.export.AppExportApp;
+import modelengine.fit.jober.aipp.dto.export.AppExportConfig;
+import modelengine.fit.jober.aipp.dto.export.AppExportDto;
+import modelengine.fit.jober.aipp.dto.export.AppExportFlowGraph;
+import modelengine.fit.jober.aipp.dto.export.AppExportForm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * {@link AppArchiveUtil} 的测试。
+ *
+ * @author 方誉州
+ * @since 2025-04-30
+ */
+@DisplayName("测试 AppArchiveUtil")
+public class AppArchiveUtilTest {
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    @DisplayName("写入多个应用后按顺序读取，头像以原始内容还原")
+    void shouldReadAppsInOrderWhenWrittenToArchive() throws IOException {
+        byte[] icon = new byte[] {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2};
+        File iconFile = this.tempDir.resolve("avatar.png").toFile();
+        Files.write(iconFile.toPath(), icon);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            AppArchiveUtil.writeApp(zip, "app1", exportDto("first"), iconFile);
+            AppArchiveUtil.writeApp(zip, "app2", exportDto("second"), null);
+        }
+
+        Map<String, AppExportDto> apps = new LinkedHashMap<>();
+        AppArchiveUtil.readApps(new ByteArrayInputStream(out.toByteArray()), apps::put);
+
+        assertThat(apps).containsOnlyKeys("app1", "app2");
+        AppExportDto first = apps.get("app1");
+        assertThat(first.getVersion()).isEqualTo("1.0.1");
+        assertThat(first.getApp().getName()).isEqualTo("first");
+        assertThat(first.getConfig().getForm().getName()).isEqualTo("form");
+        assertThat(first.getFlowGraph().getAppearance()).isEqualTo("{\"shapes\":[]}");
+        assertThat(first.getIconContent()).isEqualTo(icon);
+        assertThat(first.getApp().getAttributes().get("icon")).isEqualTo(Collections.singletonMap("type", "png"));
+        assertThat(apps.get("app2").getIconContent()).isNull();
+    }
+
+    @Test
+    @DisplayName("压缩包缺少基础信息时，仍然返回该应用以便记录失败结果")
+    void shouldReturnAppWithoutHeaderWhenAppEntryMissing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            putEntry(zip, "app1/" + AppArchiveUtil.FLOW_GRAPH_ENTRY, "{\"name\":\"graph\"}");
+            putEntry(zip, "readme.txt", "ignored");
+        }
+
+        List<String> appIds = new ArrayList<>();
+        List<AppExportDto> apps = new ArrayList<>();
+        AppArchiveUtil.readApps(new ByteArrayInputStream(out.toByteArray()), (appId, app) -> {
+            appIds.add(appId);
+            apps.add(app);
+        });
+
+        assertThat(appIds).containsExactly("app1");
+        assertThat(apps.get(0).getApp()).isNull();
+        assertThat(apps.get(0).getFlowGraph().getName()).isEqualTo("graph");
+    }
+
+    @Test
+    @DisplayName("同一应用的条目不连续时，抛出异常")
+    void shouldThrowWhenEntriesNotContiguous() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            putEntry(zip, "app1/" + AppArchiveUtil.FLOW_GRAPH_ENTRY, "{}");
+            putEntry(zip, "app2/" + AppArchiveUtil.FLOW_GRAPH_ENTRY, "{}");
+            putEntry(zip, "app1/" + AppArchiveUtil.CONFIG_ENTRY, "{}");
+        }
+
+        assertThatThrownBy(() -> AppArchiveUtil.readApps(new ByteArrayInputStream(out.toByteArray()),
+                (appId, app) -> {})).isInstanceOf(IOException.class);
+    }
+
+    private static AppExportDto exportDto(String name) {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("description", "description of " + name);
+        return AppExportDto.builder()
+                .version("1.0.1")
+                .app(AppExportApp.builder().name(name).type("app").attributes(attributes).build())
+                .config(AppExportConfig.builder().form(AppExportForm.builder().name("form").build()).build())
+                .flowGraph(AppExportFlowGraph.builder().name("graph").appearance("{\"shapes\":[]}").build())
+                .build();
+    }
+
+    private static void putEntry(ZipOutputStream zip, String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,208 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.http.entity.FileEntity;
+import modelengine.fit.http.server.HttpClassicServerRequest;
+import modelengine.fit.http.server.HttpClassicServerResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link FileDownloadUtils} 的测试类。
+ *
+ * @author 陈潇文
+ * @since 2025-04-29
+ */
+public class FileDownloadUtilsTest {
+    private static final int FILE_SIZE = 8 * 1024 * 1024;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path file;
+    private byte[] content;
+    private HttpClassicServerRequest request;
+    private HttpClassicServerResponse response;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.content = new byte[FILE_SIZE];
+        for (int i = 0; i < FILE_SIZE; i++) {
+            this.content[i] = (byte) (i * 31 + (i >>> 8));
+        }
+        this.file = Files.write(this.tempDir.resolve("large.bin"), this.content);
+        this.request = mock(HttpClassicServerRequest.class, RETURNS_DEEP_STUBS);
+        this.response = mock(HttpClassicServerResponse.class, RETURNS_DEEP_STUBS);
+    }
+
+    @Test
+    @DisplayName("测试完整下载时以流的方式返回文件并设置 ETag")
+    void shouldStreamWholeFileWithEtag() throws IOException {
+        FileEntity entity = this.download();
+
+        assertEquals(FILE_SIZE, entity.length());
+        assertArrayEquals(this.content, readAll(entity));
+        verify(this.response.headers()).set(FileDownloadUtils.ETAG, this.etag());
+        verify(this.response.headers()).set(FileDownloadUtils.ACCEPT_RANGES, "bytes");
+        verify(this.response, never()).statusCode(anyInt());
+    }
+
+    @Test
+    @DisplayName("测试 Range 请求返回指定范围的内容")
+    void shouldReturnPartialContentWhenRangeGiven() throws IOException {
+        when(this.request.headers().first("Range")).thenReturn(Optional.of("bytes=100-1123"));
+
+        FileEntity entity = this.download();
+
+        assertEquals(1024, entity.length());
+        assertArrayEquals(Arrays.copyOfRange(this.content, 100, 1124), readAll(entity));
+        verify(this.response).statusCode(206);
+        verify(this.response.headers()).set(FileDownloadUtils.CONTENT_RANGE, "bytes 100-1123/" + FILE_SIZE);
+    }
+
+    @Test
+    @DisplayName("测试后缀 Range 请求返回文件末尾的内容")
+    void shouldReturnTailWhenSuffixRangeGiven() throws IOException {
+        when(this.request.headers().first("Range")).thenReturn(Optional.of("bytes=-10"));
+
+        FileEntity entity = this.download();
+
+        assertArrayEquals(Arrays.copyOfRange(this.content, FILE_SIZE - 10, FILE_SIZE), readAll(entity));
+        verify(this.response).statusCode(206);
+    }
+
+    @Test
+    @DisplayName("测试 ETag 匹配时返回 304")
+    void shouldReturnNotModifiedWhenEtagMatches() throws IOException {
+        when(this.request.headers().first("If-None-Match")).thenReturn(Optional.of("\"other\", " + this.etag()));
+
+        FileEntity entity = this.download();
+
+        assertEquals(0, entity.length());
+        verify(this.response).statusCode(304);
+    }
+
+    @Test
+    @DisplayName("测试范围超出文件长度时返回 416")
+    void shouldReturnNotSatisfiableWhenRangeOutOfFile() throws IOException {
+        when(this.request.headers().first("Range")).thenReturn(Optional.of("bytes=" + FILE_SIZE + "-"));
+
+        FileEntity entity = this.download();
+
+        assertEquals(0, entity.length());
+        verify(this.response).statusCode(416);
+        verify(this.response.headers()).set(FileDownloadUtils.CONTENT_RANGE, "bytes */" + FILE_SIZE);
+    }
+
+    @Test
+    @DisplayName("测试起止颠倒的范围被忽略并返回完整文件")
+    void shouldReturnWholeFileWhenRangeReversed() throws IOException {
+        when(this.request.headers().first("Range")).thenReturn(Optional.of("bytes=5-3"));
+
+        FileEntity entity = this.download();
+
+        assertEquals(FILE_SIZE, entity.length());
+        verify(this.response, never()).statusCode(anyInt());
+    }
+
+    @Test
+    @DisplayName("测试 If-Range 与 ETag 不一致时返回完整文件")
+    void shouldReturnWholeFileWhenIfRangeMismatch() throws IOException {
+        when(this.request.headers().first("Range")).thenReturn(Optional.of("bytes=0-9"));
+        when(this.request.headers().first("If-Range")).thenReturn(Optional.of("\"stale\""));
+
+        FileEntity entity = this.download();
+
+        assertEquals(FILE_SIZE, entity.length());
+        verify(this.response, never()).statusCode(eq(206));
+    }
+
+    @Test
+    @DisplayName("测试解析 Range 请求头")
+    void shouldParseRange() {
+        assertArrayEquals(new long[] {0, 99}, FileDownloadUtils.parseRange("bytes=0-99", 1000));
+        assertArrayEquals(new long[] {500, 999}, FileDownloadUtils.parseRange("bytes=500-", 1000));
+        assertArrayEquals(new long[] {900, 999}, FileDownloadUtils.parseRange("bytes=-100", 1000));
+        assertArrayEquals(new long[] {0, 999}, FileDownloadUtils.parseRange("bytes=0-5000", 1000));
+        assertEquals(0, FileDownloadUtils.parseRange("bytes=1000-", 1000).length);
+        assertNull(FileDownloadUtils.parseRange("bytes=0-1,5-6", 1000));
+        assertNull(FileDownloadUtils.parseRange("items=0-1", 1000));
+        assertNull(FileDownloadUtils.parseRange("bytes=a-b", 1000));
+        assertNull(FileDownloadUtils.parseRange("bytes=5-3", 1000));
+    }
+
+    @Test
+    @DisplayName("测试并发分段下载大文件时内容正确")
+    void shouldServeConcurrentRangeDownloads() throws Exception {
+        int parts = 32;
+        int partSize = FILE_SIZE / parts;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < parts; i++) {
+                int start = i * partSize;
+                futures.add(executor.submit(() -> {
+                    HttpClassicServerRequest partRequest = mock(HttpClassicServerRequest.class, RETURNS_DEEP_STUBS);
+                    when(partRequest.headers().first("Range")).thenReturn(
+                            Optional.of("bytes=" + start + "-" + (start + partSize - 1)));
+                    HttpClassicServerResponse partResponse = mock(HttpClassicServerResponse.class, RETURNS_DEEP_STUBS);
+                    return readAll(FileDownloadUtils.download(partRequest, partResponse, this.file, "large.bin",
+                            FileEntity.Position.ATTACHMENT));
+                }));
+            }
+            for (int i = 0; i < parts; i++) {
+                assertArrayEquals(Arrays.copyOfRange(this.content, i * partSize, (i + 1) * partSize),
+                        futures.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private FileEntity download() throws IOException {
+        return FileDownloadUtils.download(this.request, this.response, this.file, "large.bin",
+                FileEntity.Position.ATTACHMENT);
+    }
+
+    private String etag() throws IOException {
+        return FileDownloadUtils.etag(Files.readAttributes(this.file, BasicFileAttributes.class));
+    }
+
+    private static byte[] readAll(FileEntity entity) throws IOException {
+        try (InputStream in = entity.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -13,10 +13,16 @@ import modelengine.fit.jane.common.controller.AbstractController;
 import modelengine.fit.jane.task.gateway.Authenticator;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
+import modelengine.fit.jober.aipp.common.websocket.WsFrameFormat;
+import modelengine.fit.jober.aipp.common.websocket.WsFrameSender;
+import modelengine.fit.jober.aipp.common.websocket.WsOverflowPolicy;
+import modelengine.fit.jober.aipp.common.websocket.WsSessionStream;
+import modelengine.fit.jober.aipp.common.websocket.WsStreamConfig;
 import modelengine.fit.jober.aipp.service.AppWsCommand;
 import modelengine.fit.jober.aipp.service.AppWsRegistryService;
 import modelengine.fit.jober.websocket.dto.AippWebsocketRsp;
 import modelengine.fit.jober.websocket.dto.AppWsParams;
+import modelengine.fit.jober.websocket.dto.TenantParams;
 import modelengine.jade.authentication.AuthenticationService;
 import modelengine.jade.authentication.context.HttpRequestUtils;
 import modelengine.jade.authentication.context.UserContext;
@@ -34,20 +40,27 @@ import modelengine.fit.http.websocket.annotation.WebSocketEndpoint;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.flowable.Choir;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.TypeUtils;
 import modelengine.jade.authentication.AuthenticationService;
 import modelengine.jade.authentication.context.HttpRequestUtils;
 import modelengine.jade.authentication.context.UserContext;
 import modelengine.jade.authentication.context.UserContextHolder;
 
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * app-websocket 流式接口。
+ * <p>每个会话的响应经 {@link WsSessionStream} 发送：同一会话上的多个请求公平轮转，待发送数据有界，
+ * 客户端可按请求选择帧格式与发送窗口，并通过 {@code ack} 方法确认已消费的帧数。</p>
  *
  * @author 姚江
  * @since 2024-07-23
@@ -56,17 +69,27 @@ import java.util.Map;
 @Component
 public class AppStreamController extends AbstractController {
     private static final Logger log = Logger.get(AppStreamController.class);
+    private static final String ACK_METHOD = "ack";
+    private static final String ACK_COUNT = "count";
+    private static final int POLICY_VIOLATION = 1008;
 
     private final ObjectSerializer serializer;
     private final AuthenticationService authenticationService;
     private final AppWsRegistryService registry;
+    private final WsStreamConfig streamConfig;
+    private final Map<Session, WsSessionStream> streams = new ConcurrentHashMap<>();
 
     AppStreamController(Authenticator authenticator, @Fit(alias = "json") ObjectSerializer serializer,
-            AuthenticationService authenticationService, AppWsRegistryService registry) {
+            AuthenticationService authenticationService, AppWsRegistryService registry,
+            @Value("${app-ws.stream.max-queued-frames}") int maxQueuedFrames,
+            @Value("${app-ws.stream.overflow-policy}") String overflowPolicy,
+            @Value("${app-ws.stream.compress-threshold}") int compressThreshold) {
         super(authenticator);
         this.serializer = serializer;
         this.authenticationService = authenticationService;
         this.registry = registry;
+        this.streamConfig =
+                new WsStreamConfig(maxQueuedFrames, WsOverflowPolicy.from(overflowPolicy), compressThreshold);
     }
 
     /**
@@ -89,6 +112,7 @@ public class AppStreamController extends AbstractController {
     @OnMessage
     public void onMessage(Session session, @TextMessage String message, @PathVariable("tenant_id") String tenantId) {
         log.info("WebSocket session start. sessionId: {}", session.getId());
+        WsSessionStream stream = this.streamOf(session);
         HttpClassicServerRequest request = cast(session.getHandshakeMessage());
         UserContext operationContext = new UserContext(this.authenticationService.getUserName(request),
                 HttpRequestUtils.getUserIp(request),
@@ -96,29 +120,29 @@ public class AppStreamController extends AbstractController {
         UserContextHolder.apply(operationContext, () -> {
             String requestIdLog = "";
             try {
-                AppWsParams wsParams = this.serializer.deserialize(message, AppWsParams.class);
+                AppWsParams<Object> wsParams = cast(this.serializer.deserialize(message, AppWsParams.class));
                 String method = wsParams.getMethod();
                 String requestId = wsParams.getRequestId();
                 requestIdLog = requestId;
                 Map<String, Object> params = cast(wsParams.getParams());
-                params.put("tenant_id", tenantId);
+                if (ACK_METHOD.equals(method)) {
+                    stream.ack(requestId, getAckCount(params));
+                    return;
+                }
                 log.info("Dispatch method: {}", method);
                 OperationContext context = this.contextOf(request, tenantId);
                 AppWsCommand command = this.registry.getCommand(method);
                 notNull(command, () -> new AippException(AippErrCode.NOT_FOUND, method));
-                Choir<Object> result =
-                        command.execute(context, this.castParam(params, this.registry.getParamClass(method)));
-                result.subscribe(null, (subscription, data) -> {
-                    session.send(this.createUnCompleteRsp(requestId, data));
-                }, (subscription) -> {
-                    session.send(this.createCompletedRsp(requestId));
-                }, (subscription, exception) -> {
-                    session.send(this.createFailedRsp(requestId, exception));
-                });
+                Object commandParams = this.castParam(message, params, this.registry.getParamClass(method), tenantId);
+                Choir<Object> result = command.execute(context, commandParams);
+                stream.subscribe(requestId,
+                        result,
+                        WsFrameFormat.from(wsParams.getFormat()),
+                        wsParams.getWindow() == null ? 0 : wsParams.getWindow());
                 log.info("End dispatch method.");
             } catch (Exception e) {
                 log.error("Apply method error.", e);
-                session.send(this.createFailedRsp(requestIdLog, e));
+                stream.fail(requestIdLog, e);
             }
         });
     }
@@ -130,6 +154,11 @@ public class AppStreamController extends AbstractController {
      */
     @OnClose
     public void onClose(Session session) {
+        WsSessionStream stream = this.streams.remove(session);
+        if (stream != null) {
+            stream.close();
+            log.info("WebSocket stream stats. [sessionId={}, stats={}]", session.getId(), stream.stats());
+        }
         log.info("WebSocket connection closed by client. [code={}, reason={}, sessionId={}]",
                 session.getCloseCode(),
                 session.getCloseReason(),
@@ -148,16 +177,56 @@ public class AppStreamController extends AbstractController {
         session.send(createFailedRsp("error", cast(e)));
     }
 
-    private <T> T castParam(Object param, Class<T> type) {
-        return this.serializer.deserialize(this.serializer.serialize(param), type);
+    /**
+     * 获取当前所有会话输出流的统计信息。
+     *
+     * @return 表示会话唯一标识到统计信息的 {@link Map}{@code <}{@link String}{@code , }{@link Map}{@code <}{@link
+     * String}{@code , }{@link Object}{@code >>}。
+     */
+    public Map<String, Map<String, Object>> getSessionStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        this.streams.forEach((session, stream) -> stats.put(session.getId(), stream.stats()));
+        return stats;
+    }
+
+    private static int getAckCount(Map<String, Object> params) {
+        Object count = params == null ? null : params.get(ACK_COUNT);
+        if (!(count instanceof Number)) {
+            throw new AippException(AippErrCode.INPUT_PARAM_IS_INVALID, ACK_COUNT);
+        }
+        return ObjectUtils.<Number>cast(count).intValue();
     }
 
-    private String createUnCompleteRsp(String requestId, Object data) {
-        return this.serializer.serialize(createRsp(requestId, AippErrCode.OK.getErrorCode(), null, data, false));
+    private WsSessionStream streamOf(Session session) {
+        return this.streams.computeIfAbsent(session, key -> new WsSessionStream(new WsFrameSender() {
+            @Override
+            public void sendText(String text) {
+                key.send(text);
+            }
+
+            @Override
+            public void sendBinary(byte[] bytes) {
+                key.send(bytes);
+            }
+
+            @Override
+            public void close(String reason) {
+                key.close(POLICY_VIOLATION, reason);
+            }
+        }, this.serializer, this::createRsp, this.streamConfig));
     }
 
-    private String createCompletedRsp(String requestId) {
-        return this.serializer.serialize(createRsp(requestId, AippErrCode.OK.getErrorCode(), null, null, true));
+    private Object castParam(String message, Map<String, Object> params, Class<?> type, String tenantId) {
+        if (type != null && TenantParams.class.isAssignableFrom(type)) {
+            // 按命令参数类型直接反序列化原始消息，避免参数先序列化再反序列化。
+            Type messageType = TypeUtils.parameterized(AppWsParams.class, new Type[] {type});
+            AppWsParams<TenantParams> typed = this.serializer.deserialize(message, messageType);
+            TenantParams tenantParams = notNull(typed.getParams(), "The params cannot be null.");
+            tenantParams.setTenantId(tenantId);
+            return tenantParams;
+        }
+        params.put("tenant_id", tenantId);
+        return this.serializer.deserialize(this.serializer.serialize(params), type);
     }
 
     private String createFailedRsp(String requestId, Exception exception) {
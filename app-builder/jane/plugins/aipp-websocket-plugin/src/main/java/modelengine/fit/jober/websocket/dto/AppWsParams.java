@@ -15,6 +15,7 @@ import modelengine.fitframework.annotation.Property;
 /**
  * 大模型会话参数。
  *
+ * @param <T> 表示命令参数的类型。
  * @author 曹嘉美
  * @since 2025-01-15
  */
@@ -22,7 +23,7 @@ import modelengine.fitframework.annotation.Property;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AppWsParams {
+public class AppWsParams<T> {
     @Property(description = "方法名")
     private String method;
 
@@ -30,5 +31,11 @@ public class AppWsParams {
     private String requestId;
 
     @Property(description = "参数")
-    private Object params;
+    private T params;
+
+    @Property(description = "响应帧编码格式，可选 json、compact、gzip，默认为 json")
+    private String format;
+
+    @Property(description = "发送窗口大小，大于 0 时客户端需通过 ack 消息确认已消费的帧数")
+    private Integer window;
 }
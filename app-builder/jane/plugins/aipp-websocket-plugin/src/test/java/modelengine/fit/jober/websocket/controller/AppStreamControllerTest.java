@@ -86,8 +86,13 @@ public class AppStreamControllerTest {
     @BeforeEach
     public void setup() {
         this.serializer = new JacksonObjectSerializer(null, null, null, true);
-        this.appStreamController =
-                new AppStreamController(this.authenticator, this.serializer, this.authenticationService, this.registry);
+        this.appStreamController = new AppStreamController(this.authenticator,
+                this.serializer,
+                this.authenticationService,
+                this.registry,
+                256,
+                "coalesce",
+                1024);
         when(this.request.headers()).thenReturn(new DefaultMessageHeaders());
         when(this.request.cookies()).thenReturn(new DefaultCookieCollection());
         when(this.request.remoteAddress()).thenReturn(Address.builder().hostAddress("127.0.0.1").port(6666).build());
@@ -174,4 +179,47 @@ public class AppStreamControllerTest {
                         "{\"requestId\":\"1\",\"code\":90000002,\"msg\":\"emit fail\","
                                 + "\"completed\":true}");
     }
+
+    @Test
+    @DisplayName("测试设置发送窗口后按客户端确认发送")
+    void testSendWithinWindow() {
+        when(this.command.execute(any(), any())).then(invocationOnMock -> Choir.<Object>just("a", "b"));
+        String message = """
+                {
+                    "method": "appChat",
+                    "request_id": "1",
+                    "window": 1,
+                    "params": {
+                        "tenantId": "123"
+                    }
+                }""";
+        this.appStreamController.onMessage(this.session, message, "123");
+        assertThat(this.result).containsExactly("{\"requestId\":\"1\",\"code\":0,\"data\":\"a\",\"completed\":false}");
+
+        String ack = """
+                {
+                    "method": "ack",
+                    "request_id": "1",
+                    "params": {
+                        "count": 1
+                    }
+                }""";
+        this.appStreamController.onMessage(this.session, ack, "123");
+        assertThat(this.result).hasSize(3)
+                .contains("{\"requestId\":\"1\",\"code\":0,\"data\":\"b\",\"completed\":false}",
+                        "{\"requestId\":\"1\",\"code\":0,\"completed\":true}");
+    }
+
+    @Test
+    @DisplayName("测试确认消息缺少参数时拒绝该消息")
+    void testRejectAckWithoutParams() {
+        String ack = """
+                {
+                    "method": "ack",
+                    "request_id": "1"
+                }""";
+        this.appStreamController.onMessage(this.session, ack, "123");
+        assertThat(this.result).containsExactly(
+                "{\"requestId\":\"1\",\"code\":90000000,\"msg\":\"不合法的入参: count。\",\"completed\":true}");
+    }
 }
@@ -552,6 +552,16 @@ public enum AippErrCode implements ErrorCode, RetCode {
      */
     APP_CATEGORY_IS_NULL(90002982, "创建失败，应用分类不能为空。"),
 
+    /**
+     * 应用批量导出失败
+     */
+    EXPORT_ARCHIVE_FAILED(90002983, "应用批量导出失败，请重试"),
+
+    /**
+     * 应用批量导入的压缩包损坏
+     */
+    IMPORT_ARCHIVE_BROKEN(90002984, "应用压缩包已损坏，无法继续读取"),
+
     /**
      * 许可证过期
      */
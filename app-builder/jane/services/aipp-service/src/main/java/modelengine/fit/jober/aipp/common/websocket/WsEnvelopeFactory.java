@@ -0,0 +1,28 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+/**
+ * 表示 {@link WsFrameFormat#JSON} 与 {@link WsFrameFormat#GZIP} 格式下响应信封的构造方法。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+@FunctionalInterface
+public interface WsEnvelopeFactory {
+    /**
+     * 构造响应信封。
+     *
+     * @param requestId 表示请求唯一标识的 {@link String}。
+     * @param code 表示状态码的 {@link Integer}。
+     * @param msg 表示异常信息的 {@link String}。
+     * @param data 表示数据的 {@link Object}。
+     * @param isCompleted 表示流是否结束的 {@code boolean}。
+     * @return 表示待序列化的响应信封的 {@link Object}。
+     */
+    Object create(String requestId, Integer code, String msg, Object data, boolean isCompleted);
+}
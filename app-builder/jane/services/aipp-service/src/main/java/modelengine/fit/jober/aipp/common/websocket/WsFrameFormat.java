@@ -0,0 +1,50 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+import java.util.Locale;
+
+/**
+ * 表示 WebSocket 响应帧的编码格式，由客户端在请求中选择。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+public enum WsFrameFormat {
+    /**
+     * 完整的 JSON 文本帧，与原有格式一致。
+     */
+    JSON,
+
+    /**
+     * 使用单字母键名的 JSON 文本帧：{@code i} 请求标识，{@code c} 状态码，{@code m} 异常信息，
+     * {@code d} 数据，{@code f} 是否结束。
+     */
+    COMPACT,
+
+    /**
+     * 超过压缩阈值时以 gzip 压缩后的 JSON 二进制帧发送，否则仍为 JSON 文本帧。
+     */
+    GZIP;
+
+    /**
+     * 根据名称获取编码格式，名称为空或不合法时返回 {@link #JSON}。
+     *
+     * @param name 表示编码格式名称的 {@link String}。
+     * @return 表示编码格式的 {@link WsFrameFormat}。
+     */
+    public static WsFrameFormat from(String name) {
+        if (name == null) {
+            return JSON;
+        }
+        try {
+            return WsFrameFormat.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignore) {
+            return JSON;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+/**
+ * 表示 WebSocket 会话的帧发送端。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+public interface WsFrameSender {
+    /**
+     * 发送文本帧。
+     *
+     * @param text 表示文本内容的 {@link String}。
+     */
+    void sendText(String text);
+
+    /**
+     * 发送二进制帧。
+     *
+     * @param bytes 表示二进制内容的 {@code byte[]}。
+     */
+    void sendBinary(byte[] bytes);
+
+    /**
+     * 关闭会话。
+     *
+     * @param reason 表示关闭原因的 {@link String}。
+     */
+    void close(String reason);
+}
@@ -0,0 +1,49 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+import java.util.Locale;
+
+/**
+ * 表示 WebSocket 单个请求的待发送队列满时的处理策略。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+public enum WsOverflowPolicy {
+    /**
+     * 将新数据合并到队尾的数据帧中：文本数据拼接，其他数据以新值覆盖旧值。
+     */
+    COALESCE,
+
+    /**
+     * 丢弃新数据。
+     */
+    DROP,
+
+    /**
+     * 断开会话。
+     */
+    DISCONNECT;
+
+    /**
+     * 根据名称获取策略，名称不合法时返回 {@link #COALESCE}。
+     *
+     * @param name 表示策略名称的 {@link String}。
+     * @return 表示策略的 {@link WsOverflowPolicy}。
+     */
+    public static WsOverflowPolicy from(String name) {
+        if (name == null) {
+            return COALESCE;
+        }
+        try {
+            return WsOverflowPolicy.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ignore) {
+            return COALESCE;
+        }
+    }
+}
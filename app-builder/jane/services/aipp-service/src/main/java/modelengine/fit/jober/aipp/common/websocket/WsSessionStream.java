@@ -0,0 +1,446 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.jober.aipp.common.exception.AippErrCode;
+import modelengine.fitframework.exception.FitException;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.flowable.Subscription;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.serialization.ObjectSerializer;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 表示一个 WebSocket 会话的输出流。
+ * <p>同一会话上的多个请求各自拥有有界的待发送队列，并按队列空间向上游请求数据，发送时在请求之间轮转，
+ * 每轮每个请求最多发送一帧。客户端可以为请求设置发送窗口，此时未被确认的数据帧不超过窗口大小，
+ * 客户端通过确认消息补充窗口。上游不遵守背压或客户端消费过慢导致队列满时，按 {@link WsOverflowPolicy} 处理。
+ * 结束帧不受窗口限制，也不会被丢弃。</p>
+ * <p>取出的帧先进入会话级的有界发送队列，由一个线程在锁外写出。未设置窗口的客户端消费过慢时，
+ * 发送队列写满后数据留在请求队列中，同样受队列上限和溢出策略约束。</p>
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+public class WsSessionStream {
+    private static final Logger log = Logger.get(WsSessionStream.class);
+    private static final String CLOSE_REASON = "The client consumes too slowly.";
+
+    private final WsFrameSender sender;
+    private final ObjectSerializer serializer;
+    private final WsEnvelopeFactory envelopeFactory;
+    private final WsStreamConfig config;
+    private final Map<String, RequestStream> requests = new LinkedHashMap<>();
+    private final Deque<Outgoing> outbound = new ArrayDeque<>();
+
+    private boolean closed;
+    private boolean writing;
+    private long sentFrames;
+    private long droppedFrames;
+    private long coalescedFrames;
+    private long maxQueueDepth;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+
+    /**
+     * 构造 WebSocket 会话输出流。
+     *
+     * @param sender 表示帧发送端的 {@link WsFrameSender}。
+     * @param serializer 表示 JSON 序列化器的 {@link ObjectSerializer}。
+     * @param envelopeFactory 表示响应信封构造方法的 {@link WsEnvelopeFactory}。
+     * @param config 表示输出流配置的 {@link WsStreamConfig}。
+     */
+    public WsSessionStream(WsFrameSender sender, ObjectSerializer serializer, WsEnvelopeFactory envelopeFactory,
+            WsStreamConfig config) {
+        this.sender = notNull(sender, "The sender cannot be null.");
+        this.serializer = notNull(serializer, "The serializer cannot be null.");
+        this.envelopeFactory = notNull(envelopeFactory, "The envelope factory cannot be null.");
+        this.config = notNull(config, "The config cannot be null.");
+    }
+
+    /**
+     * 订阅请求的响应流，并将响应发送到会话。
+     *
+     * @param requestId 表示请求唯一标识的 {@link String}。
+     * @param result 表示响应流的 {@link Choir}{@code <}{@link Object}{@code >}。
+     * @param format 表示响应帧编码格式的 {@link WsFrameFormat}。
+     * @param window 表示发送窗口大小的 {@code int}，不大于 0 时表示不限制。
+     */
+    public void subscribe(String requestId, Choir<Object> result, WsFrameFormat format, int window) {
+        RequestStream stream = new RequestStream(requestId, format == null ? WsFrameFormat.JSON : format, window);
+        RequestStream previous;
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            previous = this.requests.put(requestId, stream);
+        }
+        if (previous != null) {
+            // 同一请求标识重复提交时，以最新的请求为准。
+            previous.cancel();
+        }
+        result.subscribe(subscription -> this.onSubscribed(stream, subscription),
+                (subscription, data) -> this.onData(stream, data),
+                subscription -> this.onTerminal(stream, Frame.completed(requestId)),
+                (subscription, exception) -> this.onTerminal(stream, Frame.failed(requestId, exception)));
+    }
+
+    /**
+     * 确认请求已消费的数据帧，为该请求补充发送窗口。
+     *
+     * @param requestId 表示请求唯一标识的 {@link String}。
+     * @param count 表示确认的帧数的 {@code int}。
+     */
+    public void ack(String requestId, int count) {
+        synchronized (this) {
+            RequestStream stream = this.requests.get(requestId);
+            if (stream == null || count <= 0) {
+                return;
+            }
+            stream.credits += count;
+        }
+        this.drain();
+    }
+
+    /**
+     * 立即发送请求失败的结束帧，用于请求在订阅响应流之前失败的场景。
+     *
+     * @param requestId 表示请求唯一标识的 {@link String}。
+     * @param exception 表示失败原因的 {@link Exception}。
+     */
+    public void fail(String requestId, Exception exception) {
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+            this.outbound.add(new Outgoing(WsFrameFormat.JSON, Frame.failed(requestId, exception)));
+        }
+        this.write();
+    }
+
+    /**
+     * 关闭输出流，取消所有未结束的请求。
+     */
+    public void close() {
+        List<RequestStream> streams;
+        synchronized (this) {
+            this.closed = true;
+            streams = new ArrayList<>(this.requests.values());
+            this.requests.clear();
+            this.outbound.clear();
+        }
+        streams.forEach(RequestStream::cancel);
+    }
+
+    /**
+     * 获取输出流的统计信息。
+     *
+     * @return 表示统计项名称到取值的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("activeRequests", this.requests.size());
+        stats.put("queuedFrames",
+                this.requests.values().stream().mapToInt(stream -> stream.queue.size()).sum() + this.outbound.size());
+        stats.put("maxQueueDepth", this.maxQueueDepth);
+        stats.put("sentFrames", this.sentFrames);
+        stats.put("droppedFrames", this.droppedFrames);
+        stats.put("coalescedFrames", this.coalescedFrames);
+        stats.put("avgQueueMillis",
+                this.sentFrames == 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(this.totalQueueNanos / this.sentFrames));
+        stats.put("maxQueueMillis", TimeUnit.NANOSECONDS.toMillis(this.maxQueueNanos));
+        return stats;
+    }
+
+    private void onSubscribed(RequestStream stream, Subscription subscription) {
+        long initial;
+        synchronized (this) {
+            stream.subscription = subscription;
+            if (this.closed || stream.cancelled) {
+                initial = 0;
+            } else {
+                initial = this.config.getMaxQueuedFrames();
+                stream.outstanding = initial;
+            }
+        }
+        if (initial > 0) {
+            subscription.request(initial);
+        } else {
+            subscription.cancel();
+        }
+    }
+
+    private void onData(RequestStream stream, Object data) {
+        boolean disconnect = false;
+        synchronized (this) {
+            if (this.closed || stream.cancelled) {
+                return;
+            }
+            stream.outstanding = Math.max(0, stream.outstanding - 1);
+            if (stream.queue.size() < this.config.getMaxQueuedFrames()) {
+                stream.queue.add(Frame.data(stream.requestId, data));
+                this.maxQueueDepth = Math.max(this.maxQueueDepth, stream.queue.size());
+            } else if (this.config.getOverflowPolicy() == WsOverflowPolicy.COALESCE) {
+                stream.queue.getLast().merge(data);
+                this.coalescedFrames++;
+            } else if (this.config.getOverflowPolicy() == WsOverflowPolicy.DROP) {
+                this.droppedFrames++;
+            } else {
+                disconnect = true;
+            }
+        }
+        if (disconnect) {
+            log.warn("WebSocket stream overflowed, disconnect the session. [requestId={}]", stream.requestId);
+            this.close();
+            this.sender.close(CLOSE_REASON);
+            return;
+        }
+        this.drain();
+    }
+
+    private void onTerminal(RequestStream stream, Frame frame) {
+        synchronized (this) {
+            if (this.closed || stream.cancelled || stream.terminated) {
+                return;
+            }
+            stream.terminated = true;
+            stream.queue.add(frame);
+        }
+        this.drain();
+    }
+
+    private void drain() {
+        List<Runnable> demands = new ArrayList<>();
+        synchronized (this) {
+            boolean progress = true;
+            while (progress && !this.closed) {
+                progress = false;
+                Iterator<RequestStream> iterator = this.requests.values().iterator();
+                while (iterator.hasNext() && this.outbound.size() < this.config.getMaxQueuedFrames()) {
+                    RequestStream stream = iterator.next();
+                    if (stream.cancelled) {
+                        iterator.remove();
+                        continue;
+                    }
+                    if (!stream.isSendable()) {
+                        continue;
+                    }
+                    Frame frame = stream.queue.poll();
+                    this.outbound.add(new Outgoing(stream.format, frame));
+                    progress = true;
+                    if (frame.isCompleted) {
+                        iterator.remove();
+                        continue;
+                    }
+                    if (stream.window > 0) {
+                        stream.credits--;
+                    }
+                    long demand = stream.takeDemand(this.config.getMaxQueuedFrames());
+                    if (demand > 0) {
+                        Subscription subscription = stream.subscription;
+                        demands.add(() -> subscription.request(demand));
+                    }
+                }
+            }
+        }
+        // 在锁外向上游请求数据，同步数据源会在请求时直接回调。
+        demands.forEach(Runnable::run);
+        this.write();
+    }
+
+    private void write() {
+        synchronized (this) {
+            if (this.writing) {
+                return;
+            }
+            this.writing = true;
+        }
+        while (true) {
+            Outgoing next;
+            synchronized (this) {
+                next = this.closed ? null : this.outbound.poll();
+                if (next == null) {
+                    this.writing = false;
+                    return;
+                }
+            }
+            // 在锁外写出，网络阻塞时其他线程仍可以向队列追加数据。
+            if (!this.send(next.format, next.frame)) {
+                synchronized (this) {
+                    this.writing = false;
+                }
+                this.close();
+                return;
+            }
+            this.drain();
+        }
+    }
+
+    private boolean send(WsFrameFormat format, Frame frame) {
+        long queueNanos = System.nanoTime() - frame.enqueuedNanos;
+        try {
+            if (format == WsFrameFormat.COMPACT) {
+                this.sender.sendText(this.serializer.serialize(frame.toCompact()));
+            } else {
+                String json = this.serializer.serialize(this.envelopeFactory.create(frame.requestId, frame.code,
+                        frame.msg, frame.data, frame.isCompleted));
+                if (format == WsFrameFormat.GZIP && json.length() >= this.config.getCompressThreshold()) {
+                    this.sender.sendBinary(gzip(json));
+                } else {
+                    this.sender.sendText(json);
+                }
+            }
+            synchronized (this) {
+                this.sentFrames++;
+                this.totalQueueNanos += queueNanos;
+                this.maxQueueNanos = Math.max(this.maxQueueNanos, queueNanos);
+            }
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to send WebSocket frame, stop the session stream. [requestId={}, error={}]",
+                    frame.requestId,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private static byte[] gzip(String content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static class RequestStream {
+        private final String requestId;
+        private final WsFrameFormat format;
+        private final int window;
+        private final Deque<Frame> queue = new ArrayDeque<>();
+
+        private volatile Subscription subscription;
+        private long outstanding;
+        private long credits;
+        private boolean terminated;
+        private volatile boolean cancelled;
+
+        private RequestStream(String requestId, WsFrameFormat format, int window) {
+            this.requestId = requestId;
+            this.format = format;
+            this.window = Math.max(0, window);
+            this.credits = this.window;
+        }
+
+        private boolean isSendable() {
+            Frame head = this.queue.peek();
+            return head != null && (head.isCompleted || this.window == 0 || this.credits > 0);
+        }
+
+        private long takeDemand(int maxQueuedFrames) {
+            if (this.subscription == null || this.terminated) {
+                return 0;
+            }
+            long demand = maxQueuedFrames - this.queue.size() - this.outstanding;
+            // 队列空出一半后再批量请求，减少与上游的交互次数。
+            if (demand < Math.max(1, maxQueuedFrames / 2)) {
+                return 0;
+            }
+            this.outstanding += demand;
+            return demand;
+        }
+
+        private void cancel() {
+            this.cancelled = true;
+            if (this.subscription != null) {
+                this.subscription.cancel();
+            }
+        }
+    }
+
+    private static class Outgoing {
+        private final WsFrameFormat format;
+        private final Frame frame;
+
+        private Outgoing(WsFrameFormat format, Frame frame) {
+            this.format = format;
+            this.frame = frame;
+        }
+    }
+
+    private static class Frame {
+        private final String requestId;
+        private final Integer code;
+        private final String msg;
+        private final boolean isCompleted;
+        private final long enqueuedNanos = System.nanoTime();
+
+        private Object data;
+
+        private Frame(String requestId, Integer code, String msg, Object data, boolean isCompleted) {
+            this.requestId = requestId;
+            this.code = code;
+            this.msg = msg;
+            this.data = data;
+            this.isCompleted = isCompleted;
+        }
+
+        private static Frame data(String requestId, Object data) {
+            return new Frame(requestId, AippErrCode.OK.getErrorCode(), null, data, false);
+        }
+
+        private static Frame completed(String requestId) {
+            return new Frame(requestId, AippErrCode.OK.getErrorCode(), null, null, true);
+        }
+
+        private static Frame failed(String requestId, Exception exception) {
+            int code = exception instanceof FitException
+                    ? ObjectUtils.<FitException>cast(exception).getCode()
+                    : AippErrCode.UNKNOWN.getErrorCode();
+            return new Frame(requestId, code, exception.getMessage(), null, true);
+        }
+
+        private void merge(Object newer) {
+            if (this.data instanceof String && newer instanceof String) {
+                this.data = this.data + ObjectUtils.<String>cast(newer);
+            } else {
+                this.data = newer;
+            }
+        }
+
+        private Map<String, Object> toCompact() {
+            Map<String, Object> compact = new LinkedHashMap<>();
+            compact.put("i", this.requestId);
+            compact.put("c", this.code);
+            if (this.msg != null) {
+                compact.put("m", this.msg);
+            }
+            if (this.data != null) {
+                compact.put("d", this.data);
+            }
+            compact.put("f", this.isCompleted);
+            return compact;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+import static modelengine.fitframework.inspection.Validation.isTrue;
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import lombok.Getter;
+
+/**
+ * 表示 WebSocket 会话输出流的配置。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+@Getter
+public class WsStreamConfig {
+    private final int maxQueuedFrames;
+    private final WsOverflowPolicy overflowPolicy;
+    private final int compressThreshold;
+
+    /**
+     * 构造 WebSocket 会话输出流的配置。
+     *
+     * @param maxQueuedFrames 表示单个请求最多缓存的待发送数据帧数的 {@code int}。
+     * @param overflowPolicy 表示队列满时处理策略的 {@link WsOverflowPolicy}。
+     * @param compressThreshold 表示 {@link WsFrameFormat#GZIP} 格式下启用压缩的最小字符数的 {@code int}。
+     */
+    public WsStreamConfig(int maxQueuedFrames, WsOverflowPolicy overflowPolicy, int compressThreshold) {
+        isTrue(maxQueuedFrames > 0, "The max queued frames must be positive.");
+        this.maxQueuedFrames = maxQueuedFrames;
+        this.overflowPolicy = notNull(overflowPolicy, "The overflow policy cannot be null.");
+        this.compressThreshold = Math.max(0, compressThreshold);
+    }
+}
@@ -0,0 +1,153 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jober.aipp.common.websocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.serialization.ObjectSerializer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link WsSessionStream} 的单元测试。
+ *
+ * @author 姚江
+ * @since 2025-05-06
+ */
+@DisplayName("测试 WsSessionStream")
+class WsSessionStreamTest {
+    private final List<String> texts = new ArrayList<>();
+    private final List<byte[]> binaries = new ArrayList<>();
+    private final List<String> closeReasons = new ArrayList<>();
+    private ObjectSerializer serializer;
+
+    @BeforeEach
+    void setup() {
+        this.serializer = mock(ObjectSerializer.class);
+        when(this.serializer.serialize(any()))
+                .thenAnswer(invocation -> String.valueOf((Object) invocation.getArgument(0)));
+    }
+
+    private WsSessionStream createStream(int maxQueuedFrames, WsOverflowPolicy policy, int compressThreshold) {
+        WsFrameSender sender = new WsFrameSender() {
+            @Override
+            public void sendText(String text) {
+                WsSessionStreamTest.this.texts.add(text);
+            }
+
+            @Override
+            public void sendBinary(byte[] bytes) {
+                WsSessionStreamTest.this.binaries.add(bytes);
+            }
+
+            @Override
+            public void close(String reason) {
+                WsSessionStreamTest.this.closeReasons.add(reason);
+            }
+        };
+        return new WsSessionStream(sender, this.serializer,
+                (requestId, code, msg, data, isCompleted) -> requestId + "|" + code + "|" + data + "|" + isCompleted,
+                new WsStreamConfig(maxQueuedFrames, policy, compressThreshold));
+    }
+
+    @Test
+    @DisplayName("测试设置发送窗口后只发送已确认额度内的数据帧")
+    void shouldSendWithinWindow() {
+        WsSessionStream stream = this.createStream(16, WsOverflowPolicy.DROP, 1024);
+        stream.subscribe("1", Choir.just("a", "b", "c"), WsFrameFormat.JSON, 1);
+        assertEquals(List.of("1|0|a|false"), this.texts);
+
+        stream.ack("1", 1);
+        assertEquals(List.of("1|0|a|false", "1|0|b|false"), this.texts);
+
+        stream.ack("1", 5);
+        assertEquals(List.of("1|0|a|false", "1|0|b|false", "1|0|c|false", "1|0|null|true"), this.texts);
+        assertEquals(0, stream.stats().get("activeRequests"));
+        assertEquals(4L, stream.stats().get("sentFrames"));
+    }
+
+    @Test
+    @DisplayName("测试紧凑格式使用单字母键名")
+    void shouldSendCompactFrames() {
+        WsSessionStream stream = this.createStream(16, WsOverflowPolicy.COALESCE, 1024);
+        stream.subscribe("1", Choir.just("a"), WsFrameFormat.COMPACT, 0);
+        assertEquals(List.of("{i=1, c=0, d=a, f=false}", "{i=1, c=0, f=true}"), this.texts);
+    }
+
+    @Test
+    @DisplayName("测试压缩格式超过阈值时发送 gzip 二进制帧")
+    void shouldSendGzipFrames() throws IOException {
+        WsSessionStream stream = this.createStream(16, WsOverflowPolicy.COALESCE, 14);
+        stream.subscribe("1", Choir.just("long enough"), WsFrameFormat.GZIP, 0);
+        assertEquals(List.of("1|0|null|true"), this.texts);
+        assertEquals(1, this.binaries.size());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(this.binaries.get(0)))) {
+            assertEquals("1|0|long enough|false", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("测试写出数据时不持有会话锁")
+    void shouldSendOutsideLock() {
+        List<Object> queuedFrames = new ArrayList<>();
+        WsSessionStream[] holder = new WsSessionStream[1];
+        WsFrameSender sender = new WsFrameSender() {
+            @Override
+            public void sendText(String text) {
+                try {
+                    queuedFrames.add(CompletableFuture.supplyAsync(() -> holder[0].stats())
+                            .get(5, TimeUnit.SECONDS)
+                            .get("queuedFrames"));
+                } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                    throw new IllegalStateException(e);
+                }
+                WsSessionStreamTest.this.texts.add(text);
+            }
+
+            @Override
+            public void sendBinary(byte[] bytes) {}
+
+            @Override
+            public void close(String reason) {}
+        };
+        holder[0] = new WsSessionStream(sender, this.serializer,
+                (requestId, code, msg, data, isCompleted) -> requestId + "|" + data + "|" + isCompleted,
+                new WsStreamConfig(16, WsOverflowPolicy.DROP, 1024));
+        holder[0].subscribe("1", Choir.just("a"), WsFrameFormat.JSON, 0);
+        assertEquals(List.of("1|a|false", "1|null|true"), this.texts);
+        assertEquals(2, queuedFrames.size());
+        assertEquals(2L, holder[0].stats().get("sentFrames"));
+    }
+
+    @Test
+    @DisplayName("测试关闭后不再发送数据")
+    void shouldStopAfterClose() {
+        WsSessionStream stream = this.createStream(16, WsOverflowPolicy.DISCONNECT, 1024);
+        stream.close();
+        stream.subscribe("1", Choir.just("a", "b"), WsFrameFormat.JSON, 0);
+        stream.fail("2", new IllegalStateException("error"));
+        assertEquals(0, this.texts.size());
+        assertEquals(0, this.closeReasons.size());
+    }
+}
@@ -12,18 +12,21 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jane.meta.multiversion.MetaInstanceService;
 import modelengine.fit.jane.meta.multiversion.instance.Instance;
 import modelengine.fit.jane.meta.multiversion.instance.InstanceDeclarationInfo;
+import modelengine.fit.jane.meta.multiversion.instance.InstancePage;
 import modelengine.fit.jane.meta.multiversion.instance.MetaInstanceFilter;
 import modelengine.fit.jober.common.RangedResultSet;
 import modelengine.fit.task_new.condition.MetaInstanceCondition;
 import modelengine.fit.task_new.converter.ConvertorUtils;
 import modelengine.fit.task_new.entity.MetaInstance;
 import modelengine.fit.task_new.repository.MetaInstanceRepository;
+import modelengine.fit.task_new.util.InstanceCursor;
 import modelengine.fit.task_new.util.UUIDUtil;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.schedule.annotation.Scheduled;
 import modelengine.fitframework.util.CollectionUtils;
+import modelengine.fitframework.util.StringUtils;
 
 import java.util.Collections;
 import java.util.List;
@@ -103,6 +106,23 @@ public class MetaInstanceServiceImpl implements MetaInstanceService {
         return this.getInstances(builder, offset, limit);
     }
 
+    @Override
+    public InstancePage listByCursor(String versionId, String cursor, int limit, OperationContext context) {
+        MetaInstanceCondition.MetaInstanceConditionBuilder builder =
+                MetaInstanceCondition.builder().metaIds(Collections.singletonList(versionId)).limit(limit);
+        if (StringUtils.isNotBlank(cursor)) {
+            InstanceCursor after = InstanceCursor.decode(cursor);
+            builder.afterCreateTime(after.getCreateTime()).afterId(after.getId());
+        }
+        List<MetaInstance> metaInstances = this.metaInstanceRepository.selectAfter(builder.build());
+        String nextCursor = null;
+        if (metaInstances.size() >= limit && !metaInstances.isEmpty()) {
+            MetaInstance last = metaInstances.get(metaInstances.size() - 1);
+            nextCursor = InstanceCursor.encode(last.getCreateTime(), last.getId());
+        }
+        return new InstancePage(metaInstances.stream().map(ConvertorUtils::toInstance).toList(), nextCursor);
+    }
+
     private RangedResultSet<Instance> getInstances(MetaInstanceCondition.MetaInstanceConditionBuilder builder,
             long offset, int limit) {
         MetaInstanceCondition condition = builder.offset(offset).limit(limit).build();
@@ -112,17 +132,22 @@ public class MetaInstanceServiceImpl implements MetaInstanceService {
         return RangedResultSet.create(instances, offset, limit, count);
     }
 
+    private Instance getById(String id) {
+        // 按主键查询单条数据时无需统计总数.
+        MetaInstanceCondition condition =
+                MetaInstanceCondition.builder().ids(Collections.singletonList(id)).offset(0).limit(1).build();
+        return ConvertorUtils.toInstance(this.metaInstanceRepository.select(condition).get(0));
+    }
+
     @Override
     public String getMetaVersionId(String id) {
-        RangedResultSet<Instance> instances = this.list(Collections.singletonList(id), 0, 1, null);
-        Map<String, String> info = instances.getResults().get(0).getInfo();
+        Map<String, String> info = this.getById(id).getInfo();
         return info.get(TASK_ID_KEY);
     }
 
     @Override
     public Instance retrieveById(String instanceId, OperationContext context) {
-        RangedResultSet<Instance> resultSet = this.list(Collections.singletonList(instanceId), 0, 1, null);
-        return resultSet.getResults().get(0);
+        return this.getById(instanceId);
     }
 
     /**
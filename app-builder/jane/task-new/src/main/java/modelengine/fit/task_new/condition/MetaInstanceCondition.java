@@ -9,6 +9,7 @@ package modelengine.fit.task_new.condition;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -24,4 +25,14 @@ public class MetaInstanceCondition {
     private List<String> metaIds;
     private long offset;
     private int limit;
+
+    /**
+     * 游标分页时上一页最后一条数据的创建时间。
+     */
+    private LocalDateTime afterCreateTime;
+
+    /**
+     * 游标分页时上一页最后一条数据的唯一标识。
+     */
+    private String afterId;
 }
@@ -47,6 +47,14 @@ public interface MetaInstanceMapper {
      */
     List<MetaInstancePo> select(MetaInstanceCondition cond);
 
+    /**
+     * 按游标查找 MetaInstance 列表，结果按创建时间与 id 升序排列。
+     *
+     * @param cond 表示需要查找的 {@link MetaInstanceCondition}，其中游标字段为空时从第一条开始。
+     * @return 表示查找到的 {@link List}{@code <}{@link MetaInstancePo}{@code >}。
+     */
+    List<MetaInstancePo> selectAfter(MetaInstanceCondition cond);
+
     /**
      * 统计 MetaInstance 个数
      *
@@ -48,6 +48,14 @@ public interface MetaInstanceRepository {
      */
     List<MetaInstance> select(MetaInstanceCondition condition);
 
+    /**
+     * 按游标查询，结果按创建时间与 id 升序排列。
+     *
+     * @param condition 表示所要查询的条件的 {@link MetaInstanceCondition}。
+     * @return 表示查询后的结果的 {@link List}{@code <}{@link MetaInstance}{@code >}。
+     */
+    List<MetaInstance> selectAfter(MetaInstanceCondition condition);
+
     /**
      * 数据统计
      *
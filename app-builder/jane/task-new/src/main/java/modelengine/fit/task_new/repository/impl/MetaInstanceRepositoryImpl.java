@@ -56,6 +56,14 @@ public class MetaInstanceRepositoryImpl implements MetaInstanceRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<MetaInstance> selectAfter(MetaInstanceCondition cond) {
+        return this.metaInstanceMapper.selectAfter(cond)
+                .stream()
+                .map(this.serializer::deserialize)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public long count(MetaInstanceCondition cond) {
         return this.metaInstanceMapper.count(cond);
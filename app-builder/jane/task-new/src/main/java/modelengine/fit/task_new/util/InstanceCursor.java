@@ -0,0 +1,83 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.task_new.util;
+
+import modelengine.fit.jober.common.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Meta 实例分页游标，记录上一页最后一条数据的创建时间与唯一标识。
+ * <p>对外以不透明的 URL 安全 Base64 字符串传递。</p>
+ *
+ * @author 邬涨财
+ * @since 2025-04-28
+ */
+public class InstanceCursor {
+    private static final String SEPARATOR = ",";
+
+    private final LocalDateTime createTime;
+    private final String id;
+
+    private InstanceCursor(LocalDateTime createTime, String id) {
+        this.createTime = createTime;
+        this.id = id;
+    }
+
+    /**
+     * 编码游标。
+     *
+     * @param createTime 表示最后一条数据创建时间的 {@link LocalDateTime}。
+     * @param id 表示最后一条数据唯一标识的 {@link String}。
+     * @return 表示游标的 {@link String}。
+     */
+    public static String encode(LocalDateTime createTime, String id) {
+        String raw = createTime + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标。
+     *
+     * @param cursor 表示游标的 {@link String}。
+     * @return 表示解码后游标的 {@link InstanceCursor}。
+     * @throws BadRequestException 当游标格式不正确时。
+     */
+    public static InstanceCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(SEPARATOR);
+            if (index <= 0 || index == raw.length() - 1) {
+                throw new BadRequestException("Invalid instance cursor: " + cursor);
+            }
+            return new InstanceCursor(LocalDateTime.parse(raw.substring(0, index)), raw.substring(index + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid instance cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * 获取最后一条数据的创建时间。
+     *
+     * @return 表示创建时间的 {@link LocalDateTime}。
+     */
+    public LocalDateTime getCreateTime() {
+        return this.createTime;
+    }
+
+    /**
+     * 获取最后一条数据的唯一标识。
+     *
+     * @return 表示唯一标识的 {@link String}。
+     */
+    public String getId() {
+        return this.id;
+    }
+}
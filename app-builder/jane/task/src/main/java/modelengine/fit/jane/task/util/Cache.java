@@ -6,10 +6,16 @@
 
 package modelengine.fit.jane.task.util;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 
 /**
  * 为应用程序提供缓存。
+ * <p>缓存的容量有上限，超出时淘汰最久未访问的条目。设置了刷新时间时，过了刷新时间的条目在后台重新加载，
+ * 加载完成前读取方继续得到旧值；过了有效期的条目由首个读取方同步加载。</p>
  *
  * @param <K> 表示键的类型。
  * @param <V> 表示值的类型。
@@ -25,6 +31,104 @@ public interface Cache<K, V> {
      */
     V get(K key);
 
+    /**
+     * 批量获取指定键的值。
+     * <p>未命中的键优先通过批量初始化器一次加载，未设置批量初始化器时逐个加载。值为 {@code null} 的键不包含在结果中。</p>
+     *
+     * @param keys 表示键集合的 {@link Collection}{@code <}{@link K}{@code >}。
+     * @return 表示键到值的 {@link Map}{@code <}{@link K}{@code , }{@link V}{@code >}。
+     */
+    Map<K, V> getAll(Collection<K> keys);
+
+    /**
+     * 使指定键的缓存失效。
+     *
+     * @param key 表示键的 {@link K}。
+     */
+    void invalidate(K key);
+
+    /**
+     * 使所有缓存失效。
+     */
+    void invalidateAll();
+
+    /**
+     * 获取缓存的统计信息快照。
+     *
+     * @return 表示统计信息的 {@link Statistics}。
+     */
+    Statistics statistics();
+
+    /**
+     * 为缓存提供统计信息。
+     *
+     * @author agent
+     * @since 2026-10-18
+     */
+    interface Statistics {
+        /**
+         * 获取命中次数。
+         *
+         * @return 表示命中次数的 64 位整数。
+         */
+        long hitCount();
+
+        /**
+         * 获取未命中次数。
+         *
+         * @return 表示未命中次数的 64 位整数。
+         */
+        long missCount();
+
+        /**
+         * 获取加载次数，包含同步加载、批量加载与后台刷新。
+         *
+         * @return 表示加载次数的 64 位整数。
+         */
+        long loadCount();
+
+        /**
+         * 获取加载失败次数。
+         *
+         * @return 表示加载失败次数的 64 位整数。
+         */
+        long loadFailureCount();
+
+        /**
+         * 获取加载累计耗时的纳秒数。
+         *
+         * @return 表示加载累计耗时的 64 位整数。
+         */
+        long totalLoadNanos();
+
+        /**
+         * 获取因容量超限被淘汰的条目数。
+         *
+         * @return 表示淘汰条目数的 64 位整数。
+         */
+        long evictionCount();
+
+        /**
+         * 获取命中率。
+         *
+         * @return 表示命中率的 {@code double}，没有请求时为 {@code 1.0}。
+         */
+        default double hitRate() {
+            long requests = this.hitCount() + this.missCount();
+            return requests == 0L ? 1.0 : (double) this.hitCount() / requests;
+        }
+
+        /**
+         * 获取单次加载的平均耗时纳秒数。
+         *
+         * @return 表示平均加载耗时的 {@code double}。
+         */
+        default double averageLoadNanos() {
+            long loads = this.loadCount();
+            return loads == 0L ? 0.0 : (double) this.totalLoadNanos() / loads;
+        }
+    }
+
     /**
      * 为缓存提供构建器。
      *
@@ -43,6 +147,15 @@ public interface Cache<K, V> {
          */
         Builder<K, V> initiator(Function<K, V> initiator);
 
+        /**
+         * 设置批量初始化器。
+         * <p>批量初始化器通过一组键一次获取对应的值，返回结果中不包含的键视为值为 {@code null}。</p>
+         *
+         * @param bulkInitiator 表示批量初始化器的 {@link Function}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> bulkInitiator(Function<Collection<K>, Map<K, V>> bulkInitiator);
+
         /**
          * 设置缓存有效期的毫秒数。
          *
@@ -51,6 +164,48 @@ public interface Cache<K, V> {
          */
         Builder<K, V> expire(long milliseconds);
 
+        /**
+         * 设置缓存刷新时间的毫秒数。
+         * <p>条目写入超过该时间后，下一次读取会触发一次后台重新加载，加载完成前继续返回旧值。应小于有效期。</p>
+         *
+         * @param milliseconds 表示缓存刷新时间的毫秒数的 64 位整数，不大于 0 时不进行后台刷新。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> refresh(long milliseconds);
+
+        /**
+         * 设置空值的缓存有效期的毫秒数。
+         *
+         * @param milliseconds 表示空值有效期的毫秒数的 64 位整数，不大于 0 时空值不缓存。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> negativeExpire(long milliseconds);
+
+        /**
+         * 设置缓存的最大条目数。
+         *
+         * @param maximumSize 表示最大条目数的 64 位整数。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> maximumSize(long maximumSize);
+
+        /**
+         * 设置缓存的最大总权重及权重计算方式。
+         *
+         * @param maximumWeight 表示最大总权重的 64 位整数。
+         * @param weigher 表示条目权重计算方式的 {@link ToIntBiFunction}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> maximumWeight(long maximumWeight, ToIntBiFunction<K, V> weigher);
+
+        /**
+         * 设置后台刷新使用的执行器，默认使用 {@link java.util.concurrent.ForkJoinPool#commonPool()}。
+         *
+         * @param executor 表示执行器的 {@link Executor}。
+         * @return 表示当前构建器的 {@link Builder}{@code <}{@link K}{@code , }{@link V}{@code >}。
+         */
+        Builder<K, V> refresher(Executor executor);
+
         /**
          * 构建缓存实例。
          *
@@ -65,6 +220,8 @@ public interface Cache<K, V> {
      *     Cache.&lt;String, String&gt;custom()
      *             .initiator(initiator)
      *             .expire(5 * 60 * 1000)
+     *             .refresh(60 * 1000)
+     *             .maximumSize(1000)
      *             .build();
      * </pre>
      *
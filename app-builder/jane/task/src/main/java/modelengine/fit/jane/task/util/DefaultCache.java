@@ -6,95 +6,540 @@
 
 package modelengine.fit.jane.task.util;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntBiFunction;
 
 /**
  * 为 {@link Cache} 提供默认实现。
+ * <p>超出容量时由写入方批量淘汰最久未访问的条目，淘汰至上限的 90%，使排序开销分摊到多次写入上。
+ * 同一键的同步加载串行执行，批量加载中的键由单个读取方等待其结果而不重复加载，后台刷新每个键同时最多一个。</p>
  *
  * @param <K> 表示缓存的键的类型。
  * @param <V> 表示缓存的值的类型。
  */
 class DefaultCache<K, V> implements Cache<K, V> {
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000L;
+
+    private static final double EVICTION_RATIO = 0.9;
+
     private final Map<K, Entry> cache;
 
     private final Function<K, V> initiator;
 
+    private final Function<Collection<K>, Map<K, V>> bulkInitiator;
+
     private final long expirations;
 
-    DefaultCache(Function<K, V> initiator, long expirations) {
+    private final long refreshes;
+
+    private final long negativeExpirations;
+
+    private final long maximumSize;
+
+    private final long maximumWeight;
+
+    private final ToIntBiFunction<K, V> weigher;
+
+    private final Executor refresher;
+
+    private final AtomicLong totalWeight = new AtomicLong();
+
+    private final AtomicLong accessSequence = new AtomicLong();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder loadFailures = new LongAdder();
+
+    private final LongAdder loadNanos = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    DefaultCache(Builder<K, V> builder) {
         this.cache = new ConcurrentHashMap<>();
-        this.initiator = initiator;
-        this.expirations = expirations;
+        this.initiator = Objects.requireNonNull(builder.initiator, "The initiator of cache cannot be null.");
+        this.bulkInitiator = builder.bulkInitiator;
+        this.expirations = builder.expirations;
+        this.refreshes = builder.refreshes;
+        this.negativeExpirations = builder.negativeExpirations;
+        this.maximumSize = builder.maximumSize > 0L ? builder.maximumSize : DEFAULT_MAXIMUM_SIZE;
+        this.maximumWeight = builder.weigher == null ? Long.MAX_VALUE : builder.maximumWeight;
+        this.weigher = builder.weigher;
+        this.refresher = builder.refresher == null ? ForkJoinPool.commonPool() : builder.refresher;
     }
 
     @Override
     public V get(K key) {
-        return this.cache.computeIfAbsent(key, Entry::new).get();
+        Entry entry = this.entryOf(key);
+        V value = entry.get();
+        this.evictIfNecessary();
+        return value;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        long now = System.currentTimeMillis();
+        Map<K, Loaded> found = new HashMap<>();
+        Set<K> absent = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (found.containsKey(key) || absent.contains(key)) {
+                continue;
+            }
+            Entry entry = this.entryOf(key);
+            Loaded loaded = entry.fresh(now);
+            if (loaded == null) {
+                absent.add(key);
+            } else {
+                this.hits.increment();
+                entry.refreshIfNecessary(loaded, now);
+                found.put(key, loaded);
+            }
+        }
+        Map<K, V> loadedValues = this.bulkInitiator == null
+                ? this.loadEach(absent)
+                : this.loadAll(absent, found);
+        Map<K, V> result = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = found.containsKey(key) ? found.get(key).value : loadedValues.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        this.evictIfNecessary();
+        return result;
+    }
+
+    @Override
+    public void invalidate(K key) {
+        Entry entry = this.cache.get(key);
+        if (entry != null) {
+            this.remove(entry);
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        new ArrayList<>(this.cache.values()).forEach(this::remove);
+    }
+
+    @Override
+    public Statistics statistics() {
+        return new DefaultStatistics(this.hits.sum(), this.misses.sum(), this.loads.sum(), this.loadFailures.sum(),
+                this.loadNanos.sum(), this.evictions.sum());
+    }
+
+    private Entry entryOf(K key) {
+        return this.cache.computeIfAbsent(key, Entry::new);
+    }
+
+    private Map<K, V> loadEach(Set<K> keys) {
+        Map<K, V> values = new HashMap<>();
+        keys.forEach(key -> values.put(key, this.entryOf(key).get()));
+        return values;
+    }
+
+    private Map<K, V> loadAll(Set<K> keys, Map<K, Loaded> found) {
+        Map<Entry, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> awaited = new HashMap<>();
+        for (K key : keys) {
+            Entry entry = this.entryOf(key);
+            synchronized (entry.monitor) {
+                Loaded loaded = entry.fresh(System.currentTimeMillis());
+                if (loaded != null) {
+                    this.hits.increment();
+                    found.put(key, loaded);
+                } else if (entry.pending != null) {
+                    this.hits.increment();
+                    awaited.put(key, entry.pending);
+                } else {
+                    entry.pending = new CompletableFuture<>();
+                    owned.put(entry, entry.pending);
+                }
+            }
+        }
+        Map<K, V> values = new HashMap<>();
+        if (!owned.isEmpty()) {
+            this.loadOwned(owned, values);
+        }
+        // 先完成自身认领的键再等待其他读取方，避免相互等待。
+        awaited.forEach((key, future) -> values.put(key, await(future)));
+        return values;
+    }
+
+    private void loadOwned(Map<Entry, CompletableFuture<V>> owned, Map<K, V> values) {
+        List<K> keys = new ArrayList<>(owned.size());
+        owned.keySet().forEach(entry -> keys.add(entry.key));
+        this.misses.add(keys.size());
+        Map<K, V> loaded;
+        try {
+            loaded = this.measure(() -> this.bulkInitiator.apply(Collections.unmodifiableList(keys)));
+        } catch (RuntimeException | Error e) {
+            owned.forEach((entry, future) -> {
+                entry.pending = null;
+                future.completeExceptionally(e);
+            });
+            throw e;
+        }
+        owned.forEach((entry, future) -> {
+            V value = loaded == null ? null : loaded.get(entry.key);
+            entry.set(value);
+            entry.pending = null;
+            future.complete(value);
+            values.put(entry.key, value);
+        });
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private <T> T measure(Supplier<T> loader) {
+        long start = System.nanoTime();
+        try {
+            T result = loader.get();
+            this.loads.increment();
+            return result;
+        } catch (RuntimeException | Error e) {
+            this.loadFailures.increment();
+            throw e;
+        } finally {
+            this.loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private int weigh(K key, V value) {
+        if (this.weigher == null || value == null) {
+            return 1;
+        }
+        return Math.max(0, this.weigher.applyAsInt(key, value));
+    }
+
+    private boolean overflowed() {
+        return this.cache.size() > this.maximumSize || this.totalWeight.get() > this.maximumWeight;
+    }
+
+    private void evictIfNecessary() {
+        if (!this.overflowed() || !this.evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            List<Entry> candidates = new ArrayList<>(this.cache.values());
+            candidates.sort(Comparator.comparingLong(entry -> entry.accessOrder));
+            long targetSize = (long) (this.maximumSize * EVICTION_RATIO);
+            long targetWeight = this.maximumWeight == Long.MAX_VALUE
+                    ? Long.MAX_VALUE
+                    : (long) (this.maximumWeight * EVICTION_RATIO);
+            for (Entry entry : candidates) {
+                if (this.cache.size() <= targetSize && this.totalWeight.get() <= targetWeight) {
+                    break;
+                }
+                if (this.remove(entry)) {
+                    this.evictions.increment();
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    private boolean remove(Entry entry) {
+        synchronized (entry) {
+            if (entry.removed) {
+                return false;
+            }
+            entry.removed = true;
+            this.totalWeight.addAndGet(-entry.weight);
+        }
+        return this.cache.remove(entry.key, entry);
+    }
+
+    private class Loaded {
+        private final V value;
+
+        private final long timestamp;
+
+        Loaded(V value, long timestamp) {
+            this.value = value;
+            this.timestamp = timestamp;
+        }
+
+        private boolean expired(long now) {
+            long age = now - this.timestamp;
+            if (this.value == null) {
+                return DefaultCache.this.negativeExpirations <= 0L || age > DefaultCache.this.negativeExpirations;
+            }
+            return DefaultCache.this.expirations > 0L && age > DefaultCache.this.expirations;
+        }
+
+        private boolean stale(long now) {
+            return this.value != null && DefaultCache.this.refreshes > 0L
+                    && now - this.timestamp > DefaultCache.this.refreshes;
+        }
     }
 
     private class Entry {
         private final K key;
 
-        private volatile V value;
+        private final Object monitor;
 
-        private volatile long timestamp;
+        private final AtomicBoolean refreshing;
 
-        private final Object monitor;
+        private volatile Loaded loaded;
+
+        private volatile CompletableFuture<V> pending;
+
+        private volatile long accessOrder;
+
+        private int weight;
+
+        private boolean removed;
 
         Entry(K key) {
             this.key = key;
-            this.value = null;
-            this.timestamp = -1;
             this.monitor = new byte[0];
+            this.refreshing = new AtomicBoolean();
+            this.accessOrder = DefaultCache.this.accessSequence.incrementAndGet();
         }
 
         V get() {
-            V actual = this.value;
-            if (actual == null || this.expired()) {
-                synchronized (this.monitor) {
-                    actual = this.value;
-                    if (actual == null || this.expired()) {
-                        this.value = null;
-                        actual = DefaultCache.this.initiator.apply(this.key);
-                        this.timestamp = System.currentTimeMillis();
-                        this.value = actual;
-                    }
+            long now = System.currentTimeMillis();
+            Loaded actual = this.fresh(now);
+            if (actual != null) {
+                DefaultCache.this.hits.increment();
+                this.refreshIfNecessary(actual, now);
+                return actual.value;
+            }
+            CompletableFuture<V> inFlight;
+            synchronized (this.monitor) {
+                actual = this.fresh(System.currentTimeMillis());
+                if (actual != null) {
+                    DefaultCache.this.hits.increment();
+                    return actual.value;
+                }
+                inFlight = this.pending;
+                if (inFlight == null) {
+                    DefaultCache.this.misses.increment();
+                    V value = DefaultCache.this.measure(() -> DefaultCache.this.initiator.apply(this.key));
+                    this.set(value);
+                    return value;
                 }
             }
-            return actual;
+            DefaultCache.this.hits.increment();
+            return await(inFlight);
         }
 
-        private long expirations() {
-            return DefaultCache.this.expirations;
+        private Loaded fresh(long now) {
+            this.accessOrder = DefaultCache.this.accessSequence.incrementAndGet();
+            Loaded actual = this.loaded;
+            return actual == null || actual.expired(now) ? null : actual;
         }
 
-        private boolean expired() {
-            return this.expirations() > 0L && System.currentTimeMillis() - this.timestamp > this.expirations();
+        private void refreshIfNecessary(Loaded actual, long now) {
+            if (!actual.stale(now) || !this.refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                DefaultCache.this.refresher.execute(this::refresh);
+            } catch (RuntimeException e) {
+                this.refreshing.set(false);
+            }
+        }
+
+        private void refresh() {
+            try {
+                // 刷新失败时保留旧值，直到有效期结束后由读取方同步加载。
+                V value = DefaultCache.this.measure(() -> DefaultCache.this.initiator.apply(this.key));
+                this.set(value);
+            } catch (RuntimeException e) {
+                // 失败次数已计入统计。
+            } finally {
+                this.refreshing.set(false);
+            }
+        }
+
+        private void set(V value) {
+            int newWeight = DefaultCache.this.weigh(this.key, value);
+            synchronized (this) {
+                if (!this.removed) {
+                    DefaultCache.this.totalWeight.addAndGet(newWeight - this.weight);
+                }
+                this.weight = newWeight;
+                this.loaded = new Loaded(value, System.currentTimeMillis());
+            }
+        }
+    }
+
+    private static class DefaultStatistics implements Statistics {
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long loadCount;
+
+        private final long loadFailureCount;
+
+        private final long totalLoadNanos;
+
+        private final long evictionCount;
+
+        DefaultStatistics(long hitCount, long missCount, long loadCount, long loadFailureCount, long totalLoadNanos,
+                long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadCount = loadCount;
+            this.loadFailureCount = loadFailureCount;
+            this.totalLoadNanos = totalLoadNanos;
+            this.evictionCount = evictionCount;
+        }
+
+        @Override
+        public long hitCount() {
+            return this.hitCount;
+        }
+
+        @Override
+        public long missCount() {
+            return this.missCount;
+        }
+
+        @Override
+        public long loadCount() {
+            return this.loadCount;
+        }
+
+        @Override
+        public long loadFailureCount() {
+            return this.loadFailureCount;
+        }
+
+        @Override
+        public long totalLoadNanos() {
+            return this.totalLoadNanos;
+        }
+
+        @Override
+        public long evictionCount() {
+            return this.evictionCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hitRate=%.3f, hits=%d, misses=%d, loads=%d, loadFailures=%d, "
+                            + "averageLoadNanos=%.0f, evictions=%d", this.hitRate(), this.hitCount, this.missCount,
+                    this.loadCount, this.loadFailureCount, this.averageLoadNanos(), this.evictionCount);
         }
     }
 
     static class Builder<K, V> implements Cache.Builder<K, V> {
         private Function<K, V> initiator;
 
+        private Function<Collection<K>, Map<K, V>> bulkInitiator;
+
         private long expirations;
 
+        private long refreshes;
+
+        private long negativeExpirations;
+
+        private long maximumSize;
+
+        private long maximumWeight;
+
+        private ToIntBiFunction<K, V> weigher;
+
+        private Executor refresher;
+
         @Override
         public Cache.Builder<K, V> initiator(Function<K, V> initiator) {
             this.initiator = initiator;
             return this;
         }
 
+        @Override
+        public Cache.Builder<K, V> bulkInitiator(Function<Collection<K>, Map<K, V>> bulkInitiator) {
+            this.bulkInitiator = bulkInitiator;
+            return this;
+        }
+
         @Override
         public Cache.Builder<K, V> expire(long milliseconds) {
             this.expirations = milliseconds;
             return this;
         }
 
+        @Override
+        public Cache.Builder<K, V> refresh(long milliseconds) {
+            this.refreshes = milliseconds;
+            return this;
+        }
+
+        @Override
+        public Cache.Builder<K, V> negativeExpire(long milliseconds) {
+            this.negativeExpirations = milliseconds;
+            return this;
+        }
+
+        @Override
+        public Cache.Builder<K, V> maximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        @Override
+        public Cache.Builder<K, V> maximumWeight(long maximumWeight, ToIntBiFunction<K, V> weigher) {
+            this.maximumWeight = maximumWeight;
+            this.weigher = weigher;
+            return this;
+        }
+
+        @Override
+        public Cache.Builder<K, V> refresher(Executor executor) {
+            this.refresher = executor;
+            return this;
+        }
+
         @Override
         public Cache<K, V> build() {
-            return new DefaultCache<>(this.initiator, this.expirations);
+            return new DefaultCache<>(this);
         }
     }
 }
@@ -0,0 +1,182 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jane.task.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DefaultCache} 对应测试类。
+ *
+ * @author agent
+ * @since 2026-10-18
+ */
+@DisplayName("测试默认缓存实现")
+class DefaultCacheTest {
+    @Test
+    @DisplayName("超出容量时淘汰最久未访问的条目")
+    void should_evict_least_recently_accessed_entries_when_exceed_maximum_size() {
+        AtomicInteger loads = new AtomicInteger();
+        Cache<Integer, String> cache = Cache.<Integer, String>custom()
+                .initiator(key -> {
+                    loads.incrementAndGet();
+                    return "value" + key;
+                })
+                .maximumSize(10)
+                .build();
+        for (int i = 0; i < 10; i++) {
+            cache.get(i);
+        }
+        cache.get(0);
+        cache.get(10);
+
+        assertEquals(2, cache.statistics().evictionCount());
+        assertEquals(11, loads.get());
+        cache.get(0);
+        assertEquals(11, loads.get());
+        cache.get(1);
+        assertEquals(12, loads.get());
+    }
+
+    @Test
+    @DisplayName("超出总权重时淘汰条目")
+    void should_evict_entries_when_exceed_maximum_weight() {
+        Cache<Integer, String> cache = Cache.<Integer, String>custom()
+                .initiator(key -> "x".repeat(key))
+                .maximumWeight(100, (key, value) -> value.length())
+                .build();
+        cache.get(60);
+        cache.get(50);
+
+        assertTrue(cache.statistics().evictionCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("过了刷新时间后返回旧值并在后台重新加载")
+    void should_return_stale_value_while_refreshing() throws InterruptedException {
+        AtomicInteger version = new AtomicInteger();
+        List<Runnable> pending = new CopyOnWriteArrayList<>();
+        Cache<String, Integer> cache = Cache.<String, Integer>custom()
+                .initiator(key -> version.incrementAndGet())
+                .expire(60_000)
+                .refresh(1)
+                .refresher(pending::add)
+                .build();
+        assertEquals(1, cache.get("key"));
+        Thread.sleep(5);
+
+        assertEquals(1, cache.get("key"));
+        assertEquals(1, cache.get("key"));
+        assertEquals(1, pending.size());
+        pending.get(0).run();
+        assertEquals(2, cache.get("key"));
+        assertEquals(2, cache.statistics().loadCount());
+    }
+
+    @Test
+    @DisplayName("设置空值有效期后缓存空值")
+    void should_cache_null_value_when_negative_expire_set() {
+        AtomicInteger loads = new AtomicInteger();
+        Cache<String, String> negative = Cache.<String, String>custom()
+                .initiator(key -> {
+                    loads.incrementAndGet();
+                    return null;
+                })
+                .negativeExpire(60_000)
+                .build();
+        assertNull(negative.get("key"));
+        assertNull(negative.get("key"));
+        assertEquals(1, loads.get());
+
+        Cache<String, String> plain = Cache.<String, String>custom().initiator(key -> {
+            loads.incrementAndGet();
+            return null;
+        }).build();
+        plain.get("key");
+        plain.get("key");
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("批量获取时未命中的键通过批量初始化器一次加载")
+    void should_load_absent_keys_in_one_batch() {
+        List<Collection<Integer>> batches = new CopyOnWriteArrayList<>();
+        Cache<Integer, String> cache = Cache.<Integer, String>custom()
+                .initiator(key -> "single" + key)
+                .bulkInitiator(keys -> {
+                    batches.add(keys);
+                    return keys.stream()
+                            .filter(key -> key != 3)
+                            .collect(Collectors.toMap(key -> key, key -> "bulk" + key));
+                })
+                .negativeExpire(60_000)
+                .build();
+        cache.get(1);
+        Map<Integer, String> values = cache.getAll(Arrays.asList(1, 2, 3, 2));
+
+        assertEquals(1, batches.size());
+        assertEquals(Arrays.asList(2, 3), batches.get(0));
+        assertEquals("single1", values.get(1));
+        assertEquals("bulk2", values.get(2));
+        assertEquals(2, values.size());
+        cache.getAll(Arrays.asList(2, 3));
+        assertEquals(1, batches.size());
+
+        Cache.Statistics statistics = cache.statistics();
+        assertEquals(3, statistics.hitCount());
+        assertEquals(3, statistics.missCount());
+        assertEquals(2, statistics.loadCount());
+    }
+
+    @Test
+    @DisplayName("批量加载中的键被单个读取时等待批量结果而不重复加载")
+    void should_wait_for_bulk_load_when_get_same_key_concurrently() throws Exception {
+        AtomicInteger singleLoads = new AtomicInteger();
+        CountDownLatch bulkStarted = new CountDownLatch(1);
+        CountDownLatch bulkReleased = new CountDownLatch(1);
+        Cache<Integer, String> cache = Cache.<Integer, String>custom()
+                .initiator(key -> {
+                    singleLoads.incrementAndGet();
+                    return "single" + key;
+                })
+                .bulkInitiator(keys -> {
+                    bulkStarted.countDown();
+                    try {
+                        bulkReleased.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return keys.stream().collect(Collectors.toMap(key -> key, key -> "bulk" + key));
+                })
+                .build();
+        CompletableFuture<Map<Integer, String>> bulk =
+                CompletableFuture.supplyAsync(() -> cache.getAll(Arrays.asList(1, 2)));
+        assertTrue(bulkStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> single = CompletableFuture.supplyAsync(() -> cache.get(1));
+        bulkReleased.countDown();
+
+        assertEquals("bulk1", single.get(5, TimeUnit.SECONDS));
+        assertEquals("bulk1", bulk.get(5, TimeUnit.SECONDS).get(1));
+        assertEquals(0, singleLoads.get());
+        assertEquals(1, cache.statistics().loadCount());
+    }
+}
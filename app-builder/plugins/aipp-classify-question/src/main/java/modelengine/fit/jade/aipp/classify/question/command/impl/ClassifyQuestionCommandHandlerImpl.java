@@ -8,6 +8,9 @@ package modelengine.fit.jade.aipp.classify.question.command.impl;
 
 import static modelengine.fitframework.inspection.Validation.notNull;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
 import modelengine.fel.core.chat.ChatMessage;
 import modelengine.fel.core.chat.ChatModel;
 import modelengine.fel.core.chat.ChatOption;
@@ -25,30 +28,58 @@ import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
 import modelengine.fit.jade.aipp.model.service.AippModelCenter;
 import modelengine.fit.jober.aipp.common.utils.ContentProcessUtils;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.flowable.Choir;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.annotation.Scheduled;
+import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fitframework.util.IoUtils;
 import modelengine.fitframework.util.StringUtils;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * 表示 {@link ClassifyQuestionCommand} 的默认实现。
+ * <p>分类前先按问题类型上配置的精确问题与关键字规则匹配，命中时不调用大模型。开启结果缓存后，
+ * 相同的（归一化问题，历史记录，类型列表，模板）组合直接复用上次的分类结果。规则命中、缓存命中次数
+ * 以及由此节省的大模型耗时定期输出到日志。</p>
  *
  * @author 张越
  * @since 2024-11-18
  */
 @Component
 public class ClassifyQuestionCommandHandlerImpl implements ClassifyQuestionCommandHandler {
+    private static final Logger LOG = Logger.get(ClassifyQuestionCommandHandlerImpl.class);
+    private static final Pattern TYPE_PATTERN =
+            Pattern.compile("[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
     private final AippMemoryFactory memoryFactory;
     private final AippModelCenter aippModelCenter;
     private final String builtinPrompt;
     private final ChatModel modelService;
+    private final Cache<List<String>, String> resultCache;
 
-    private static final String TYPE_REGEX = "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}";
+    private final LongAdder ruleHits = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder modelCalls = new LongAdder();
+    private final LongAdder modelMillis = new LongAdder();
 
     /**
      * 创建 {@link ClassifyQuestionCommandHandlerImpl} 的实例。
@@ -56,24 +87,94 @@ public class ClassifyQuestionCommandHandlerImpl implements ClassifyQuestionComma
      * @param memoryFactory 表示用于创建内存对象的 {@link AippMemoryFactory}。
      * @param aippModelCenter 表示用于获取模型的 {@link AippModelCenter}。
      * @param modelService 大模型服务 {@link ChatModel}。
+     * @param cacheEnabled 表示是否开启分类结果缓存的 {@code boolean}。
+     * @param expireSeconds 表示分类结果缓存写入后的过期时间（秒）的 {@code long}。
+     * @param maximumSize 表示分类结果缓存容量的 {@code long}。
      * @throws IOException IO异常.
      */
     public ClassifyQuestionCommandHandlerImpl(AippMemoryFactory memoryFactory, AippModelCenter aippModelCenter,
-            ChatModel modelService) throws IOException {
+            ChatModel modelService, @Value("${classify-question.cache.enabled}") boolean cacheEnabled,
+            @Value("${classify-question.cache.expire-seconds}") long expireSeconds,
+            @Value("${classify-question.cache.maximum-size}") long maximumSize) throws IOException {
         this.memoryFactory = notNull(memoryFactory, "The memory factory cannot be null.");
         this.aippModelCenter = notNull(aippModelCenter, "The model center cannot be null.");
         this.modelService = notNull(modelService, "The model service cannot be null.");
         this.builtinPrompt = IoUtils.content(ClassifyQuestionCommandHandlerImpl.class, Constant.BUILTIN_PROMPT);
+        this.resultCache = cacheEnabled
+                ? Caffeine.newBuilder()
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .build()
+                : null;
     }
 
     @Override
     public String handle(ClassifyQuestionCommand command) {
         notNull(command, "The command cannot be null.");
         Map<String, String> args = notNull(command.getArgs(), "The command args cannot be null.");
+        String question = normalize(args.get(Constant.QUESTION_KEY));
+        Optional<QuestionType> ruleMatched = matchRules(question, command.getQuestionTypes());
+        if (ruleMatched.isPresent()) {
+            this.ruleHits.increment();
+            return ruleMatched.get().getId();
+        }
         Memory memory = this.memoryFactory.create(command.getMemoryConfig(), command.getHistories());
         HashMap<String, String> variables = new HashMap<>(args);
         variables.put(Constant.HISTORY_KEY, memory.text());
         variables.put(Constant.TYPE_LIST_KEY, command.getTypeList());
+        if (this.resultCache == null) {
+            return this.classifyByModel(command, variables).orElseGet(() -> command.getLastQuestionType().getId());
+        }
+        List<String> cacheKey = this.cacheKey(command, question, variables);
+        String cached = this.resultCache.getIfPresent(cacheKey);
+        if (cached != null) {
+            this.cacheHits.increment();
+            return cached;
+        }
+        // 只缓存大模型明确给出的类型，兜底的最后一个类型不缓存，避免一次异常输出被长期复用。
+        Optional<String> typeId = this.classifyByModel(command, variables);
+        typeId.ifPresent(id -> this.resultCache.put(cacheKey, id));
+        return typeId.orElseGet(() -> command.getLastQuestionType().getId());
+    }
+
+    /**
+     * 获取分类的统计信息。
+     *
+     * @return 表示统计项名称到取值的 {@link Map}{@code <}{@link String}{@code , }{@link Long}{@code >}。
+     */
+    public Map<String, Long> getStats() {
+        long calls = this.modelCalls.sum();
+        long millis = this.modelMillis.sum();
+        long shortCircuited = this.ruleHits.sum() + this.cacheHits.sum();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("ruleHits", this.ruleHits.sum());
+        stats.put("cacheHits", this.cacheHits.sum());
+        stats.put("modelCalls", calls);
+        stats.put("modelMillis", millis);
+        // 以大模型调用的平均耗时估算被规则与缓存省去的耗时。
+        stats.put("savedMillis", calls == 0 ? 0L : shortCircuited * millis / calls);
+        return stats;
+    }
+
+    /**
+     * 每 5 分钟输出一次分类的命中统计。
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "300000")
+    public void logStats() {
+        Map<String, Long> stats = this.getStats();
+        long total = stats.get("ruleHits") + stats.get("cacheHits") + stats.get("modelCalls");
+        if (total == 0) {
+            return;
+        }
+        LOG.info("Classify question stats: hitRate={}, ruleHits={}, cacheHits={}, modelCalls={}, savedMillis={}.",
+                String.format("%.3f", (double) (total - stats.get("modelCalls")) / total),
+                stats.get("ruleHits"),
+                stats.get("cacheHits"),
+                stats.get("modelCalls"),
+                stats.get("savedMillis"));
+    }
+
+    private Optional<String> classifyByModel(ClassifyQuestionCommand command, Map<String, String> variables) {
         ModelAccessInfo modelAccessInfo = this.aippModelCenter.getModelAccessInfo(command.getModelTag(),
                 command.getModel(), null);
         ChatOption chatOption = ChatOption.custom()
@@ -88,20 +189,68 @@ public class ClassifyQuestionCommandHandlerImpl implements ClassifyQuestionComma
         String prompt = new DefaultStringTemplate(this.getTemplate(command)).render(variables);
         ChatMessages chatMessages = new ChatMessages();
         chatMessages.add(new HumanMessage(prompt));
+        long start = System.nanoTime();
         Choir<ChatMessage> answer = this.modelService.generate(chatMessages, chatOption);
         String textAnswer = ContentProcessUtils.filterReasoningContent(answer.blockAll().get(0).text());
+        this.modelCalls.increment();
+        this.modelMillis.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
         String extractedType = "";
-        Pattern pattern = Pattern.compile(TYPE_REGEX);
-        Matcher matcher = pattern.matcher(textAnswer);
+        Matcher matcher = TYPE_PATTERN.matcher(textAnswer);
         if (matcher.find()) {
             extractedType = matcher.group();
         }
-        return command.getQuestionType(extractedType)
-                .map(QuestionType::getId)
-                .orElseGet(() -> command.getLastQuestionType().getId());
+        return command.getQuestionType(extractedType).map(QuestionType::getId);
     }
 
     private String getTemplate(ClassifyQuestionCommand command) {
         return StringUtils.isNotBlank(command.getTemplate()) ? command.getTemplate() : this.builtinPrompt;
     }
+
+    private List<String> cacheKey(ClassifyQuestionCommand command, String question, Map<String, String> variables) {
+        // 除用户问题外的其他参数也可能被自定义模板引用，一并计入。
+        Map<String, String> otherArgs = new TreeMap<>(command.getArgs());
+        otherArgs.remove(Constant.QUESTION_KEY);
+        return Arrays.asList(command.getModelTag(),
+                command.getModel(),
+                question,
+                sha256(variables.get(Constant.HISTORY_KEY)),
+                variables.get(Constant.TYPE_LIST_KEY),
+                this.getTemplate(command),
+                sha256(otherArgs.toString()));
+    }
+
+    private static Optional<QuestionType> matchRules(String question, List<QuestionType> questionTypes) {
+        if (StringUtils.isEmpty(question) || CollectionUtils.isEmpty(questionTypes)) {
+            return Optional.empty();
+        }
+        Optional<QuestionType> exact = questionTypes.stream()
+                .filter(type -> CollectionUtils.isNotEmpty(type.getExactQuestions()))
+                .filter(type -> type.getExactQuestions().stream().anyMatch(item -> question.equals(normalize(item))))
+                .findFirst();
+        if (exact.isPresent()) {
+            return exact;
+        }
+        return questionTypes.stream()
+                .filter(type -> CollectionUtils.isNotEmpty(type.getKeywords()))
+                .filter(type -> type.getKeywords().stream().map(ClassifyQuestionCommandHandlerImpl::normalize)
+                        .anyMatch(keyword -> StringUtils.isNotEmpty(keyword) && question.contains(keyword)))
+                .findFirst();
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return StringUtils.EMPTY;
+        }
+        return WHITESPACE_PATTERN.matcher(text.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(StringUtils.blankIf(content, StringUtils.EMPTY)
+                    .getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
 }
\ No newline at end of file
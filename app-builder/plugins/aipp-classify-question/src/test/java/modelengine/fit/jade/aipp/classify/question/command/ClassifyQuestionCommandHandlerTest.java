@@ -8,6 +8,9 @@ package modelengine.fit.jade.aipp.classify.question.command;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fel.core.chat.ChatModel;
@@ -28,6 +31,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
 
 /**
  * 表示 {@link ClassifyQuestionCommandHandler} 的测试集。
@@ -51,7 +56,7 @@ public class ClassifyQuestionCommandHandlerTest {
         this.aippModelCenter = mock(AippModelCenter.class);
         this.modelService = mock(ChatModel.class);
         this.commandService = new ClassifyQuestionCommandHandlerImpl(this.memoryFactory, this.aippModelCenter,
-                this.modelService);
+                this.modelService, true, 600, 100);
     }
 
     @Test
@@ -74,4 +79,36 @@ public class ClassifyQuestionCommandHandlerTest {
         Assertions.assertEquals(command.getTypeList(),
                 "{\"类型ID\":\"f47ac10b-58cc-4372-a567-0e02b2c3d479\", \"问题类型\":\"a\"}" + "\n------\n" + "{\"类型ID\":\"3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c\", \"问题类型\":\"b\"}");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试相同问题命中缓存时不重复调用大模型")
+    void shouldUseCacheWhenClassifySameQuestion() {
+        when(this.memoryFactory.create(any(), any())).thenReturn(new CacheMemory() {
+            @Override
+            public String text() {
+                return "Q: q1\nA: a1";
+            }
+        });
+        when(this.aippModelCenter.getModelAccessInfo(any(), any(), any())).thenReturn(
+                ModelAccessInfo.builder().baseUrl("/model").tag("tag").build());
+        when(this.modelService.generate(any(Prompt.class), any(ChatOption.class))).thenAnswer(
+                invocation -> Choir.just(new AiMessage("3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c")));
+        ClassifyQuestionCommand command = TestUtils.getCommand();
+        Assertions.assertEquals("3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c", this.commandService.handle(command));
+        command.setArgs(new HashMap<>(Collections.singletonMap("query", "  SKY ")));
+        Assertions.assertEquals("3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c", this.commandService.handle(command));
+        verify(this.modelService, times(1)).generate(any(Prompt.class), any(ChatOption.class));
+        Assertions.assertEquals(1L,
+                ((ClassifyQuestionCommandHandlerImpl) this.commandService).getStats().get("cacheHits"));
+    }
+
+    @Test
+    @DisplayName("测试问题命中关键字规则时不调用大模型")
+    void shouldShortCircuitWhenKeywordMatched() {
+        ClassifyQuestionCommand command = TestUtils.getCommand();
+        command.getQuestionTypes().get(1).setKeywords(Collections.singletonList("Sk"));
+        Assertions.assertEquals("3fa4e1b2-7c6d-4a9f-8c3d-1b2e3f4a5b6c", this.commandService.handle(command));
+        verify(this.memoryFactory, never()).create(any(), any());
+        verify(this.modelService, never()).generate(any(Prompt.class), any(ChatOption.class));
+    }
+}
@@ -6,12 +6,15 @@
 
 package modelengine.fit.jade.aipp.code.config;
 
+import modelengine.fit.jade.aipp.code.domain.entity.CodeExecutor;
+import modelengine.fit.jade.aipp.code.domain.entity.support.MemoizedCodeExecutor;
 import modelengine.fit.jade.aipp.code.domain.entity.support.PythonCodeExecutorProxy;
 import modelengine.fit.jade.aipp.code.domain.factory.CodeExecutorFactory;
 import modelengine.fit.jade.aipp.code.domain.factory.support.DefaultCodeExecutorFactory;
 import modelengine.fitframework.annotation.Bean;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.broker.client.BrokerClient;
 import modelengine.fitframework.serialization.ObjectSerializer;
 
@@ -29,13 +32,20 @@ public class CodeExecutorAutoConfig {
      *
      * @param brokerClient 表示动态路由器服务的 {@link BrokerClient}。
      * @param serializer 表示序列化器的 {@link ObjectSerializer}。
+     * @param memoizeExpireAfterWrite 表示结果缓存写入后过期时间（秒）的 {@code long}。
+     * @param memoizeMaximumSize 表示结果缓存容量的 {@code long}。
      * @return 表示代码执行器工厂的 {@link CodeExecutorFactory}。
      */
     @Bean
     public CodeExecutorFactory getCodeExecutorFactory(BrokerClient brokerClient,
-            @Fit(alias = "json") ObjectSerializer serializer) {
+            @Fit(alias = "json") ObjectSerializer serializer,
+            @Value("${code.memoize.expire-after-write}") long memoizeExpireAfterWrite,
+            @Value("${code.memoize.maximum-cache-size}") long memoizeMaximumSize) {
         CodeExecutorFactory factory = new DefaultCodeExecutorFactory();
-        factory.register(new PythonCodeExecutorProxy(brokerClient, serializer));
+        // 只有代码自行声明为纯函数时才会命中结果缓存，其余代码每次都直接执行。
+        CodeExecutor pythonExecutor = new PythonCodeExecutorProxy(brokerClient, serializer);
+        factory.register(
+                new MemoizedCodeExecutor(pythonExecutor, serializer, memoizeExpireAfterWrite, memoizeMaximumSize));
         return factory;
     }
-}
\ No newline at end of file
+}
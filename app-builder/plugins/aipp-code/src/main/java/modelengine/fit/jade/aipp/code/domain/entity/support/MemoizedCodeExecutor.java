@@ -0,0 +1,110 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.code.domain.entity.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import modelengine.fit.jade.aipp.code.domain.entity.CodeExecutor;
+import modelengine.fit.jade.aipp.code.domain.entity.ProgrammingLanguage;
+import modelengine.fit.jade.aipp.code.util.HashUtil;
+import modelengine.fitframework.serialization.ObjectSerializer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示带结果缓存的代码执行器装饰器。
+ * <p>仅缓存由代码节点自行声明为纯函数的代码：代码首个非空行为 {@value #PURE_MARKER} 时，
+ * 相同代码与相同入参必然得到相同结果，缓存键为（代码哈希，入参哈希）；其余代码（依赖时间、随机数或 I/O）
+ * 每次都直接执行。缓存中保存结果的序列化内容，首次执行与每次命中都返回反序列化出的新对象，
+ * 调用方修改结果不会影响缓存，且首次调用与后续调用的行为一致。</p>
+ *
+ * @author 邱晓霞
+ * @since 2025-03-10
+ */
+public class MemoizedCodeExecutor implements CodeExecutor {
+    /**
+     * 表示代码声明自身为纯函数的标记行。
+     */
+    public static final String PURE_MARKER = "# @pure";
+
+    private final CodeExecutor delegate;
+    private final ObjectSerializer serializer;
+    private final Cache<String, String> resultCache;
+
+    /**
+     * 表示 {@link MemoizedCodeExecutor} 的构造方法。
+     *
+     * @param delegate 表示被装饰的代码执行器的 {@link CodeExecutor}。
+     * @param serializer 表示用于计算入参哈希的序列化器的 {@link ObjectSerializer}。
+     * @param expireAfterWrite 表示缓存写入后的过期时间（秒）的 {@code long}。
+     * @param maximumCacheSize 表示缓存容量的 {@code long}。
+     */
+    public MemoizedCodeExecutor(CodeExecutor delegate, ObjectSerializer serializer, long expireAfterWrite,
+            long maximumCacheSize) {
+        this.delegate = notNull(delegate, "The delegate executor cannot be null.");
+        this.serializer = notNull(serializer, "The serializer cannot be null.");
+        this.resultCache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                .maximumSize(maximumCacheSize)
+                .build();
+    }
+
+    @Override
+    public Object run(Map<String, Object> args, String code) {
+        if (!isPure(code)) {
+            return this.delegate.run(args, code);
+        }
+        String key = this.key(args, code);
+        String cached = this.resultCache.getIfPresent(key);
+        if (cached != null) {
+            return this.serializer.deserialize(cached, Object.class);
+        }
+        Object result = this.delegate.run(args, code);
+        if (result == null) {
+            return null;
+        }
+        String serialized = this.serializer.serialize(result);
+        this.resultCache.put(key, serialized);
+        return this.serializer.deserialize(serialized, Object.class);
+    }
+
+    @Override
+    public ProgrammingLanguage language() {
+        return this.delegate.language();
+    }
+
+    /**
+     * 判断代码是否声明为纯函数。
+     *
+     * @param code 表示用户定义的代码的 {@link String}。
+     * @return 表示代码是否声明为纯函数的 {@code boolean}。
+     */
+    public static boolean isPure(String code) {
+        if (code == null) {
+            return false;
+        }
+        for (String line : code.split("\\R")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty()) {
+                return PURE_MARKER.equals(trimmed);
+            }
+        }
+        return false;
+    }
+
+    private String key(Map<String, Object> args, String code) {
+        // 顶层入参按键排序，保证相同入参在不同 Map 实现下得到相同的哈希。
+        Map<String, Object> sortedArgs = args == null ? new TreeMap<>() : new TreeMap<>(args);
+        String serializedArgs = this.serializer.serialize(sortedArgs);
+        return this.delegate.language() + ":" + HashUtil.hash(code) + ":" + HashUtil.hash(serializedArgs);
+    }
+}
@@ -6,6 +6,7 @@
 
 package modelengine.fit.jade.aipp.code.domain;
 
+import static modelengine.fitframework.util.ObjectUtils.cast;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Answers.RETURNS_SELF;
@@ -13,11 +14,14 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.jade.aipp.code.config.CodeExecutorAutoConfig;
 import modelengine.fit.jade.aipp.code.domain.entity.CodeExecutor;
 import modelengine.fit.jade.aipp.code.domain.entity.ProgrammingLanguage;
+import modelengine.fit.jade.aipp.code.domain.entity.support.MemoizedCodeExecutor;
 import modelengine.fit.jade.aipp.code.domain.entity.support.PythonCodeExecutorProxy;
 import modelengine.fit.jade.aipp.code.domain.factory.CodeExecutorFactory;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
@@ -33,6 +37,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -43,6 +48,8 @@ import java.util.Map;
  */
 @DisplayName("测试 PythonCodeExecutorProxy 实现")
 public class PythonCodeExecutorProxyTest {
+    private static final String PURE_CODE = "# @pure\nreturn a + 1";
+
     private static Invoker invoker;
     private static CodeExecutorFactory factory;
 
@@ -55,7 +62,7 @@ public class PythonCodeExecutorProxyTest {
         when(brokerClient.getRouter(anyString())).thenReturn(router);
         when(router.route(any())).thenReturn(invoker);
         factory = new CodeExecutorAutoConfig().getCodeExecutorFactory(brokerClient,
-                new JacksonObjectSerializer(null, null, null, true));
+                new JacksonObjectSerializer(null, null, null, true), 600, 1000);
     }
 
     @Nested
@@ -89,4 +96,70 @@ public class PythonCodeExecutorProxyTest {
                     .containsExactly(0x7F000000, "Execution timed out");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("测试带结果缓存的 code executor")
+    class Memoized {
+        private CodeExecutor delegate;
+        private CodeExecutor memoizedExecutor;
+
+        @BeforeEach
+        void setup() {
+            this.delegate = mock(CodeExecutor.class);
+            when(this.delegate.language()).thenReturn(ProgrammingLanguage.PYTHON);
+            this.memoizedExecutor = new MemoizedCodeExecutor(this.delegate,
+                    new JacksonObjectSerializer(null, null, null, true), 60, 10);
+        }
+
+        @Test
+        @DisplayName("声明为纯函数的代码，相同入参只执行一次")
+        void shouldRunOnceWhenPureCodeAndSameArgs() {
+            Map<String, Object> args = MapBuilder.<String, Object>get().put("a", 1).put("b", "x").build();
+            when(this.delegate.run(anyMap(), anyString())).thenReturn(2);
+            assertThat(this.memoizedExecutor.run(args, PURE_CODE)).isEqualTo(2);
+            assertThat(this.memoizedExecutor.run(MapBuilder.<String, Object>get().put("b", "x").put("a", 1).build(),
+                    PURE_CODE)).isEqualTo(2);
+            verify(this.delegate, times(1)).run(anyMap(), anyString());
+        }
+
+        @Test
+        @DisplayName("入参不同时重新执行")
+        void shouldRunAgainWhenArgsChanged() {
+            when(this.delegate.run(anyMap(), anyString())).thenReturn(2);
+            this.memoizedExecutor.run(MapBuilder.<String, Object>get().put("a", 1).build(), PURE_CODE);
+            this.memoizedExecutor.run(MapBuilder.<String, Object>get().put("a", 2).build(), PURE_CODE);
+            verify(this.delegate, times(2)).run(anyMap(), anyString());
+        }
+
+        @Test
+        @DisplayName("未声明为纯函数的代码每次都执行")
+        void shouldRunEveryTimeWhenCodeNotPure() {
+            Map<String, Object> args = MapBuilder.<String, Object>get().put("a", 1).build();
+            when(this.delegate.run(anyMap(), anyString())).thenReturn(2);
+            this.memoizedExecutor.run(args, "import time\nreturn time.time()");
+            this.memoizedExecutor.run(args, "import time\nreturn time.time()");
+            verify(this.delegate, times(2)).run(anyMap(), anyString());
+            assertThat(MemoizedCodeExecutor.isPure("\n  # @pure\nreturn 1")).isTrue();
+            assertThat(MemoizedCodeExecutor.isPure("return 1\n# @pure")).isFalse();
+        }
+
+        @Test
+        @DisplayName("首次执行与命中缓存时都返回新的结果对象，调用方修改不影响缓存")
+        void shouldReturnCopyWhenMissOrHitCache() {
+            Map<String, Object> args = MapBuilder.<String, Object>get().put("a", 1).build();
+            Map<String, Object> result = new HashMap<>();
+            result.put("value", 1);
+            when(this.delegate.run(anyMap(), anyString())).thenReturn(result);
+            Map<String, Object> missed = cast(this.memoizedExecutor.run(args, PURE_CODE));
+            assertThat(missed).isNotSameAs(result).containsEntry("value", 1);
+            missed.put("value", 4);
+            result.put("value", 2);
+            Map<String, Object> first = cast(this.memoizedExecutor.run(args, PURE_CODE));
+            first.put("value", 3);
+            Map<String, Object> second = cast(this.memoizedExecutor.run(args, PURE_CODE));
+            assertThat(first).isNotSameAs(second);
+            assertThat(second).containsEntry("value", 1);
+            verify(this.delegate, times(1)).run(anyMap(), anyString());
+        }
+    }
+}
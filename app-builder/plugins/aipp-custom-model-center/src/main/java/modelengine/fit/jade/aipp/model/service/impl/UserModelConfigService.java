@@ -7,6 +7,7 @@
 package modelengine.fit.jade.aipp.model.service.impl;
 
 import modelengine.fit.jade.aipp.model.dto.UserModelDetailDto;
+import modelengine.fit.jade.aipp.model.event.UserModelChangedEvent;
 
 import modelengine.fit.jade.aipp.model.po.ModelPo;
 import modelengine.fit.jade.aipp.model.po.UserModelPo;
@@ -16,6 +17,7 @@ import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fitable;
 import modelengine.fitframework.annotation.Property;
 import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.runtime.FitRuntime;
 import modelengine.fitframework.util.CollectionUtils;
 import modelengine.fel.tool.annotation.Attribute;
 import modelengine.fel.tool.annotation.Group;
@@ -42,14 +44,17 @@ public class UserModelConfigService implements UserModelConfig {
     private static final String FITABLE_ID = "aipp.model.service.impl";
     private static final String DEFAULT_MODEL_TYPE = "chat_completions";
     private final UserModelRepo userModelRepo;
+    private final FitRuntime fitRuntime;
 
     /**
      * 构造方法。
      *
      * @param userModelRepo 表示用于访问用户模型数据的仓储接口的 {@link UserModelRepo}。
+     * @param fitRuntime 表示 FIT 运行时环境的 {@link FitRuntime}，用于发布模型变更事件。
      */
-    public UserModelConfigService(UserModelRepo userModelRepo) {
+    public UserModelConfigService(UserModelRepo userModelRepo, FitRuntime fitRuntime) {
         this.userModelRepo = userModelRepo;
+        this.fitRuntime = fitRuntime;
     }
 
     @Override
@@ -119,6 +124,7 @@ public class UserModelConfigService implements UserModelConfig {
                 .updatedBy(userId)
                 .build();
         this.userModelRepo.insertUserModel(userModelPo);
+        this.publishChanged(userId);
         return "添加模型成功。";
     }
 
@@ -143,6 +149,7 @@ public class UserModelConfigService implements UserModelConfig {
             return "删除模型失败，该模型不属于当前用户。";
         }
         this.userModelRepo.deleteByModelId(modelId);
+        this.publishChanged(userId);
         // 如果删除的不是默认模型，直接返回
         if (target.getIsDefault() != 1) {
             return "删除模型成功。";
@@ -157,6 +164,7 @@ public class UserModelConfigService implements UserModelConfig {
 
             if (latestUserModel != null) {
                 this.userModelRepo.switchDefaultUserModel(userId, latestUserModel.getModelId());
+                this.publishChanged(userId);
                 return String.format("删除默认模型成功，已将%s设为默认模型。",
                         this.userModelRepo.getModel(latestUserModel.getModelId()).getName());
             }
@@ -176,6 +184,11 @@ public class UserModelConfigService implements UserModelConfig {
         if (rows == 0) {
             return "未查到对应模型。";
         }
+        this.publishChanged(userId);
         return String.format("已切换%s为默认模型。", this.userModelRepo.getModel(modelId).getName());
     }
+
+    private void publishChanged(String userId) {
+        this.fitRuntime.publisherOfEvents().publishEvent(new UserModelChangedEvent(this, userId));
+    }
 }
\ No newline at end of file
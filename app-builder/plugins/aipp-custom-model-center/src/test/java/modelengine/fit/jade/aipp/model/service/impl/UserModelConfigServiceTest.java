@@ -9,14 +9,17 @@ package modelengine.fit.jade.aipp.model.service.impl;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import modelengine.fit.jade.aipp.model.dto.UserModelDetailDto;
+import modelengine.fit.jade.aipp.model.event.UserModelChangedEvent;
 import modelengine.fit.jade.aipp.model.po.ModelPo;
 import modelengine.fit.jade.aipp.model.po.UserModelPo;
 import modelengine.fit.jade.aipp.model.repository.UserModelRepo;
+import modelengine.fitframework.runtime.FitRuntime;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -40,9 +43,12 @@ public class UserModelConfigServiceTest {
     @Mock
     private UserModelRepo userModelRepo;
 
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private FitRuntime fitRuntime;
+
     @BeforeEach
     void setUp() {
-        this.userModelConfigService = new UserModelConfigService(userModelRepo);
+        this.userModelConfigService = new UserModelConfigService(userModelRepo, fitRuntime);
     }
 
     @Test
@@ -83,6 +89,8 @@ public class UserModelConfigServiceTest {
         assertEquals("添加模型成功。", result);
         Mockito.verify(userModelRepo, Mockito.times(1)).insertModel(ArgumentMatchers.any(ModelPo.class));
         Mockito.verify(userModelRepo, Mockito.times(1)).insertUserModel(ArgumentMatchers.any(UserModelPo.class));
+        Mockito.verify(fitRuntime.publisherOfEvents(), Mockito.times(1))
+                .publishEvent(ArgumentMatchers.any(UserModelChangedEvent.class));
     }
 
     @Test
@@ -6,36 +6,62 @@
 
 package modelengine.fit.jade.aipp.model.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
 import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
 import modelengine.fit.jade.aipp.model.dto.ModelListDto;
+import modelengine.fit.jade.aipp.model.event.UserModelChangedEvent;
 import modelengine.fit.jade.aipp.model.service.AippModelCenter;
 import modelengine.fit.jade.aipp.model.service.AippModelCenterExtension;
 import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.event.EventHandler;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.ioc.BeanContainer;
 import modelengine.fitframework.ioc.BeanFactory;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.annotation.Scheduled;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * {@link AippModelCenter} 的代理实现。
+ * <p>模型访问信息、模型列表与默认模型按（参数，操作人）短时缓存，缓存中的访问密钥以进程内密钥加密保存。
+ * 用户模型发生变更时清除该用户作为操作人的缓存，并定期输出各缓存的命中率。</p>
  *
  * @author songyongtan
  * @since 2025-03-17
  */
 @Component
-public class AippModelCenterProxy implements AippModelCenter {
+public class AippModelCenterProxy implements AippModelCenter, EventHandler<UserModelChangedEvent> {
+    private static final Logger LOG = Logger.get(AippModelCenterProxy.class);
+
     private final AippModelCenterExtension target;
+    private final SecretSealer sealer = new SecretSealer();
+    private final Cache<List<String>, SealedModel> accessInfoCache;
+    private final Cache<List<String>, SealedModelList> modelListCache;
+    private final Cache<List<String>, SealedModel> defaultModelCache;
 
     /**
      * 构造函数。
      *
      * @param container 表示 bean 容器的 {@link BeanContainer}。
      * @param modelCenterName 表示注入 bean 名称的 {@link String}。
+     * @param expireSeconds 表示缓存写入后的过期时间（秒）的 {@code long}。
+     * @param maximumSize 表示单个缓存容量的 {@code long}。
      */
-    public AippModelCenterProxy(BeanContainer container, @Value("${model-center}") String modelCenterName) {
+    public AippModelCenterProxy(BeanContainer container, @Value("${model-center}") String modelCenterName,
+            @Value("${model-center-cache.expire-seconds}") long expireSeconds,
+            @Value("${model-center-cache.maximum-size}") long maximumSize) {
         this.target = container.all(AippModelCenterExtension.class)
                 .stream()
                 .filter(beanFactory -> Objects.equals(beanFactory.metadata().name(), modelCenterName))
@@ -43,20 +69,156 @@ public class AippModelCenterProxy implements AippModelCenter {
                 .findFirst()
                 .orElse(null);
         Validation.notNull(this.target, String.format("Aipp model center (%s) not found.", modelCenterName));
+        this.accessInfoCache = buildCache(expireSeconds, maximumSize);
+        this.modelListCache = buildCache(expireSeconds, maximumSize);
+        this.defaultModelCache = buildCache(expireSeconds, maximumSize);
+    }
+
+    private static <V> Cache<List<String>, V> buildCache(long expireSeconds, long maximumSize) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(expireSeconds, TimeUnit.SECONDS)
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
     }
 
     @Override
     public ModelListDto fetchModelList(String type, String scene, OperationContext context) {
-        return this.target.fetchModelList(type, scene, context);
+        SealedModelList modelList = this.modelListCache.get(Arrays.asList(type, scene, operatorOf(context)),
+                key -> this.sealList(this.target.fetchModelList(type, scene, context)));
+        if (modelList == null) {
+            return null;
+        }
+        List<ModelAccessInfo> models = modelList.models == null
+                ? null
+                : modelList.models.stream().map(this::unseal).collect(Collectors.toList());
+        return ModelListDto.builder().models(models).total(modelList.total).build();
     }
 
     @Override
     public ModelAccessInfo getModelAccessInfo(String tag, String modelName, OperationContext context) {
-        return this.target.getModelAccessInfo(tag, modelName, context);
+        SealedModel model = this.accessInfoCache.get(Arrays.asList(tag, modelName, operatorOf(context)),
+                key -> this.seal(this.target.getModelAccessInfo(tag, modelName, context)));
+        return this.unseal(model);
     }
 
     @Override
     public ModelAccessInfo getDefaultModel(String type, OperationContext context) {
-        return this.target.getDefaultModel(type, context);
+        SealedModel model = this.defaultModelCache.get(Arrays.asList(type, operatorOf(context)),
+                key -> this.seal(this.target.getDefaultModel(type, context)));
+        return this.unseal(model);
+    }
+
+    @Override
+    public void handleEvent(UserModelChangedEvent event) {
+        String userId = event.getUserId();
+        LOG.info("User models changed, invalidate model center cache. [userId={}]", userId);
+        if (userId == null) {
+            this.invalidateAll();
+            return;
+        }
+        invalidateOperator(this.accessInfoCache, userId);
+        invalidateOperator(this.modelListCache, userId);
+        invalidateOperator(this.defaultModelCache, userId);
+    }
+
+    /**
+     * 清空所有缓存。
+     */
+    public void invalidateAll() {
+        this.accessInfoCache.invalidateAll();
+        this.modelListCache.invalidateAll();
+        this.defaultModelCache.invalidateAll();
+    }
+
+    /**
+     * 获取各缓存的统计信息。
+     *
+     * @return 表示缓存名称到统计信息的 {@link Map}{@code <}{@link String}{@code , }{@link CacheStats}{@code >}。
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("accessInfo", this.accessInfoCache.stats());
+        stats.put("modelList", this.modelListCache.stats());
+        stats.put("defaultModel", this.defaultModelCache.stats());
+        return stats;
+    }
+
+    /**
+     * 每 5 分钟输出一次缓存命中率。
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "300000")
+    public void logStats() {
+        this.getStats().forEach((name, stats) -> LOG.info(
+                "Model center cache stats, {}: hitRate={}, hits={}, misses={}, evictions={}.",
+                name,
+                String.format("%.3f", stats.hitRate()),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.evictionCount()));
+    }
+
+    private static String operatorOf(OperationContext context) {
+        return context == null ? null : context.getOperator();
+    }
+
+    private static void invalidateOperator(Cache<List<String>, ?> cache, String operator) {
+        // 缓存键的最后一项为操作人。
+        cache.asMap().keySet().removeIf(key -> Objects.equals(key.get(key.size() - 1), operator));
+    }
+
+    private SealedModel seal(ModelAccessInfo info) {
+        if (info == null) {
+            return null;
+        }
+        return new SealedModel(info.getServiceName(), info.getTag(), info.getBaseUrl(),
+                this.sealer.seal(info.getAccessKey()));
+    }
+
+    private SealedModelList sealList(ModelListDto modelList) {
+        if (modelList == null) {
+            return null;
+        }
+        List<SealedModel> models = modelList.getModels() == null
+                ? null
+                : modelList.getModels().stream().map(this::seal).collect(Collectors.toList());
+        return new SealedModelList(models, modelList.getTotal());
+    }
+
+    private ModelAccessInfo unseal(SealedModel model) {
+        if (model == null) {
+            return null;
+        }
+        // 每次返回新的对象，调用方修改返回值不会影响缓存内容。
+        return ModelAccessInfo.builder()
+                .serviceName(model.serviceName)
+                .tag(model.tag)
+                .baseUrl(model.baseUrl)
+                .accessKey(this.sealer.unseal(model.accessKey))
+                .build();
+    }
+
+    private static class SealedModel {
+        private final String serviceName;
+        private final String tag;
+        private final String baseUrl;
+        private final byte[] accessKey;
+
+        private SealedModel(String serviceName, String tag, String baseUrl, byte[] accessKey) {
+            this.serviceName = serviceName;
+            this.tag = tag;
+            this.baseUrl = baseUrl;
+            this.accessKey = accessKey;
+        }
+    }
+
+    private static class SealedModelList {
+        private final List<SealedModel> models;
+        private final int total;
+
+        private SealedModelList(List<SealedModel> models, int total) {
+            this.models = models;
+            this.total = total;
+        }
     }
 }
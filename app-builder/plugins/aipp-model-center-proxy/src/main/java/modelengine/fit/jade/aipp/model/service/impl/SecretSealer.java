@@ -0,0 +1,85 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * 缓存中敏感信息的进程内加密工具。
+ * <p>密钥在进程启动时随机生成且不落盘，缓存中只保存密文，读取时再解密，避免明文密钥长期驻留在缓存对象中。</p>
+ *
+ * @author songyongtan
+ * @since 2025-04-18
+ */
+class SecretSealer {
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final SecretKey key;
+    private final SecureRandom random = new SecureRandom();
+
+    SecretSealer() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(256, this.random);
+            this.key = generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to generate cache secret key.", e);
+        }
+    }
+
+    /**
+     * 加密明文。
+     *
+     * @param plain 表示明文的 {@link String}。
+     * @return 表示密文的 {@code byte[]}，明文为 {@code null} 时返回 {@code null}。
+     */
+    byte[] seal(String plain) {
+        if (plain == null) {
+            return null;
+        }
+        byte[] iv = new byte[IV_LENGTH];
+        this.random.nextBytes(iv);
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, this.key, new GCMParameterSpec(TAG_BITS, iv));
+            byte[] encrypted = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.allocate(IV_LENGTH + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to seal cached secret.", e);
+        }
+    }
+
+    /**
+     * 解密密文。
+     *
+     * @param sealed 表示密文的 {@code byte[]}。
+     * @return 表示明文的 {@link String}，密文为 {@code null} 时返回 {@code null}。
+     */
+    String unseal(byte[] sealed) {
+        if (sealed == null) {
+            return null;
+        }
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, this.key, new GCMParameterSpec(TAG_BITS, sealed, 0, IV_LENGTH));
+            byte[] plain = cipher.doFinal(sealed, IV_LENGTH, sealed.length - IV_LENGTH);
+            return new String(plain, StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to unseal cached secret.", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
+import modelengine.fit.jade.aipp.model.event.UserModelChangedEvent;
+import modelengine.fit.jade.aipp.model.service.AippModelCenterExtension;
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fitframework.ioc.BeanContainer;
+import modelengine.fitframework.ioc.BeanFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+
+/**
+ * 表示 {@link AippModelCenterProxy} 的单元测试。
+ *
+ * @author songyongtan
+ * @since 2025-04-18
+ */
+@DisplayName("测试 AippModelCenterProxy")
+public class AippModelCenterProxyTest {
+    private AippModelCenterExtension target;
+    private AippModelCenterProxy proxy;
+    private OperationContext context;
+
+    @BeforeEach
+    void setUp() {
+        this.target = Mockito.mock(AippModelCenterExtension.class);
+        BeanFactory factory = Mockito.mock(BeanFactory.class, Mockito.RETURNS_DEEP_STUBS);
+        Mockito.when(factory.metadata().name()).thenReturn("customAippModelCenter");
+        Mockito.when(factory.get()).thenReturn(this.target);
+        BeanContainer container = Mockito.mock(BeanContainer.class);
+        Mockito.when(container.all(AippModelCenterExtension.class)).thenReturn(Collections.singletonList(factory));
+        this.proxy = new AippModelCenterProxy(container, "customAippModelCenter", 60, 100);
+        this.context = new OperationContext();
+        this.context.setOperator("user1");
+        Mockito.when(this.target.getModelAccessInfo("tag", "model", this.context))
+                .thenReturn(ModelAccessInfo.builder()
+                        .serviceName("model")
+                        .tag("tag")
+                        .baseUrl("http://model")
+                        .accessKey("secret")
+                        .build());
+    }
+
+    @Test
+    @DisplayName("相同参数重复查询访问信息时只查询一次底层实现，且返回完整密钥")
+    void shouldCacheModelAccessInfo() {
+        ModelAccessInfo first = this.proxy.getModelAccessInfo("tag", "model", this.context);
+        first.setAccessKey("modified");
+        ModelAccessInfo second = this.proxy.getModelAccessInfo("tag", "model", this.context);
+
+        assertThat(second.getAccessKey()).isEqualTo("secret");
+        assertThat(second.getBaseUrl()).isEqualTo("http://model");
+        Mockito.verify(this.target, Mockito.times(1)).getModelAccessInfo("tag", "model", this.context);
+        assertThat(this.proxy.getStats().get("accessInfo").hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("用户模型变更后缓存失效，重新查询底层实现")
+    void shouldInvalidateWhenUserModelChanged() {
+        this.proxy.getModelAccessInfo("tag", "model", this.context);
+        this.proxy.handleEvent(new UserModelChangedEvent(this, "user1"));
+        this.proxy.getModelAccessInfo("tag", "model", this.context);
+
+        Mockito.verify(this.target, Mockito.times(2)).getModelAccessInfo("tag", "model", this.context);
+    }
+
+    @Test
+    @DisplayName("用户模型变更时只清除该用户的缓存")
+    void shouldKeepOtherUsersCacheWhenUserModelChanged() {
+        OperationContext other = new OperationContext();
+        other.setOperator("user2");
+        Mockito.when(this.target.getModelAccessInfo("tag", "model", other))
+                .thenReturn(ModelAccessInfo.builder().tag("tag").accessKey("other").build());
+        this.proxy.getModelAccessInfo("tag", "model", other);
+
+        this.proxy.handleEvent(new UserModelChangedEvent(this, "user1"));
+        ModelAccessInfo info = this.proxy.getModelAccessInfo("tag", "model", other);
+
+        assertThat(info.getAccessKey()).isEqualTo("other");
+        Mockito.verify(this.target, Mockito.times(1)).getModelAccessInfo("tag", "model", other);
+    }
+
+    @Test
+    @DisplayName("底层实现返回空时不缓存")
+    void shouldNotCacheNullResult() {
+        assertThat(this.proxy.getDefaultModel("chat_completions", this.context)).isNull();
+        assertThat(this.proxy.getDefaultModel("chat_completions", this.context)).isNull();
+
+        Mockito.verify(this.target, Mockito.times(2)).getDefaultModel("chat_completions", this.context);
+    }
+}
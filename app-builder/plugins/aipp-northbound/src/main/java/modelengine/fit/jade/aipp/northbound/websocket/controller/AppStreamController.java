@@ -24,10 +24,16 @@ import modelengine.fit.jane.task.gateway.Authenticator;
 import modelengine.fit.jober.aipp.common.exception.AippErrCode;
 import modelengine.fit.jober.aipp.common.exception.AippException;
 import modelengine.fit.jober.aipp.common.exception.AippParamException;
+import modelengine.fit.jober.aipp.common.websocket.WsFrameFormat;
+import modelengine.fit.jober.aipp.common.websocket.WsFrameSender;
+import modelengine.fit.jober.aipp.common.websocket.WsOverflowPolicy;
+import modelengine.fit.jober.aipp.common.websocket.WsSessionStream;
+import modelengine.fit.jober.aipp.common.websocket.WsStreamConfig;
 import modelengine.fit.jober.aipp.dto.chat.CreateAppChatRequest;
 import modelengine.fit.jober.aipp.service.AppChatService;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
+import modelengine.fitframework.annotation.Value;
 import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.flowable.Choir;
 import modelengine.fitframework.log.Logger;
@@ -40,11 +46,15 @@ import modelengine.jade.authentication.context.HttpRequestUtils;
 import modelengine.jade.authentication.context.UserContext;
 import modelengine.jade.authentication.context.UserContextHolder;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 
 /**
  * app-websocket 会话流式接口。
+ * <p>每个会话的响应经 {@link WsSessionStream} 有界、公平地发送，客户端可按请求选择帧格式与发送窗口，
+ * 并通过 {@code ack} 方法确认已消费的帧数。</p>
  *
  * @author 曹嘉美
  * @since 2024-07-23
@@ -59,21 +69,34 @@ public class AppStreamController extends AbstractController {
     private static final String DATA = "data";
     private static final String NAME = "name";
     private static final String ACCOUNT = "account";
+    private static final String METHOD_KEY = "method";
+    private static final String FORMAT = "format";
+    private static final String WINDOW = "window";
+    private static final String ACK_METHOD = "ack";
+    private static final String ACK_COUNT = "count";
+    private static final int POLICY_VIOLATION = 1008;
     private static final Logger log = Logger.get(AppStreamController.class);
 
     private final AppChatService appChatService;
     private final ObjectSerializer serializer;
     private final AuthenticationService authenticationService;
+    private final WsStreamConfig streamConfig;
+    private final Map<Session, WsSessionStream> streams = new ConcurrentHashMap<>();
 
     private final Map<String, BiFunction<HttpClassicServerRequest, Map<String, Object>, Choir<Object>>> router;
 
     AppStreamController(Authenticator authenticator, AppChatService appChatService,
-            @Fit(alias = "json") ObjectSerializer serializer, AuthenticationService authenticationService) {
+            @Fit(alias = "json") ObjectSerializer serializer, AuthenticationService authenticationService,
+            @Value("${app-ws.stream.max-queued-frames}") int maxQueuedFrames,
+            @Value("${app-ws.stream.overflow-policy}") String overflowPolicy,
+            @Value("${app-ws.stream.compress-threshold}") int compressThreshold) {
         super(authenticator);
         this.appChatService = notNull(appChatService, "The appChatService cannot be null.");
         this.router = this.register();
         this.serializer = notNull(serializer, "The serializer cannot be null.");
         this.authenticationService = notNull(authenticationService, "The authenticationService cannot be null.");
+        this.streamConfig =
+                new WsStreamConfig(maxQueuedFrames, WsOverflowPolicy.from(overflowPolicy), compressThreshold);
     }
 
     /**
@@ -95,6 +118,7 @@ public class AppStreamController extends AbstractController {
     @OnMessage
     public void onMessage(Session session, @TextMessage String message) {
         log.info("WebSocket session start. sessionId: {}", session.getId());
+        WsSessionStream stream = this.streamOf(session);
         HttpClassicServerRequest request = ObjectUtils.cast(session.getHandshakeMessage());
         UserContext operationContext = new UserContext(this.authenticationService.getUserName(request),
                 HttpRequestUtils.getUserIp(request),
@@ -106,20 +130,22 @@ public class AppStreamController extends AbstractController {
                 String requestId = ObjectUtils.cast(messageObj.get(REQUEST_ID));
                 requestIdLog = requestId;
                 Map<String, Object> params = ObjectUtils.cast(messageObj.get(PARAMS));
+                if (ACK_METHOD.equals(messageObj.get(METHOD_KEY))) {
+                    stream.ack(requestId, getAckCount(params));
+                    return;
+                }
                 notNull(this.router.get(METHOD), () -> new AippException(AippErrCode.NOT_FOUND, METHOD));
                 log.info("dispatch method: {}", METHOD);
                 Choir<Object> result = this.router.get(METHOD).apply(request, params);
-                result.subscribe(null, (subscription, data) -> {
-                    session.send(this.createUnCompleteRsp(requestId, data));
-                }, (subscription) -> {
-                    session.send(this.createCompletedRsp(requestId));
-                }, (subscription, exception) -> {
-                    session.send(this.createFailedRsp(requestId, exception));
-                });
+                Number window = ObjectUtils.cast(messageObj.get(WINDOW));
+                stream.subscribe(requestId,
+                        result,
+                        WsFrameFormat.from(ObjectUtils.cast(messageObj.get(FORMAT))),
+                        window == null ? 0 : window.intValue());
                 log.info("end dispatch method.");
             } catch (AippException e) {
                 log.error("apply method error.", e);
-                session.send(this.createFailedRsp(requestIdLog, e));
+                stream.fail(requestIdLog, e);
             }
         });
     }
@@ -131,6 +157,11 @@ public class AppStreamController extends AbstractController {
      */
     @OnClose
     public void onClose(Session session) {
+        WsSessionStream stream = this.streams.remove(session);
+        if (stream != null) {
+            stream.close();
+            log.info("WebSocket stream stats. [sessionId={}, stats={}]", session.getId(), stream.stats());
+        }
         log.info("WebSocket connection closed by client. [code={}, reason={}, sessionId={}]",
                 session.getCloseCode(),
                 session.getCloseReason(),
@@ -149,6 +180,45 @@ public class AppStreamController extends AbstractController {
         session.send(createFailedRsp("error", ObjectUtils.cast(e)));
     }
 
+    /**
+     * 获取当前所有会话输出流的统计信息。
+     *
+     * @return 表示会话唯一标识到统计信息的 {@link Map}{@code <}{@link String}{@code , }{@link Map}{@code <}{@link
+     * String}{@code , }{@link Object}{@code >>}。
+     */
+    public Map<String, Map<String, Object>> getSessionStats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        this.streams.forEach((session, stream) -> stats.put(session.getId(), stream.stats()));
+        return stats;
+    }
+
+    private static int getAckCount(Map<String, Object> params) {
+        Object count = params == null ? null : params.get(ACK_COUNT);
+        if (!(count instanceof Number)) {
+            throw new AippException(AippErrCode.INPUT_PARAM_IS_INVALID, ACK_COUNT);
+        }
+        return ObjectUtils.<Number>cast(count).intValue();
+    }
+
+    private WsSessionStream streamOf(Session session) {
+        return this.streams.computeIfAbsent(session, key -> new WsSessionStream(new WsFrameSender() {
+            @Override
+            public void sendText(String text) {
+                key.send(text);
+            }
+
+            @Override
+            public void sendBinary(byte[] bytes) {
+                key.send(bytes);
+            }
+
+            @Override
+            public void close(String reason) {
+                key.close(POLICY_VIOLATION, reason);
+            }
+        }, this.serializer, this::createRsp, this.streamConfig));
+    }
+
     private Map<String, BiFunction<HttpClassicServerRequest, Map<String, Object>, Choir<Object>>> register() {
         return MapBuilder.<String, BiFunction<HttpClassicServerRequest, Map<String, Object>, Choir<Object>>>get()
                 .put("appChat", this::appChat)
@@ -170,14 +240,6 @@ public class AppStreamController extends AbstractController {
         notBlank(body.getAppId(), () -> new AippParamException(AippErrCode.APP_CHAT_REQUEST_IS_NULL));
     }
 
-    private String createUnCompleteRsp(String requestId, Object data) {
-        return this.serializer.serialize(createRsp(requestId, AippErrCode.OK.getErrorCode(), null, data, false));
-    }
-
-    private String createCompletedRsp(String requestId) {
-        return this.serializer.serialize(createRsp(requestId, AippErrCode.OK.getErrorCode(), null, null, true));
-    }
-
     private String createFailedRsp(String requestId, Exception exception) {
         return serializer.serialize(createRsp(requestId,
                 exception instanceof FitException
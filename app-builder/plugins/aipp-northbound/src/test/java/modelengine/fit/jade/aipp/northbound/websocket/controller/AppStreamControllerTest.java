@@ -86,7 +86,8 @@ public class AppStreamControllerTest {
     public void setup() {
         ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
         this.appStreamController =
-                new AppStreamController(this.authenticator, this.appChatService, serializer, authenticationService);
+                new AppStreamController(this.authenticator, this.appChatService, serializer, authenticationService,
+                        256, "coalesce", 1024);
         when(request.headers()).thenReturn(new DefaultMessageHeaders());
         when(request.cookies()).thenReturn(new DefaultCookieCollection());
         when(request.remoteAddress()).thenReturn(Address.builder().hostAddress("127.0.0.1").port(6666).build());
@@ -9,7 +9,6 @@ package modelengine.fit.jade.aipp.prompt.builder;
 import modelengine.jade.common.globalization.LocaleService;
 
 import modelengine.fel.core.template.StringTemplate;
-import modelengine.fel.core.template.support.DefaultStringTemplate;
 import modelengine.fit.jade.aipp.prompt.PromptBuilder;
 import modelengine.fit.jade.aipp.prompt.PromptMessage;
 import modelengine.fit.jade.aipp.prompt.PromptStrategy;
@@ -44,7 +43,7 @@ public class CustomPromptBuilder implements PromptBuilder {
         Validation.notNull(userAdvice, "The user advice cannot be null.");
         Validation.notNull(userAdvice.getVariables(), "The prompt variables cannot be null.");
 
-        StringTemplate template = new DefaultStringTemplate(userAdvice.getTemplate());
+        StringTemplate template = PromptTemplates.compile(userAdvice.getTemplate());
         String sysMessage = this.renderSysMessage(userAdvice.getBackground());
         String humanMessage = template.render(userAdvice.getVariables());
         return Optional.of(new PromptMessage(sysMessage, humanMessage));
@@ -0,0 +1,84 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.prompt.builder;
+
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按 token 预算挑选知识片段。
+ * <p>片段按得分从高到低依次尝试，放不下的片段跳过并继续尝试后续更短的片段，使预算尽量被高分片段占满。</p>
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+final class KnowledgePacker {
+    /**
+     * 每个片段的引用编号与分隔符估算占用的 token 数。
+     */
+    private static final int REFERENCE_OVERHEAD_TOKENS = 6;
+
+    private static final int ASCII_CHARS_PER_TOKEN = 4;
+
+    private KnowledgePacker() {}
+
+    /**
+     * 在预算内挑选得分最高的知识片段，结果按得分从高到低排列。
+     *
+     * @param knowledgeList 表示去重后的知识片段列表的 {@link List}{@code <}{@link Map}{@code <}{@link String}{@code ,
+     * }{@link Object}{@code >>}。
+     * @param tokenBudget 表示 token 预算的 {@code int}。
+     * @return 表示挑选出的知识片段列表的 {@link List}{@code <}{@link Map}{@code <}{@link String}{@code ,
+     * }{@link Object}{@code >>}。
+     */
+    static List<Map<String, Object>> pack(List<Map<String, Object>> knowledgeList, int tokenBudget) {
+        List<Map<String, Object>> ranked = new ArrayList<>(knowledgeList);
+        ranked.sort(Comparator.comparingDouble(KnowledgePacker::scoreOf).reversed());
+        List<Map<String, Object>> packed = new ArrayList<>();
+        int remaining = tokenBudget;
+        for (Map<String, Object> item : ranked) {
+            int tokens = estimateTokens(ObjectUtils.cast(item.get("text"))) + REFERENCE_OVERHEAD_TOKENS;
+            if (tokens <= remaining) {
+                packed.add(item);
+                remaining -= tokens;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * 估算文本占用的 token 数。
+     * <p>中日韩等非 ASCII 字符按每字符 1 个 token 计，ASCII 字符按每 4 个字符 1 个 token 计，结果偏保守。</p>
+     *
+     * @param text 表示文本的 {@link String}。
+     * @return 表示估算的 token 数的 {@code int}。
+     */
+    static int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int ascii = 0;
+        int others = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) < 128) {
+                ascii++;
+            } else {
+                others++;
+            }
+        }
+        return others + (ascii + ASCII_CHARS_PER_TOKEN - 1) / ASCII_CHARS_PER_TOKEN;
+    }
+
+    private static double scoreOf(Map<String, Object> item) {
+        Object score = item.get("score");
+        return score instanceof Number ? ((Number) score).doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,54 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.prompt.builder;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 知识栏数据的结构校验器。
+ * <p>数组的每个元素是一个知识检索节点的输出数组，
+ * 其中每个元素必须包含字符串类型的 {@code id}、{@code text} 与数值类型的 {@code score}。</p>
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+final class KnowledgeValidator {
+    private KnowledgeValidator() {}
+
+    /**
+     * 判断知识栏数据的结构是否合法。
+     *
+     * @param knowledge 表示知识栏数据的 {@link Object}。
+     * @return 表示结构是否合法的 {@code boolean}。
+     */
+    static boolean isValid(Object knowledge) {
+        if (!(knowledge instanceof List)) {
+            return false;
+        }
+        for (Object node : (List<?>) knowledge) {
+            if (!(node instanceof List)) {
+                return false;
+            }
+            for (Object item : (List<?>) node) {
+                if (!isValidItem(item)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidItem(Object item) {
+        if (!(item instanceof Map)) {
+            return false;
+        }
+        Map<?, ?> document = (Map<?, ?>) item;
+        return document.get("id") instanceof String && document.get("text") instanceof String
+                && document.get("score") instanceof Number;
+    }
+}
@@ -0,0 +1,43 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.prompt.builder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import modelengine.fel.core.template.StringTemplate;
+import modelengine.fel.core.template.support.DefaultStringTemplate;
+
+/**
+ * 已解析提示词模板的缓存。
+ * <p>用户提示词模板随应用配置变化很少，按模板内容缓存解析结果，避免每次请求重新解析。
+ * 缓存的模板被多个请求共享，调用方只能调用渲染方法，不得修改模板。</p>
+ *
+ * @author 刘信宏
+ * @since 2025-04-18
+ */
+final class PromptTemplates {
+    private static final long MAXIMUM_SIZE = 1024L;
+
+    private static final Cache<String, StringTemplate> TEMPLATES =
+            Caffeine.newBuilder().maximumSize(MAXIMUM_SIZE).build();
+
+    private PromptTemplates() {}
+
+    /**
+     * 获取指定内容对应的已解析模板。
+     *
+     * @param template 表示模板内容的 {@link String}。
+     * @return 表示已解析模板的 {@link StringTemplate}。
+     */
+    static StringTemplate compile(String template) {
+        if (template == null) {
+            return new DefaultStringTemplate(template);
+        }
+        return TEMPLATES.get(template, DefaultStringTemplate::new);
+    }
+}
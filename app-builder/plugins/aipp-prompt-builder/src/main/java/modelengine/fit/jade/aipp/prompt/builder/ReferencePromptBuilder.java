@@ -6,7 +6,7 @@
 
 package modelengine.fit.jade.aipp.prompt.builder;
 
-import modelengine.fel.core.template.support.DefaultStringTemplate;
+import modelengine.fel.core.template.StringTemplate;
 import modelengine.fit.jade.aipp.prompt.PromptBuilder;
 import modelengine.fit.jade.aipp.prompt.PromptMessage;
 import modelengine.fit.jade.aipp.prompt.PromptStrategy;
@@ -17,7 +17,6 @@ import modelengine.fit.jade.aipp.prompt.constant.InternalConstant;
 import modelengine.fit.jade.aipp.prompt.constant.PromptBuilderOrder;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Order;
-import modelengine.fitframework.exception.FitException;
 import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.util.IoUtils;
 import modelengine.fitframework.util.LineSeparator;
@@ -28,7 +27,6 @@ import modelengine.fitframework.util.StringUtils;
 import modelengine.fitframework.util.UuidUtils;
 import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.common.globalization.LocaleService;
-import modelengine.jade.schema.SchemaValidator;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -45,6 +43,8 @@ import java.util.stream.Collectors;
 
 /**
  * 溯源提示词构造器。
+ * <p>上下文中提供正数的 {@link Constant#KNOWLEDGE_TOKEN_BUDGET_KEY} 时，按得分从高到低选取预算内的知识片段；
+ * 否则沿用知识总长度上限校验。</p>
  *
  * @author 刘信宏
  * @since 2024-12-02
@@ -56,23 +56,20 @@ public class ReferencePromptBuilder implements PromptBuilder {
     private static final String KNOWLEDGE_SEPARATOR = "\n";
     private static final String KNOWLEDGE_ID = "id";
     private static final String KNOWLEDGE_TEXT = "text";
-    private static final String KNOWLEDGE_SCHEMA = "/knowledge_reference_schema.json";
     private static final int REFERENCE_ID_LENGTH = 6;
     private static final List<String> REFERENCE_TEMPLATE_LIST =
             Arrays.asList(InternalConstant.REFERENCE_TEMPLATE_EN, InternalConstant.REFERENCE_TEMPLATE_ZH);
 
     private final LocaleService localeService;
-    private final SchemaValidator validator;
-    private final String schema;
-    private final Map<String, String> templateI18nMap = new HashMap<>();
+    private final Map<String, StringTemplate> templateI18nMap = new HashMap<>();
 
-    ReferencePromptBuilder(LocaleService localeService, SchemaValidator validator) throws IOException {
+    ReferencePromptBuilder(LocaleService localeService) throws IOException {
         this.localeService = localeService;
-        this.validator = validator;
-        this.schema = IoUtils.content(ReferencePromptBuilder.class, KNOWLEDGE_SCHEMA);
         for (String path : REFERENCE_TEMPLATE_LIST) {
             String content = IoUtils.content(ReferencePromptBuilder.class, path);
-            this.templateI18nMap.put(path, content.replace(LineSeparator.CRLF.value(), LineSeparator.LF.value()));
+            Validation.notBlank(content, "The reference prompt template cannot be blank.");
+            this.templateI18nMap.put(path,
+                    PromptTemplates.compile(content.replace(LineSeparator.CRLF.value(), LineSeparator.LF.value())));
         }
     }
 
@@ -84,20 +81,27 @@ public class ReferencePromptBuilder implements PromptBuilder {
             return Optional.empty();
         }
 
+        int tokenBudget = this.getTokenBudget(context);
         List<Map<String, Object>> knowledgeList =
-                this.dedupeKnowledge(ObjectUtils.cast(context.get(Constant.KNOWLEDGE_CONTEXT_KEY)));
+                this.dedupeKnowledge(ObjectUtils.cast(context.get(Constant.KNOWLEDGE_CONTEXT_KEY)), tokenBudget);
+        if (tokenBudget > 0) {
+            knowledgeList = KnowledgePacker.pack(knowledgeList, tokenBudget);
+            if (knowledgeList.isEmpty()) {
+                return Optional.empty();
+            }
+        }
         Map<String, Map<String, Object>> referenceKnowledge = knowledgeList.stream()
                 .collect(Collectors.toMap(item -> this.generateReferenceId(), Function.identity(), (k1, k2) -> k1,
                         LinkedHashMap::new));
         String templateFilePath = this.localeService.localize(InternalConstant.TEMPLATE_LOCALE_KEY);
-        String referenceTemplate = this.templateI18nMap.get(templateFilePath);
-        Validation.notBlank(referenceTemplate, "The reference prompt template cannot be blank.");
+        StringTemplate referenceTemplate = this.templateI18nMap.get(templateFilePath);
+        Validation.notNull(referenceTemplate, "The reference prompt template cannot be null.");
 
-        String referenceMessage = new DefaultStringTemplate(referenceTemplate).render(MapBuilder.<String, String>get()
+        String referenceMessage = referenceTemplate.render(MapBuilder.<String, String>get()
                 .put(KNOWLEDGE_PLACEHOLDER, this.formatKnowledge(referenceKnowledge))
                 .build());
         String systemMessage = this.getBackground(userAdvice.getBackground()) + referenceMessage;
-        String humanMessage = new DefaultStringTemplate(userAdvice.getTemplate()).render(userAdvice.getVariables());
+        String humanMessage = PromptTemplates.compile(userAdvice.getTemplate()).render(userAdvice.getVariables());
         Map<String, Object> metadata =
                 MapBuilder.<String, Object>get().put(Constant.PROMPT_METADATA_KEY, referenceKnowledge).build();
         return Optional.of(new PromptMessage(systemMessage, humanMessage, metadata));
@@ -124,9 +128,7 @@ public class ReferencePromptBuilder implements PromptBuilder {
             return false;
         }
         Object knowledge = context.get(Constant.KNOWLEDGE_CONTEXT_KEY);
-        try {
-            this.validator.validate(this.schema, knowledge);
-        } catch (FitException ignore) {
+        if (!KnowledgeValidator.isValid(knowledge)) {
             return false;
         }
         // 只要有一个不为空即可
@@ -141,8 +143,14 @@ public class ReferencePromptBuilder implements PromptBuilder {
         return systemBackground + InternalConstant.BLOCK_SEPARATOR + background + InternalConstant.BLOCK_SEPARATOR;
     }
 
-    private List<Map<String, Object>> dedupeKnowledge(List<List<Map<String, Object>>> knowledgeData) {
-        this.validateKnowledge(knowledgeData);
+    private int getTokenBudget(Map<String, Object> context) {
+        Object budget = context.get(Constant.KNOWLEDGE_TOKEN_BUDGET_KEY);
+        return budget instanceof Number ? ((Number) budget).intValue() : 0;
+    }
+
+    private List<Map<String, Object>> dedupeKnowledge(List<List<Map<String, Object>>> knowledgeData,
+            int tokenBudget) {
+        this.validateKnowledge(knowledgeData, tokenBudget);
         Set<String> idSet = new HashSet<>();
         return knowledgeData.stream()
                 .flatMap(Collection::stream)
@@ -158,7 +166,7 @@ public class ReferencePromptBuilder implements PromptBuilder {
         return sb.toString();
     }
 
-    private void validateKnowledge(List<List<Map<String, Object>>> knowledgeData) {
+    private void validateKnowledge(List<List<Map<String, Object>>> knowledgeData, int tokenBudget) {
         if (knowledgeData.isEmpty()) {
             throw new ModelEngineException(PromptBuilderRetCode.PROMPT_BUILDER_KNOWLEDGE_EMPTY);
         }
@@ -171,7 +179,8 @@ public class ReferencePromptBuilder implements PromptBuilder {
                 .map(item -> ObjectUtils.<String>cast(item.get(KNOWLEDGE_TEXT)).length())
                 .reduce(0, (total, element) -> total + element);
 
-        if (totalLength > InternalConstant.KNOWLEDGE_CONTENT_LIMIT) {
+        // 有 token 预算时由打包逻辑裁剪，不再因总长度超限拒绝。
+        if (tokenBudget <= 0 && totalLength > InternalConstant.KNOWLEDGE_CONTENT_LIMIT) {
             throw new ModelEngineException(PromptBuilderRetCode.PROMPT_BUILDER_KNOWLEDGE_CONTENT_LIMIT, totalLength,
                     InternalConstant.KNOWLEDGE_CONTENT_LIMIT);
         }
@@ -9,6 +9,7 @@ package modelengine.fit.jade.aipp.prompt;
 import static modelengine.fit.jade.aipp.prompt.code.PromptBuilderRetCode.PROMPT_BUILDER_KNOWLEDGE_CONTENT_LIMIT;
 import static modelengine.fit.jade.aipp.prompt.code.PromptBuilderRetCode.PROMPT_BUILDER_KNOWLEDGE_COUNT_LIMIT;
 import static modelengine.fit.jade.aipp.prompt.constant.Constant.KNOWLEDGE_CONTEXT_KEY;
+import static modelengine.fit.jade.aipp.prompt.constant.Constant.KNOWLEDGE_TOKEN_BUDGET_KEY;
 import static modelengine.fit.jade.aipp.prompt.constant.Constant.PROMPT_METADATA_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -29,13 +30,13 @@ import modelengine.fitframework.util.ObjectUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.common.globalization.LocaleService;
-import modelengine.jade.schema.SchemaValidator;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -55,8 +56,6 @@ public class ReferencePromptBuilderTest {
 
     @Mock
     private LocaleService localeService;
-    @Mock
-    private SchemaValidator validator;
 
     private Map<String, Object> context;
     private UserAdvice defaultUserAdvice;
@@ -184,4 +183,41 @@ public class ReferencePromptBuilderTest {
                 .extracting("code")
                 .isEqualTo(PROMPT_BUILDER_KNOWLEDGE_CONTENT_LIMIT.getCode());
     }
+
+    @Test
+    void shouldPackHighScoreKnowledgeWithinTokenBudget() {
+        when(this.localeService.localize(eq(InternalConstant.TEMPLATE_LOCALE_KEY)))
+                .thenReturn(InternalConstant.REFERENCE_TEMPLATE_EN);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < InternalConstant.KNOWLEDGE_CONTENT_LIMIT + 1; i++) {
+            sb.append('文');
+        }
+        List<Map<String, Object>> knowledge = Arrays.asList(
+                MapBuilder.<String, Object>get().put("id", "id0").put("text", "low").put("score", 0.1).build(),
+                MapBuilder.<String, Object>get().put("id", "id1").put("text", sb.toString()).put("score", 0.9).build(),
+                MapBuilder.<String, Object>get().put("id", "id2").put("text", "high").put("score", 0.8).build());
+        Map<String, Object> context = MapBuilder.<String, Object>get()
+                .put(KNOWLEDGE_CONTEXT_KEY, Collections.singletonList(knowledge))
+                .put(KNOWLEDGE_TOKEN_BUDGET_KEY, 20)
+                .build();
+
+        Optional<PromptMessage> promptOptional = this.promptBuilder.build(this.defaultUserAdvice, context);
+        assertThat(promptOptional).isPresent();
+        List<String> refIds = ReferenceUtil.getReferenceIds(promptOptional.get());
+        assertThat(refIds).hasSize(2);
+        assertThat(promptOptional.get().getSystemMessage()).contains(
+                StringUtils.format("Reference:\n[{0}] high\n[{1}] low\n", refIds.get(0), refIds.get(1)));
+    }
+
+    @Test
+    void shouldNotPresentWhenNoKnowledgeFitsTokenBudget() {
+        Map<String, Object> knowledge =
+                MapBuilder.<String, Object>get().put("id", "id").put("text", "text").put("score", 0.5).build();
+        Map<String, Object> context = MapBuilder.<String, Object>get()
+                .put(KNOWLEDGE_CONTEXT_KEY, Collections.singletonList(Collections.singletonList(knowledge)))
+                .put(KNOWLEDGE_TOKEN_BUDGET_KEY, 1)
+                .build();
+        assertThat(this.promptBuilder.build(this.defaultUserAdvice, context)).isNotPresent();
+    }
 }
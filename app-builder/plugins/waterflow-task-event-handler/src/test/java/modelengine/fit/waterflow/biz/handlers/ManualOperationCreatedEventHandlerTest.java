@@ -156,7 +156,7 @@ class ManualOperationCreatedEventHandlerTest {
             Integer defaultLimitation = 5;
             boolean useLimit = false;
             FlowContextPersistRepo flowContextPersistRepo = new FlowContextPersistRepo(flowContextMapper, flowTraceRepo,
-                    flowRetryRepo, traceOwnerService, defaultLimitation, useLimit, 1);
+                    flowRetryRepo, traceOwnerService, defaultLimitation, useLimit, 1, 0, null, 0);
             flowDefinitionRepo = Mockito.mock(FlowDefinitionRepo.class);
             definitionQueryService = Mockito.mock(FlowDefinitionQueryService.class);
             brokerClient = Mockito.mock(BrokerClient.class);
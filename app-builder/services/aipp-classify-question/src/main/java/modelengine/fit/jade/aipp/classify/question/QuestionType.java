@@ -8,6 +8,8 @@ package modelengine.fit.jade.aipp.classify.question;
 
 import lombok.Data;
 
+import java.util.List;
+
 /**
  * 问题类型。
  *
@@ -20,6 +22,16 @@ public class QuestionType {
 
     private String questionTypeDesc;
 
+    /**
+     * 可选的精确匹配问题列表，用户问题与其中任意一项相同时（忽略大小写与多余空白）直接归为该类型。
+     */
+    private List<String> exactQuestions;
+
+    /**
+     * 可选的关键字列表，用户问题包含其中任意一项时（忽略大小写）直接归为该类型。
+     */
+    private List<String> keywords;
+
     /**
      * 将问题类型转换为model可识别的格式.
      *
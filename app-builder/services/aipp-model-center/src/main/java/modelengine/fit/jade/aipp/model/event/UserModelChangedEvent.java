@@ -0,0 +1,46 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.jade.aipp.model.event;
+
+import modelengine.fitframework.event.Event;
+
+/**
+ * 用户模型变更事件，在用户添加、删除模型或切换默认模型后发布。
+ *
+ * @author songyongtan
+ * @since 2025-04-18
+ */
+public class UserModelChangedEvent implements Event {
+    private final Object publisher;
+
+    private final String userId;
+
+    /**
+     * 构造用户模型变更事件。
+     *
+     * @param publisher 表示事件发布者的 {@link Object}。
+     * @param userId 表示模型发生变更的用户标识的 {@link String}。
+     */
+    public UserModelChangedEvent(Object publisher, String userId) {
+        this.publisher = publisher;
+        this.userId = userId;
+    }
+
+    @Override
+    public Object publisher() {
+        return this.publisher;
+    }
+
+    /**
+     * 获取模型发生变更的用户标识。
+     *
+     * @return 表示用户标识的 {@link String}。
+     */
+    public String getUserId() {
+        return this.userId;
+    }
+}
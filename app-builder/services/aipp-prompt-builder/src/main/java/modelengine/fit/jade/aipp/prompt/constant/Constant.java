@@ -22,4 +22,10 @@ public interface Constant {
      * 提示词元数据。
      */
     String PROMPT_METADATA_KEY = "knowledgeMetadata";
+
+    /**
+     * 知识栏可占用的 token 预算的键。
+     * <p>设置为正整数时，溯源提示词构造器按得分从高到低挑选知识片段直至预算用尽，而不是在超出长度上限时报错。</p>
+     */
+    String KNOWLEDGE_TOKEN_BUDGET_KEY = "knowledgeTokenBudget";
 }
@@ -0,0 +1,81 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.utils.OhScriptExecutor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 条件节点规则求值 {@link OhScriptExecutor#evaluateConditionRule(FlowData, String)} 的基准测试。
+ * <p>模拟条件密集的流程：每条数据依次判断 {@code branchCount} 个分支规则，负载沿用 {@link FlowDataCodecBenchmark}
+ * 的对话数据。多线程执行同一组规则，覆盖共享缓存的并发路径。</p>
+ *
+ * @author 李哲峰
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(4)
+@Fork(1)
+public class ConditionEvaluationBenchmark {
+    @Param({"2", "10"})
+    private int branchCount;
+
+    private FlowData flowData;
+
+    private List<String> rules;
+
+    /**
+     * 构造模拟负载并预编译规则，对应流程定义加载。
+     */
+    @Setup
+    public void setup() {
+        this.flowData = FlowDataCodecBenchmark.buildFlowData(10, 256);
+        this.flowData.getBusinessData().put("branch", this.branchCount - 1);
+        this.rules = new ArrayList<>();
+        for (int i = 0; i < this.branchCount; i++) {
+            String rule = "{{application}} == 'benchmark' && {{branch}} == " + i;
+            OhScriptExecutor.compile(rule);
+            this.rules.add(rule);
+        }
+    }
+
+    /**
+     * 依次判断全部分支规则，最后一个分支命中。
+     *
+     * @return 表示命中分支下标的 {@code int}。
+     */
+    @Benchmark
+    public int evaluateBranches() {
+        for (int i = 0; i < this.rules.size(); i++) {
+            if (OhScriptExecutor.evaluateConditionRule(this.flowData, this.rules.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,131 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.codec.FlowDataCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程上下文 {@link FlowData} 序列化与反序列化的基准测试。
+ * <p>负载模拟对话场景：{@code nodeCount} 个已执行节点的输入输出及若干轮历史消息。
+ * {@code compressThreshold} 为 {@code 0} 时测量 JSON 编解码，否则测量超过阈值时的 gzip 压缩编解码。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowDataCodecBenchmark {
+    @Param({"5", "30"})
+    private int nodeCount;
+
+    @Param({"256", "4096"})
+    private int textLength;
+
+    /**
+     * 压缩阈值，{@code 0} 表示纯 JSON 编解码。
+     */
+    @Param({"0", "8192"})
+    private int compressThreshold;
+
+    private FlowDataCodec codec;
+
+    private FlowData flowData;
+
+    private String encoded;
+
+    /**
+     * 构造模拟负载。
+     */
+    @Setup
+    public void setup() {
+        this.codec = FlowDataCodec.of(this.compressThreshold);
+        this.flowData = buildFlowData(this.nodeCount, this.textLength);
+        this.encoded = this.codec.encode(this.flowData);
+    }
+
+    /**
+     * 序列化，对应上下文落盘。
+     *
+     * @return 表示序列化结果的 {@link String}。
+     */
+    @Benchmark
+    public String serialize() {
+        return this.codec.encode(this.flowData);
+    }
+
+    /**
+     * 反序列化，对应从数据库读取上下文。
+     *
+     * @return 表示反序列化结果的 {@link FlowData}。
+     */
+    @Benchmark
+    public FlowData deserialize() {
+        return this.codec.decode(this.encoded);
+    }
+
+    /**
+     * 构造模拟对话负载的流程数据。
+     *
+     * @param nodeCount 表示已执行节点数量的 {@code int}。
+     * @param textLength 表示单段文本长度的 {@code int}。
+     * @return 表示流程数据的 {@link FlowData}。
+     */
+    static FlowData buildFlowData(int nodeCount, int textLength) {
+        String text = "x".repeat(textLength);
+        Map<String, Object> executeInfo = new HashMap<>();
+        for (int i = 0; i < nodeCount; i++) {
+            Map<String, Object> nodeInfo = new HashMap<>();
+            nodeInfo.put("input", Map.of("query", text, "temperature", 0.3, "maxTokens", 512));
+            nodeInfo.put("output", Map.of("llmOutput", text, "success", true));
+            executeInfo.put("node" + i, List.of(nodeInfo));
+        }
+        List<Map<String, Object>> histories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            histories.add(Map.of("question", text, "answer", text));
+        }
+        Map<String, Object> businessData = new HashMap<>();
+        businessData.put("_internal", Map.of("executeInfo", executeInfo));
+        businessData.put("histories", histories);
+        businessData.put("Question", text);
+        businessData.put("application", "benchmark");
+        Map<String, Object> contextData = new HashMap<>();
+        contextData.put("flowMetaId", "benchmark");
+        contextData.put("flowVersion", "1.0.0");
+        contextData.put("nodeMetaId", "node" + nodeCount);
+        return FlowData.builder()
+                .operator("benchmark")
+                .startTime(LocalDateTime.now())
+                .businessData(businessData)
+                .contextData(contextData)
+                .passData(new HashMap<>())
+                .build();
+    }
+}
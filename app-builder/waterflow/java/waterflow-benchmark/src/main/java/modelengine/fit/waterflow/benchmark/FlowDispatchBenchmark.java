@@ -0,0 +1,79 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.Activities;
+import modelengine.fit.waterflow.flowsengine.domain.flows.Flows;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存流程节点间 From/To 分发的基准测试。
+ * <p>分别构造 1 个和 10 个 map 节点串联的流程，测量单条数据从 offer 到 close 回调的吞吐与延迟，
+ * 单跳延迟可由 {@code SampleTime} 得分除以 {@code nodeCount} 得到。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowDispatchBenchmark {
+    @Param({"1", "10"})
+    private int nodeCount;
+
+    private Flows.ProcessFlow<Integer> flow;
+
+    private volatile CountDownLatch latch;
+
+    /**
+     * 每轮迭代重建流程及内存仓库，避免上下文在内存仓库中无限累积影响结果。
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        Activities.State<Integer, Integer, Integer, Flows.ProcessFlow<Integer>> node = Flows.<Integer>create(
+                new FlowContextMemoRepo<>(), new FlowContextMemoMessenger(), new FlowLocksMemo())
+                .id("dispatch-benchmark")
+                .map(value -> value + 1);
+        for (int i = 1; i < this.nodeCount; i++) {
+            node = node.map(value -> value + 1);
+        }
+        this.flow = node.close(callback -> this.latch.countDown());
+    }
+
+    /**
+     * 灌入单条数据并等待流程结束。
+     *
+     * @throws InterruptedException 等待被中断时抛出。
+     */
+    @Benchmark
+    public void offerAndAwait() throws InterruptedException {
+        this.latch = new CountDownLatch(1);
+        this.flow.offer(1);
+        this.latch.await();
+    }
+}
@@ -0,0 +1,112 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.Flows;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 条件分支、并行分叉及汇聚节点的基准测试。
+ *
+ * @author 高诗意
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowFanOutBenchmark {
+    private Flows.ProcessFlow<Payload> conditionFlow;
+
+    private Flows.ProcessFlow<Payload> parallelFlow;
+
+    private volatile CountDownLatch latch;
+
+    private int sequence;
+
+    /**
+     * 每轮迭代重建流程及内存仓库。
+     */
+    @Setup(Level.Iteration)
+    public void setup() {
+        this.conditionFlow = Flows.<Payload>create(new FlowContextMemoRepo<>(), new FlowContextMemoMessenger(),
+                        new FlowLocksMemo())
+                .id("condition-benchmark")
+                .conditions()
+                .match(context -> context.getData().value % 3 == 0)
+                .just(payload -> payload.value++)
+                .match(context -> context.getData().value % 3 == 1)
+                .just(payload -> payload.value += 2)
+                .others(payload -> payload)
+                .close(callback -> this.latch.countDown());
+
+        this.parallelFlow = Flows.<Payload>create(new FlowContextMemoRepo<>(), new FlowContextMemoMessenger(),
+                        new FlowLocksMemo())
+                .id("parallel-benchmark")
+                .parallel()
+                .fork(payload -> payload.value++)
+                .fork(payload -> payload.value++)
+                .fork(payload -> payload.value++)
+                .fork(payload -> payload.value++)
+                .join(payloads -> payloads.get(0))
+                .close(callback -> this.latch.countDown());
+    }
+
+    /**
+     * 三路条件分支。
+     *
+     * @throws InterruptedException 等待被中断时抛出。
+     */
+    @Benchmark
+    public void conditionBranch() throws InterruptedException {
+        this.latch = new CountDownLatch(1);
+        this.conditionFlow.offer(new Payload(this.sequence++));
+        this.latch.await();
+    }
+
+    /**
+     * 四路并行分叉后汇聚。
+     *
+     * @throws InterruptedException 等待被中断时抛出。
+     */
+    @Benchmark
+    public void parallelForkJoin() throws InterruptedException {
+        this.latch = new CountDownLatch(1);
+        this.parallelFlow.offer(new Payload(this.sequence++));
+        this.latch.await();
+    }
+
+    /**
+     * 基准测试中流转的可变数据。
+     */
+    public static class Payload {
+        private int value;
+
+        Payload(int value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoMessenger;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextMemoRepo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowlock.FlowLocksMemo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.definitions.FlowDefinition;
+import modelengine.fit.waterflow.flowsengine.domain.flows.parsers.FlowGraphData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.parsers.FlowParser;
+import modelengine.fit.waterflow.flowsengine.domain.flows.streams.FitStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程图 JSON 解析及转换为 publisher 的基准测试。
+ *
+ * @author 高诗意
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class FlowGraphParseBenchmark {
+    @Param({"10", "100", "500"})
+    private int stateNodeCount;
+
+    private String graphData;
+
+    private FlowParser parser;
+
+    private int version;
+
+    /**
+     * 生成包含指定数量 state 节点的串行流程图。
+     */
+    @Setup
+    public void setup() {
+        this.graphData = buildGraphData(this.stateNodeCount);
+        this.parser = new FlowParser(null);
+    }
+
+    /**
+     * 仅将 JSON 读取为 {@link FlowGraphData}。
+     *
+     * @return 表示流程图数据的 {@link FlowGraphData}。
+     */
+    @Benchmark
+    public FlowGraphData readGraphData() {
+        return new FlowGraphData(this.graphData);
+    }
+
+    /**
+     * 将 JSON 解析为流程定义。
+     *
+     * @return 表示流程定义的 {@link FlowDefinition}。
+     */
+    @Benchmark
+    public FlowDefinition parseDefinition() {
+        return this.parser.parse(this.graphData);
+    }
+
+    /**
+     * 将 JSON 解析为流程定义并转换为 publisher，对应缓存未命中时的完整构建开销。
+     *
+     * @return 表示流程起始节点的 {@link FitStream.Publisher}{@code <}{@link FlowData}{@code >}。
+     */
+    @Benchmark
+    public FitStream.Publisher<FlowData> parseAndConvert() {
+        FlowDefinition definition = this.parser.parse(this.graphData);
+        definition.setVersion(String.valueOf(this.version++));
+        return definition.convertToFlow(new FlowContextMemoRepo<>(), new FlowContextMemoMessenger(),
+                new FlowLocksMemo());
+    }
+
+    /**
+     * 构造流程图 JSON：开始节点、{@code stateNodeCount} 个 ECHO 任务节点、结束节点及串联它们的连线。
+     *
+     * @param stateNodeCount 表示 state 节点数量的 {@code int}。
+     * @return 表示流程图 JSON 的 {@link String}。
+     */
+    static String buildGraphData(int stateNodeCount) {
+        JSONArray nodes = new JSONArray();
+        nodes.add(node("start", "start1"));
+        String previous = "start1";
+        for (int i = 0; i < stateNodeCount; i++) {
+            String metaId = "state" + i;
+            JSONObject state = node("state", metaId);
+            JSONObject jober = new JSONObject();
+            jober.put("type", "ECHO_JOBER");
+            jober.put("name", metaId);
+            state.put("jober", jober);
+            nodes.add(state);
+            nodes.add(event("event" + i, previous, metaId));
+            previous = metaId;
+        }
+        nodes.add(node("end", "end1"));
+        nodes.add(event("eventEnd", previous, "end1"));
+
+        JSONObject graph = new JSONObject();
+        graph.put("name", "benchmark");
+        graph.put("description", "benchmark");
+        graph.put("metaId", "benchmark" + stateNodeCount);
+        graph.put("version", "1.0.0");
+        graph.put("status", "active");
+        graph.put("nodes", nodes);
+        return graph.toJSONString();
+    }
+
+    private static JSONObject node(String type, String metaId) {
+        JSONObject node = new JSONObject();
+        node.put("type", type);
+        node.put("metaId", metaId);
+        node.put("name", metaId);
+        node.put("triggerMode", "auto");
+        return node;
+    }
+
+    private static JSONObject event(String metaId, String from, String to) {
+        JSONObject event = new JSONObject();
+        event.put("type", "event");
+        event.put("metaId", metaId);
+        event.put("name", metaId);
+        event.put("from", from);
+        event.put("to", to);
+        return event;
+    }
+}
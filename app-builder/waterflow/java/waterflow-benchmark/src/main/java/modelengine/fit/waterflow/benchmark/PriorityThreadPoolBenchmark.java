@@ -0,0 +1,86 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.benchmark;
+
+import modelengine.fit.waterflow.flowsengine.utils.PriorityThreadPool;
+import modelengine.fit.waterflow.flowsengine.utils.PriorityThreadPool.PriorityTask;
+import modelengine.fit.waterflow.flowsengine.utils.PriorityThreadPool.PriorityTask.PriorityInfo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriorityThreadPool} 任务调度的基准测试。
+ *
+ * @author 夏斐
+ * @since 2025/03/10
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PriorityThreadPoolBenchmark {
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"1", "8"})
+    private int parallelNum;
+
+    private PriorityThreadPool pool;
+
+    /**
+     * 创建线程池。
+     */
+    @Setup
+    public void setup() {
+        this.pool = PriorityThreadPool.build("benchmark", this.parallelNum);
+    }
+
+    /**
+     * 关闭线程池。
+     */
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * 批量提交不同优先级的任务并等待全部执行完成，得分为每毫秒调度的任务数。
+     *
+     * @throws InterruptedException 等待被中断时抛出。
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void submitBatch() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(BATCH_SIZE);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            PriorityInfo priority = PriorityInfo.builder()
+                    .order(i % 10)
+                    .createTime(now + i)
+                    .traceTime(now - (i % 50))
+                    .build();
+            this.pool.submit(PriorityTask.builder().priority(priority).runner(latch::countDown).build());
+        }
+        latch.await();
+    }
+}
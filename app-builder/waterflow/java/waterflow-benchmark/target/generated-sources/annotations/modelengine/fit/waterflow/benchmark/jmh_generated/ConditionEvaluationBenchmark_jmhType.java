@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class ConditionEvaluationBenchmark_jmhType extends ConditionEvaluationBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class FlowDataCodecBenchmark_jmhType extends FlowDataCodecBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class FlowDispatchBenchmark_jmhType extends FlowDispatchBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class FlowFanOutBenchmark_jmhType extends FlowFanOutBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class FlowGraphParseBenchmark_jmhType extends FlowGraphParseBenchmark_jmhType_B3 {
+}
+
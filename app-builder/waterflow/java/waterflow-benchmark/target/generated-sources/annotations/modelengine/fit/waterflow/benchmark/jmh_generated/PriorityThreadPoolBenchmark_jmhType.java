@@ -0,0 +1,4 @@
+package modelengine.fit.waterflow.benchmark.jmh_generated;
+public class PriorityThreadPoolBenchmark_jmhType extends PriorityThreadPoolBenchmark_jmhType_B3 {
+}
+
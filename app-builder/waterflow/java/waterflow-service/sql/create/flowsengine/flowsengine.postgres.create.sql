@@ -72,6 +72,7 @@ CREATE INDEX IF NOT EXISTS INDEX_FLOW_BATCH_ID ON flow_context (batch_id, to_bat
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_STREAM_ID ON flow_context (stream_id, position_id, batch_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_ID ON flow_context (context_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TO_BATCH ON flow_context (to_batch);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_CONTEXT_TRACE_ID ON flow_context (trace_id);
 
 CREATE TABLE IF NOT EXISTS flow_trace
 (
@@ -99,6 +100,7 @@ comment on column flow_trace.end_time is '表示流程实例结束时间';
 
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_STREAM_ID ON flow_trace (stream_id);
 CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_ID ON flow_trace (trace_id);
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_TRACE_END_TIME ON flow_trace (end_time, trace_id);
 
 CREATE TABLE IF NOT EXISTS flow_graph
 (
@@ -116,6 +118,7 @@ CREATE TABLE IF NOT EXISTS flow_graph
     is_deleted       BOOLEAN DEFAULT FALSE,
     PRIMARY KEY (id, version)
 );
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_GRAPH_CREATED_BY ON flow_graph (created_by);
 
 CREATE TABLE IF NOT EXISTS fitable_usage
 (
@@ -141,4 +144,21 @@ comment on column flow_retry.entity_type is '表示任务重试的上下文实
 comment on column flow_retry.next_retry_time is '表示任务重试的下次时间';
 comment on column flow_retry.last_retry_time is '表示上次执行的任务重试时间';
 comment on column flow_retry.retry_count is '表示到目前为止的任务重试次数';
-comment on column flow_retry.version is '表示当前重试的版本号';
\ No newline at end of file
+comment on column flow_retry.version is '表示当前重试的版本号';
+
+CREATE TABLE IF NOT EXISTS flow_data_blob
+(
+    blob_id   VARCHAR(64) NOT NULL,
+    trace_id  TEXT NOT NULL,
+    data      TEXT NOT NULL,
+    create_at timestamp(9) without time zone NOT NULL,
+    PRIMARY KEY (blob_id)
+    );
+
+CREATE INDEX IF NOT EXISTS INDEX_FLOW_DATA_BLOB_TRACE_ID ON flow_data_blob (trace_id);
+
+comment on table flow_data_blob is '流程上下文外置数据记录';
+comment on column flow_data_blob.blob_id is '表示外置数据的唯一标识，由链路和内容计算得出';
+comment on column flow_data_blob.trace_id is '表示外置数据所属的流程链路ID';
+comment on column flow_data_blob.data is '表示外置数据的内容';
+comment on column flow_data_blob.create_at is '表示外置数据的创建时间';
\ No newline at end of file
@@ -22,14 +22,18 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.streams.FitStream;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.log.Logger;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 提供流程运行时的缓存服务
+ * <p>缓存按流程节点数加权限容，而非按条目数，避免少量超大流程挤占或大量小流程被过早淘汰；
+ * 只做访问空闲淘汰，活跃流程不会因写入时间到期被强制重建。</p>
  *
  * @author yangxiangyu
  * @since 2025/1/24
@@ -38,10 +42,19 @@ import java.util.concurrent.TimeUnit;
 @AllArgsConstructor
 public class FlowCacheService {
     private static final Logger LOG = Logger.get(FlowCacheService.class);
-    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE =
-            Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
-    private static final Cache<String, FlowDefinition> DEFINITION_ID_FLOW_CACHE =
-            Caffeine.newBuilder().expireAfterAccess(1, TimeUnit.DAYS).maximumSize(1000).build();
+    private static final long MAX_CACHED_NODES = 100000L;
+    private static final Cache<String, FlowCache> STREAM_ID_FLOW_CACHE = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumWeight(MAX_CACHED_NODES)
+            .weigher((String key, FlowCache value) -> nodeCount(value.getDefinition()))
+            .recordStats()
+            .build();
+    private static final Cache<String, FlowDefinition> DEFINITION_ID_FLOW_CACHE = Caffeine.newBuilder()
+            .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumWeight(MAX_CACHED_NODES)
+            .weigher((String key, FlowDefinition value) -> nodeCount(value))
+            .recordStats()
+            .build();
 
     private final FlowContextRepo contextRepo;
     private final FlowContextMessenger contextMessenger;
@@ -80,6 +93,52 @@ public class FlowCacheService {
         return flowCache.getPublisher();
     }
 
+    /**
+     * 预热指定流程版本的 publisher，已缓存的流程版本仅刷新访问时间，不会重建。
+     * <p>publisher 的节点会持续从上下文仓库中拉取数据，同一流程版本存在两个 publisher 会导致重复处理，
+     * 因此预热只加载缺失项，不做刷新替换。</p>
+     *
+     * @param streamIds 表示流程版本标识集合的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示本次新加载的流程数量的 {@code int}。
+     */
+    public int warmUp(Collection<String> streamIds) {
+        int loaded = 0;
+        for (String streamId : streamIds) {
+            if (STREAM_ID_FLOW_CACHE.getIfPresent(streamId) != null) {
+                continue;
+            }
+            try {
+                if (getFlowCacheByStreamId(streamId) != null) {
+                    loaded++;
+                }
+            } catch (Exception ex) {
+                LOG.warn("Failed to warm up flow cache, streamId: {}, error: {}.", streamId, ex.getMessage());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * 获取缓存统计信息快照，包含命中与未命中次数，供定时任务输出和运维查询使用。
+     * <p>统计信息自服务启动起累计，{@link #clear()} 不会将其清零。</p>
+     *
+     * @return 表示缓存名称到统计信息的 {@link Map}{@code <}{@link String}{@code , }{@link FlowCacheStats}{@code >}。
+     */
+    public Map<String, FlowCacheStats> getStats() {
+        return Map.of("publisher", FlowCacheStats.from(STREAM_ID_FLOW_CACHE.stats(),
+                        STREAM_ID_FLOW_CACHE.estimatedSize()),
+                "definition", FlowCacheStats.from(DEFINITION_ID_FLOW_CACHE.stats(),
+                        DEFINITION_ID_FLOW_CACHE.estimatedSize()));
+    }
+
+    private static int nodeCount(FlowDefinition definition) {
+        return Optional.ofNullable(definition)
+                .map(FlowDefinition::getNodeMap)
+                .map(Map::size)
+                .map(size -> Math.max(size, 1))
+                .orElse(1);
+    }
+
     private FlowCache getFlowCacheByStreamId(String streamId) {
         return STREAM_ID_FLOW_CACHE.get(streamId, var -> {
             FlowDefinition definition = definitionRepo.findByStreamId(streamId);
@@ -101,7 +160,7 @@ public class FlowCacheService {
         List<FitStream.Subscription> subscriptions = publisher.getSubscriptions();
         subscriptions.forEach(subscription -> {
             FitStream.Subscriber to = subscription.getTo();
-            LOG.info("buildNodeInfo, nodeId: {}, order:{}", to.getId(), order);
+            LOG.debug("buildNodeInfo, nodeId: {}, order:{}", to.getId(), order);
             if (toIds.contains(to.getId())) {
                 return;
             }
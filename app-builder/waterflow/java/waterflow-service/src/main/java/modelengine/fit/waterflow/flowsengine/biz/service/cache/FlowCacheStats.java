@@ -0,0 +1,88 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流程缓存的统计信息快照
+ *
+ * @author yangxiangyu
+ * @since 2025/3/10
+ */
+@Getter
+@AllArgsConstructor
+public class FlowCacheStats {
+    /**
+     * 当前缓存条目数（估算值）
+     */
+    private final long size;
+
+    /**
+     * 命中率
+     */
+    private final double hitRate;
+
+    /**
+     * 命中次数
+     */
+    private final long hitCount;
+
+    /**
+     * 未命中次数
+     */
+    private final long missCount;
+
+    /**
+     * 加载次数（含失败）
+     */
+    private final long loadCount;
+
+    /**
+     * 平均加载耗时，单位毫秒
+     */
+    private final double averageLoadMillis;
+
+    /**
+     * 淘汰条目数
+     */
+    private final long evictionCount;
+
+    /**
+     * 根据 caffeine 的统计信息构造快照
+     *
+     * @param stats caffeine 统计信息
+     * @param size 当前缓存条目数
+     * @return 统计信息快照
+     */
+    public static FlowCacheStats from(CacheStats stats, long size) {
+        return new FlowCacheStats(size,
+                stats.hitRate(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.loadCount(),
+                stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1),
+                stats.evictionCount());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d, hitRate=%.4f, hits=%d, misses=%d, loadCount=%d, avgLoadMs=%.2f, evictions=%d",
+                this.size,
+                this.hitRate,
+                this.hitCount,
+                this.missCount,
+                this.loadCount,
+                this.averageLoadMillis,
+                this.evictionCount);
+    }
+}
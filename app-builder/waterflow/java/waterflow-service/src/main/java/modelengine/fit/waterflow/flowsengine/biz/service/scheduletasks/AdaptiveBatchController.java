@@ -0,0 +1,71 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.scheduletasks;
+
+import modelengine.fitframework.inspection.Validation;
+
+/**
+ * 批量清理的自适应批次控制器。
+ * <p>以单批删除耗时作为数据库负载信号：耗时低于目标一半时扩大批次，超过目标时减半；
+ * 超过目标两倍时认为与在线查询存在锁竞争，下一批前额外让步与上一批耗时相同的时长。</p>
+ *
+ * @author 杨祥宇
+ * @since 2025-04-22
+ */
+public class AdaptiveBatchController {
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetMillis;
+    private final long pauseMillis;
+
+    private int batchSize;
+
+    /**
+     * 构造自适应批次控制器。
+     *
+     * @param minBatchSize 表示最小批次大小的 {@code int}。
+     * @param maxBatchSize 表示最大批次大小的 {@code int}，同时作为初始批次大小。
+     * @param targetMillis 表示单批目标耗时（毫秒）的 {@code long}。
+     * @param pauseMillis 表示批次间固定间隔（毫秒）的 {@code long}。
+     */
+    public AdaptiveBatchController(int minBatchSize, int maxBatchSize, long targetMillis, long pauseMillis) {
+        Validation.isTrue(minBatchSize > 0 && minBatchSize <= maxBatchSize, "Invalid batch size range.");
+        Validation.isTrue(targetMillis > 0, "Target millis must be positive.");
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetMillis = targetMillis;
+        this.pauseMillis = Math.max(0L, pauseMillis);
+        this.batchSize = maxBatchSize;
+    }
+
+    /**
+     * 获取下一批的批次大小。
+     *
+     * @return 表示批次大小的 {@code int}。
+     */
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    /**
+     * 记录一批的耗时并调整批次大小。
+     *
+     * @param elapsedMillis 表示该批耗时（毫秒）的 {@code long}。
+     * @return 表示下一批前需要等待的毫秒数的 {@code long}。
+     */
+    public long onBatchCompleted(long elapsedMillis) {
+        if (elapsedMillis > this.targetMillis) {
+            this.batchSize = Math.max(this.minBatchSize, this.batchSize / 2);
+        } else if (elapsedMillis < this.targetMillis / 2) {
+            this.batchSize = Math.min(this.maxBatchSize, this.batchSize + Math.max(1, this.batchSize / 2));
+        }
+        if (elapsedMillis > this.targetMillis * 2) {
+            return this.pauseMillis + elapsedMillis;
+        }
+        return this.pauseMillis;
+    }
+}
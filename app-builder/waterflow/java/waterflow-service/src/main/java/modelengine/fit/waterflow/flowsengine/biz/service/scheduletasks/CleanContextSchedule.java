@@ -6,6 +6,8 @@
 
 package modelengine.fit.waterflow.flowsengine.biz.service.scheduletasks;
 
+import modelengine.fit.waterflow.common.utils.SleepUtil;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext.FlowContextRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
 import modelengine.fitframework.annotation.Component;
@@ -15,11 +17,16 @@ import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.schedule.annotation.Scheduled;
 import modelengine.fitframework.transaction.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 定时清理流程中已完成的上下文。
  * <p>包括成功、失败、终止的流程数据。</p>
+ * <p>超期链路按 {@code (end_time, trace_id)} 键集分页，批次大小由 {@link AdaptiveBatchController} 按单批删除耗时自适应调整，
+ * 单次执行超过最长时长后停止，剩余积压留给下一次执行。</p>
  *
  * @author 杨祥宇
  * @since 2025-04-02
@@ -27,17 +34,31 @@ import java.util.List;
 @Component
 public class CleanContextSchedule {
     private static final Logger log = Logger.get(CleanContextSchedule.class);
-    private static final int LIMIT = 1000;
     private final FlowTraceRepo flowTraceRepo;
     private final FlowContextRepo flowContextRepo;
     private final int expiredDays;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMillis;
+    private final long pauseMillis;
+    private final long maxRunMinutes;
 
     public CleanContextSchedule(FlowTraceRepo flowTraceRepo,
             @Fit(alias = "flowContextPersistRepo") FlowContextRepo flowContextRepo,
-            @Value("${jane.flowsEngine.contextExpiredDays}") int expiredDays) {
+            @Value("${jane.flowsEngine.contextExpiredDays}") int expiredDays,
+            @Value("${jane.flowsEngine.contextPurge.minBatchSize}") int minBatchSize,
+            @Value("${jane.flowsEngine.contextPurge.maxBatchSize}") int maxBatchSize,
+            @Value("${jane.flowsEngine.contextPurge.targetBatchMillis}") long targetBatchMillis,
+            @Value("${jane.flowsEngine.contextPurge.pauseMillis}") long pauseMillis,
+            @Value("${jane.flowsEngine.contextPurge.maxRunMinutes}") long maxRunMinutes) {
         this.flowTraceRepo = flowTraceRepo;
         this.flowContextRepo = flowContextRepo;
         this.expiredDays = expiredDays;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchMillis = targetBatchMillis;
+        this.pauseMillis = pauseMillis;
+        this.maxRunMinutes = maxRunMinutes;
     }
 
     /**
@@ -49,17 +70,44 @@ public class CleanContextSchedule {
     @Scheduled(strategy = Scheduled.Strategy.CRON, value = "0 0 3 * * ?")
     public void cleanContextSchedule() {
         log.info("Start clean flow expired contexts");
+        LocalDateTime expiredBefore = LocalDateTime.now().minusDays(this.expiredDays);
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + Duration.ofMinutes(this.maxRunMinutes).toNanos();
+        AdaptiveBatchController controller = new AdaptiveBatchController(this.minBatchSize,
+                this.maxBatchSize,
+                this.targetBatchMillis,
+                this.pauseMillis);
+        long deleted = 0L;
+        long backlog = -1L;
         try {
-            while (true) {
-                List<String> traceIds = this.flowTraceRepo.getExpiredTrace(expiredDays, LIMIT);
-                if (traceIds.isEmpty()) {
+            FlowTrace last = null;
+            while (System.nanoTime() < deadlineNanos) {
+                List<FlowTrace> traces =
+                        this.flowTraceRepo.getExpiredTrace(expiredBefore, last, controller.getBatchSize());
+                if (traces.isEmpty()) {
+                    backlog = 0L;
                     break;
                 }
-                deleteFlowContext(traceIds);
+                last = traces.get(traces.size() - 1);
+                long batchStart = System.nanoTime();
+                this.deleteFlowContext(traces.stream().map(FlowTrace::getId).collect(Collectors.toList()));
+                deleted += traces.size();
+                long pause = controller.onBatchCompleted(Duration.ofNanos(System.nanoTime() - batchStart).toMillis());
+                if (pause > 0) {
+                    SleepUtil.sleep(pause);
+                }
+            }
+            if (backlog < 0) {
+                backlog = this.flowTraceRepo.countExpiredTrace(expiredBefore);
             }
         } catch (Exception ex) {
-            log.error("Clean context error, error message: {}" + ex.getMessage());
+            log.error("Clean context error, error message: {}", ex.getMessage());
         }
+        double seconds = Math.max(1L, Duration.ofNanos(System.nanoTime() - startNanos).toMillis()) / 1000.0;
+        log.info("Finish clean flow expired contexts. [deletedTraces={}, tracesPerSecond={}, backlog={}]",
+                deleted,
+                String.format("%.1f", deleted / seconds),
+                backlog);
     }
 
     /**
@@ -0,0 +1,59 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.scheduletasks;
+
+import modelengine.fit.waterflow.flowsengine.biz.service.cache.FlowCacheService;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.schedule.annotation.Scheduled;
+
+import java.util.List;
+
+/**
+ * 定时预热流程运行时缓存。
+ * <p>服务启动后首次执行即加载近期活跃的流程版本，之后周期执行，使被淘汰的活跃流程在请求到来前重新加载，
+ * 同时输出缓存统计信息。</p>
+ *
+ * @author 杨祥宇
+ * @since 2025-04-10
+ */
+@Component
+public class FlowCacheWarmUpSchedule {
+    private static final Logger log = Logger.get(FlowCacheWarmUpSchedule.class);
+
+    private final FlowTraceRepo flowTraceRepo;
+    private final FlowCacheService flowCacheService;
+    private final int activeWithinHours;
+    private final int limit;
+
+    public FlowCacheWarmUpSchedule(FlowTraceRepo flowTraceRepo, FlowCacheService flowCacheService,
+            @Value("${jane.flowsEngine.cacheWarmUp.activeWithinHours}") int activeWithinHours,
+            @Value("${jane.flowsEngine.cacheWarmUp.limit}") int limit) {
+        this.flowTraceRepo = flowTraceRepo;
+        this.flowCacheService = flowCacheService;
+        this.activeWithinHours = activeWithinHours;
+        this.limit = limit;
+    }
+
+    /**
+     * 每 5 分钟预热一次近期活跃的流程版本。
+     * <p>多实例并发执行分析：各实例维护自身的本地缓存，互不影响。</p>
+     */
+    @Scheduled(strategy = Scheduled.Strategy.FIXED_RATE, value = "300000")
+    public void warmUp() {
+        try {
+            List<String> streamIds = this.flowTraceRepo.findRecentStreamIds(this.activeWithinHours, this.limit);
+            int loaded = this.flowCacheService.warmUp(streamIds);
+            log.info("Flow cache warmed up, active streams: {}, newly loaded: {}.", streamIds.size(), loaded);
+        } catch (Exception ex) {
+            log.error("Warm up flow cache error, error message: {}.", ex.getMessage());
+        }
+        this.flowCacheService.getStats().forEach((name, stats) -> log.info("Flow cache stats, {}: {}.", name, stats));
+    }
+}
@@ -6,29 +6,21 @@
 
 package modelengine.fit.waterflow.flowsengine.domain.flows.context;
 
-import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.TypeReference;
-import com.alibaba.fastjson.serializer.SerializerFeature;
-
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import modelengine.fit.waterflow.common.Constant;
-import modelengine.fit.waterflow.common.utils.ByteArraySerialiseUtilV1;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.codec.JsonFlowDataCodec;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.ObjectUtils;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 
-import static modelengine.fit.waterflow.ErrorCodes.FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR;
-import static modelengine.fit.waterflow.ErrorCodes.FLOW_SYSTEM_ERROR;
-
 /**
  * 流程实例运行时承载的业务数据
  * 使用对象存储代替JSONObject，FIT不支持传JSONObject
@@ -87,56 +79,7 @@ public class FlowData {
      * @return flowData对象
      */
     public static FlowData parseFromJson(String jsonData) {
-        JSONObject flowData = JSONObject.parseObject(jsonData, JSONObject.class,
-                ByteArraySerialiseUtilV1.getMapParserConfig());
-        Map<String, Object> contextDataMap = Optional.ofNullable(flowData.getJSONObject("contextData"))
-                .orElse(new JSONObject())
-                .toJavaObject(new TypeReference<HashMap<String, Object>>() {});
-
-        Map<String, Object> businessDataMap = Optional.ofNullable(flowData.getJSONObject("businessData"))
-                .orElse(new JSONObject())
-                .toJavaObject(new TypeReference<HashMap<String, Object>>() {});
-
-        Map<String, Object> passDataMap = Optional.ofNullable(flowData.getJSONObject("passData"))
-                .orElse(new JSONObject())
-                .toJavaObject(new TypeReference<HashMap<String, Object>>() {});
-
-        JSONObject errorInfoJson = Optional.ofNullable(flowData.getJSONObject("errorInfo")).orElse(new JSONObject());
-        ContextErrorInfo contextErrorInfo = getContextErrorInfo(errorInfoJson);
-
-        LocalDateTime currentTime = LocalDateTime.now();
-
-        return FlowData.builder()
-                .operator(flowData.getString(Constant.OPERATOR_KEY))
-                .startTime(currentTime)
-                .businessData(businessDataMap)
-                .contextData(contextDataMap)
-                .passData(passDataMap)
-                .errorMessage(flowData.getString("errorMessage"))
-                .errorInfo(contextErrorInfo)
-                .build();
-    }
-
-    private static ContextErrorInfo getContextErrorInfo(JSONObject errorInfoJson) {
-        Integer errorCode = null;
-        try {
-            errorCode = Optional.ofNullable(errorInfoJson.getString("errorCode"))
-                    .map(Integer::parseInt)
-                    .orElse(null);
-        } catch (NumberFormatException ex) {
-            // 兼容error code为message信息的版本
-            if (Objects.equals(errorInfoJson.getString("errorCode"), FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR.getMessage())) {
-                errorCode = FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR.getErrorCode();
-            } else {
-                errorCode = FLOW_SYSTEM_ERROR.getErrorCode();
-            }
-        }
-        return ContextErrorInfo.builder()
-                .errorCode(errorCode)
-                .errorMessage(errorInfoJson.getString("errorMessage"))
-                .fitableId(errorInfoJson.getString("fitableId"))
-                .nodeName(errorInfoJson.getString("nodeName"))
-                .build();
+        return JsonFlowDataCodec.INSTANCE.decode(jsonData);
     }
 
     /**
@@ -197,17 +140,7 @@ public class FlowData {
      * @return json字符串
      */
     public String translateToJson() {
-        FlowData data = FlowData.builder()
-                .businessData(this.businessData)
-                .contextData(this.contextData)
-                .passData(null)
-                .errorMessage(this.errorMessage)
-                .operator(this.operator)
-                .startTime(this.startTime)
-                .errorInfo(this.errorInfo)
-                .build();
-        return JSONObject.toJSONString(data, ByteArraySerialiseUtilV1.getSerializeConfig(),
-                SerializerFeature.DisableCircularReferenceDetect);
+        return JsonFlowDataCodec.INSTANCE.encode(this);
     }
 
     /**
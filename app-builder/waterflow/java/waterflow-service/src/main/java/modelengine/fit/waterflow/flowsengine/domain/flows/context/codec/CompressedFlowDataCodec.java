@@ -0,0 +1,108 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.codec;
+
+import com.alibaba.fastjson.JSONObject;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 对大数据量的 {@link FlowData} 进行 gzip 压缩的编解码器。
+ * <p>JSON 文本长度达到阈值时压缩并以 {@code {"$codec":"gzip","payload":"<base64>"}} 的形式落盘，
+ * 落盘列为 jsonb，因此压缩结果仍包装为 JSON；小于阈值及历史数据按 JSON 格式透明读写。
+ * 阈值小于等于 {@code 0} 时不再压缩，但仍能读取此前已压缩的数据。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/12
+ */
+public final class CompressedFlowDataCodec implements FlowDataCodec {
+    private static final String CODEC_KEY = "$codec";
+    private static final String PAYLOAD_KEY = "payload";
+    private static final String GZIP = "gzip";
+    private static final String ENVELOPE_PREFIX = "{\"" + CODEC_KEY + "\"";
+
+    private final FlowDataCodec delegate;
+    private final int compressThreshold;
+
+    /**
+     * 构造压缩编解码器。
+     *
+     * @param delegate 表示生成 JSON 文本的编解码器的 {@link FlowDataCodec}。
+     * @param compressThreshold 表示启用压缩的 JSON 文本长度阈值的 {@code int}，小于等于 {@code 0} 时只解压不压缩。
+     */
+    public CompressedFlowDataCodec(FlowDataCodec delegate, int compressThreshold) {
+        this.delegate = delegate;
+        this.compressThreshold = compressThreshold;
+    }
+
+    @Override
+    public String encode(FlowData flowData) {
+        String json = this.delegate.encode(flowData);
+        if (this.compressThreshold <= 0 || json.length() < this.compressThreshold) {
+            return json;
+        }
+        JSONObject envelope = new JSONObject(true);
+        envelope.put(CODEC_KEY, GZIP);
+        envelope.put(PAYLOAD_KEY, Base64.getEncoder().encodeToString(gzip(json)));
+        return envelope.toJSONString();
+    }
+
+    @Override
+    public FlowData decode(String data) {
+        return this.delegate.decode(this.toJson(data));
+    }
+
+    @Override
+    public String toJson(String data) {
+        if (!isCompressed(data)) {
+            return data;
+        }
+        JSONObject envelope = JSONObject.parseObject(data);
+        if (!GZIP.equals(envelope.getString(CODEC_KEY))) {
+            throw new IllegalStateException("Unsupported flow data codec: " + envelope.getString(CODEC_KEY));
+        }
+        return gunzip(Base64.getDecoder().decode(envelope.getString(PAYLOAD_KEY)));
+    }
+
+    /**
+     * 判断落盘文本是否为压缩格式，数据库 jsonb 列读出时会在冒号后补空格，因此只匹配首个键名。
+     *
+     * @param data 表示落盘文本的 {@link String}。
+     * @return 表示是否为压缩格式的 {@code boolean}。
+     */
+    public static boolean isCompressed(String data) {
+        return data != null && data.startsWith(ENVELOPE_PREFIX);
+    }
+
+    private static byte[] gzip(String json) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4);
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to compress flow data.", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String gunzip(byte[] compressed) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to decompress flow data.", e);
+        }
+    }
+}
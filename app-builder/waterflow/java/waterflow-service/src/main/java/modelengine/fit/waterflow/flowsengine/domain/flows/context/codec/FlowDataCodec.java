@@ -0,0 +1,55 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.codec;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+
+/**
+ * 流程上下文数据 {@link FlowData} 落盘格式的编解码器。
+ * <p>编码结果写入 {@code flow_context.flow_data} 列，必须是合法的 JSON 文本；解码必须兼容历史 JSON 格式的数据。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/12
+ */
+public interface FlowDataCodec {
+    /**
+     * 将流程数据编码为落盘文本，不包含 {@code passData}。
+     *
+     * @param flowData 表示流程数据的 {@link FlowData}。
+     * @return 表示落盘文本的 {@link String}。
+     */
+    String encode(FlowData flowData);
+
+    /**
+     * 将落盘文本解码为流程数据。
+     *
+     * @param data 表示落盘文本的 {@link String}。
+     * @return 表示流程数据的 {@link FlowData}。
+     */
+    FlowData decode(String data);
+
+    /**
+     * 将落盘文本还原为 {@link FlowData} 的 JSON 文本，供直接返回原始上下文数据的场景使用。
+     *
+     * @param data 表示落盘文本的 {@link String}。
+     * @return 表示 JSON 文本的 {@link String}。
+     */
+    default String toJson(String data) {
+        return data;
+    }
+
+    /**
+     * 根据压缩阈值创建编解码器。
+     * <p>阈值只影响编码；无论是否启用压缩，解码时都会识别并还原已压缩的数据，关闭压缩后历史压缩数据仍可读取。</p>
+     *
+     * @param compressThreshold 表示启用压缩的 JSON 文本长度阈值的 {@code int}，小于等于 {@code 0} 时不压缩。
+     * @return 表示编解码器的 {@link FlowDataCodec}。
+     */
+    static FlowDataCodec of(int compressThreshold) {
+        return new CompressedFlowDataCodec(JsonFlowDataCodec.INSTANCE, compressThreshold);
+    }
+}
@@ -0,0 +1,127 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.codec;
+
+import static modelengine.fit.waterflow.ErrorCodes.FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR;
+import static modelengine.fit.waterflow.ErrorCodes.FLOW_SYSTEM_ERROR;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+
+import modelengine.fit.waterflow.common.Constant;
+import modelengine.fit.waterflow.common.utils.ByteArraySerialiseUtilV1;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.ContextErrorInfo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fitframework.util.ObjectUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link FlowData} 的 JSON 编解码器。
+ * <p>编码时按字段直接写出，不再构造临时的 {@link FlowData} 走反射序列化；解码时只解析一次，
+ * 各数据区直接复用解析出的对象，不再通过 {@code toJavaObject} 二次转换。字段名及格式与历史数据保持一致。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/12
+ */
+public final class JsonFlowDataCodec implements FlowDataCodec {
+    /**
+     * 表示无状态的单例。
+     */
+    public static final JsonFlowDataCodec INSTANCE = new JsonFlowDataCodec();
+
+    private JsonFlowDataCodec() {}
+
+    @Override
+    public String encode(FlowData flowData) {
+        SerializeWriter out = new SerializeWriter(null, JSON.DEFAULT_GENERATE_FEATURE,
+                SerializerFeature.DisableCircularReferenceDetect);
+        try {
+            JSONSerializer serializer = new JSONSerializer(out, ByteArraySerialiseUtilV1.getSerializeConfig());
+            Map<String, Object> businessData = flowData.getBusinessData();
+            Map<String, Object> contextData = flowData.getContextData();
+            // 字段按名称排序写出，与反射序列化的历史格式一致。
+            out.write('{');
+            boolean hasField = writeField(serializer, false, "application",
+                    businessData == null ? null : flowData.getApplication());
+            hasField = writeField(serializer, hasField, "businessData", businessData);
+            hasField = writeField(serializer, hasField, "contextData", contextData);
+            hasField = writeField(serializer, hasField, "contextId",
+                    contextData == null ? null : flowData.getContextId());
+            hasField = writeField(serializer, hasField, "errorInfo", flowData.getErrorInfo());
+            hasField = writeField(serializer, hasField, "errorMessage", flowData.getErrorMessage());
+            hasField = writeField(serializer, hasField, Constant.OPERATOR_KEY, flowData.getOperator());
+            writeField(serializer, hasField, "startTime", flowData.getStartTime());
+            out.write('}');
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    private static boolean writeField(JSONSerializer serializer, boolean hasField, String name, Object value) {
+        if (value == null) {
+            return hasField;
+        }
+        if (hasField) {
+            serializer.out.write(',');
+        }
+        serializer.out.writeFieldName(name);
+        serializer.write(value);
+        return true;
+    }
+
+    @Override
+    public FlowData decode(String data) {
+        JSONObject flowData = JSONObject.parseObject(data, JSONObject.class,
+                ByteArraySerialiseUtilV1.getMapParserConfig());
+        return FlowData.builder()
+                .operator(flowData.getString(Constant.OPERATOR_KEY))
+                .startTime(LocalDateTime.now())
+                .businessData(toHashMap(flowData.get("businessData")))
+                .contextData(toHashMap(flowData.get("contextData")))
+                .passData(toHashMap(flowData.get("passData")))
+                .errorMessage(flowData.getString("errorMessage"))
+                .errorInfo(getContextErrorInfo(flowData.get("errorInfo")))
+                .build();
+    }
+
+    private static HashMap<String, Object> toHashMap(Object value) {
+        if (value instanceof Map) {
+            return new HashMap<>(ObjectUtils.<Map<String, Object>>cast(value));
+        }
+        return new HashMap<>();
+    }
+
+    private static ContextErrorInfo getContextErrorInfo(Object value) {
+        Map<String, Object> errorInfo = toHashMap(value);
+        String errorCodeValue = Objects.toString(errorInfo.get("errorCode"), null);
+        Integer errorCode = null;
+        try {
+            errorCode = errorCodeValue == null ? null : Integer.parseInt(errorCodeValue);
+        } catch (NumberFormatException ex) {
+            // 兼容error code为message信息的版本
+            if (Objects.equals(errorCodeValue, FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR.getMessage())) {
+                errorCode = FLOW_OHSCRIPT_INVOKE_FITABLE_ERROR.getErrorCode();
+            } else {
+                errorCode = FLOW_SYSTEM_ERROR.getErrorCode();
+            }
+        }
+        return ContextErrorInfo.builder()
+                .errorCode(errorCode)
+                .errorMessage(Objects.toString(errorInfo.get("errorMessage"), null))
+                .fitableId(Objects.toString(errorInfo.get("fitableId"), null))
+                .nodeName(Objects.toString(errorInfo.get("nodeName"), null))
+                .build();
+    }
+}
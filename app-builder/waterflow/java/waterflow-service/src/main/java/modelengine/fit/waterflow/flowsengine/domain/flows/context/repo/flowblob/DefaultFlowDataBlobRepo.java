@@ -0,0 +1,69 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowblob;
+
+import lombok.RequiredArgsConstructor;
+import modelengine.fit.waterflow.flowsengine.persist.mapper.FlowDataBlobMapper;
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowDataBlobPO;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.util.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link FlowDataBlobRepo}默认实现类
+ *
+ * @author 高诗意
+ * @since 2025/03/14
+ */
+@Component
+@RequiredArgsConstructor
+public class DefaultFlowDataBlobRepo implements FlowDataBlobRepo {
+    private final FlowDataBlobMapper flowDataBlobMapper;
+
+    @Override
+    public void saveIfAbsent(String traceId, Map<String, String> blobs) {
+        if (blobs == null || blobs.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<FlowDataBlobPO> pos = blobs.entrySet()
+                .stream()
+                .map(entry -> FlowDataBlobPO.builder()
+                        .blobId(entry.getKey())
+                        .traceId(traceId)
+                        .data(entry.getValue())
+                        .createAt(now)
+                        .build())
+                .collect(Collectors.toList());
+        flowDataBlobMapper.batchCreateIfAbsent(pos);
+    }
+
+    @Override
+    public Map<String, String> findByIds(Collection<String> blobIds) {
+        if (CollectionUtils.isEmpty(blobIds)) {
+            return Collections.emptyMap();
+        }
+        return flowDataBlobMapper.findByIdList(new ArrayList<>(blobIds))
+                .stream()
+                .collect(Collectors.toMap(FlowDataBlobPO::getBlobId, FlowDataBlobPO::getData));
+    }
+
+    @Override
+    public void deleteByTraceIdList(List<String> traceIds) {
+        if (CollectionUtils.isEmpty(traceIds)) {
+            return;
+        }
+        flowDataBlobMapper.deleteByTraceIdList(traceIds);
+    }
+}
@@ -0,0 +1,43 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowblob;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流程上下文外置数据的存储仓库。
+ * <p>外置数据只追加不修改，唯一标识由链路和内容计算得出，重复保存相同内容不会产生新记录。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/14
+ */
+public interface FlowDataBlobRepo {
+    /**
+     * 批量保存外置数据，唯一标识已存在时忽略。
+     *
+     * @param traceId 表示所属链路唯一标识的 {@link String}。
+     * @param blobs 表示外置数据唯一标识到内容的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     */
+    void saveIfAbsent(String traceId, Map<String, String> blobs);
+
+    /**
+     * 根据唯一标识批量查询外置数据。
+     *
+     * @param blobIds 表示外置数据唯一标识集合的 {@link Collection}{@code <}{@link String}{@code >}。
+     * @return 表示外置数据唯一标识到内容的 {@link Map}{@code <}{@link String}{@code , }{@link String}{@code >}。
+     */
+    Map<String, String> findByIds(Collection<String> blobIds);
+
+    /**
+     * 根据链路唯一标识列表删除外置数据。
+     *
+     * @param traceIds 表示流程链路唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    void deleteByTraceIdList(List<String> traceIds);
+}
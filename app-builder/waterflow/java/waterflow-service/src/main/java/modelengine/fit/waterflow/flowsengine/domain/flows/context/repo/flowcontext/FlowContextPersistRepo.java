@@ -20,6 +20,8 @@ import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowRetry;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrans;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.codec.FlowDataCodec;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowblob.FlowDataBlobRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowretry.FlowRetryRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrace.FlowTraceRepo;
 import modelengine.fit.waterflow.flowsengine.domain.flows.enums.FlowNodeStatus;
@@ -42,6 +44,7 @@ import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -80,10 +83,18 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     private final Integer defaultLimitation;
 
+    private final FlowDataCodec flowDataCodec;
+
+    private final FlowDataBlobRepo blobRepo;
+
+    private final FlowDataOffloader offloader;
+
     public FlowContextPersistRepo(FlowContextMapper contextMapper, FlowTraceRepo traceRepo, FlowRetryRepo retryRepo,
             TraceOwnerService traceOwnerService, @Value("${modelengine.limit}") Integer limit,
             @Value("${modelengine.useLimit}") boolean hasUseLimit,
-            @Value("${jane.flowsEngine.retry.maxCount}") long maxRetryCount) {
+            @Value("${jane.flowsEngine.retry.maxCount}") long maxRetryCount,
+            @Value("${jane.flowsEngine.flowData.compressThreshold}") int compressThreshold, FlowDataBlobRepo blobRepo,
+            @Value("${jane.flowsEngine.flowData.offloadThreshold}") int offloadThreshold) {
         this.traceOwnerService = traceOwnerService;
         this.useLimit = hasUseLimit;
         this.contextMapper = contextMapper;
@@ -91,6 +102,11 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
         this.retryRepo = retryRepo;
         this.defaultLimitation = limit;
         this.maxRetryCount = maxRetryCount;
+        this.flowDataCodec = FlowDataCodec.of(compressThreshold);
+        this.blobRepo = blobRepo;
+        this.offloader = blobRepo == null || offloadThreshold <= 0
+                ? null
+                : new FlowDataOffloader(blobRepo, offloadThreshold);
     }
 
     /**
@@ -226,10 +242,11 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     @Override
     public void updateFlowData(Map<String, FlowData> flowDataList) {
+        Map<String, String> traceKeys = this.getTraceKeys(flowDataList);
         this.contextMapper.updateFlowData(flowDataList.entrySet()
                 .stream()
                 .collect(Collectors.toMap(Map.Entry<String, FlowData>::getKey,
-                        entry -> entry.getValue().translateToJson())));
+                        entry -> this.encodeFlowData(traceKeys.get(entry.getKey()), entry.getValue()))));
     }
 
     @Override
@@ -425,7 +442,7 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             .transId(context.getTrans().getId())
             .rootId(context.getRootId())
             .streamId(context.getStreamId())
-            .flowData(context.getData().translateToJson())
+            .flowData(this.encodeFlowData(traceId, context.getData()))
             .positionId(context.getPosition())
             .status(context.getStatus().toString())
             .parallel(context.getParallel())
@@ -452,7 +469,10 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
 
     private FlowContext<String> serializerAsString(FlowContextPO po) {
         Set<String> traceIds = convertTraceIds(po);
-        FlowContext<String> context = new FlowContext<>(po.getStreamId(), po.getRootId(), po.getFlowData(), traceIds,
+        String flowData = po.getFlowData() == null
+                ? null
+                : this.restoreJson(this.flowDataCodec.toJson(po.getFlowData()));
+        FlowContext<String> context = new FlowContext<>(po.getStreamId(), po.getRootId(), flowData, traceIds,
                 po.getPositionId(), po.getParallel(), po.getParallelMode(), LocalDateTime.now());
         convertOthers(po, context);
         return context;
@@ -480,12 +500,54 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
     }
 
     private FlowData getFlowData(FlowContextPO po) {
-        FlowData flowData = FlowData.parseFromJson(po.getFlowData());
+        FlowData flowData = this.flowDataCodec.decode(po.getFlowData());
+        if (this.offloader != null) {
+            this.offloader.restore(po.getTraceId(), flowData.getBusinessData());
+        }
         flowData.setPassData(ObjectUtils.cast(flowData.getBusinessData().get(PASS_DATA)));
         flowData.getBusinessData().remove(PASS_DATA);
         return flowData;
     }
 
+    private String encodeFlowData(String traceId, FlowData flowData) {
+        FlowData stored = this.offloader == null ? flowData : this.offloader.offload(traceId, flowData);
+        return this.flowDataCodec.encode(stored);
+    }
+
+    private String restoreJson(String json) {
+        return this.offloader == null ? json : this.offloader.restoreJson(json);
+    }
+
+    private Map<String, String> getTraceKeys(Map<String, FlowData> flowDataList) {
+        Map<String, String> traceKeys = new HashMap<>();
+        flowDataList.forEach((contextId, flowData) -> traceKeys.put(contextId, getTraceKey(flowData)));
+        if (this.offloader == null) {
+            return traceKeys;
+        }
+        // 外置数据按上下文所属链路清理，上下文数据中缺少链路信息时以库中记录的链路为准。
+        List<String> unknown = traceKeys.entrySet()
+                .stream()
+                .filter(entry -> StringUtils.isEmpty(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            this.contextMapper.findWithoutFlowDataByContextIdList(unknown)
+                    .forEach(po -> traceKeys.put(po.getContextId(), po.getTraceId()));
+        }
+        return traceKeys;
+    }
+
+    private static String getTraceKey(FlowData flowData) {
+        Object traceIds = flowData.getContextData() == null ? null : flowData.getContextData().get("flowTraceIds");
+        if (!(traceIds instanceof List)) {
+            return StringUtils.EMPTY;
+        }
+        return ObjectUtils.<List<Object>>cast(traceIds)
+                .stream()
+                .map(String::valueOf)
+                .collect(Collectors.joining(TRACE_ID_SEPARATE));
+    }
+
     /**
      * updateStatus
      *
@@ -743,5 +805,8 @@ public class FlowContextPersistRepo implements FlowContextRepo<FlowData> {
             return;
         }
         contextMapper.deleteByTraceIdList(traceIdList);
+        if (this.blobRepo != null) {
+            this.blobRepo.deleteByTraceIdList(traceIdList);
+        }
     }
 }
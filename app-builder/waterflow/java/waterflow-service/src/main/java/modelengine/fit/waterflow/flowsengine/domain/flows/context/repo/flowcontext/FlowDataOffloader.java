@@ -0,0 +1,354 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static modelengine.fit.waterflow.common.Constant.BUSINESS_DATA_INTERNAL_KEY;
+import static modelengine.fit.waterflow.common.Constant.INTERNAL_EXECUTE_INFO_KEY;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import modelengine.fit.waterflow.common.utils.ByteArraySerialiseUtilV1;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowblob.FlowDataBlobRepo;
+import modelengine.fitframework.inspection.Validation;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.ObjectUtils;
+import modelengine.fitframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 流程上下文数据的外置存储处理类。
+ * <p>节点执行信息以及序列化后超过阈值的业务数据会以 {@code FLOW_BLOB_REF:<id>} 的引用形式写入上下文，
+ * 实际内容写入 flow_data_blob 表。外置数据以链路和内容计算唯一标识，只追加不修改。读取时引用会被还原为原始内容。</p>
+ * <p>每次写入都会对当前引用的全部外置数据执行幂等写入（已存在时不做任何修改），
+ * 外置数据与上下文在同一事务中写入，事务回滚后重试时外置数据会被重新写入，不会留下找不到内容的引用。</p>
+ * <p>节点执行信息写入后不再变化，已经外置或还原过的执行信息对象会记录其引用和内容，后续写入时直接复用，
+ * 不再重复序列化和计算摘要；近期写入或读取过的外置内容缓存在本地，还原时只向数据库查询缓存中不存在的内容。</p>
+ *
+ * @author 高诗意
+ * @since 2025/03/14
+ */
+public class FlowDataOffloader {
+    /**
+     * 外置数据引用的前缀。
+     */
+    public static final String REFERENCE_PREFIX = "FLOW_BLOB_REF:";
+
+    private static final Logger log = Logger.get(FlowDataOffloader.class);
+
+    private static final String VALUE_KEY = "v";
+
+    private final FlowDataBlobRepo blobRepo;
+
+    private final int threshold;
+
+    private static final long MAX_CACHED_CONTENT_LENGTH = 64L * 1024 * 1024;
+
+    private final Cache<String, String> blobContents = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_CONTENT_LENGTH)
+            .<String, String>weigher((blobId, content) -> content.length())
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
+
+    private final Cache<Object, BlobReference> executeInfoReferences = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(100000)
+            .build();
+
+    /**
+     * 构造外置存储处理类。
+     *
+     * @param blobRepo 表示外置数据存储仓库的 {@link FlowDataBlobRepo}。
+     * @param threshold 表示业务数据外置阈值（字符数）的 {@code int}。
+     */
+    public FlowDataOffloader(FlowDataBlobRepo blobRepo, int threshold) {
+        Validation.notNull(blobRepo, "Flow data blob repo cannot be null.");
+        Validation.isTrue(threshold > 0, "Offload threshold must be positive.");
+        this.blobRepo = blobRepo;
+        this.threshold = threshold;
+    }
+
+    /**
+     * 将上下文数据中需要外置的内容写入外置存储，并返回以引用替换后的数据。
+     * <p>原始数据不会被修改。链路唯一标识为空时外置数据无法随链路清理，此时不做外置。</p>
+     *
+     * @param traceId 表示所属链路唯一标识的 {@link String}。
+     * @param flowData 表示上下文数据的 {@link FlowData}。
+     * @return 表示替换后的上下文数据的 {@link FlowData}。
+     */
+    public FlowData offload(String traceId, FlowData flowData) {
+        Map<String, Object> businessData = flowData.getBusinessData();
+        if (StringUtils.isBlank(traceId) || businessData == null || businessData.isEmpty()) {
+            return flowData;
+        }
+        Map<String, String> blobs = new LinkedHashMap<>();
+        Map<String, Object> replaced = new HashMap<>(businessData);
+        businessData.forEach((key, value) -> {
+            if (BUSINESS_DATA_INTERNAL_KEY.equals(key)) {
+                replaced.put(key, this.offloadInternal(traceId, value, blobs));
+                return;
+            }
+            if (!this.mayExceedThreshold(value)) {
+                return;
+            }
+            String content = toBlobContent(value);
+            if (content != null && content.length() > this.threshold) {
+                replaced.put(key, this.reference(traceId, content, blobs));
+            }
+        });
+        if (blobs.isEmpty() && !this.hasReplacedInternal(businessData, replaced)) {
+            return flowData;
+        }
+        this.save(traceId, blobs);
+        this.rememberExecuteInfoReferences(traceId, businessData, replaced, blobs);
+        return FlowData.builder()
+                .operator(flowData.getOperator())
+                .startTime(flowData.getStartTime())
+                .businessData(replaced)
+                .contextData(flowData.getContextData())
+                .passData(flowData.getPassData())
+                .errorMessage(flowData.getErrorMessage())
+                .errorInfo(flowData.getErrorInfo())
+                .build();
+    }
+
+    /**
+     * 将业务数据中的外置引用还原为原始内容，直接修改传入的业务数据。
+     * <p>还原出的节点执行信息会记录其引用，同一链路后续写入时直接复用，无需重新外置。</p>
+     *
+     * @param traceId 表示所属链路唯一标识的 {@link String}。
+     * @param businessData 表示业务数据的 {@link Map}{@code <}{@link String}{@code , }{@link Object}{@code >}。
+     */
+    public void restore(String traceId, Map<String, Object> businessData) {
+        if (businessData == null || businessData.isEmpty()) {
+            return;
+        }
+        Map<String, Object> executeInfo = getExecuteInfo(businessData);
+        Set<String> blobIds = new HashSet<>();
+        collectBlobIds(businessData, blobIds);
+        if (executeInfo != null) {
+            collectBlobIds(executeInfo, blobIds);
+        }
+        if (blobIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> blobs = this.findBlobs(blobIds);
+        businessData.replaceAll((key, value) -> this.restoreValue(key, value, blobs, null));
+        if (executeInfo != null) {
+            executeInfo.replaceAll((key, value) -> this.restoreValue(key, value, blobs, traceId));
+        }
+    }
+
+    /**
+     * 将 JSON 格式的上下文数据中的外置引用还原为原始内容。
+     *
+     * @param json 表示上下文数据的 JSON 字符串的 {@link String}。
+     * @return 表示还原后的 JSON 字符串的 {@link String}。
+     */
+    public String restoreJson(String json) {
+        if (json == null || !json.contains(REFERENCE_PREFIX)) {
+            return json;
+        }
+        JSONObject flowData = JSONObject.parseObject(json, JSONObject.class,
+                ByteArraySerialiseUtilV1.getMapParserConfig());
+        Object businessData = flowData.get("businessData");
+        if (!(businessData instanceof Map)) {
+            return json;
+        }
+        this.restore(null, ObjectUtils.cast(businessData));
+        return JSON.toJSONString(flowData, ByteArraySerialiseUtilV1.getSerializeConfig(),
+                SerializerFeature.DisableCircularReferenceDetect);
+    }
+
+    private Object offloadInternal(String traceId, Object internal, Map<String, String> blobs) {
+        if (!(internal instanceof Map)) {
+            return internal;
+        }
+        Map<String, Object> internalMap = ObjectUtils.cast(internal);
+        Object executeInfo = internalMap.get(INTERNAL_EXECUTE_INFO_KEY);
+        if (!(executeInfo instanceof Map) || ObjectUtils.<Map<String, Object>>cast(executeInfo).isEmpty()) {
+            return internal;
+        }
+        // 节点执行信息随节点数增长，且每个节点写入后不再变化，逐节点外置后每次只需写入当前节点的增量。
+        Map<String, Object> replacedExecuteInfo = ObjectUtils.<Map<String, Object>>cast(executeInfo)
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+                    BlobReference known = this.knownReference(traceId, entry.getValue());
+                    if (known != null) {
+                        blobs.put(known.getBlobId(), known.getContent());
+                        return REFERENCE_PREFIX + known.getBlobId();
+                    }
+                    String content = toBlobContent(entry.getValue());
+                    return content == null ? entry.getValue() : this.reference(traceId, content, blobs);
+                }, (first, second) -> second, HashMap::new));
+        Map<String, Object> replacedInternal = new HashMap<>(internalMap);
+        replacedInternal.put(INTERNAL_EXECUTE_INFO_KEY, replacedExecuteInfo);
+        return replacedInternal;
+    }
+
+    private boolean hasReplacedInternal(Map<String, Object> businessData, Map<String, Object> replaced) {
+        return businessData.get(BUSINESS_DATA_INTERNAL_KEY) != replaced.get(BUSINESS_DATA_INTERNAL_KEY);
+    }
+
+    private String reference(String traceId, String content, Map<String, String> blobs) {
+        String blobId = blobId(traceId, content);
+        blobs.put(blobId, content);
+        return REFERENCE_PREFIX + blobId;
+    }
+
+    private void save(String traceId, Map<String, String> blobs) {
+        if (blobs.isEmpty()) {
+            return;
+        }
+        // 本地缓存无法感知事务回滚，不能据此跳过写入，由数据库的幂等写入保证已存在的数据不被重复插入。
+        this.blobRepo.saveIfAbsent(traceId, blobs);
+        this.blobContents.putAll(blobs);
+    }
+
+    private Map<String, String> findBlobs(Set<String> blobIds) {
+        Map<String, String> blobs = new HashMap<>(this.blobContents.getAllPresent(blobIds));
+        Set<String> missing = blobIds.stream().filter(blobId -> !blobs.containsKey(blobId)).collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            Map<String, String> loaded = this.blobRepo.findByIds(missing);
+            this.blobContents.putAll(loaded);
+            blobs.putAll(loaded);
+        }
+        return blobs;
+    }
+
+    private Object restoreValue(String key, Object value, Map<String, String> blobs, String traceId) {
+        if (!isReference(value)) {
+            return value;
+        }
+        String blobId = ObjectUtils.<String>cast(value).substring(REFERENCE_PREFIX.length());
+        String content = blobs.get(blobId);
+        if (content == null) {
+            log.warn("Flow data blob is missing, keep the reference. [key={}, blobId={}]", key, blobId);
+            return value;
+        }
+        Object restored = fromBlobContent(content);
+        if (traceId != null && restored != null) {
+            this.executeInfoReferences.put(restored, new BlobReference(traceId, blobId, content));
+        }
+        return restored;
+    }
+
+    private BlobReference knownReference(String traceId, Object value) {
+        if (value == null || isReference(value)) {
+            return null;
+        }
+        BlobReference reference = this.executeInfoReferences.getIfPresent(value);
+        if (reference == null || !reference.getTraceId().equals(traceId)) {
+            return null;
+        }
+        return reference;
+    }
+
+    private void rememberExecuteInfoReferences(String traceId, Map<String, Object> businessData,
+            Map<String, Object> replaced, Map<String, String> blobs) {
+        Map<String, Object> executeInfo = getExecuteInfo(businessData);
+        Map<String, Object> replacedExecuteInfo = getExecuteInfo(replaced);
+        if (executeInfo == null || replacedExecuteInfo == null) {
+            return;
+        }
+        executeInfo.forEach((key, value) -> {
+            Object reference = replacedExecuteInfo.get(key);
+            if (value != null && !isReference(value) && isReference(reference)) {
+                String blobId = ObjectUtils.<String>cast(reference).substring(REFERENCE_PREFIX.length());
+                this.executeInfoReferences.put(value, new BlobReference(traceId, blobId, blobs.get(blobId)));
+            }
+        });
+    }
+
+    private boolean mayExceedThreshold(Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return false;
+        }
+        // 字符串序列化后每个字符最多转义为 6 个字符，另有固定的包装开销，不可能超过阈值时无需序列化。
+        return !(value instanceof String) || ObjectUtils.<String>cast(value).length() * 6L + 16 > this.threshold;
+    }
+
+    private static Map<String, Object> getExecuteInfo(Map<String, Object> businessData) {
+        Object internal = businessData.get(BUSINESS_DATA_INTERNAL_KEY);
+        if (!(internal instanceof Map)) {
+            return null;
+        }
+        Object executeInfo = ObjectUtils.<Map<String, Object>>cast(internal).get(INTERNAL_EXECUTE_INFO_KEY);
+        return executeInfo instanceof Map ? ObjectUtils.cast(executeInfo) : null;
+    }
+
+    private static void collectBlobIds(Map<String, Object> holder, Set<String> blobIds) {
+        holder.values().forEach(value -> {
+            if (isReference(value)) {
+                blobIds.add(ObjectUtils.<String>cast(value).substring(REFERENCE_PREFIX.length()));
+            }
+        });
+    }
+
+    private static boolean isReference(Object value) {
+        return value instanceof String && ObjectUtils.<String>cast(value).startsWith(REFERENCE_PREFIX);
+    }
+
+    private static String toBlobContent(Object value) {
+        if (value == null || isReference(value)) {
+            return null;
+        }
+        Map<String, Object> wrapper = new HashMap<>();
+        wrapper.put(VALUE_KEY, value);
+        // 按键排序写出，保证相同内容得到相同的唯一标识。
+        return JSON.toJSONString(wrapper, ByteArraySerialiseUtilV1.getSerializeConfig(),
+                SerializerFeature.DisableCircularReferenceDetect, SerializerFeature.MapSortField);
+    }
+
+    private static Object fromBlobContent(String content) {
+        JSONObject wrapper = JSONObject.parseObject(content, JSONObject.class,
+                ByteArraySerialiseUtilV1.getMapParserConfig());
+        return wrapper.get(VALUE_KEY);
+    }
+
+    private static String blobId(String traceId, String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(Objects.toString(traceId, "").getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) ':');
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported.", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class BlobReference {
+        private final String traceId;
+
+        private final String blobId;
+
+        private final String content;
+    }
+}
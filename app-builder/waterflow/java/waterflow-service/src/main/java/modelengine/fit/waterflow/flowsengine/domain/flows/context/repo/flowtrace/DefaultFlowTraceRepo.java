@@ -102,10 +102,23 @@ public class DefaultFlowTraceRepo implements FlowTraceRepo {
     }
 
     @Override
-    public List<String> getExpiredTrace(int expiredDays, int limit) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime expired = now.minusDays(expiredDays);
-        return flowTraceMapper.getExpiredTrace(expired, limit);
+    public List<String> findRecentStreamIds(int withinHours, int limit) {
+        return flowTraceMapper.findRecentStreamIds(LocalDateTime.now().minusHours(withinHours), limit);
+    }
+
+    @Override
+    public List<FlowTrace> getExpiredTrace(LocalDateTime expiredBefore, FlowTrace after, int limit) {
+        LocalDateTime afterEndTime = after == null ? null : after.getEndTime();
+        String afterTraceId = after == null ? null : after.getId();
+        return flowTraceMapper.findExpiredTraceKeys(expiredBefore, afterEndTime, afterTraceId, limit)
+                .stream()
+                .map(this::serializer)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public long countExpiredTrace(LocalDateTime expiredBefore) {
+        return flowTraceMapper.countExpiredTrace(expiredBefore);
     }
 
     private FlowTracePO serializer(FlowTrace flowTrace) {
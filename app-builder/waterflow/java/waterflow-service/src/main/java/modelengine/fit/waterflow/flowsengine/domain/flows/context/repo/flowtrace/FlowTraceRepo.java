@@ -8,6 +8,7 @@ package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowtrac
 
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowTrace;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -101,11 +102,29 @@ public interface FlowTraceRepo {
     void deleteByIdList(List<String> traceIds);
 
     /**
-     * 查询超期并且已完成的链路唯一标识。
+     * 查询最近有流程实例启动的流程版本标识，按最近启动时间倒序。
      *
-     * @param expiredDays 表示超期天数的 {@code int}。
+     * @param withinHours 表示统计的时间窗口（小时）的 {@code int}。
      * @param limit 表示查询限制的 {@code int}。
-     * @return 表示链路唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示流程版本标识列表的 {@link List}{@code <}{@link String}{@code >}。
      */
-    List<String> getExpiredTrace(int expiredDays, int limit);
+    List<String> findRecentStreamIds(int withinHours, int limit);
+
+    /**
+     * 按结束时间和链路唯一标识键集分页查询超期的链路，返回的链路只包含唯一标识、结束时间和状态。
+     *
+     * @param expiredBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param after 表示上一页最后一条链路的 {@link FlowTrace}，首页为 {@code null}。
+     * @param limit 表示查询限制的 {@code int}。
+     * @return 表示超期链路列表的 {@link List}{@code <}{@link FlowTrace}{@code >}。
+     */
+    List<FlowTrace> getExpiredTrace(LocalDateTime expiredBefore, FlowTrace after, int limit);
+
+    /**
+     * 统计超期的链路数量。
+     *
+     * @param expiredBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @return 表示超期链路数量的 {@code long}。
+     */
+    long countExpiredTrace(LocalDateTime expiredBefore);
 }
@@ -86,9 +86,10 @@ public class FlowConditionNode extends FlowNode {
         log.info("[flowEngines] stream {} condition node {} with origin rule {}", streamId, this.metaId,
                 event.getConditionRule());
 
+        OhScriptExecutor.compile(event.getConditionRule());
         return (input) -> {
             String conditionRule = event.getConditionRule();
-            log.info("[flowEngines] stream {} condition node {} with rule {}", streamId, this.metaId, conditionRule);
+            log.debug("[flowEngines] stream {} condition node {} with rule {}", streamId, this.metaId, conditionRule);
             return OhScriptExecutor.evaluateConditionRule(input.getData(), conditionRule);
         };
     }
@@ -0,0 +1,45 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.persist.mapper;
+
+import modelengine.fit.waterflow.flowsengine.persist.po.FlowDataBlobPO;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * flow data blob对应MybatisMapper类
+ *
+ * @author 高诗意
+ * @since 2025/03/14
+ */
+@Mapper
+public interface FlowDataBlobMapper {
+    /**
+     * 批量保存外置数据，唯一标识已存在时忽略
+     *
+     * @param blobs {@link FlowDataBlobPO} 外置数据PO对象列表
+     */
+    void batchCreateIfAbsent(@Param("blobs") List<FlowDataBlobPO> blobs);
+
+    /**
+     * 根据唯一标识列表查询外置数据
+     *
+     * @param blobIds 外置数据唯一标识列表
+     * @return 外置数据PO对象列表
+     */
+    List<FlowDataBlobPO> findByIdList(@Param("blobIds") List<String> blobIds);
+
+    /**
+     * 根据链路唯一标识列表删除外置数据
+     *
+     * @param traceIds 流程链路唯一标识列表
+     */
+    void deleteByTraceIdList(@Param("traceIds") List<String> traceIds);
+}
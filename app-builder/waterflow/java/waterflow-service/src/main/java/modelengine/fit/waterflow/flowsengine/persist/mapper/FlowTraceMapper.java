@@ -122,4 +122,33 @@ public interface FlowTraceMapper {
      * @return 表示链路唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
      */
     List<String> getExpiredTrace(LocalDateTime expiredDays, int limit);
+
+    /**
+     * 查询指定时间之后有流程实例启动的流程版本标识，按最近启动时间倒序。
+     *
+     * @param since 表示起始时间的 {@link LocalDateTime}。
+     * @param limit 表示查询限制的 {@code int}。
+     * @return 表示流程版本标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> findRecentStreamIds(LocalDateTime since, int limit);
+
+    /**
+     * 按结束时间和链路唯一标识键集分页查询超期的链路，只返回链路唯一标识、结束时间和状态。
+     *
+     * @param expiredBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @param afterEndTime 表示上一页最后一条链路结束时间的 {@link LocalDateTime}，首页为 {@code null}。
+     * @param afterTraceId 表示上一页最后一条链路唯一标识的 {@link String}，首页为 {@code null}。
+     * @param limit 表示查询限制的 {@code int}。
+     * @return 表示超期链路列表的 {@link List}{@code <}{@link FlowTracePO}{@code >}。
+     */
+    List<FlowTracePO> findExpiredTraceKeys(LocalDateTime expiredBefore, LocalDateTime afterEndTime,
+            String afterTraceId, int limit);
+
+    /**
+     * 统计超期的链路数量。
+     *
+     * @param expiredBefore 表示超期时间点的 {@link LocalDateTime}。
+     * @return 表示超期链路数量的 {@code long}。
+     */
+    long countExpiredTrace(LocalDateTime expiredBefore);
 }
@@ -7,6 +7,8 @@
 package modelengine.fit.waterflow.flowsengine.utils;
 
 import com.alibaba.fastjson.JSONObject;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import modelengine.fit.waterflow.ErrorCodes;
 import modelengine.fit.waterflow.exceptions.WaterflowException;
@@ -17,7 +19,6 @@ import modelengine.fit.ohscript.script.interpreter.ASTEnv;
 import modelengine.fit.ohscript.script.parser.AST;
 import modelengine.fit.ohscript.script.parser.ParserBuilder;
 import modelengine.fit.waterflow.common.Constant;
-import modelengine.fit.waterflow.common.utils.UuidUtils;
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.ObjectUtils;
@@ -26,6 +27,8 @@ import modelengine.fitframework.util.StringUtils;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * OhScript执行类
@@ -44,7 +47,40 @@ public final class OhScriptExecutor {
 
     private static final Logger log = Logger.get(OhScriptExecutor.class);
 
-    private static final ThreadLocal<Map<String, AST>> AST_CACHE = new ThreadLocal<>();
+    /**
+     * 全局缓存的条件规则数量上限。
+     */
+    private static final long MAX_CACHED_CONDITIONS = 10000L;
+
+    /**
+     * 单个条件规则缓存的空闲语法树数量上限，语法树执行时需要独占，超过该数量的并发执行会临时解析。
+     */
+    private static final int MAX_IDLE_AST_PER_CONDITION = 8;
+
+    private static final Cache<String, CompiledCondition> CONDITION_CACHE =
+            Caffeine.newBuilder().maximumSize(MAX_CACHED_CONDITIONS).build();
+
+    /**
+     * 预编译条件规则，在流程定义加载时调用，避免首次执行时解析脚本。
+     * <p>预编译失败不抛出异常，脚本错误会在执行时按原有方式报告。</p>
+     *
+     * @param conditionRule 需要预编译的条件表达式
+     */
+    public static void compile(String conditionRule) {
+        if (StringUtils.isBlank(conditionRule)) {
+            return;
+        }
+        CompiledCondition condition = getCompiledCondition(conditionRule);
+        if (condition.hasIdle()) {
+            return;
+        }
+        try {
+            condition.release(parse(condition.ohScript, new JSONObject()));
+        } catch (RuntimeException e) {
+            log.debug("Failed to precompile condition rule, will parse on evaluation. [rule={}, cause={}]",
+                    conditionRule, e.getMessage());
+        }
+    }
 
     /**
      * 执行用户给定的OhScript条件判定脚本，返回判定结果
@@ -54,21 +90,13 @@ public final class OhScriptExecutor {
      * @return 条件表达式的判定结果
      */
     public static boolean evaluateConditionRule(FlowData flowData, String conditionRule) {
-        ParserBuilder parserBuilder = new ParserBuilder();
+        CompiledCondition condition = getCompiledCondition(conditionRule);
+        // JSONObject(Map) 直接包装原业务数据，不复制。
         JSONObject businessData = new JSONObject(
-                Optional.ofNullable(flowData.getBusinessData()).orElse(new JSONObject()));
-        String formatConditionRule = FlowUtil.formatConditionRule(conditionRule).trim();
-        // 兼容历史 !{{var}}类型，且传入的是字符串类型的true/false
-        boolean isPatternOfNot = false;
-        if (FlowUtil.isPatternOfNot(conditionRule)) {
-            isPatternOfNot = true;
-            formatConditionRule = formatConditionRule.substring(1);
-        }
-        String ohScript = CODE_SEGMENT_PREFIX + formatConditionRule;
-        String uuid = UuidUtils.fastUuid();
-        log.warn("uuid:{0}, evaluateConditionRule:{1}", uuid, ohScript);
-        Object execResult = getExecResult(conditionRule, parserBuilder, ohScript, businessData);
-        log.warn("uuid:{0}, execResult:{1}", uuid, execResult);
+                Optional.ofNullable(flowData.getBusinessData()).orElseGet(HashMap::new));
+        String ohScript = condition.ohScript;
+        Object execResult = getExecResult(conditionRule, condition, businessData);
+        log.debug("evaluateConditionRule:{0}, execResult:{1}", ohScript, execResult);
         if (execResult instanceof String) {
             if ("TRUE".equalsIgnoreCase(ObjectUtils.cast(execResult))) {
                 execResult = true;
@@ -84,17 +112,26 @@ public final class OhScriptExecutor {
             throw new WaterflowException(ErrorCodes.TYPE_CONVERT_FAILED);
         }
         boolean result = ObjectUtils.cast(execResult);
-        return isPatternOfNot ? !result : result;
+        return condition.isPatternOfNot ? !result : result;
     }
 
-    private static Object getExecResult(String conditionRule, ParserBuilder parserBuilder, String code,
+    private static CompiledCondition getCompiledCondition(String conditionRule) {
+        return CONDITION_CACHE.get(conditionRule, CompiledCondition::new);
+    }
+
+    private static Object getExecResult(String conditionRule, CompiledCondition condition,
             Map<String, Object> businessData) {
+        String code = condition.ohScript;
         Object execResult;
         try {
-            AST ast = buildAst(parserBuilder, code, businessData);
+            AST ast = condition.acquire();
+            if (ast == null) {
+                ast = parse(code, businessData);
+            }
             ASTEnv env = new ASTEnv(ast);
             env.grant(Constant.BUSINESS_DATA_KEY, businessData);
             execResult = env.execute();
+            condition.release(ast);
         } catch (GrammarSyntaxException e) {
             String exceptionMsg = StringUtils.format("Invalid OhScript input. OhScript Content: \"{0}\"", code);
             log.error("The FlowConditionNode failed to judge the flow condition, error message: {}, error cause: {}",
@@ -110,18 +147,43 @@ public final class OhScriptExecutor {
         return execResult;
     }
 
-    private static AST buildAst(ParserBuilder parserBuilder, String code, Map<String, Object> businessData) {
-        Map<String, AST> astMap = AST_CACHE.get();
-        if (astMap == null) {
-            astMap = new HashMap<>();
-            AST_CACHE.set(astMap);
+    private static AST parse(String code, Map<String, Object> businessData) {
+        ParserBuilder parserBuilder = new ParserBuilder();
+        parserBuilder.addExternalOh(Constant.BUSINESS_DATA_KEY, businessData);
+        return parserBuilder.parseString("", code);
+    }
+
+    /**
+     * 预处理后的条件规则及其可复用的语法树。
+     * <p>语法树在一次执行期间需要独占，因此以池的方式复用，执行成功后归还。</p>
+     */
+    private static final class CompiledCondition {
+        private final String ohScript;
+        private final boolean isPatternOfNot;
+        private final Queue<AST> idle = new ConcurrentLinkedQueue<>();
+
+        CompiledCondition(String conditionRule) {
+            String formatConditionRule = FlowUtil.formatConditionRule(conditionRule).trim();
+            // 兼容历史 !{{var}}类型，且传入的是字符串类型的true/false
+            this.isPatternOfNot = FlowUtil.isPatternOfNot(conditionRule);
+            if (this.isPatternOfNot) {
+                formatConditionRule = formatConditionRule.substring(1);
+            }
+            this.ohScript = CODE_SEGMENT_PREFIX + formatConditionRule;
+        }
+
+        boolean hasIdle() {
+            return !this.idle.isEmpty();
         }
-        AST ast = astMap.get(code);
-        if (ast == null) {
-            parserBuilder.addExternalOh(Constant.BUSINESS_DATA_KEY, businessData);
-            ast = parserBuilder.parseString("", code);
-            astMap.put(code, ast);
+
+        AST acquire() {
+            return this.idle.poll();
+        }
+
+        void release(AST ast) {
+            if (this.idle.size() < MAX_IDLE_AST_PER_CONDITION) {
+                this.idle.offer(ast);
+            }
         }
-        return ast;
     }
 }
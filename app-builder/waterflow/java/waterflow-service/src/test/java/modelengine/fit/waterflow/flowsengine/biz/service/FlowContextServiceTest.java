@@ -126,7 +126,7 @@ class FlowContextServiceTest extends DatabaseBaseTest {
         FlowRetryMapper retryMapper = sqlSessionManager.getMapper(FlowRetryMapper.class);
         retryRepo = new DefaultFlowRetryRepo(retryMapper);
         contextPersistRepo = new FlowContextPersistRepo(contextMapper, traceRepo, retryRepo, traceOwnerService, 10,
-                false, 1);
+                false, 1, 0, null, 0);
         flowDefinitionMapper = sqlSessionManager.getMapper(FlowDefinitionMapper.class);
         fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         flowDefinitionRepo = new DefaultFlowDefinitionRepo(flowDefinitionMapper, fitableUsageMapper, parser);
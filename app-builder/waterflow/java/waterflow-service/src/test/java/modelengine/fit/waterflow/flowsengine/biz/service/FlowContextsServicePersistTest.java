@@ -132,7 +132,7 @@ public class FlowContextsServicePersistTest extends DatabaseBaseTest {
         traceOwnerService = Mockito.mock(TraceOwnerService.class);
         boolean useLimit = false;
         REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, TRACE_REPO, FLOW_RETRY_REPO, traceOwnerService,
-                defaultLimitation, useLimit, 1);
+                defaultLimitation, useLimit, 1, 0, null, 0);
         QUERY_REPO = new QueryFlowContextPersistRepo(FLOW_CONTEXT_MAPPER);
         FitableUsageMapper fitableUsageMapper = sqlSessionManager.getMapper(FitableUsageMapper.class);
         DEFINITION_REPO = new DefaultFlowDefinitionRepo(FLOW_DEFINITION_MAPPER, fitableUsageMapper, PARSER);
@@ -99,7 +99,7 @@ class FlowsServiceTest extends DatabaseBaseTest {
             Integer defaultLimitation = 5;
             boolean useLimit = false;
             flowContextPersistRepo = new FlowContextPersistRepo(flowContextMapper, flowTraceRepo, flowRetryRepo, null,
-                    defaultLimitation, useLimit, 1);
+                    defaultLimitation, useLimit, 1, 0, null, 0);
             queryFlowDefinitionRepo = new QueryFlowDefinitionRepo(flowDefinitionMapper);
             flowsService = new FlowsDefinitionServiceImpl(parser, flowValidator, flowDefinitionRepo, flowContextPersistRepo,
                     queryFlowDefinitionRepo);
@@ -7,6 +7,8 @@
 package modelengine.fit.waterflow.flowsengine.biz.service.cache;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
@@ -24,6 +26,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.List;
+
 /**
  * FlowCacheService对应测试类
  *
@@ -107,4 +111,45 @@ class FlowCacheServiceTest {
         Assertions.assertEquals(publisher, persistPublisher);
         Assertions.assertEquals(publisher, cachePublisher);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("测试预热只加载未缓存的流程")
+    void testWarmUpOnlyLoadsMissingStreams() {
+        String streamId = "streamId";
+        FlowDefinition definition = Mockito.mock(FlowDefinition.class);
+        FitStream.Publisher<FlowData> publisher = Mockito.mock(FitStream.Publisher.class);
+        when(definitionRepo.findByStreamId(streamId)).thenReturn(definition);
+        when(definition.convertToFlow(contextRepo, contextMessenger, locks)).thenReturn(publisher);
+
+        Assertions.assertEquals(1, cacheService.warmUp(List.of(streamId, "notExist")));
+        Assertions.assertEquals(0, cacheService.warmUp(List.of(streamId)));
+        Assertions.assertEquals(publisher, cacheService.getPublisher(streamId));
+        verify(definitionRepo, times(1)).findByStreamId(streamId);
+        Assertions.assertTrue(cacheService.getStats().get("publisher").getLoadCount() >= 1);
+    }
+
+    @Test
+    @DisplayName("测试统计信息记录命中与未命中次数")
+    void testStatsRecordHitsAndMisses() {
+        String streamId = "statsStreamId";
+        FlowDefinition definition = Mockito.mock(FlowDefinition.class);
+        FitStream.Publisher<FlowData> publisher = Mockito.mock(FitStream.Publisher.class);
+        when(definitionRepo.findByStreamId(streamId)).thenReturn(definition);
+        when(definition.convertToFlow(contextRepo, contextMessenger, locks)).thenReturn(publisher);
+        when(definitionRepo.find("statsDefinitionId")).thenReturn(definition);
+        FlowCacheStats publisherBefore = cacheService.getStats().get("publisher");
+        FlowCacheStats definitionBefore = cacheService.getStats().get("definition");
+
+        cacheService.getPublisher(streamId);
+        cacheService.getPublisher(streamId);
+        cacheService.getDefinitionByStreamId(streamId);
+        cacheService.getDefinitionById("statsDefinitionId");
+
+        FlowCacheStats publisherAfter = cacheService.getStats().get("publisher");
+        FlowCacheStats definitionAfter = cacheService.getStats().get("definition");
+        Assertions.assertEquals(2, publisherAfter.getHitCount() - publisherBefore.getHitCount());
+        Assertions.assertEquals(1, publisherAfter.getMissCount() - publisherBefore.getMissCount());
+        Assertions.assertEquals(0, definitionAfter.getHitCount() - definitionBefore.getHitCount());
+        Assertions.assertEquals(1, definitionAfter.getMissCount() - definitionBefore.getMissCount());
+    }
+}
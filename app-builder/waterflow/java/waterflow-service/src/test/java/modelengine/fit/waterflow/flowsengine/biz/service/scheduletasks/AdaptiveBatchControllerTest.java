@@ -0,0 +1,52 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.biz.service.scheduletasks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link AdaptiveBatchController} 对应测试类。
+ *
+ * @author 杨祥宇
+ * @since 2025-04-22
+ */
+class AdaptiveBatchControllerTest {
+    @Test
+    @DisplayName("测试单批耗时超过目标时批次减半且不低于最小值")
+    void shouldShrinkBatchWhenSlow() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 500, 50);
+        controller.onBatchCompleted(600);
+        Assertions.assertEquals(500, controller.getBatchSize());
+        controller.onBatchCompleted(600);
+        controller.onBatchCompleted(600);
+        controller.onBatchCompleted(600);
+        Assertions.assertEquals(100, controller.getBatchSize());
+    }
+
+    @Test
+    @DisplayName("测试单批耗时远低于目标时批次增长且不超过最大值")
+    void shouldGrowBatchWhenFast() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 500, 50);
+        controller.onBatchCompleted(2000);
+        Assertions.assertEquals(500, controller.getBatchSize());
+        controller.onBatchCompleted(10);
+        Assertions.assertEquals(750, controller.getBatchSize());
+        controller.onBatchCompleted(10);
+        Assertions.assertEquals(1000, controller.getBatchSize());
+    }
+
+    @Test
+    @DisplayName("测试单批耗时超过目标两倍时额外让步")
+    void shouldYieldWhenContended() {
+        AdaptiveBatchController controller = new AdaptiveBatchController(100, 1000, 500, 50);
+        Assertions.assertEquals(50, controller.onBatchCompleted(300));
+        Assertions.assertEquals(50, controller.onBatchCompleted(800));
+        Assertions.assertEquals(1250, controller.onBatchCompleted(1200));
+    }
+}
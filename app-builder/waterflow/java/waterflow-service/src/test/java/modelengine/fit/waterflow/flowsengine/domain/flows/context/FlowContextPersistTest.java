@@ -150,7 +150,7 @@ public class FlowContextPersistTest extends DatabaseBaseTest {
         boolean useLimit = false;
         REPO = new FlowContextPersistRepo(FLOW_CONTEXT_MAPPER, FLOW_TRACE_REPO, FLOW_RETRY_REPO,
                 new DefaultTraceOwnerService(LOCKS, invalidDistributedLockNotify), defaultLimitation,
-                useLimit, 10);
+                useLimit, 10, 0, null, 0);
     }
 
     @Nested
@@ -0,0 +1,126 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.codec;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.alibaba.fastjson.JSONObject;
+
+import modelengine.fit.waterflow.common.utils.ByteArraySerialiseUtilV1;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.ContextErrorInfo;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FlowDataCodec} 对应测试类。
+ *
+ * @author 高诗意
+ * @since 2025/03/12
+ */
+class FlowDataCodecTest {
+    private static FlowData buildFlowData(String text) {
+        Map<String, Object> businessData = new HashMap<>();
+        businessData.put("application", "app");
+        businessData.put("Question", text);
+        businessData.put("bytes", new byte[] {1, 2, 3});
+        businessData.put("histories", List.of(Map.of("question", text)));
+        Map<String, Object> contextData = new HashMap<>();
+        contextData.put("contextId", "ctx");
+        contextData.put("flowVersion", "1.0.0");
+        return FlowData.builder()
+                .operator("tester")
+                .startTime(LocalDateTime.now())
+                .businessData(businessData)
+                .contextData(contextData)
+                .passData(Map.of("pass", "ignored"))
+                .errorMessage("error")
+                .errorInfo(ContextErrorInfo.builder().errorCode(10007500).nodeName("node").build())
+                .build();
+    }
+
+    private static void assertSameData(FlowData expected, FlowData actual) {
+        assertEquals(expected.getOperator(), actual.getOperator());
+        assertEquals(expected.getErrorMessage(), actual.getErrorMessage());
+        assertEquals(expected.getErrorInfo().getErrorCode(), actual.getErrorInfo().getErrorCode());
+        assertEquals(expected.getErrorInfo().getNodeName(), actual.getErrorInfo().getNodeName());
+        assertEquals(expected.getContextData(), actual.getContextData());
+        assertEquals(expected.getBusinessData().get("Question"), actual.getBusinessData().get("Question"));
+        assertArrayEquals((byte[]) expected.getBusinessData().get("bytes"),
+                (byte[]) actual.getBusinessData().get("bytes"));
+        assertTrue(actual.getPassData().isEmpty());
+    }
+
+    @Test
+    @DisplayName("JSON 编解码往返后数据一致，且不写出 passData")
+    void shouldRoundTripJson() {
+        FlowData flowData = buildFlowData("hello");
+        String json = JsonFlowDataCodec.INSTANCE.encode(flowData);
+        assertFalse(json.contains("passData"));
+        assertSameData(flowData, JsonFlowDataCodec.INSTANCE.decode(json));
+    }
+
+    @Test
+    @DisplayName("可以读取反射序列化生成的历史数据")
+    void shouldDecodeLegacyJson() {
+        FlowData flowData = buildFlowData("hello");
+        flowData.setPassData(null);
+        String legacy = JSONObject.toJSONString(flowData, ByteArraySerialiseUtilV1.getSerializeConfig());
+        assertSameData(flowData, FlowData.parseFromJson(legacy));
+        assertEquals(JSONObject.parseObject(legacy).keySet(),
+                JSONObject.parseObject(JsonFlowDataCodec.INSTANCE.encode(flowData)).keySet());
+    }
+
+    @Test
+    @DisplayName("达到阈值时压缩，读取时兼容未压缩数据")
+    void shouldCompressLargePayload() {
+        FlowDataCodec codec = FlowDataCodec.of(1024);
+        FlowData small = buildFlowData("hello");
+        FlowData large = buildFlowData("x".repeat(8192));
+        String smallData = codec.encode(small);
+        String largeData = codec.encode(large);
+        assertFalse(CompressedFlowDataCodec.isCompressed(smallData));
+        assertTrue(CompressedFlowDataCodec.isCompressed(largeData));
+        assertTrue(largeData.length() < 2048);
+        assertSameData(small, codec.decode(smallData));
+        assertSameData(large, codec.decode(largeData));
+        assertSameData(large, JsonFlowDataCodec.INSTANCE.decode(codec.toJson(largeData)));
+    }
+
+    @Test
+    @DisplayName("关闭压缩后仍能读取此前压缩的数据，且不再压缩新数据")
+    void shouldDecodeCompressedDataWhenCompressionDisabled() {
+        FlowData large = buildFlowData("x".repeat(8192));
+        String compressed = FlowDataCodec.of(1024).encode(large);
+        assertTrue(CompressedFlowDataCodec.isCompressed(compressed));
+
+        FlowDataCodec disabled = FlowDataCodec.of(0);
+        assertSameData(large, disabled.decode(compressed));
+        assertSameData(large, JsonFlowDataCodec.INSTANCE.decode(disabled.toJson(compressed)));
+        assertFalse(CompressedFlowDataCodec.isCompressed(disabled.encode(large)));
+    }
+
+    @Test
+    @DisplayName("数据库 jsonb 列读出的格式化文本可以识别为压缩数据")
+    void shouldDecodeNormalizedEnvelope() {
+        FlowDataCodec codec = FlowDataCodec.of(16);
+        FlowData flowData = buildFlowData("hello");
+        JSONObject envelope = JSONObject.parseObject(codec.encode(flowData));
+        String normalized = "{\"$codec\": \"" + envelope.getString("$codec") + "\", \"payload\": \""
+                + envelope.getString("payload") + "\"}";
+        assertSameData(flowData, codec.decode(normalized));
+    }
+}
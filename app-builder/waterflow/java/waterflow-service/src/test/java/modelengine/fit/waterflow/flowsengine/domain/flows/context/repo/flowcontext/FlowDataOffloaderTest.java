@@ -0,0 +1,194 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowcontext;
+
+import static modelengine.fit.waterflow.common.Constant.BUSINESS_DATA_INTERNAL_KEY;
+import static modelengine.fit.waterflow.common.Constant.INTERNAL_EXECUTE_INFO_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.FlowData;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.codec.JsonFlowDataCodec;
+import modelengine.fit.waterflow.flowsengine.domain.flows.context.repo.flowblob.FlowDataBlobRepo;
+import modelengine.fitframework.util.ObjectUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link FlowDataOffloader} 对应测试类。
+ *
+ * @author 高诗意
+ * @since 2025/03/14
+ */
+class FlowDataOffloaderTest {
+    private InMemoryBlobRepo blobRepo;
+
+    private FlowDataOffloader offloader;
+
+    @BeforeEach
+    void setUp() {
+        this.blobRepo = new InMemoryBlobRepo();
+        this.offloader = new FlowDataOffloader(this.blobRepo, 64);
+    }
+
+    private static FlowData buildFlowData(Map<String, Object> executeInfo) {
+        Map<String, Object> internal = new HashMap<>();
+        internal.put(INTERNAL_EXECUTE_INFO_KEY, executeInfo);
+        Map<String, Object> businessData = new HashMap<>();
+        businessData.put("small", "value");
+        businessData.put("large", "x".repeat(200));
+        businessData.put(BUSINESS_DATA_INTERNAL_KEY, internal);
+        Map<String, Object> contextData = new HashMap<>();
+        contextData.put("flowTraceIds", List.of("trace1"));
+        return FlowData.builder().businessData(businessData).contextData(contextData).build();
+    }
+
+    private static Map<String, Object> executeInfo(FlowData flowData) {
+        Map<String, Object> internal = ObjectUtils.cast(flowData.getBusinessData().get(BUSINESS_DATA_INTERNAL_KEY));
+        return ObjectUtils.cast(internal.get(INTERNAL_EXECUTE_INFO_KEY));
+    }
+
+    @Test
+    @DisplayName("测试大字段与节点执行信息外置后可以还原且原始数据不被修改")
+    void shouldOffloadAndRestore() {
+        Map<String, Object> executeInfo = new HashMap<>();
+        executeInfo.put("node1", List.of(Map.of("type", "jober", "input", Map.of("q", "hello"))));
+        FlowData flowData = buildFlowData(executeInfo);
+
+        FlowData stored = this.offloader.offload("trace1", flowData);
+
+        assertEquals("value", stored.getBusinessData().get("small"));
+        assertTrue(String.valueOf(stored.getBusinessData().get("large"))
+                .startsWith(FlowDataOffloader.REFERENCE_PREFIX));
+        assertTrue(String.valueOf(executeInfo(stored).get("node1")).startsWith(FlowDataOffloader.REFERENCE_PREFIX));
+        assertEquals("x".repeat(200), flowData.getBusinessData().get("large"));
+        assertSame(executeInfo, executeInfo(flowData));
+
+        FlowData loaded = JsonFlowDataCodec.INSTANCE.decode(JsonFlowDataCodec.INSTANCE.encode(stored));
+        this.offloader.restore("trace1", loaded.getBusinessData());
+        assertEquals("x".repeat(200), loaded.getBusinessData().get("large"));
+        Map<String, Object> node = ObjectUtils.<List<Map<String, Object>>>cast(executeInfo(loaded).get("node1")).get(0);
+        assertEquals("jober", node.get("type"));
+        assertEquals("hello", ObjectUtils.<Map<String, Object>>cast(node.get("input")).get("q"));
+    }
+
+    @Test
+    @DisplayName("测试每次写入都幂等保存当前引用的全部外置数据")
+    void shouldSaveReferencedBlobsOnEveryWrite() {
+        Map<String, Object> executeInfo = new HashMap<>();
+        executeInfo.put("node1", List.of(Map.of("type", "jober")));
+        this.offloader.offload("trace1", buildFlowData(executeInfo));
+        assertEquals(2, this.blobRepo.savedCount);
+        assertEquals(2, this.blobRepo.blobs.size());
+
+        executeInfo.put("node2", List.of(Map.of("type", "condition")));
+        this.offloader.offload("trace1", buildFlowData(executeInfo));
+        assertEquals(5, this.blobRepo.savedCount);
+        assertEquals(3, this.blobRepo.blobs.size());
+    }
+
+    @Test
+    @DisplayName("测试外置数据写入的事务回滚后，重试时重新写入外置数据")
+    void shouldSaveBlobsAgainAfterRollback() {
+        Map<String, Object> executeInfo = new HashMap<>();
+        executeInfo.put("node1", List.of(Map.of("type", "jober")));
+        FlowData flowData = buildFlowData(executeInfo);
+        this.offloader.offload("trace1", flowData);
+        this.blobRepo.blobs.clear();
+
+        FlowData stored = this.offloader.offload("trace1", flowData);
+
+        assertEquals(2, this.blobRepo.blobs.size());
+        FlowDataOffloader another = new FlowDataOffloader(this.blobRepo, 64);
+        FlowData loaded = JsonFlowDataCodec.INSTANCE.decode(JsonFlowDataCodec.INSTANCE.encode(stored));
+        another.restore("trace1", loaded.getBusinessData());
+        assertEquals("x".repeat(200), loaded.getBusinessData().get("large"));
+        assertEquals("jober",
+                ObjectUtils.<List<Map<String, Object>>>cast(executeInfo(loaded).get("node1")).get(0).get("type"));
+    }
+
+    @Test
+    @DisplayName("测试还原后未变化的节点执行信息在再次写入时复用引用")
+    void shouldReuseReferencesOfRestoredExecuteInfo() {
+        Map<String, Object> executeInfo = new HashMap<>();
+        executeInfo.put("node1", List.of(Map.of("type", "jober")));
+        FlowData stored = this.offloader.offload("trace1", buildFlowData(executeInfo));
+        Object reference = executeInfo(stored).get("node1");
+
+        FlowDataOffloader another = new FlowDataOffloader(this.blobRepo, 64);
+        FlowData loaded = JsonFlowDataCodec.INSTANCE.decode(JsonFlowDataCodec.INSTANCE.encode(stored));
+        another.restore("trace1", loaded.getBusinessData());
+        assertEquals(1, this.blobRepo.findCount);
+        executeInfo(loaded).put("node2", List.of(Map.of("type", "condition")));
+        FlowData restored = another.offload("trace1", loaded);
+
+        assertEquals(reference, executeInfo(restored).get("node1"));
+        assertEquals(5, this.blobRepo.savedCount);
+        assertEquals(3, this.blobRepo.blobs.size());
+        another.restore("trace1", JsonFlowDataCodec.INSTANCE.decode(JsonFlowDataCodec.INSTANCE.encode(restored))
+                .getBusinessData());
+        assertEquals(1, this.blobRepo.findCount);
+    }
+
+    @Test
+    @DisplayName("测试缺少链路唯一标识时不做外置")
+    void shouldNotOffloadWithoutTraceId() {
+        FlowData flowData = buildFlowData(new HashMap<>(Map.of("node1", List.of(Map.of("type", "jober")))));
+
+        assertSame(flowData, this.offloader.offload("", flowData));
+        assertEquals(0, this.blobRepo.savedCount);
+    }
+
+    @Test
+    @DisplayName("测试还原 JSON 格式的上下文数据")
+    void shouldRestoreJson() {
+        FlowData stored = this.offloader.offload("trace1", buildFlowData(new HashMap<>()));
+        String json = JsonFlowDataCodec.INSTANCE.encode(stored);
+        assertTrue(json.contains(FlowDataOffloader.REFERENCE_PREFIX));
+
+        String restored = this.offloader.restoreJson(json);
+        FlowData loaded = JsonFlowDataCodec.INSTANCE.decode(restored);
+        assertEquals("x".repeat(200), loaded.getBusinessData().get("large"));
+        String plain = "{\"businessData\":{\"a\":1}}";
+        assertSame(plain, this.offloader.restoreJson(plain));
+    }
+
+    private static class InMemoryBlobRepo implements FlowDataBlobRepo {
+        private final Map<String, String> blobs = new HashMap<>();
+
+        private int savedCount;
+
+        private int findCount;
+
+        @Override
+        public void saveIfAbsent(String traceId, Map<String, String> blobs) {
+            this.savedCount += blobs.size();
+            this.blobs.putAll(blobs);
+        }
+
+        @Override
+        public Map<String, String> findByIds(Collection<String> blobIds) {
+            this.findCount++;
+            Map<String, String> result = new HashMap<>();
+            blobIds.forEach(id -> result.put(id, this.blobs.get(id)));
+            return result;
+        }
+
+        @Override
+        public void deleteByTraceIdList(List<String> traceIds) {
+            this.blobs.clear();
+        }
+    }
+}
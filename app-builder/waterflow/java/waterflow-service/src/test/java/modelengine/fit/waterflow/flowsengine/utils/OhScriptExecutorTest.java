@@ -21,7 +21,11 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * OhScript执行测试类
@@ -197,4 +201,56 @@ class OhScriptExecutorTest {
             assertTrue(OhScriptExecutor.evaluateConditionRule(flowData, conditionRule));
         }
     }
+
+    @Nested
+    @DisplayName("条件规则预编译与共享缓存测试集合")
+    class CompiledConditionTest {
+        @Test
+        @DisplayName("预编译后的条件规则按每次传入的数据求值")
+        void shouldEvaluateWithCurrentDataAfterCompile() {
+            String conditionRule = "businessData.get(\"compiled\") == 1";
+            OhScriptExecutor.compile(conditionRule);
+            Map<String, Object> matched = new HashMap<>();
+            matched.put("compiled", 1);
+            Map<String, Object> unmatched = new HashMap<>();
+            unmatched.put("compiled", 2);
+            assertTrue(OhScriptExecutor.evaluateConditionRule(FlowData.builder().businessData(matched).build(),
+                    conditionRule));
+            assertFalse(OhScriptExecutor.evaluateConditionRule(FlowData.builder().businessData(unmatched).build(),
+                    conditionRule));
+        }
+
+        @Test
+        @DisplayName("多线程并发执行同一条件规则时结果互不影响")
+        void shouldEvaluateConcurrently() throws Exception {
+            String conditionRule = "businessData.get(\"even\")";
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int i = 0; i < 200; i++) {
+                    Map<String, Object> businessData = new HashMap<>();
+                    businessData.put("even", i % 2 == 0);
+                    FlowData flowData = FlowData.builder().businessData(businessData).build();
+                    results.add(executor.submit(() -> OhScriptExecutor.evaluateConditionRule(flowData,
+                            conditionRule)));
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    assertEquals(i % 2 == 0, results.get(i).get());
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("预编译非法脚本不抛出异常，执行时报告语法错误")
+        void shouldReportGrammarErrorOnEvaluation() {
+            String conditionRule = "businessData..compiled";
+            OhScriptExecutor.compile(conditionRule);
+            FlowData flowData = FlowData.builder().businessData(new HashMap<>()).build();
+            WaterflowException exception = assertThrows(WaterflowException.class,
+                    () -> OhScriptExecutor.evaluateConditionRule(flowData, conditionRule));
+            assertEquals(ErrorCodes.FLOW_ENGINE_OHSCRIPT_GRAMMAR_ERROR.getErrorCode(), exception.getCode());
+        }
+    }
 }
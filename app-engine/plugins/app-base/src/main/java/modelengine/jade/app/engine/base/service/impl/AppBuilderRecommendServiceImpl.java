@@ -24,16 +24,25 @@ import modelengine.fit.jane.common.entity.OperationContext;
 import modelengine.fit.jober.aipp.common.utils.ContentProcessUtils;
 import modelengine.fit.jober.aipp.constants.AippConst;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Value;
+import modelengine.fitframework.inspection.Validation;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.serialization.SerializationException;
 import modelengine.jade.app.engine.base.dto.AppBuilderRecommendDto;
 import modelengine.jade.app.engine.base.service.AppBuilderRecommendService;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * 猜你想问serviceImpl
+ * <p>推荐流程只在构造时编排一次，模型、地址与密钥等配置在每次对话时通过 {@link ChatOption} 绑定，
+ * 因此所有模型共用同一个流程。可选开启短时缓存，相同模型下相同的问答直接返回上次的推荐结果，
+ * 解析失败或为空的结果不缓存。</p>
  *
  * @author 杨海波
  * @since 2024-05-25
@@ -42,15 +51,71 @@ import java.util.List;
 public class AppBuilderRecommendServiceImpl implements AppBuilderRecommendService {
     private static final Logger log = Logger.get(AppBuilderRecommendServiceImpl.class);
 
-    private static final String DEFAULT_MODEL_SOURCE = "internal";
+    private static final String HISTORY_PROMPT = "Here are the chat histories between user and assistant, "
+            + "inside <history></history> XML tags.\n<history>\n{{history}}\n</history>\n\n";
+
+    private static final String RECOMMEND_PROMPT = "Please predict the three most likely questions that human would "
+            + "ask, and keeping each question under 20 characters.\n"
+            + "Do not include any explanations, "
+            + "only provide output that strictly following the specified JSON format:\n"
+            + "[\"question1\",\"question2\",\"question3\"]\n";
 
-    private final ChatModel chatModelService;
+    private static final char KEY_SEPARATOR = '\u0000';
 
     private final AippModelCenter aippModelCenter;
 
-    public AppBuilderRecommendServiceImpl(ChatModel chatModelService, AippModelCenter aippModelCenter) {
-        this.chatModelService = chatModelService;
+    private final AiProcessFlow<Tip, String> recommendFlow;
+
+    private final Cache<String, List<String>> recommendCache;
+
+    public AppBuilderRecommendServiceImpl(ChatModel chatModelService, AippModelCenter aippModelCenter,
+            @Value("${app-engine.recommend.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${app-engine.recommend.cache.expire-seconds:60}") long expireSeconds,
+            @Value("${app-engine.recommend.cache.maximum-size:1000}") long maximumSize) {
         this.aippModelCenter = aippModelCenter;
+        this.recommendFlow = buildFlow(chatModelService);
+        if (cacheEnabled) {
+            Validation.isTrue(expireSeconds > 0, "The expire seconds must be positive.");
+            Validation.isTrue(maximumSize > 0, "The maximum size must be positive.");
+            this.recommendCache = Caffeine.newBuilder()
+                    .expireAfterWrite(Duration.ofSeconds(expireSeconds))
+                    .maximumSize(maximumSize)
+                    .build();
+        } else {
+            this.recommendCache = null;
+        }
+    }
+
+    /**
+     * 编排推荐流程，流程中的模型不绑定配置，由每次对话绑定的 {@link ChatOption} 决定。
+     *
+     * @param chatModel 表示对话模型服务的 {@link ChatModel}。
+     * @return 表示推荐流程的 {@link AiProcessFlow}{@code <}{@link Tip}{@code , }{@link String}{@code >}。
+     */
+    static AiProcessFlow<Tip, String> buildFlow(ChatModel chatModel) {
+        return AiFlows.<Tip>create()
+                .prompt(Prompts.human(HISTORY_PROMPT + RECOMMEND_PROMPT))
+                .generate(new ChatBlockModel(chatModel))
+                .map(ChatMessage::text)
+                .close();
+    }
+
+    /**
+     * 构造一次对话的模型配置。
+     *
+     * @param model 表示模型名称的 {@link String}。
+     * @param modelAccessInfo 表示模型访问信息的 {@link ModelAccessInfo}。
+     * @return 表示模型配置的 {@link ChatOption}。
+     */
+    static ChatOption buildOption(String model, ModelAccessInfo modelAccessInfo) {
+        return ChatOption.custom()
+                .model(model)
+                .stream(false)
+                .temperature(0.3)
+                .baseUrl(modelAccessInfo.getBaseUrl())
+                .secureConfig(modelAccessInfo.isSystemModel() ? null : SecureConfig.custom().ignoreTrust(true).build())
+                .apiKey(modelAccessInfo.getAccessKey())
+                .build();
     }
 
     @Override
@@ -59,36 +124,24 @@ public class AppBuilderRecommendServiceImpl implements AppBuilderRecommendServic
         ModelAccessInfo modelAccessInfo =
                 this.aippModelCenter.getModelAccessInfo(defaultModel.getTag(), defaultModel.getServiceName(), context);
         String model = defaultModel.getServiceName();
-        String historyPrompt = "Here are the chat histories between user and assistant, "
-                + "inside <history></history> XML tags.\n<history>\n{{history}}\n</history>\n\n";
-
-        String recommendPrompt = "Please predict the three most likely questions that human would ask, "
-                + "and keeping each question under 20 characters.\n"
-                + "Do not include any explanations, "
-                + "only provide output that strictly following the specified JSON format:\n"
-                + "[\"question1\",\"question2\",\"question3\"]\n";
+        String cacheKey = null;
+        if (this.recommendCache != null) {
+            cacheKey = String.valueOf(defaultModel.getTag()) + KEY_SEPARATOR + model + KEY_SEPARATOR
+                    + recommendDto.getQuestion() + KEY_SEPARATOR + recommendDto.getAnswer();
+            List<String> cached = this.recommendCache.getIfPresent(cacheKey);
+            if (cached != null) {
+                return new ArrayList<>(cached);
+            }
+        }
 
         List<String> res;
         try {
-            AiProcessFlow<Tip, String> flow = AiFlows.<Tip>create()
-                .prompt(Prompts.human(historyPrompt + recommendPrompt))
-                .generate(new ChatBlockModel(chatModelService)
-                        .bind(ChatOption.custom()
-                                .model(model)
-                                .stream(false)
-                                .temperature(0.3)
-                                .baseUrl(modelAccessInfo.getBaseUrl())
-                                .secureConfig(modelAccessInfo.isSystemModel()
-                                        ? null
-                                        : SecureConfig.custom().ignoreTrust(true).build())
-                                .apiKey(modelAccessInfo.getAccessKey())
-                                .build()))
-                .map(ChatMessage::text)
-                .close();
-
             String chatHistory = "User: " + recommendDto.getQuestion() + '\n' + "Assistant: " + recommendDto.getAnswer()
                 + '\n';
-            String response = flow.converse().offer(Tip.from("history", chatHistory)).await();
+            String response = this.recommendFlow.converse()
+                    .bind(buildOption(model, modelAccessInfo))
+                    .offer(Tip.from("history", chatHistory))
+                    .await();
 
             res = JSONArray.parseArray(ContentProcessUtils.filterReasoningContent(response), String.class);
         } catch (SerializationException | JSONException | IllegalStateException e) {
@@ -96,6 +149,9 @@ public class AppBuilderRecommendServiceImpl implements AppBuilderRecommendServic
             return new ArrayList<>();
         }
 
+        if (cacheKey != null && res != null && !res.isEmpty()) {
+            this.recommendCache.put(cacheKey, new ArrayList<>(res));
+        }
         return res;
     }
 }
@@ -0,0 +1,131 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.base.service.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import modelengine.fel.core.chat.ChatModel;
+import modelengine.fel.core.chat.support.AiMessage;
+import modelengine.fit.jade.aipp.model.dto.ModelAccessInfo;
+import modelengine.fit.jade.aipp.model.service.AippModelCenter;
+import modelengine.fit.jane.common.entity.OperationContext;
+import modelengine.fit.jober.aipp.constants.AippConst;
+import modelengine.fitframework.flowable.Choir;
+import modelengine.jade.app.engine.base.dto.AppBuilderRecommendDto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link AppBuilderRecommendServiceImpl} 的测试。
+ *
+ * @author 杨海波
+ * @since 2025-04-30
+ */
+@DisplayName("测试猜你想问服务")
+class AppBuilderRecommendServiceImplTest {
+    private static final String RESPONSE = "[\"question1\",\"question2\",\"question3\"]";
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final AtomicReference<String> response = new AtomicReference<>(RESPONSE);
+
+    private final ChatModel chatModel = (prompt, option) -> {
+        this.calls.incrementAndGet();
+        return Choir.just(new AiMessage(this.response.get()));
+    };
+
+    private final OperationContext context = new OperationContext();
+
+    private AippModelCenter aippModelCenter;
+
+    private AppBuilderRecommendServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        this.aippModelCenter = mock(AippModelCenter.class);
+        this.useDefaultModel("tag", "model");
+        when(this.aippModelCenter.getModelAccessInfo(anyString(), anyString(), any())).thenReturn(
+                ModelAccessInfo.builder().tag("tag").serviceName("model").baseUrl("http://model").build());
+        this.service = new AppBuilderRecommendServiceImpl(this.chatModel, this.aippModelCenter, true, 60, 100);
+    }
+
+    @Test
+    @DisplayName("相同的问答第二次请求命中缓存，不再调用模型")
+    void shouldReturnCachedRecommendsWithoutCallingModel() {
+        List<String> first = this.service.queryRecommends(recommend("question", "answer"), this.context);
+        List<String> second = this.service.queryRecommends(recommend("question", "answer"), this.context);
+
+        assertEquals(Arrays.asList("question1", "question2", "question3"), first);
+        assertEquals(first, second);
+        assertEquals(1, this.calls.get());
+    }
+
+    @Test
+    @DisplayName("问题、回答、模型名称或模型标签不同时不命中缓存")
+    void shouldCallModelAgainWhenAnyKeyInputChanges() {
+        this.service.queryRecommends(recommend("question", "answer"), this.context);
+        this.service.queryRecommends(recommend("other question", "answer"), this.context);
+        this.service.queryRecommends(recommend("question", "other answer"), this.context);
+        this.useDefaultModel("tag", "other model");
+        this.service.queryRecommends(recommend("question", "answer"), this.context);
+        this.useDefaultModel("other tag", "model");
+        this.service.queryRecommends(recommend("question", "answer"), this.context);
+
+        assertEquals(5, this.calls.get());
+    }
+
+    @Test
+    @DisplayName("模型返回无法解析的结果时不缓存")
+    void shouldNotCacheFailedResponse() {
+        this.response.set("not a json array");
+        assertTrue(this.service.queryRecommends(recommend("question", "answer"), this.context).isEmpty());
+
+        this.response.set(RESPONSE);
+        List<String> recommends = this.service.queryRecommends(recommend("question", "answer"), this.context);
+
+        assertEquals(3, recommends.size());
+        assertEquals(2, this.calls.get());
+    }
+
+    @Test
+    @DisplayName("模型返回空结果时不缓存")
+    void shouldNotCacheEmptyResponse() {
+        this.response.set("[]");
+        assertTrue(this.service.queryRecommends(recommend("question", "answer"), this.context).isEmpty());
+
+        this.response.set(RESPONSE);
+        List<String> recommends = this.service.queryRecommends(recommend("question", "answer"), this.context);
+
+        assertEquals(3, recommends.size());
+        assertEquals(2, this.calls.get());
+    }
+
+    private void useDefaultModel(String tag, String model) {
+        when(this.aippModelCenter.getDefaultModel(eq(AippConst.CHAT_MODEL_TYPE), any())).thenReturn(
+                ModelAccessInfo.builder().tag(tag).serviceName(model).build());
+    }
+
+    private static AppBuilderRecommendDto recommend(String question, String answer) {
+        AppBuilderRecommendDto recommendDto = new AppBuilderRecommendDto();
+        recommendDto.setQuestion(question);
+        recommendDto.setAnswer(answer);
+        return recommendDto;
+    }
+}
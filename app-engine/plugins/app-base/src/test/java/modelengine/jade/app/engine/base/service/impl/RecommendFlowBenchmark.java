@@ -0,0 +1,106 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.base.service.impl;
+
+import modelengine.fel.core.chat.ChatModel;
+import modelengine.fel.core.chat.ChatOption;
+import modelengine.fel.core.chat.support.AiMessage;
+import modelengine.fel.core.util.Tip;
+import modelengine.fel.engine.flows.AiProcessFlow;
+import modelengine.fitframework.flowable.Choir;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 猜你想问推荐流程的基准测试。
+ * <p>模型以固定结果立即返回，只比较每次请求重新编排流程与复用已编排流程的开销。
+ * 执行方式：{@code mvn test-compile} 后以测试类路径运行本类的 {@code main} 方法。</p>
+ *
+ * @author 杨海波
+ * @since 2025-04-30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RecommendFlowBenchmark {
+    private static final String RESPONSE = "[\"question1\",\"question2\",\"question3\"]";
+
+    private final ChatModel chatModel = (prompt, option) -> Choir.just(new AiMessage(RESPONSE));
+    private final ChatOption option = ChatOption.custom().model("benchmark").stream(false).temperature(0.3).build();
+    private final Tip history = Tip.from("history", "User: hello\nAssistant: hi\n");
+
+    private AiProcessFlow<Tip, String> flow;
+
+    /**
+     * 编排复用场景下共用的流程。
+     */
+    @Setup
+    public void setup() {
+        this.flow = AppBuilderRecommendServiceImpl.buildFlow(this.chatModel);
+    }
+
+    /**
+     * 只编排流程，不进行对话。
+     *
+     * @return 表示编排完成的流程的 {@link AiProcessFlow}。
+     */
+    @Benchmark
+    public AiProcessFlow<Tip, String> buildOnly() {
+        return AppBuilderRecommendServiceImpl.buildFlow(this.chatModel);
+    }
+
+    /**
+     * 每次请求重新编排流程后对话一次，即优化前的做法。
+     *
+     * @return 表示推荐结果的 {@link String}。
+     */
+    @Benchmark
+    public String buildPerCall() {
+        return AppBuilderRecommendServiceImpl.buildFlow(this.chatModel)
+                .converse()
+                .bind(this.option)
+                .offer(this.history)
+                .await();
+    }
+
+    /**
+     * 复用已编排的流程，每次对话只绑定模型配置。
+     *
+     * @return 表示推荐结果的 {@link String}。
+     */
+    @Benchmark
+    public String reuseFlow() {
+        return this.flow.converse().bind(this.option).offer(this.history).await();
+    }
+
+    /**
+     * 运行本基准测试。
+     *
+     * @param args 表示命令行参数的 {@link String}{@code []}。
+     * @throws RunnerException 当基准测试运行失败时。
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RecommendFlowBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+-- 指标汇总表的一次性回填脚本（PostgreSQL，psql 执行）。
+-- 汇总任务只重算最近两个小时，升级后执行一次本脚本，由 conversation_record 的全部历史数据生成汇总表。
+-- 脚本可重复执行，已有的汇总桶会被覆盖。
+INSERT INTO metrics_rollup_hourly (app_id, bucket_start, total_requests, finished_requests, response_time_sum_ms,
+                                   range_below_500, range_500_1000, range_1000_2000, range_above_2000)
+SELECT app_id,
+       DATE_TRUNC('hour', create_time),
+       COUNT(*),
+       COUNT(response_time),
+       COALESCE(ROUND(SUM(response_time)), 0),
+       COUNT(*) FILTER (WHERE response_time < 500),
+       COUNT(*) FILTER (WHERE response_time BETWEEN 500 AND 1000),
+       COUNT(*) FILTER (WHERE response_time > 1000 AND response_time <= 2000),
+       COUNT(*) FILTER (WHERE response_time IS NULL OR response_time > 2000)
+FROM (SELECT app_id, create_time, EXTRACT(EPOCH FROM finish_time - create_time) * 1000 AS response_time
+      FROM conversation_record
+      WHERE app_id IS NOT NULL AND create_time IS NOT NULL) records
+GROUP BY app_id, DATE_TRUNC('hour', create_time)
+ON CONFLICT (app_id, bucket_start) DO UPDATE SET total_requests = EXCLUDED.total_requests,
+                                                 finished_requests = EXCLUDED.finished_requests,
+                                                 response_time_sum_ms = EXCLUDED.response_time_sum_ms,
+                                                 range_below_500 = EXCLUDED.range_below_500,
+                                                 range_500_1000 = EXCLUDED.range_500_1000,
+                                                 range_1000_2000 = EXCLUDED.range_1000_2000,
+                                                 range_above_2000 = EXCLUDED.range_above_2000;
+
+INSERT INTO metrics_user_rollup_hourly (app_id, bucket_start, create_user, access_count)
+SELECT app_id, DATE_TRUNC('hour', create_time), COALESCE(create_user, ''), COUNT(*)
+FROM conversation_record
+WHERE app_id IS NOT NULL AND create_time IS NOT NULL
+GROUP BY app_id, DATE_TRUNC('hour', create_time), COALESCE(create_user, '')
+ON CONFLICT (app_id, bucket_start, create_user) DO UPDATE SET access_count = EXCLUDED.access_count;
+
+INSERT INTO metrics_rollup_daily (app_id, bucket_start, total_requests, finished_requests, response_time_sum_ms,
+                                  range_below_500, range_500_1000, range_1000_2000, range_above_2000)
+SELECT app_id,
+       DATE_TRUNC('day', bucket_start),
+       SUM(total_requests),
+       SUM(finished_requests),
+       SUM(response_time_sum_ms),
+       SUM(range_below_500),
+       SUM(range_500_1000),
+       SUM(range_1000_2000),
+       SUM(range_above_2000)
+FROM metrics_rollup_hourly
+GROUP BY app_id, DATE_TRUNC('day', bucket_start)
+ON CONFLICT (app_id, bucket_start) DO UPDATE SET total_requests = EXCLUDED.total_requests,
+                                                 finished_requests = EXCLUDED.finished_requests,
+                                                 response_time_sum_ms = EXCLUDED.response_time_sum_ms,
+                                                 range_below_500 = EXCLUDED.range_below_500,
+                                                 range_500_1000 = EXCLUDED.range_500_1000,
+                                                 range_1000_2000 = EXCLUDED.range_1000_2000,
+                                                 range_above_2000 = EXCLUDED.range_above_2000;
+
+INSERT INTO metrics_user_rollup_daily (app_id, bucket_start, create_user, access_count)
+SELECT app_id, DATE_TRUNC('day', bucket_start), create_user, SUM(access_count)
+FROM metrics_user_rollup_hourly
+GROUP BY app_id, DATE_TRUNC('day', bucket_start), create_user
+ON CONFLICT (app_id, bucket_start, create_user) DO UPDATE SET access_count = EXCLUDED.access_count;
@@ -6,8 +6,6 @@
 
 package modelengine.jade.app.engine.metrics.mapper;
 
-import modelengine.jade.app.engine.metrics.po.MetricsAccessPo;
-
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
@@ -24,13 +22,6 @@ import java.util.Map;
  */
 @Mapper
 public interface MetricsAccessMapper {
-    /**
-     * insert to metrics_access in batch
-     *
-     * @param metricsAccessList metrics_access list
-     */
-    void insertMetricAccessBatch(@Param("metricsAccessList") List<MetricsAccessPo> metricsAccessList);
-
     /**
      * get hourly data
      *
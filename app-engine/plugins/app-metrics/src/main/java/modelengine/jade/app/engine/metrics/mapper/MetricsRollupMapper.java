@@ -0,0 +1,110 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.app.engine.metrics.mapper;
+
+import modelengine.jade.app.engine.metrics.vo.UserAccessVo;
+
+import org.apache.ibatis.annotations.MapKey;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 应用指标汇总表的 Mapper.
+ * <p>汇总方法在数据库侧按桶分组重算并覆盖写入，可重复执行；查询方法只读取汇总表，耗时与原始对话记录的数量无关.</p>
+ * <p>查询按小时对齐起始时间，统计范围最多向前扩大不足一小时.</p>
+ *
+ * @author 陈霄宇
+ * @since 2025-04-30
+ */
+@Mapper
+public interface MetricsRollupMapper {
+    /**
+     * 按小时重算 [startTime, endTime) 内的对话记录，写入小时汇总表.
+     *
+     * @param startTime 起始时间，需按小时对齐
+     * @param endTime 结束时间
+     */
+    void rollupHourly(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 按小时重算 [startTime, endTime) 内各用户的访问量，写入用户小时汇总表.
+     *
+     * @param startTime 起始时间，需按小时对齐
+     * @param endTime 结束时间
+     */
+    void rollupUserHourly(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 由小时汇总表重算 [startTime, endTime) 内的按天汇总.
+     *
+     * @param startTime 起始时间，需按天对齐
+     * @param endTime 结束时间
+     */
+    void rollupDaily(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 由用户小时汇总表重算 [startTime, endTime) 内各用户的按天汇总.
+     *
+     * @param startTime 起始时间，需按天对齐
+     * @param endTime 结束时间
+     */
+    void rollupUserDaily(@Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * 抢占一次汇总任务的执行，距该任务上次执行不足指定间隔时抢占失败.
+     *
+     * @param jobName 汇总任务名称
+     * @param intervalSeconds 两次执行之间的最小间隔（秒）
+     * @return 抢占成功时返回 1，否则返回 0
+     */
+    int claimRollup(@Param("jobName") String jobName, @Param("intervalSeconds") int intervalSeconds);
+
+    /**
+     * get total_requests, total_active_users and average_response_time
+     *
+     * @param appIds 应用id
+     * @param startTime 根据时间类型计算起始时间
+     * @param endTime 根据时间类型计算结束时间
+     * @return 哈希表返回total_requests, total_active_users and average_response_time
+     */
+    @MapKey("metric")
+    Map<String, Map<String, Object>> getBasicMetrics(
+            @Param("appIds") List<String> appIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * get avg response time range
+     *
+     * @param appIds 应用id
+     * @param startTime 根据时间类型计算起始时间
+     * @param endTime 根据时间类型计算结束时间
+     * @return 哈希表返回avg response time range
+     */
+    @MapKey("range")
+    Map<String, Object> getAvgResponseRange(
+            @Param("appIds") List<String> appIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * get Top 5 user
+     *
+     * @param appIds 应用id
+     * @param startTime 根据时间类型计算起始时间
+     * @param endTime 根据时间类型计算结束时间
+     * @return Top 5 user
+     */
+    List<UserAccessVo> getTopUsers(
+            @Param("appIds") List<String> appIds,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+}
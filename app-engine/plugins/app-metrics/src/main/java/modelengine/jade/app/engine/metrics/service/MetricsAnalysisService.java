@@ -17,7 +17,7 @@ import modelengine.jade.app.engine.metrics.vo.MetricsAnalysisVo;
  */
 public interface MetricsAnalysisService {
     /**
-     * collect data hourly
+     * 将近期的对话记录汇总到按小时、按天的汇总表
      */
     void collectAccessData();
 
@@ -10,10 +10,8 @@ import modelengine.fit.jane.meta.multiversion.MetaService;
 import modelengine.fitframework.annotation.Component;
 import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.schedule.annotation.Scheduled;
-import modelengine.jade.app.engine.metrics.mapper.ConversationRecordMapper;
 import modelengine.jade.app.engine.metrics.mapper.MetricsAccessMapper;
-import modelengine.jade.app.engine.metrics.po.ConversationRecordPo;
-import modelengine.jade.app.engine.metrics.po.MetricsAccessPo;
+import modelengine.jade.app.engine.metrics.mapper.MetricsRollupMapper;
 import modelengine.jade.app.engine.metrics.po.TimeType;
 import modelengine.jade.app.engine.metrics.service.MetricsAnalysisService;
 import modelengine.jade.app.engine.metrics.utils.MetaUtils;
@@ -23,9 +21,9 @@ import modelengine.jade.app.engine.metrics.vo.UserAccessVo;
 import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * MetricServiceImpl类消息处理策略
@@ -35,8 +33,20 @@ import java.util.stream.Collectors;
  */
 @Component
 public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
+    /**
+     * 每次汇总向前重算的小时数，用于覆盖在上一个小时开始、跨小时结束的对话.
+     */
+    private static final int ROLLUP_LOOKBACK_HOURS = 2;
+
+    private static final String ACCESS_ROLLUP_JOB = "access";
+
+    /**
+     * 两次汇总之间的最小间隔，略小于调度周期以容忍各节点触发时间的偏差.
+     */
+    private static final int ROLLUP_INTERVAL_SECONDS = 240;
+
     @Fit
-    private ConversationRecordMapper conversationRecordMapper;
+    private MetricsRollupMapper metricsRollupMapper;
 
     @Fit
     private MetricsAccessMapper metricsAccessMapper;
@@ -45,26 +55,22 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
     private MetaService metaService;
 
     /**
-     * collect data hourly
+     * 每 5 分钟重算最近的小时汇总，并由小时汇总重算所在天的按天汇总.
+     * <p>所有节点都会触发，只有抢占到本轮执行的节点执行汇总.</p>
      */
-    @Scheduled(strategy = Scheduled.Strategy.CRON, value = "0 0 0/1 * * ?")
+    @Scheduled(strategy = Scheduled.Strategy.CRON, value = "0 0/5 * * * ?")
     @Override
     public void collectAccessData() {
-        LocalDateTime endTime = LocalDateTime.now();
-        LocalDateTime startTime = endTime.minusHours(1);
-        List<ConversationRecordPo> metricMessages = conversationRecordMapper.getRecordByTime(startTime, endTime);
-        Map<String, Long> totalAccessByApp = metricMessages.stream()
-                .collect(Collectors.groupingBy(ConversationRecordPo::getAppId, Collectors.counting()));
-
-        List<MetricsAccessPo> metricsAccessList = totalAccessByApp.entrySet().stream().map(entry -> {
-            MetricsAccessPo metricAccess = new MetricsAccessPo();
-            metricAccess.setAppId(entry.getKey());
-            metricAccess.setTotalAccess(entry.getValue().intValue());
-            metricAccess.setCreateTime(endTime);
-            return metricAccess;
-        }).collect(Collectors.toList());
-
-        metricsAccessMapper.insertMetricAccessBatch(metricsAccessList);
+        if (this.metricsRollupMapper.claimRollup(ACCESS_ROLLUP_JOB, ROLLUP_INTERVAL_SECONDS) == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime hourStart = now.truncatedTo(ChronoUnit.HOURS).minusHours(ROLLUP_LOOKBACK_HOURS);
+        LocalDateTime dayStart = hourStart.truncatedTo(ChronoUnit.DAYS);
+        this.metricsRollupMapper.rollupHourly(hourStart, now);
+        this.metricsRollupMapper.rollupUserHourly(hourStart, now);
+        this.metricsRollupMapper.rollupDaily(dayStart, now);
+        this.metricsRollupMapper.rollupUserDaily(dayStart, now);
     }
 
     /**
@@ -86,15 +92,15 @@ public class MetricsAnalysisServiceImpl implements MetricsAnalysisService {
         LocalDateTime startTime = calculateStartTime(timeType, now);
         LocalDateTime endTime = calculateEndTime(timeType, now);
         Map<String, Map<String, Object>> basicMetrics =
-                conversationRecordMapper.getBasicMetrics(appIds, startTime, endTime);
+                metricsRollupMapper.getBasicMetrics(appIds, startTime, endTime);
         if (basicMetrics.containsKey("average_response_time")) {
             Object averageResponseTime = basicMetrics.get("average_response_time").get("value");
             if (averageResponseTime instanceof BigDecimal) {
                 basicMetrics.get("average_response_time").put("value", ((BigDecimal) averageResponseTime).longValue());
             }
         }
-        Map<String, Object> avgResponseRange = conversationRecordMapper.getAvgResponseRange(appIds, startTime, endTime);
-        List<UserAccessVo> topUsers = conversationRecordMapper.getTopUsers(appIds, startTime, endTime);
+        Map<String, Object> avgResponseRange = metricsRollupMapper.getAvgResponseRange(appIds, startTime, endTime);
+        List<UserAccessVo> topUsers = metricsRollupMapper.getTopUsers(appIds, startTime, endTime);
         List<Map<String, Object>> userAccessData = getUserAccessData(timeType, appIds, startTime, endTime);
 
         MetricsAnalysisVo metricsAnalysisVO = new MetricsAnalysisVo();
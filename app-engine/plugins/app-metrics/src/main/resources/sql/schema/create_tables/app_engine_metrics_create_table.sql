@@ -18,4 +18,63 @@ create table if not exists metrics_access
     app_id       varchar(255),
     total_access bigint,
     create_time  timestamp
-);
\ No newline at end of file
+);
+
+create index if not exists idx_conversation_record_create_time on conversation_record (create_time);
+
+-- 按小时汇总的访问量、响应时间之和以及响应时间分布，由汇总任务按小时重算.
+create table if not exists metrics_rollup_hourly
+(
+    app_id                varchar(255) not null,
+    bucket_start          timestamp    not null,
+    total_requests        bigint       not null default 0,
+    finished_requests     bigint       not null default 0,
+    response_time_sum_ms  bigint       not null default 0,
+    range_below_500       bigint       not null default 0,
+    range_500_1000        bigint       not null default 0,
+    range_1000_2000       bigint       not null default 0,
+    range_above_2000      bigint       not null default 0,
+    primary key (app_id, bucket_start)
+);
+
+-- 按天汇总，由小时汇总表重算.
+create table if not exists metrics_rollup_daily
+(
+    app_id                varchar(255) not null,
+    bucket_start          timestamp    not null,
+    total_requests        bigint       not null default 0,
+    finished_requests     bigint       not null default 0,
+    response_time_sum_ms  bigint       not null default 0,
+    range_below_500       bigint       not null default 0,
+    range_500_1000        bigint       not null default 0,
+    range_1000_2000       bigint       not null default 0,
+    range_above_2000      bigint       not null default 0,
+    primary key (app_id, bucket_start)
+);
+
+-- 按小时汇总的用户访问量，用于重算按天的用户汇总.
+create table if not exists metrics_user_rollup_hourly
+(
+    app_id       varchar(255) not null,
+    bucket_start timestamp    not null,
+    create_user  varchar(255) not null,
+    access_count bigint       not null default 0,
+    primary key (app_id, bucket_start, create_user)
+);
+
+-- 按天汇总的用户访问量，用于统计活跃用户数与访问量最多的用户.
+create table if not exists metrics_user_rollup_daily
+(
+    app_id       varchar(255) not null,
+    bucket_start timestamp    not null,
+    create_user  varchar(255) not null,
+    access_count bigint       not null default 0,
+    primary key (app_id, bucket_start, create_user)
+);
+
+-- 汇总任务的最近执行时间，各节点按条件更新抢占执行，同一周期内只有一个节点执行汇总.
+create table if not exists metrics_rollup_run
+(
+    job_name      varchar(64) not null primary key,
+    last_run_time timestamp   not null
+);
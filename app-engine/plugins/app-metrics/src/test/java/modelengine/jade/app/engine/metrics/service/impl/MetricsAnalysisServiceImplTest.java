@@ -11,8 +11,11 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,9 +27,8 @@ import modelengine.fitframework.annotation.Fit;
 import modelengine.fitframework.test.annotation.FitTestWithJunit;
 import modelengine.fitframework.test.annotation.Mock;
 import modelengine.fitframework.util.MapBuilder;
-import modelengine.jade.app.engine.metrics.mapper.ConversationRecordMapper;
 import modelengine.jade.app.engine.metrics.mapper.MetricsAccessMapper;
-import modelengine.jade.app.engine.metrics.po.ConversationRecordPo;
+import modelengine.jade.app.engine.metrics.mapper.MetricsRollupMapper;
 import modelengine.jade.app.engine.metrics.po.TimeType;
 import modelengine.jade.app.engine.metrics.vo.MetricsAnalysisVo;
 
@@ -38,14 +40,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.mockito.ArgumentCaptor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
@@ -58,7 +60,7 @@ import java.util.stream.Stream;
 @FitTestWithJunit(includeClasses = MetricsAnalysisServiceImpl.class)
 class MetricsAnalysisServiceImplTest {
     @Mock
-    private ConversationRecordMapper conversationRecordMapper;
+    private MetricsRollupMapper metricsRollupMapper;
 
     @Mock
     private MetaService metaService;
@@ -78,20 +80,37 @@ class MetricsAnalysisServiceImplTest {
 
     @AfterEach
     void tearDown() {
-        clearInvocations(this.conversationRecordMapper, this.metricsAccessMapper, this.conversationRecordMapper);
+        clearInvocations(this.metricsRollupMapper, this.metricsAccessMapper);
     }
 
     @Test
-    void test_collectAccessData_should_void_when_test_data_combination() {
-        List<ConversationRecordPo> metricMessages = new ArrayList<>();
-        ConversationRecordPo conversationRecordPo = ConversationRecordPo.builder().id(1L).appId("id").build();
-        metricMessages.add(conversationRecordPo);
-        when(this.conversationRecordMapper.getRecordByTime(any(LocalDateTime.class),
-                any(LocalDateTime.class))).thenReturn(metricMessages);
+    @DisplayName("测试汇总任务按小时重算最近两个小时，并重算所在天的按天汇总")
+    void test_collectAccessData_should_rollup_recent_hours_and_days() {
+        when(this.metricsRollupMapper.claimRollup(anyString(), anyInt())).thenReturn(1);
+        LocalDateTime before = LocalDateTime.now();
 
         this.metricsAnalysisServiceImpl.collectAccessData();
 
-        verify(this.conversationRecordMapper).getRecordByTime(any(LocalDateTime.class), any(LocalDateTime.class));
+        ArgumentCaptor<LocalDateTime> hourStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> dayStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(this.metricsRollupMapper).rollupHourly(hourStart.capture(), any(LocalDateTime.class));
+        verify(this.metricsRollupMapper).rollupUserHourly(eq(hourStart.getValue()), any(LocalDateTime.class));
+        verify(this.metricsRollupMapper).rollupDaily(dayStart.capture(), any(LocalDateTime.class));
+        verify(this.metricsRollupMapper).rollupUserDaily(eq(dayStart.getValue()), any(LocalDateTime.class));
+        assertThat(hourStart.getValue()).isEqualTo(hourStart.getValue().truncatedTo(ChronoUnit.HOURS))
+                .isBetween(before.minusHours(3), LocalDateTime.now().minusHours(2));
+        assertThat(dayStart.getValue()).isEqualTo(hourStart.getValue().truncatedTo(ChronoUnit.DAYS));
+    }
+
+    @Test
+    @DisplayName("测试其他节点已执行本轮汇总时跳过")
+    void test_collectAccessData_should_skip_when_claimed_by_other_node() {
+        when(this.metricsRollupMapper.claimRollup(anyString(), anyInt())).thenReturn(0);
+
+        this.metricsAnalysisServiceImpl.collectAccessData();
+
+        verify(this.metricsRollupMapper, never()).rollupHourly(any(), any());
+        verify(this.metricsRollupMapper, never()).rollupDaily(any(), any());
     }
 
     @ParameterizedTest
@@ -105,15 +124,15 @@ class MetricsAnalysisServiceImplTest {
                 .put("average_response_time",
                         MapBuilder.<String, Object>get().put("value", new BigDecimal(500.46)).build())
                 .build();
-        when(conversationRecordMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
+        when(metricsRollupMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
         this.metricsAnalysisServiceImpl.findMetricsData("id", type);
-        verify(this.conversationRecordMapper).getBasicMetrics(anyList(),
+        verify(this.metricsRollupMapper).getBasicMetrics(anyList(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class));
-        verify(this.conversationRecordMapper).getAvgResponseRange(anyList(),
+        verify(this.metricsRollupMapper).getAvgResponseRange(anyList(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class));
-        verify(this.conversationRecordMapper).getTopUsers(anyList(),
+        verify(this.metricsRollupMapper).getTopUsers(anyList(),
                 any(LocalDateTime.class),
                 any(LocalDateTime.class));
         if (type == TimeType.TODAY || type == TimeType.YESTERDAY) {
@@ -139,7 +158,7 @@ class MetricsAnalysisServiceImplTest {
                 .put("average_response_time",
                         MapBuilder.<String, Object>get().put("value", new BigDecimal(500.46)).build())
                 .build();
-        when(conversationRecordMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
+        when(metricsRollupMapper.getBasicMetrics(any(), any(), any())).thenReturn(basicMetrics);
         MetricsAnalysisVo metricsAnalysisVo = this.metricsAnalysisServiceImpl.findMetricsData("id", type);
         assertThat(metricsAnalysisVo.getBasicMetrics().get("average_response_time").get("value")).isEqualTo(500L);
     }
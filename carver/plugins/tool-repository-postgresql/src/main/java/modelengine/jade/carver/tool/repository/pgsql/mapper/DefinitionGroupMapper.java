@@ -8,6 +8,8 @@ package modelengine.jade.carver.tool.repository.pgsql.mapper;
 
 import modelengine.jade.carver.tool.repository.pgsql.model.entity.DefinitionGroupDo;
 
+import java.util.List;
+
 /**
  * 表示用于 MyBatis 持久层引用的 DefinitionGroup 接口。
  *
@@ -22,6 +24,13 @@ public interface DefinitionGroupMapper {
      */
     void add(DefinitionGroupDo defGroupDo);
 
+    /**
+     * 批量添加定义组，所有定义组通过一条语句写入。
+     *
+     * @param defGroupDos 表示定义组列表的 {@link List}{@code <}{@link DefinitionGroupDo}{@code >}。
+     */
+    void addGroups(List<DefinitionGroupDo> defGroupDos);
+
     /**
      * 获取定义组。
      *
@@ -36,4 +45,19 @@ public interface DefinitionGroupMapper {
      * @param name 表示定义组的名称的 {@link String}。
      */
     void delete(String name);
+
+    /**
+     * 批量删除定义组。
+     *
+     * @param names 表示定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    void deleteByNames(List<String> names);
+
+    /**
+     * 在给定的名称中查询已存在且包含定义的定义组，只返回名称。
+     *
+     * @param names 表示待查询的定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示已存在的定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> getExistNames(List<String> names);
 }
@@ -47,6 +47,13 @@ public interface DefinitionMapper {
      */
     void deleteByGroup(String groupName);
 
+    /**
+     * 删除多个定义组下所有的定义。
+     *
+     * @param groupNames 表示定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    void deleteByGroups(List<String> groupNames);
+
     /**
      * 获取指定定义的详细信息。
      *
@@ -24,6 +24,13 @@ public interface ToolGroupMapper {
      */
     void add(ToolGroupDo toolGroupDo);
 
+    /**
+     * 批量添加工具组，所有工具组通过一条语句写入。
+     *
+     * @param toolGroupDos 表示工具组列表的 {@link List}{@code <}{@link ToolGroupDo}{@code >}。
+     */
+    void addGroups(List<ToolGroupDo> toolGroupDos);
+
     /**
      * 获取工具组。
      *
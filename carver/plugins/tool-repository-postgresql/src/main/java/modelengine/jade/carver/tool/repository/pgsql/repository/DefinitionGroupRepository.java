@@ -8,6 +8,7 @@ package modelengine.jade.carver.tool.repository.pgsql.repository;
 
 import modelengine.fel.tool.model.transfer.DefinitionGroupData;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +25,13 @@ public interface DefinitionGroupRepository {
      */
     void add(DefinitionGroupData defGroupData);
 
+    /**
+     * 批量添加定义组。
+     *
+     * @param defGroupDataList 表示定义组列表的 {@link List}{@code <}{@link DefinitionGroupData}{@code >}。
+     */
+    void add(List<DefinitionGroupData> defGroupDataList);
+
     /**
      * 获取定义组。
      *
@@ -38,4 +46,19 @@ public interface DefinitionGroupRepository {
      * @param name 表示定义组的名称的 {@link String}。
      */
     void delete(String name);
+
+    /**
+     * 批量删除定义组。
+     *
+     * @param names 表示定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    void delete(List<String> names);
+
+    /**
+     * 在给定的名称中查询已存在且包含定义的定义组名称。
+     *
+     * @param names 表示待查询的定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示已存在的定义组名称列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    List<String> findExistNames(List<String> names);
 }
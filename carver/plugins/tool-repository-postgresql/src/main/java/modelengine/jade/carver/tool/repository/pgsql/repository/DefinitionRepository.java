@@ -47,6 +47,13 @@ public interface DefinitionRepository {
      */
     void delete(String groupName);
 
+    /**
+     * 删除多个定义组下所有的定义。
+     *
+     * @param groupNames 表示待删除定义组名列表的 {@link List}{@code <}{@link String}{@code >}。
+     */
+    void deleteByGroups(List<String> groupNames);
+
     /**
      * 获取定义信息。
      *
@@ -25,6 +25,13 @@ public interface ToolGroupRepository {
      */
     void add(ToolGroupData toolGroupData);
 
+    /**
+     * 批量添加工具组。
+     *
+     * @param toolGroupDataList 表示工具组列表的 {@link List}{@code <}{@link ToolGroupData}{@code >}。
+     */
+    void add(List<ToolGroupData> toolGroupDataList);
+
     /**
      * 获取工具组。
      *
@@ -16,7 +16,10 @@ import modelengine.jade.carver.tool.repository.pgsql.mapper.DefinitionGroupMappe
 import modelengine.jade.carver.tool.repository.pgsql.model.entity.DefinitionGroupDo;
 import modelengine.jade.carver.tool.repository.pgsql.repository.DefinitionGroupRepository;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * 存入数据库的定义组仓库。
@@ -47,6 +50,16 @@ public class DefaultDefinitionGroupRepository implements DefinitionGroupReposito
         this.defGroupMapper.add(defGroupDo);
     }
 
+    @Override
+    public void add(List<DefinitionGroupData> defGroupDataList) {
+        if (defGroupDataList.isEmpty()) {
+            return;
+        }
+        this.defGroupMapper.addGroups(defGroupDataList.stream()
+                .map(groupData -> DefinitionGroupDo.data2Do(groupData, serializer))
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<DefinitionGroupData> get(String name) {
         DefinitionGroupDo defGroupDo = this.defGroupMapper.get(name);
@@ -60,4 +73,20 @@ public class DefaultDefinitionGroupRepository implements DefinitionGroupReposito
     public void delete(String name) {
         this.defGroupMapper.delete(name);
     }
+
+    @Override
+    public void delete(List<String> names) {
+        if (names.isEmpty()) {
+            return;
+        }
+        this.defGroupMapper.deleteByNames(names);
+    }
+
+    @Override
+    public List<String> findExistNames(List<String> names) {
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return this.defGroupMapper.getExistNames(names);
+    }
 }
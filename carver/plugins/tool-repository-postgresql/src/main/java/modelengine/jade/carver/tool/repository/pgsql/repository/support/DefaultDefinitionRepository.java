@@ -67,6 +67,15 @@ public class DefaultDefinitionRepository implements DefinitionRepository {
         this.definitionMapper.deleteByGroup(groupName);
     }
 
+    @Override
+    @Transactional
+    public void deleteByGroups(List<String> groupNames) {
+        if (groupNames.isEmpty()) {
+            return;
+        }
+        this.definitionMapper.deleteByGroups(groupNames);
+    }
+
     @Override
     public Tool.Metadata get(String groupName, String name) {
         DefinitionDo definitionDo = this.definitionMapper.getByName(groupName, name);
@@ -49,6 +49,16 @@ public class DefaultToolGroupRepository implements ToolGroupRepository {
         this.toolGroupMapper.add(toolGroupDo);
     }
 
+    @Override
+    public void add(List<ToolGroupData> toolGroupDataList) {
+        if (toolGroupDataList.isEmpty()) {
+            return;
+        }
+        this.toolGroupMapper.addGroups(toolGroupDataList.stream()
+                .map(toolGroupData -> ToolGroupDo.data2Do(toolGroupData, serializer))
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public Optional<ToolGroupData> get(String defGroupName, String name) {
         ToolGroupDo toolGroupDo = this.toolGroupMapper.get(defGroupName, name);
@@ -15,9 +15,12 @@ import modelengine.fitframework.annotation.Fitable;
 import modelengine.fitframework.transaction.Transactional;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.carver.tool.repository.pgsql.repository.DefinitionGroupRepository;
+import modelengine.jade.carver.tool.repository.pgsql.repository.DefinitionRepository;
 import modelengine.jade.store.service.DefinitionGroupService;
 import modelengine.jade.store.service.DefinitionService;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -35,10 +38,13 @@ public class DefaultDefinitionGroupService implements DefinitionGroupService {
     private static final String DOT = ".";
 
     private final DefinitionService definitionService;
+    private final DefinitionRepository definitionRepo;
     private final DefinitionGroupRepository defGroupRepo;
 
-    public DefaultDefinitionGroupService(DefinitionService defService, DefinitionGroupRepository defGroupRepo) {
+    public DefaultDefinitionGroupService(DefinitionService defService, DefinitionRepository definitionRepo,
+            DefinitionGroupRepository defGroupRepo) {
         this.definitionService = notNull(defService, "The definition service cannot be null.");
+        this.definitionRepo = notNull(definitionRepo, "The definition repo cannot be null.");
         this.defGroupRepo = notNull(defGroupRepo, "The definition group repo cannot be null.");
     }
 
@@ -55,7 +61,15 @@ public class DefaultDefinitionGroupService implements DefinitionGroupService {
     @Override
     @Transactional
     public void add(List<DefinitionGroupData> definitionGroups) {
-        definitionGroups.forEach(this::add);
+        if (definitionGroups.isEmpty()) {
+            return;
+        }
+        // 所有定义组的定义与定义组各自一次批量写入，语句数量与定义组数量无关。
+        List<DefinitionData> definitions = definitionGroups.stream()
+                .flatMap(definitionGroup -> definitionGroup.getDefinitions().stream())
+                .collect(Collectors.toList());
+        this.definitionService.add(definitions);
+        this.defGroupRepo.add(definitionGroups);
     }
 
     @Fitable(id = FITABLE_ID)
@@ -71,7 +85,11 @@ public class DefaultDefinitionGroupService implements DefinitionGroupService {
     @Override
     @Transactional
     public void delete(List<String> definitionGroupNames) {
-        definitionGroupNames.forEach(this::delete);
+        if (definitionGroupNames.isEmpty()) {
+            return;
+        }
+        this.definitionRepo.deleteByGroups(definitionGroupNames);
+        this.defGroupRepo.delete(definitionGroupNames);
     }
 
     @Fitable(id = FITABLE_ID)
@@ -96,10 +114,8 @@ public class DefaultDefinitionGroupService implements DefinitionGroupService {
     @Fitable(id = FITABLE_ID)
     @Override
     public List<String> findExistDefGroups(Set<String> defGroupNames) {
-        return defGroupNames.stream().filter(groupName -> {
-            DefinitionGroupData defGroup = this.get(groupName);
-            return defGroup != null && !defGroup.getDefinitions().isEmpty();
-        }).collect(Collectors.toList());
+        Set<String> existNames = new HashSet<>(this.defGroupRepo.findExistNames(new ArrayList<>(defGroupNames)));
+        return defGroupNames.stream().filter(existNames::contains).collect(Collectors.toList());
     }
 
     @Fitable(id = FITABLE_ID)
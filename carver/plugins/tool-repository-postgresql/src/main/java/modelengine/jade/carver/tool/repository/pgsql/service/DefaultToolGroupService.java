@@ -61,7 +61,15 @@ public class DefaultToolGroupService implements ToolGroupService {
         if (toolGroupDataList == null) {
             return;
         }
-        toolGroupDataList.forEach(this::add);
+        List<ToolGroupData> toolGroups =
+                toolGroupDataList.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        if (toolGroups.isEmpty()) {
+            return;
+        }
+        toolGroups.forEach(toolGroup -> this.toolService.addTools(toolGroup.getDefGroupName(),
+                toolGroup.getName(),
+                toolGroup.getTools()));
+        this.toolGroupRepository.add(toolGroups);
     }
 
     @Override
@@ -20,6 +20,8 @@ create table if not exists store_tool
     "definition_group_name" varchar(256)                   not null,
     unique("unique_name", "version")
 );
+create index if not exists idx_store_tool_fit ON store_tool ((runnables -> 'FIT' ->> 'genericableId'),
+                                                            (runnables -> 'FIT' ->> 'fitableId'));
 comment on column store_tool.id is '工具的自增主键';
 comment on column store_tool.created_time is '工具的创建时间';
 comment on column store_tool.updated_time is '工具的更新时间';
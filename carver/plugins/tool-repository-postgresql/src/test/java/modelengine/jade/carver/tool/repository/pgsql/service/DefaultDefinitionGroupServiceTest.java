@@ -8,21 +8,37 @@ package modelengine.jade.carver.tool.repository.pgsql.service;
 
 import static modelengine.jade.carver.tool.repository.pgsql.ToolDataBuilder.mockDefinitionGroupData;
 import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 import modelengine.fel.tool.model.transfer.DefinitionGroupData;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.carver.tool.repository.pgsql.repository.DefinitionGroupRepository;
+import modelengine.jade.carver.tool.repository.pgsql.repository.DefinitionRepository;
 import modelengine.jade.store.service.DefinitionService;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * 表示 {@link DefaultToolGroupService} 的测试。
  *
@@ -37,6 +53,9 @@ public class DefaultDefinitionGroupServiceTest {
     @Mock
     private DefinitionGroupRepository defGroupRepository;
 
+    @Mock
+    private DefinitionRepository defRepository;
+
     @Mock
     private DefinitionService defService;
 
@@ -51,7 +70,7 @@ public class DefaultDefinitionGroupServiceTest {
         DefinitionGroupData mockDefGroupData = mockDefinitionGroupData();
         this.defGroupService.add(mockDefGroupData);
         verify(this.defService).add(anyList());
-        verify(this.defGroupRepository).add(any());
+        verify(this.defGroupRepository).add(any(DefinitionGroupData.class));
     }
 
     @Test
@@ -59,7 +78,7 @@ public class DefaultDefinitionGroupServiceTest {
     void shouldOkWhenDeleteDefGroupData() {
         this.defGroupService.delete(StringUtils.EMPTY);
         verify(this.defService).delete(any());
-        verify(this.defGroupRepository).delete(any());
+        verify(this.defGroupRepository).delete(anyString());
     }
 
     @Test
@@ -68,4 +87,43 @@ public class DefaultDefinitionGroupServiceTest {
         this.defGroupService.get(StringUtils.EMPTY);
         verify(this.defGroupRepository).get(any());
     }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 500})
+    @DisplayName("当批量插入定义组时，数据库操作次数与定义组数量无关")
+    void shouldAddDefGroupsInConstantCallsWhenAddList(int groupCount) {
+        List<DefinitionGroupData> groups = IntStream.range(0, groupCount)
+                .mapToObj(i -> mockDefinitionGroupData())
+                .collect(Collectors.toList());
+        this.defGroupService.add(groups);
+        verify(this.defService).add(anyList());
+        verify(this.defGroupRepository).add(groups);
+        verify(this.defGroupRepository, never()).add(any(DefinitionGroupData.class));
+        verifyNoMoreInteractions(this.defService, this.defGroupRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 500})
+    @DisplayName("当批量删除定义组时，数据库操作次数与定义组数量无关")
+    void shouldDeleteDefGroupsInConstantCallsWhenDeleteList(int groupCount) {
+        List<String> names = IntStream.range(0, groupCount).mapToObj(i -> "group" + i).collect(Collectors.toList());
+        this.defGroupService.delete(names);
+        verify(this.defRepository).deleteByGroups(names);
+        verify(this.defGroupRepository).delete(names);
+        verifyNoMoreInteractions(this.defRepository, this.defService, this.defGroupRepository);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 500})
+    @DisplayName("当查询已存在的定义组时，只查询一次名称且不加载定义")
+    void shouldFindExistDefGroupsInOneQuery(int groupCount) {
+        Set<String> names = IntStream.range(0, groupCount)
+                .mapToObj(i -> "group" + i)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        when(this.defGroupRepository.findExistNames(anyList())).thenReturn(Arrays.asList("group0", "missing"));
+        List<String> exist = this.defGroupService.findExistDefGroups(names);
+        assertThat(exist).containsExactly("group0");
+        verify(this.defGroupRepository, times(1)).findExistNames(anyList());
+        verifyNoMoreInteractions(this.defService, this.defGroupRepository);
+    }
 }
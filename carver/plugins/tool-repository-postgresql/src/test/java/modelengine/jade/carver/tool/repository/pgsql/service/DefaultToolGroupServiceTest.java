@@ -53,7 +53,7 @@ public class DefaultToolGroupServiceTest {
         ToolGroupData mockToolGroupData = mockToolGroupData();
         this.toolGroupService.add(mockToolGroupData);
         verify(this.toolService).addTools(any(), any(), anyList());
-        verify(this.toolGroupRepository).add(any());
+        verify(this.toolGroupRepository).add(any(ToolGroupData.class));
     }
 
     @Test
@@ -10,6 +10,7 @@ import modelengine.jade.store.entity.query.PluginToolQuery;
 import modelengine.jade.store.repository.pgsql.entity.PluginToolDo;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 表示用于 MyBatis 持久层引用的 PluginTool 接口。
@@ -78,4 +79,12 @@ public interface PluginToolMapper {
      * @return 插件工具列表的 {@link List}{@code <}{@link PluginToolDo}{@code >}。
      */
     List<PluginToolDo> getPluginToolsByUniqueNames(List<String> uniqueNames);
+
+    /**
+     * 查询已被已部署的插件工具使用的服务实现，命中 {@code store_tool} 上的服务实现表达式索引。
+     *
+     * @param fitables 表示待检查的服务实现列表的 {@link List}，元素的键为 {@code genericableId} 与 {@code fitableId}。
+     * @return 已部署的服务实现列表的 {@link List}，元素的键与入参一致。
+     */
+    List<Map<String, String>> getDeployedFitables(List<Map<String, String>> fitables);
 }
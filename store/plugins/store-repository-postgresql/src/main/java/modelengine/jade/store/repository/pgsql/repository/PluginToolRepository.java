@@ -80,6 +80,15 @@ public interface PluginToolRepository {
      */
     List<Boolean> hasPluginTools(List<String> uniqueNames);
 
+    /**
+     * 检查服务实现是否已被已部署的插件工具使用。
+     *
+     * @param genericableIds 表示服务唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @param fitableIds 表示与服务唯一标识一一对应的服务实现唯一标识列表的 {@link List}{@code <}{@link String}{@code >}。
+     * @return 表示各服务实现是否已部署的 {@link List}{@code <}{@link Boolean}{@code >}。
+     */
+    List<Boolean> hasDeployedFitables(List<String> genericableIds, List<String> fitableIds);
+
     /**
      * 基于工具的唯一标识查询某个插件工具。
      *
@@ -15,7 +15,10 @@ import modelengine.jade.store.repository.pgsql.mapper.PluginToolMapper;
 import modelengine.jade.store.repository.pgsql.repository.PluginToolRepository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +29,9 @@ import java.util.stream.Collectors;
  */
 @Component
 public class DefaultPluginToolRepository implements PluginToolRepository {
+    private static final String GENERICABLE_ID = "genericableId";
+    private static final String FITABLE_ID = "fitableId";
+
     private final PluginToolMapper pluginToolMapper;
 
     /**
@@ -91,8 +97,32 @@ public class DefaultPluginToolRepository implements PluginToolRepository {
         return checkList;
     }
 
+    @Override
+    public List<Boolean> hasDeployedFitables(List<String> genericableIds, List<String> fitableIds) {
+        List<Map<String, String>> fitables = new ArrayList<>();
+        for (int i = 0; i < genericableIds.size(); i++) {
+            Map<String, String> fitable = new HashMap<>();
+            fitable.put(GENERICABLE_ID, genericableIds.get(i));
+            fitable.put(FITABLE_ID, fitableIds.get(i));
+            fitables.add(fitable);
+        }
+        Set<String> deployed = this.pluginToolMapper.getDeployedFitables(fitables)
+                .stream()
+                .map(fitable -> fitableKey(fitable.get(GENERICABLE_ID), fitable.get(FITABLE_ID)))
+                .collect(Collectors.toSet());
+        List<Boolean> checkList = new ArrayList<>();
+        for (int i = 0; i < genericableIds.size(); i++) {
+            checkList.add(deployed.contains(fitableKey(genericableIds.get(i), fitableIds.get(i))));
+        }
+        return checkList;
+    }
+
     @Override
     public PluginToolDo getPluginToolByUniqueName(String toolUniqueName) {
         return this.pluginToolMapper.getPluginToolByUniqueName(toolUniqueName);
     }
+
+    private static String fitableKey(String genericableId, String fitableId) {
+        return genericableId + '\n' + fitableId;
+    }
 }
@@ -6,6 +6,7 @@
 
 package modelengine.jade.store.repository.pgsql.service;
 
+import static modelengine.fitframework.inspection.Validation.isTrue;
 import static modelengine.fitframework.inspection.Validation.notNull;
 
 import modelengine.fel.tool.model.transfer.ToolData;
@@ -151,6 +152,18 @@ public class DefaultPluginToolService implements PluginToolService {
         return this.pluginToolRepository.hasPluginTools(uniqueNames);
     }
 
+    @Override
+    @Fitable(id = FITABLE_ID)
+    public List<Boolean> hasDeployedFitables(List<String> genericableIds, List<String> fitableIds) {
+        if (CollectionUtils.isEmpty(genericableIds)) {
+            return Collections.emptyList();
+        }
+        notNull(fitableIds, "The fitable ids cannot be null.");
+        isTrue(genericableIds.size() == fitableIds.size(),
+                "The size of genericable ids and fitable ids must be equal.");
+        return this.pluginToolRepository.hasDeployedFitables(genericableIds, fitableIds);
+    }
+
     @Override
     @Fitable(id = FITABLE_ID)
     public List<PluginToolData> getPluginTools(List<String> uniqueNames) {
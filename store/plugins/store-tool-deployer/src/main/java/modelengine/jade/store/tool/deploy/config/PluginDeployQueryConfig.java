@@ -21,7 +21,7 @@ public class PluginDeployQueryConfig {
     /** 插件部署状态查询超时时间，单位: 秒 */
     private int timeout;
 
-    /** 插件部署状态查询间隔，单位: 秒 */
+    /** 插件部署状态查询的最大间隔，单位: 秒 */
     private int interval;
 
     /** 保存工具的路径。 */
@@ -15,20 +15,16 @@ import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 
 import modelengine.fel.tool.info.schema.PluginSchema;
-import modelengine.fit.service.RegistryService;
-import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
 import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
 import modelengine.fitframework.log.Logger;
 import modelengine.fitframework.util.FileUtils;
 import modelengine.fitframework.util.SecurityUtils;
 import modelengine.fitframework.util.StringUtils;
-import modelengine.fitframework.util.ThreadUtils;
-import modelengine.jade.carver.ListResult;
 import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.service.annotations.CarverSpan;
 import modelengine.jade.store.code.PluginRetCode;
-import modelengine.jade.store.entity.query.PluginToolQuery;
 import modelengine.jade.store.entity.transfer.PluginData;
 import modelengine.jade.store.entity.transfer.PluginToolData;
 import modelengine.jade.store.service.DeployService;
@@ -44,11 +40,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -60,27 +58,30 @@ import java.util.stream.Collectors;
 @Component
 public class DefaultDeployService implements DeployService {
     private static final Logger log = Logger.get(DefaultDeployService.class);
-    private static final String OR = "OR";
-    private static final int PAGE_SIZE = 100;
 
     private final PluginService pluginService;
-    private final RegistryService registryService;
+    private final FitableRegistrationWatcher registrationWatcher;
     private final PluginToolService pluginToolService;
     private final PluginDeployQueryConfig pluginDeployQueryConfig;
+    private final ExecutorService callbackExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "plugin-deploy-callback");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * 表示插件部署的构造函数。
      *
      * @param pluginService 表示插件服务的 {@link PluginService}。
-     * @param registryService 表示注册中心的 {@link RegistryService}。
+     * @param registrationWatcher 表示服务实现注册结果监听器的 {@link FitableRegistrationWatcher}。
      * @param pluginToolService 表示插件工具服务的 {@link PluginToolService}。
      * @param pluginDeployQueryConfig 表示插件部署状态查询配置参数的 {@link PluginDeployQueryConfig}。
      */
-    public DefaultDeployService(PluginService pluginService, RegistryService registryService,
+    public DefaultDeployService(PluginService pluginService, FitableRegistrationWatcher registrationWatcher,
             PluginToolService pluginToolService, PluginDeployQueryConfig pluginDeployQueryConfig) {
         this.pluginService = notNull(pluginService, "The plugin service cannot be null.");
         this.pluginToolService = notNull(pluginToolService, "The plugin tool service cannot be null.");
-        this.registryService = notNull(registryService, "The registry service cannot be null.");
+        this.registrationWatcher = notNull(registrationWatcher, "The registration watcher cannot be null.");
         this.pluginDeployQueryConfig =
                 notNull(pluginDeployQueryConfig, "The plugin deploy query config cannot be null.");
     }
@@ -102,17 +103,52 @@ public class DefaultDeployService implements DeployService {
                     .stream()
                     .map(this::getFitableInfo)
                     .collect(Collectors.toList());
-            if (this.queryToolsRegisterResult(fitableInfos)) {
+            // 部署线程不等待注册结果，注册完成或超时后在回调线程中更新部署状态，不占用监听器的检查线程.
+            this.registrationWatcher.watch(fitableInfos)
+                    .whenCompleteAsync((isRegistered, cause) -> this.onRegistered(pluginId, isRegistered, cause),
+                            this.callbackExecutor);
+        } catch (IOException e) {
+            log.error("Failed to deploy plugin. [pluginFile={}]", pluginFullName, e);
+            PluginDeployManagementUtils.undeployPlugin(pluginId, this.pluginService, this.pluginDeployQueryConfig);
+            this.pluginService.updateDeployStatus(Collections.singletonList(pluginId), DeployStatus.DEPLOYMENT_FAILED);
+        }
+    }
+
+    /**
+     * 插件停止时关闭回调线程，已提交的状态更新执行完后线程退出。
+     */
+    @Destroy
+    public void close() {
+        this.callbackExecutor.shutdown();
+    }
+
+    private void onRegistered(String pluginId, Boolean isRegistered, Throwable cause) {
+        try {
+            if (cause == null && Boolean.TRUE.equals(isRegistered)) {
+                log.info("Plugin tools registered. [pluginId={}]", pluginId);
                 this.pluginService.updateDeployStatus(Collections.singletonList(pluginId), DeployStatus.DEPLOYED);
+                return;
+            }
+            if (cause != null) {
+                log.error("Failed to watch plugin tools registration. [pluginId={}]", pluginId, cause);
             } else {
-                PluginDeployManagementUtils.undeployPlugin(pluginId, this.pluginService, this.pluginDeployQueryConfig);
-                this.pluginService.updateDeployStatus(Collections.singletonList(pluginId),
-                        DeployStatus.DEPLOYMENT_FAILED);
+                log.error("Plugin tools are not registered before timeout. [pluginId={}]", pluginId);
             }
-        } catch (IOException e) {
-            log.error("Failed to deploy plugin. [pluginFile={}]", pluginFullName, e);
             PluginDeployManagementUtils.undeployPlugin(pluginId, this.pluginService, this.pluginDeployQueryConfig);
             this.pluginService.updateDeployStatus(Collections.singletonList(pluginId), DeployStatus.DEPLOYMENT_FAILED);
+        } catch (RuntimeException e) {
+            log.error("Failed to update plugin deploy status, mark it as failed. [pluginId={}]", pluginId, e);
+            this.markFailed(pluginId);
+        }
+    }
+
+    private void markFailed(String pluginId) {
+        try {
+            this.pluginService.updateDeployStatus(Collections.singletonList(pluginId), DeployStatus.DEPLOYMENT_FAILED);
+        } catch (RuntimeException e) {
+            log.error("Failed to mark plugin deploy failed, it will be reset on next startup. [pluginId={}]",
+                    pluginId,
+                    e);
         }
     }
 
@@ -125,6 +161,8 @@ public class DefaultDeployService implements DeployService {
             return Optional.empty();
         }
         List<PluginToolData> pluginToolDataList = pluginData.getPluginToolDataList();
+        List<String> genericableIds = new ArrayList<>();
+        List<String> fitableIds = new ArrayList<>();
         for (PluginToolData pluginToolData : pluginToolDataList) {
             Map<String, Object> runnables = pluginToolData.getRunnables();
             if (runnables.isEmpty()) {
@@ -133,9 +171,11 @@ public class DefaultDeployService implements DeployService {
             Object fit = runnables.get(FIT);
             if (fit != null) {
                 Map<String, Object> fitMap = cast(fit);
-                this.validateFitableExist(cast(fitMap.get(GENERICABLE_ID)), cast(fitMap.get(FITABLE_ID)));
+                genericableIds.add(cast(fitMap.get(GENERICABLE_ID)));
+                fitableIds.add(cast(fitMap.get(FITABLE_ID)));
             }
         }
+        this.validateFitableExist(genericableIds, fitableIds);
         return Optional.of(persistentPath);
     }
 
@@ -154,23 +194,6 @@ public class DefaultDeployService implements DeployService {
         return strategy.generatePath(extension);
     }
 
-    private boolean queryToolsRegisterResult(List<FitableInfo> fitableInfos) {
-        long startTimestamp = System.currentTimeMillis();
-        while (!this.isQueryTimeout(startTimestamp)) {
-            List<FitableAddressInstance> result = this.registryService.queryFitables(fitableInfos, "");
-            if (result.size() == fitableInfos.size() && result.stream()
-                    .noneMatch(info -> info.getApplicationInstances().isEmpty())) {
-                return true;
-            }
-            ThreadUtils.sleep(this.pluginDeployQueryConfig.getInterval() * 1000L);
-        }
-        return false;
-    }
-
-    private boolean isQueryTimeout(long startTimestamp) {
-        return System.currentTimeMillis() - startTimestamp > this.pluginDeployQueryConfig.getTimeout() * 1000L;
-    }
-
     private boolean completenessCheck(File pluginFile, String expectCheckSum) {
         String fileChecksum = SecurityUtils.signatureOf(pluginFile, "sha-256", 1024);
         return expectCheckSum.equals(fileChecksum);
@@ -191,43 +214,17 @@ public class DefaultDeployService implements DeployService {
         return fitableInfo;
     }
 
-    private void validateFitableExist(String genericableId, String fitableId) {
-        for (int i = 0; i < this.pluginDeployQueryConfig.getMaxToolSize(); i++) {
-            ListResult<PluginToolData> pluginTools =
-                    this.pluginToolService.getPluginTools(new PluginToolQuery.Builder().toolName(null)
-                            .includeTags(new HashSet<>())
-                            .excludeTags(new HashSet<>())
-                            .mode(OR)
-                            .offset(i * PAGE_SIZE)
-                            .limit(PAGE_SIZE)
-                            .version(null)
-                            .isDeployed(true)
-                            .build());
-            if (pluginTools == null || pluginTools.getCount() < 1) {
-                return;
-            }
-            for (PluginToolData pluginToolData : pluginTools.getData()) {
-                Map<String, Object> runnables = pluginToolData.getRunnables();
-                if (runnables.isEmpty()) {
-                    return;
-                }
-                Object fit = runnables.get(FIT);
-                if (fit == null) {
-                    return;
-                }
-                Map<String, Object> fitMap = cast(fit);
-                Object deployedGenericableId =
-                        notNull(fitMap.get(GENERICABLE_ID), "The genericable id cannot be null.");
-                Object deployedFitableId = fitMap.get(FITABLE_ID);
-                if (deployedFitableId == null) {
-                    return;
-                }
-                if (deployedFitableId.equals(fitableId) && deployedGenericableId.equals(genericableId)) {
-                    throw new ModelEngineException(PluginRetCode.PLUGIN_DEPLOY_FAILED,
-                            StringUtils.format("The tool has been deployed. [genericableId={0}, fitableId={1}]",
-                                    genericableId,
-                                    fitableId));
-                }
+    private void validateFitableExist(List<String> genericableIds, List<String> fitableIds) {
+        if (genericableIds.isEmpty()) {
+            return;
+        }
+        List<Boolean> deployed = this.pluginToolService.hasDeployedFitables(genericableIds, fitableIds);
+        for (int i = 0; i < deployed.size(); i++) {
+            if (Boolean.TRUE.equals(deployed.get(i))) {
+                throw new ModelEngineException(PluginRetCode.PLUGIN_DEPLOY_FAILED,
+                        StringUtils.format("The tool has been deployed. [genericableId={0}, fitableId={1}]",
+                                genericableIds.get(i),
+                                fitableIds.get(i)));
             }
         }
     }
@@ -90,7 +90,8 @@ public class DefaultPluginDeployService implements PluginDeployService, FitRunti
                 .workQueueCapacity(queryPoolConfig.getWorkQueueCapacity())
                 .isDaemonThread(false)
                 .exceptionHandler((thread, throwable) -> {})
-                .rejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.AbortPolicy())
+                // 部署任务不再等待注册结果，队列已满时由调用线程执行，批量部署不会因线程池饱和而失败.
+                .rejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy())
                 .build();
     }
 
@@ -0,0 +1,173 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.store.tool.deploy.service.support;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import modelengine.fit.service.RegistryService;
+import modelengine.fit.service.entity.FitableAddressInstance;
+import modelengine.fit.service.entity.FitableInfo;
+import modelengine.fitframework.annotation.Component;
+import modelengine.fitframework.annotation.Destroy;
+import modelengine.fitframework.log.Logger;
+import modelengine.fitframework.util.CollectionUtils;
+import modelengine.jade.store.tool.deploy.config.PluginDeployQueryConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 表示服务实现注册结果的监听器。
+ * <p>所有等待注册结果的部署共用一个检查线程：每次检查把全部待确认的服务实现合并为一次注册中心查询，
+ * 注册完成的部署立即得到通知。新的监听加入时立即检查，之后的检查间隔从 200 毫秒开始倍增，直到配置的查询间隔，
+ * 因此注册很快完成时部署能及时结束，长时间未完成时也不会频繁查询。</p>
+ *
+ * @author 杭潇
+ * @since 2025-04-30
+ */
+@Component
+public class FitableRegistrationWatcher {
+    private static final Logger log = Logger.get(FitableRegistrationWatcher.class);
+    private static final long MIN_CHECK_INTERVAL_MILLIS = 200L;
+
+    private final RegistryService registryService;
+    private final PluginDeployQueryConfig pluginDeployQueryConfig;
+    private final Collection<Watch> watches = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fitable-registration-watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> nextCheck;
+    private long checkInterval = MIN_CHECK_INTERVAL_MILLIS;
+    private long generation;
+
+    /**
+     * 表示服务实现注册结果监听器的构造函数。
+     *
+     * @param registryService 表示注册中心的 {@link RegistryService}。
+     * @param pluginDeployQueryConfig 表示插件部署状态查询配置参数的 {@link PluginDeployQueryConfig}。
+     */
+    public FitableRegistrationWatcher(RegistryService registryService,
+            PluginDeployQueryConfig pluginDeployQueryConfig) {
+        this.registryService = notNull(registryService, "The registry service cannot be null.");
+        this.pluginDeployQueryConfig =
+                notNull(pluginDeployQueryConfig, "The plugin deploy query config cannot be null.");
+    }
+
+    /**
+     * 监听服务实现的注册结果。
+     *
+     * @param fitableInfos 表示待确认注册的服务实现列表的 {@link List}{@code <}{@link FitableInfo}{@code >}。
+     * @return 表示注册结果的 {@link CompletableFuture}{@code <}{@link Boolean}{@code >}，全部注册完成时为
+     * {@code true}，超时为 {@code false}。
+     */
+    public CompletableFuture<Boolean> watch(List<FitableInfo> fitableInfos) {
+        if (CollectionUtils.isEmpty(fitableInfos)) {
+            return CompletableFuture.completedFuture(true);
+        }
+        long deadline = System.currentTimeMillis() + this.pluginDeployQueryConfig.getTimeout() * 1000L;
+        Watch watch = new Watch(fitableInfos, deadline);
+        this.watches.add(watch);
+        this.restart();
+        return watch.future;
+    }
+
+    /**
+     * 插件停止时关闭检查线程，避免插件重新加载后遗留线程。
+     * <p>尚未得到结果的部署保持部署中状态，由下次启动时重置。</p>
+     */
+    @Destroy
+    public void close() {
+        this.scheduler.shutdownNow();
+    }
+
+    private synchronized void restart() {
+        this.generation++;
+        this.checkInterval = MIN_CHECK_INTERVAL_MILLIS;
+        if (this.nextCheck != null) {
+            this.nextCheck.cancel(false);
+        }
+        long current = this.generation;
+        this.nextCheck = this.scheduler.schedule(() -> this.check(current), 0L, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void scheduleNext(long generation) {
+        // 检查期间有新的监听加入时，已由新一轮检查接管.
+        if (generation != this.generation || this.watches.isEmpty()) {
+            return;
+        }
+        long delay = this.checkInterval;
+        long maxInterval = Math.max(MIN_CHECK_INTERVAL_MILLIS, this.pluginDeployQueryConfig.getInterval() * 1000L);
+        this.checkInterval = Math.min(delay * 2, maxInterval);
+        this.nextCheck = this.scheduler.schedule(() -> this.check(generation), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void check(long generation) {
+        List<Watch> current = new ArrayList<>(this.watches);
+        if (current.isEmpty()) {
+            return;
+        }
+        Map<String, FitableInfo> pending = new LinkedHashMap<>();
+        current.forEach(watch -> watch.fitables.forEach(pending::putIfAbsent));
+        Set<String> registered;
+        try {
+            registered = this.registryService.queryFitables(new ArrayList<>(pending.values()), "")
+                    .stream()
+                    .filter(instance -> instance.getFitable() != null)
+                    .filter(instance -> CollectionUtils.isNotEmpty(instance.getApplicationInstances()))
+                    .map(FitableAddressInstance::getFitable)
+                    .map(FitableRegistrationWatcher::key)
+                    .collect(Collectors.toSet());
+        } catch (RuntimeException e) {
+            log.warn("Failed to query fitables from registry, retry later. [count={}]", pending.size(), e);
+            registered = Collections.emptySet();
+        }
+        long now = System.currentTimeMillis();
+        for (Watch watch : current) {
+            if (registered.containsAll(watch.fitables.keySet())) {
+                this.complete(watch, true);
+            } else if (now > watch.deadline) {
+                this.complete(watch, false);
+            }
+        }
+        this.scheduleNext(generation);
+    }
+
+    private void complete(Watch watch, boolean isRegistered) {
+        this.watches.remove(watch);
+        watch.future.complete(isRegistered);
+    }
+
+    private static String key(FitableInfo fitableInfo) {
+        return fitableInfo.getGenericableId() + '\n' + fitableInfo.getFitableId();
+    }
+
+    private static class Watch {
+        private final Map<String, FitableInfo> fitables = new LinkedHashMap<>();
+        private final long deadline;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        Watch(List<FitableInfo> fitableInfos, long deadline) {
+            fitableInfos.forEach(fitableInfo -> this.fitables.put(key(fitableInfo), fitableInfo));
+            this.deadline = deadline;
+        }
+    }
+}
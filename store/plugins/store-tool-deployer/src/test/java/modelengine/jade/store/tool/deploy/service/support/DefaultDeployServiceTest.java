@@ -9,18 +9,19 @@ package modelengine.jade.store.tool.deploy.service.support;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static org.assertj.core.api.AssertionsForClassTypes.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import modelengine.fit.service.RegistryService;
-import modelengine.fit.service.entity.ApplicationInstance;
-import modelengine.fit.service.entity.FitableAddressInstance;
 import modelengine.fit.service.entity.FitableInfo;
-import modelengine.jade.carver.ListResult;
 import modelengine.jade.store.entity.query.PluginToolQuery;
 import modelengine.jade.store.entity.transfer.PluginToolData;
 import modelengine.jade.store.service.DeployService;
 import modelengine.jade.store.service.PluginService;
 import modelengine.jade.store.service.PluginToolService;
+import modelengine.jade.store.service.support.DeployStatus;
 import modelengine.jade.store.tool.deploy.config.PluginDeployQueryConfig;
 
 import org.assertj.core.api.AssertionsForClassTypes;
@@ -33,6 +34,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -66,7 +68,7 @@ class DefaultDeployServiceTest {
         pluginDeployQueryConfig.setToolsPath("/demo");
         pluginDeployQueryConfig.setMaxToolSize(20);
         this.deployService = new DefaultDeployService(this.mockPluginService,
-                this.mockRegistryService,
+                new FitableRegistrationWatcher(this.mockRegistryService, pluginDeployQueryConfig),
                 this.mockPluginToolService,
                 pluginDeployQueryConfig);
     }
@@ -85,54 +87,36 @@ class DefaultDeployServiceTest {
     @Test
     @DisplayName("给定已经部署的插件信息，校验失败")
     void givenDeployPluginThenValidateFailed() throws NoSuchMethodException {
-        Method method =
-                DefaultDeployService.class.getDeclaredMethod("validateFitableExist", String.class, String.class);
+        Method method = DefaultDeployService.class.getDeclaredMethod("validateFitableExist", List.class, List.class);
         method.setAccessible(true);
-        String genericableId = "multi_gid";
-        String fitableId = "multi_fid";
+        List<String> genericableIds = Arrays.asList("gid", "multi_gid");
+        List<String> fitableIds = Arrays.asList("fid", "multi_fid");
 
-        ListResult<PluginToolData> listResult =
-                new ListResult<>(Collections.singletonList(this.mockPluginToolData()), 100);
-        when(this.mockPluginToolService.getPluginTools(any(PluginToolQuery.class))).thenReturn(listResult);
+        when(this.mockPluginToolService.hasDeployedFitables(genericableIds, fitableIds)).thenReturn(
+                Arrays.asList(false, true));
         InvocationTargetException invocationTargetException =
-                catchThrowableOfType(() -> method.invoke(this.deployService, genericableId, fitableId),
+                catchThrowableOfType(() -> method.invoke(this.deployService, genericableIds, fitableIds),
                         InvocationTargetException.class);
         AssertionsForClassTypes.assertThat(invocationTargetException.getTargetException().getMessage())
                 .isEqualTo("Failed to deploy the plugin. [cause=The tool has been deployed. "
                         + "[genericableId=multi_gid, fitableId=multi_fid]]");
+        verify(this.mockPluginToolService, never()).getPluginTools(any(PluginToolQuery.class));
     }
 
     @Test
-    @DisplayName("查询插件工具注册结果符合预期")
-    void testQueryToolsRegisterResult()
-            throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        Method method = DefaultDeployService.class.getDeclaredMethod("queryToolsRegisterResult", List.class);
+    @DisplayName("注册完成后更新部署状态失败时，将插件标记为部署失败")
+    void givenUpdateDeployedFailedThenMarkDeployFailed() throws NoSuchMethodException, InvocationTargetException,
+            IllegalAccessException {
+        Method method = DefaultDeployService.class.getDeclaredMethod("onRegistered", String.class, Boolean.class,
+                Throwable.class);
         method.setAccessible(true);
-        FitableAddressInstance fitableAddressInstance = getFitableAddressInstance();
-        List<FitableAddressInstance> fitableAddressInstances = Collections.singletonList(fitableAddressInstance);
-        FitableInfo fitableInfo = new FitableInfo();
-        fitableInfo.setGenericableId("genericableId");
-        fitableInfo.setGenericableVersion("genericableVersion");
-        fitableInfo.setFitableId("fitableId");
-        fitableInfo.setFitableVersion("fitableVersion");
-        List<FitableInfo> fitables = Collections.singletonList(fitableInfo);
-        when(this.mockRegistryService.queryFitables(fitables, "")).thenReturn(fitableAddressInstances);
-        Object result = method.invoke(this.deployService, fitables);
-        AssertionsForClassTypes.assertThat(result).isInstanceOf(Boolean.class);
-        boolean isRegistered = cast(result);
-        AssertionsForClassTypes.assertThat(isRegistered).isTrue();
-    }
+        doThrow(new IllegalStateException("db down")).when(this.mockPluginService)
+                .updateDeployStatus(Collections.singletonList("pluginId"), DeployStatus.DEPLOYED);
+
+        method.invoke(this.deployService, "pluginId", true, null);
 
-    private static FitableAddressInstance getFitableAddressInstance() {
-        final FitableAddressInstance fitableAddressInstance = new FitableAddressInstance();
-        final FitableInfo fitable = new FitableInfo();
-        fitable.setGenericableId("genericableId");
-        fitable.setGenericableVersion("genericableVersion");
-        fitable.setFitableId("fitableId");
-        fitableAddressInstance.setFitable(fitable);
-        final ApplicationInstance applicationInstance = new ApplicationInstance();
-        fitableAddressInstance.setApplicationInstances(Collections.singletonList(applicationInstance));
-        return fitableAddressInstance;
+        verify(this.mockPluginService).updateDeployStatus(Collections.singletonList("pluginId"),
+                DeployStatus.DEPLOYMENT_FAILED);
     }
 
     private PluginToolData mockPluginToolData() {
@@ -84,7 +84,7 @@ class DefaultPluginDeployServiceTest {
         registryQueryPoolConfig.setMaximumPoolSize(20);
         registryQueryPoolConfig.setWorkQueueCapacity(10);
         DeployService deployService = new DefaultDeployService(this.mockPluginService,
-                this.mockRegistryService,
+                new FitableRegistrationWatcher(this.mockRegistryService, pluginDeployQueryConfig),
                 this.mockPluginToolService,
                 pluginDeployQueryConfig);
         this.pluginDeployService = new DefaultPluginDeployService(this.mockPluginService,
@@ -0,0 +1,123 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.store.tool.deploy.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import modelengine.fit.service.RegistryService;
+import modelengine.fit.service.entity.ApplicationInstance;
+import modelengine.fit.service.entity.FitableAddressInstance;
+import modelengine.fit.service.entity.FitableInfo;
+import modelengine.jade.store.tool.deploy.config.PluginDeployQueryConfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 表示 {@link FitableRegistrationWatcher} 的单测。
+ *
+ * @author 杭潇
+ * @since 2025-04-30
+ */
+@ExtendWith(MockitoExtension.class)
+class FitableRegistrationWatcherTest {
+    @Mock
+    private RegistryService mockRegistryService;
+
+    private PluginDeployQueryConfig pluginDeployQueryConfig;
+    private FitableRegistrationWatcher watcher;
+
+    @BeforeEach
+    void setUp() {
+        this.pluginDeployQueryConfig = new PluginDeployQueryConfig();
+        this.pluginDeployQueryConfig.setInterval(10);
+        this.pluginDeployQueryConfig.setTimeout(60);
+        this.watcher = new FitableRegistrationWatcher(this.mockRegistryService, this.pluginDeployQueryConfig);
+    }
+
+    @Test
+    @DisplayName("服务实现注册后立即通知，不等待查询间隔")
+    void shouldCompleteAsSoonAsRegistered() throws Exception {
+        FitableInfo fitable = fitableInfo("fid");
+        when(this.mockRegistryService.queryFitables(anyList(), eq(""))).thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(registered(fitable)));
+
+        // 查询间隔为 10 秒，5 秒内完成说明注册后无需等待完整的查询间隔.
+        boolean isRegistered = this.watcher.watch(Collections.singletonList(fitable)).get(5, TimeUnit.SECONDS);
+
+        assertThat(isRegistered).isTrue();
+    }
+
+    @Test
+    @DisplayName("多个部署等待注册时合并为一次注册中心查询")
+    void shouldBatchPendingFitablesIntoOneQuery() throws Exception {
+        FitableInfo first = fitableInfo("first");
+        FitableInfo second = fitableInfo("second");
+        when(this.mockRegistryService.queryFitables(anyList(), eq(""))).thenReturn(
+                Arrays.asList(registered(first), registered(second)));
+
+        CompletableFuture<Boolean> firstResult = this.watcher.watch(Collections.singletonList(first));
+        CompletableFuture<Boolean> secondResult = this.watcher.watch(Collections.singletonList(second));
+
+        assertThat(firstResult.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(secondResult.get(5, TimeUnit.SECONDS)).isTrue();
+        verify(this.mockRegistryService, atMost(2)).queryFitables(anyList(), eq(""));
+    }
+
+    @Test
+    @DisplayName("超时仍未注册时返回失败")
+    void shouldFailWhenTimeout() throws Exception {
+        this.pluginDeployQueryConfig.setTimeout(0);
+        FitableInfo fitable = fitableInfo("fid");
+        when(this.mockRegistryService.queryFitables(anyList(), eq(""))).thenReturn(Collections.emptyList());
+
+        List<FitableInfo> fitables = Collections.singletonList(fitable);
+        assertThat(this.watcher.watch(fitables).get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("关闭后检查线程停止，不再接受新的监听")
+    void shouldStopCheckingAfterClose() {
+        this.watcher.close();
+
+        assertThatThrownBy(() -> this.watcher.watch(Collections.singletonList(fitableInfo("fid"))))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static FitableInfo fitableInfo(String fitableId) {
+        FitableInfo fitableInfo = new FitableInfo();
+        fitableInfo.setGenericableId("genericableId");
+        fitableInfo.setGenericableVersion("1.0.0");
+        fitableInfo.setFitableId(fitableId);
+        fitableInfo.setFitableVersion("1.0.0");
+        return fitableInfo;
+    }
+
+    private static FitableAddressInstance registered(FitableInfo fitable) {
+        FitableAddressInstance instance = new FitableAddressInstance();
+        instance.setFitable(fitable);
+        instance.setApplicationInstances(Collections.singletonList(new ApplicationInstance()));
+        return instance;
+    }
+}
@@ -27,6 +27,12 @@ public class PluginUploadConstraintConfig {
     /** 保存工具的路径。 */
     private String toolsPath;
 
+    /** 插件包解压后允许的最大字节数。 */
+    private long maxPackageSize = 1024L * 1024 * 1024;
+
+    /** 插件包内单个配置文件允许的最大字节数。 */
+    private long maxManifestSize = 10L * 1024 * 1024;
+
     /**
      * 获取最大的插件上传数量。
      *
@@ -80,4 +86,40 @@ public class PluginUploadConstraintConfig {
     public void setToolsPath(String toolsPath) {
         this.toolsPath = toolsPath;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取插件包解压后允许的最大字节数。
+     *
+     * @return 表示插件包解压后允许的最大字节数的 {@code long}。
+     */
+    public long getMaxPackageSize() {
+        return this.maxPackageSize;
+    }
+
+    /**
+     * 设置插件包解压后允许的最大字节数。
+     *
+     * @param maxPackageSize 表示插件包解压后允许的最大字节数的 {@code long}。
+     */
+    public void setMaxPackageSize(long maxPackageSize) {
+        this.maxPackageSize = maxPackageSize;
+    }
+
+    /**
+     * 获取插件包内单个配置文件允许的最大字节数。
+     *
+     * @return 表示单个配置文件允许的最大字节数的 {@code long}。
+     */
+    public long getMaxManifestSize() {
+        return this.maxManifestSize;
+    }
+
+    /**
+     * 设置插件包内单个配置文件允许的最大字节数。
+     *
+     * @param maxManifestSize 表示单个配置文件允许的最大字节数的 {@code long}。
+     */
+    public void setMaxManifestSize(long maxManifestSize) {
+        this.maxManifestSize = maxManifestSize;
+    }
+}
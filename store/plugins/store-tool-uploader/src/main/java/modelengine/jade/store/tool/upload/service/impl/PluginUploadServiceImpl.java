@@ -37,7 +37,6 @@ import static modelengine.jade.store.tool.upload.support.processor.PluginProcess
 import static modelengine.jade.store.tool.upload.support.processor.ToolProcessor.enhanceSchema;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.buildDefGroupMap;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getCompressedFile;
-import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFileByName;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFileInfo;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.objToString;
 
@@ -64,6 +63,7 @@ import modelengine.jade.store.tool.upload.config.PluginUploadConstraintConfig;
 import modelengine.jade.store.tool.upload.service.PluginUploadService;
 import modelengine.jade.store.tool.upload.support.processor.ProcessorFactory;
 import modelengine.jade.store.tool.upload.utils.FormatFileUtils;
+import modelengine.jade.store.tool.upload.utils.PluginPackage;
 
 import java.io.File;
 import java.io.IOException;
@@ -122,24 +122,27 @@ public class PluginUploadServiceImpl implements PluginUploadService {
     public void uploadPlugins(List<NamedEntity> namedEntities, List<String> toolNames) {
         for (NamedEntity namedEntity : namedEntities) {
             validatePluginConstraintInfo(this.pluginUploadConstraintConfig, this.pluginService);
-            File tempDir = FormatFileUtils.unzipPlugin(namedEntity.asFile());
+            PluginPackage pluginPackage = FormatFileUtils.readPluginPackage(namedEntity.asFile(),
+                    this.pluginUploadConstraintConfig.getMaxPackageSize(),
+                    this.pluginUploadConstraintConfig.getMaxManifestSize());
             try {
-                validateNecessaryFiles(tempDir);
-                validateCompleteness(tempDir, this.serializer);
-                this.savePlugin(tempDir, toolNames);
+                validateNecessaryFiles(pluginPackage);
+                validateCompleteness(pluginPackage, this.serializer);
+                this.savePlugin(pluginPackage, toolNames);
             } finally {
-                FileUtils.delete(tempDir);
+                FileUtils.delete(pluginPackage.getDirectory());
             }
             log.info("The plugin is added successfully, and the selected tools are added successfully.");
         }
     }
 
-    private void savePlugin(File tempDir, List<String> toolNames) {
+    private void savePlugin(PluginPackage pluginPackage, List<String> toolNames) {
+        File tempDir = pluginPackage.getDirectory();
         PluginJsonEntity pluginJsonEntity =
-                getFileInfo(getFileByName(tempDir, PLUGIN_JSON), this.serializer, PluginJsonEntity.class);
+                getFileInfo(pluginPackage, PLUGIN_JSON, this.serializer, PluginJsonEntity.class);
         PluginData pluginData = cast(this.processorFactory.createInstance(PLUGINS)
                 .process(pluginJsonEntity, Collections.singletonMap(TEMP_DIR, tempDir)));
-        Object toolJsonEntity = getFileInfo(getFileByName(tempDir, TOOLS_JSON), this.serializer, ToolJsonEntity.class);
+        Object toolJsonEntity = getFileInfo(pluginPackage, TOOLS_JSON, this.serializer, ToolJsonEntity.class);
         List<DefinitionGroupData> defGroups =
                 cast(this.processorFactory.createInstance(DEFINITIONS).process(toolJsonEntity, new HashMap<>()));
         List<ToolGroupData> toolGroups =
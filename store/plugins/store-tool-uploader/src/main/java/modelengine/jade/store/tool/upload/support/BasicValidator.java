@@ -17,10 +17,7 @@ import static modelengine.fitframework.inspection.Validation.notBlank;
 import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static modelengine.jade.store.code.PluginRetCode.JSON_PARSE_ERROR;
-import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getCompressedFile;
-import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFileByName;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFileInfo;
-import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFiles;
 
 import modelengine.fel.tool.info.entity.PluginJsonEntity;
 import modelengine.fel.tool.model.transfer.DefinitionData;
@@ -29,7 +26,6 @@ import modelengine.fel.tool.model.transfer.ToolData;
 import modelengine.fel.tool.model.transfer.ToolGroupData;
 import modelengine.fitframework.serialization.ObjectSerializer;
 import modelengine.fitframework.util.CollectionUtils;
-import modelengine.fitframework.util.SecurityUtils;
 import modelengine.fitframework.util.StringUtils;
 import modelengine.jade.carver.ListResult;
 import modelengine.jade.common.exception.ModelEngineException;
@@ -40,8 +36,8 @@ import modelengine.jade.store.service.DefinitionGroupService;
 import modelengine.jade.store.service.PluginService;
 import modelengine.jade.store.service.ToolGroupService;
 import modelengine.jade.store.tool.upload.config.PluginUploadConstraintConfig;
+import modelengine.jade.store.tool.upload.utils.PluginPackage;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.FileStore;
 import java.nio.file.Files;
@@ -111,14 +107,13 @@ public class BasicValidator {
     /**
      * 验证必要的文件是否存在。
      *
-     * @param tempDir 表示临时目录的 {@link File}。
+     * @param pluginPackage 表示读取后的插件包的 {@link PluginPackage}。
      */
-    public static void validateNecessaryFiles(File tempDir) {
-        List<String> files = Arrays.stream(getFiles(tempDir)).map(File::getName).collect(Collectors.toList());
-        if (!files.contains(PLUGIN_JSON)) {
+    public static void validateNecessaryFiles(PluginPackage pluginPackage) {
+        if (!pluginPackage.hasManifest(PLUGIN_JSON)) {
             throw new ModelEngineException(PluginRetCode.FILE_MISSING_ERROR, PLUGIN_JSON);
         }
-        if (!files.contains(TOOLS_JSON)) {
+        if (!pluginPackage.hasManifest(TOOLS_JSON)) {
             throw new ModelEngineException(PluginRetCode.FILE_MISSING_ERROR, TOOLS_JSON);
         }
     }
@@ -126,14 +121,15 @@ public class BasicValidator {
     /**
      * 校验插件的完整性。
      *
-     * @param tempDir 表示临时目录的 {@link File}。
+     * @param pluginPackage 表示读取后的插件包的 {@link PluginPackage}，校验值在读取时已计算。
      * @param serializer 表示序列化器的 {@link ObjectSerializer}。
      */
-    public static void validateCompleteness(File tempDir, ObjectSerializer serializer) {
-        File compressedFile = getCompressedFile(tempDir);
-        String expectValidationValue = SecurityUtils.signatureOf(compressedFile, "sha-256", 1024);
-        PluginJsonEntity pluginJsonEntity =
-                getFileInfo(getFileByName(tempDir, PLUGIN_JSON), serializer, PluginJsonEntity.class);
+    public static void validateCompleteness(PluginPackage pluginPackage, ObjectSerializer serializer) {
+        if (pluginPackage.getCompressedFile() == null) {
+            throw new ModelEngineException(PluginRetCode.NO_PLUGIN_FOUND_ERROR);
+        }
+        String expectValidationValue = pluginPackage.getChecksum();
+        PluginJsonEntity pluginJsonEntity = getFileInfo(pluginPackage, PLUGIN_JSON, serializer, PluginJsonEntity.class);
         notBlank(pluginJsonEntity.getChecksum(), () -> buildBlankParserException(PLUGIN_JSON, CHECKSUM));
         String actualValidationValue = pluginJsonEntity.getChecksum();
         if (!expectValidationValue.equalsIgnoreCase(actualValidationValue)) {
@@ -6,6 +6,8 @@
 
 package modelengine.jade.store.tool.upload.utils;
 
+import static modelengine.fel.tool.info.schema.PluginSchema.PLUGIN_JSON;
+import static modelengine.fel.tool.info.schema.ToolsSchema.TOOLS_JSON;
 import static modelengine.fitframework.inspection.Validation.notNull;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static modelengine.jade.store.tool.upload.support.BasicValidator.buildParserException;
@@ -28,19 +30,27 @@ import modelengine.fel.tool.model.transfer.DefinitionGroupData;
 import modelengine.jade.common.exception.ModelEngineException;
 import modelengine.jade.store.code.PluginRetCode;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 /**
  * 表示插件的文件工具类。
@@ -52,6 +62,8 @@ public class FormatFileUtils {
     private static final Logger log = Logger.get(FormatFileUtils.class);
     private static final String TEMPORARY_TOOL_PATH = "/var/temporary/tools";
     private static final Set<String> COMPRESSED_FILE_EXTENSIONS = new HashSet<>(Arrays.asList(".zip", ".tar", ".jar"));
+    private static final Set<String> MANIFEST_FILES = new HashSet<>(Arrays.asList(PLUGIN_JSON, TOOLS_JSON));
+    private static final int BUFFER_SIZE = 8192;
 
     /**
      * 将 {@link Object} 类型数据转化为 {@link String} 类型数据。
@@ -93,23 +105,6 @@ public class FormatFileUtils {
         throw new ModelEngineException(PluginRetCode.NO_PLUGIN_FOUND_ERROR);
     }
 
-    /**
-     * 表示获取插件包内的插件文件。
-     *
-     * @param tempDir 表示插件包解压后的插件文件的 {@link File}。
-     * @param targetFileName 表示目标文件名的 {@link String}。
-     * @return 表示获取到的目标文件的 {@link File}。
-     */
-    public static File getFileByName(File tempDir, String targetFileName) {
-        File[] files = notNull(tempDir.listFiles(), "The file in the plugin cannot be null.");
-        for (File file : files) {
-            if (file.getName().equals(targetFileName)) {
-                return file;
-            }
-        }
-        throw new ModelEngineException(PluginRetCode.FILE_MISSING_ERROR, targetFileName);
-    }
-
     /**
      * 将文件的 json 内容转换为 map 格式数据。
      *
@@ -127,59 +122,113 @@ public class FormatFileUtils {
     }
 
     /**
-     * 解压插件文件。
+     * 以流的方式读取上传的插件包。
+     * <p>只读取一遍上传内容：配置文件读入内存，插件源文件写入本次上传独占的目录并同时计算 sha-256 校验值，
+     * 其余文件直接跳过。读取过程中限制解压后的总大小与单个配置文件的大小。</p>
      *
-     * @param file 表示待解压的插件文件的 {@link FileEntity}。
-     * @return 表示解压后的插件目录的 {@link File}。
+     * @param file 表示上传的插件包的 {@link FileEntity}。
+     * @param maxPackageSize 表示插件包解压后允许的最大字节数的 {@code long}。
+     * @param maxManifestSize 表示单个配置文件允许的最大字节数的 {@code long}。
+     * @return 表示读取结果的 {@link PluginPackage}。
      */
-    public static File unzipPlugin(FileEntity file) {
+    public static PluginPackage readPluginPackage(FileEntity file, long maxPackageSize, long maxManifestSize) {
+        return readPluginPackage(file, new File(TEMPORARY_TOOL_PATH), maxPackageSize, maxManifestSize);
+    }
+
+    static PluginPackage readPluginPackage(FileEntity file, File baseDir, long maxPackageSize, long maxManifestSize) {
         String filename = file.filename();
         if (!filename.endsWith(".zip")) {
             throw new ModelEngineException(PluginRetCode.UPLOADED_FILE_FORMAT_ERROR);
         }
-        File targetTemporaryFile = Paths.get(TEMPORARY_TOOL_PATH, UuidUtils.randomUuidString()).toFile();
-        storeTemporaryFile(filename, file, targetTemporaryFile);
-        log.info("Save the file to the temporary file directory. [fileName='{}']", filename);
-        File tempDir = new File(TEMPORARY_TOOL_PATH, "unzip");
+        File directory = new File(baseDir, UuidUtils.randomUuidString());
         try {
-            FileUtils.unzip(targetTemporaryFile).target(tempDir).start();
+            FileUtils.ensureDirectory(directory);
+            PluginPackage pluginPackage = readEntries(file, directory, maxPackageSize, maxManifestSize);
+            log.info("Read the plugin package. [fileName='{}', directory='{}']", filename, directory.getName());
+            return pluginPackage;
         } catch (IOException | SecurityException e) {
-            FileUtils.delete(targetTemporaryFile);
-            FileUtils.delete(tempDir);
+            FileUtils.delete(directory);
             throw new ModelEngineException(PluginRetCode.UNZIP_FILE_ERROR, e, filename);
+        } catch (RuntimeException e) {
+            FileUtils.delete(directory);
+            throw e;
         }
-        FileUtils.delete(targetTemporaryFile);
-        return tempDir;
     }
 
-    /**
-     * 将上传的文件临时存储到指定的目录。
-     *
-     * @param fileName 表示上传文件的文件名的 {@link String}。
-     * @param file 表示上传文件的 {@link FileEntity}。
-     * @param targetFile 表示目标文件的 {@link File}。
-     */
-    private static void storeTemporaryFile(String fileName, FileEntity file, File targetFile) {
-        File targetDirectory = targetFile.getParentFile();
-        try {
-            FileUtils.ensureDirectory(targetDirectory);
-        } catch (IOException e) {
-            throw new IllegalStateException(StringUtils.format(
-                    "Failed to create directories for the file. [fileName='{0}']",
-                    fileName), e);
+    private static PluginPackage readEntries(FileEntity file, File directory, long maxPackageSize,
+            long maxManifestSize) throws IOException {
+        Map<String, byte[]> manifests = new HashMap<>();
+        File compressedFile = null;
+        String checksum = null;
+        long remaining = maxPackageSize;
+        Supplier<ModelEngineException> packageExceeded = exceeded(StringUtils.format(
+                "The plugin package cannot exceed {0} bytes after decompression",
+                maxPackageSize));
+        try (ZipInputStream zip = new ZipInputStream(file.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                // 只处理插件包根目录下的文件，其余条目只计入大小，不写入磁盘。
+                boolean isRootFile = !entry.isDirectory() && !name.contains("/") && !name.contains("\\");
+                if (isRootFile && MANIFEST_FILES.contains(name) && !manifests.containsKey(name)) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    Supplier<ModelEngineException> onExceeded = remaining < maxManifestSize
+                            ? packageExceeded
+                            : exceeded(StringUtils.format("The file cannot exceed {0} bytes. [file={1}]",
+                                    maxManifestSize,
+                                    name));
+                    remaining -= copy(zip, out, Math.min(remaining, maxManifestSize), onExceeded);
+                    manifests.put(name, out.toByteArray());
+                } else if (isRootFile && compressedFile == null
+                        && COMPRESSED_FILE_EXTENSIONS.contains(FileUtils.extension(name))) {
+                    File target = new File(directory, name);
+                    MessageDigest digest = sha256();
+                    try (OutputStream out = new DigestOutputStream(Files.newOutputStream(target.toPath()), digest)) {
+                        remaining -= copy(zip, out, remaining, packageExceeded);
+                    }
+                    compressedFile = target;
+                    checksum = toHex(digest.digest());
+                } else {
+                    remaining -= copy(zip, null, remaining, packageExceeded);
+                }
+            }
         }
+        return new PluginPackage(directory, manifests, compressedFile, checksum);
+    }
 
-        try (InputStream inStream = file.getInputStream();
-             OutputStream outStream = Files.newOutputStream(targetFile.toPath())) {
-            byte[] buffer = new byte[4096];
-            int bytesRead;
-            while ((bytesRead = inStream.read(buffer)) != -1) {
-                outStream.write(buffer, 0, bytesRead);
+    private static long copy(InputStream in, OutputStream out, long limit, Supplier<ModelEngineException> onExceeded)
+            throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long count = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            count += read;
+            if (count > limit) {
+                throw onExceeded.get();
+            }
+            if (out != null) {
+                out.write(buffer, 0, read);
             }
-        } catch (IOException e) {
-            FileUtils.delete(targetFile.getPath());
-            throw new IllegalStateException(StringUtils.format("Failed to write file. [fileName='{0}']", fileName), e);
         }
+        return count;
+    }
+
+    private static Supplier<ModelEngineException> exceeded(String cause) {
+        return () -> new ModelEngineException(PluginRetCode.UPLOAD_EXCEEDED_LIMIT_FIELD, cause);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("The sha-256 algorithm is not supported.", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        return IntStream.range(0, bytes.length)
+                .mapToObj(i -> String.format("%02x", bytes[i] & 0xFF))
+                .collect(Collectors.joining());
     }
 
     /**
@@ -193,9 +242,38 @@ public class FormatFileUtils {
     public static <T> T getFileInfo(File jsonFile, ObjectSerializer serializer, Class<T> typeClass) {
         notNull(jsonFile, "The json file cannot be null.");
         try (InputStream in = Files.newInputStream(jsonFile.toPath())) {
-            return serializer.deserialize(in, typeClass);
+            return deserialize(in, jsonFile.getName(), serializer, typeClass);
+        } catch (IOException e) {
+            throw new ModelEngineException(PluginRetCode.JSON_PARSE_ERROR, e);
+        }
+    }
+
+    /**
+     * 将插件包内配置文件的 json 内容转换为指定格式的对象格式数据。
+     *
+     * @param pluginPackage 表示读取后的插件包的 {@link PluginPackage}。
+     * @param fileName 表示配置文件名的 {@link String}。
+     * @param serializer 表示对象序列化的序列化器的 {@link ObjectSerializer}。
+     * @param typeClass 表示目标类型的 {@link Class}{@code <}{@link T}{@code >}。
+     * @return 表示转换后的对象的 {@link T}。
+     */
+    public static <T> T getFileInfo(PluginPackage pluginPackage, String fileName, ObjectSerializer serializer,
+            Class<T> typeClass) {
+        byte[] content = pluginPackage.getManifest(fileName);
+        if (content == null) {
+            throw new ModelEngineException(PluginRetCode.FILE_MISSING_ERROR, fileName);
+        }
+        try (InputStream in = new ByteArrayInputStream(content)) {
+            return deserialize(in, fileName, serializer, typeClass);
         } catch (IOException e) {
             throw new ModelEngineException(PluginRetCode.JSON_PARSE_ERROR, e);
+        }
+    }
+
+    private static <T> T deserialize(InputStream in, String fileName, ObjectSerializer serializer,
+            Class<T> typeClass) {
+        try {
+            return serializer.deserialize(in, typeClass);
         } catch (SerializationException e) {
             if (!(e.getCause() instanceof MismatchedInputException)) {
                 throw new ModelEngineException(PluginRetCode.JSON_PARSE_ERROR, e);
@@ -205,7 +283,7 @@ public class FormatFileUtils {
             String msg = StringUtils.format(
                     "The property in the file should be of a certain type. [property='{0}', file='{1}', type='{2}']",
                     path,
-                    jsonFile.getName(),
+                    fileName,
                     ex.getTargetType().getName());
             throw new ModelEngineException(PluginRetCode.JSON_PARSE_ERROR, msg);
         }
@@ -0,0 +1,89 @@
+/*---------------------------------------------------------------------------------------------
+ *  Copyright (c) 2025 Huawei Technologies Co., Ltd. All rights reserved.
+ *  This file is a part of the ModelEngine Project.
+ *  Licensed under the MIT License. See License.txt in the project root for license information.
+ *--------------------------------------------------------------------------------------------*/
+
+package modelengine.jade.store.tool.upload.utils;
+
+import static modelengine.fitframework.inspection.Validation.notNull;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 表示一次读取上传插件包的结果。
+ * <p>配置文件的内容保存在内存中，插件源文件写入本次上传独占的目录，校验值在写入的同时计算得到。</p>
+ *
+ * @author 李金绪
+ * @since 2025-04-30
+ */
+public class PluginPackage {
+    private final File directory;
+    private final Map<String, byte[]> manifests;
+    private final File compressedFile;
+    private final String checksum;
+
+    /**
+     * 构造一个 {@link PluginPackage} 的新实例。
+     *
+     * @param directory 表示本次上传独占目录的 {@link File}。
+     * @param manifests 表示配置文件名到文件内容的 {@link Map}{@code <}{@link String}{@code , byte[]>}。
+     * @param compressedFile 表示插件源文件的 {@link File}，不存在时为 {@code null}。
+     * @param checksum 表示插件源文件 sha-256 校验值的 {@link String}，不存在时为 {@code null}。
+     */
+    public PluginPackage(File directory, Map<String, byte[]> manifests, File compressedFile, String checksum) {
+        this.directory = notNull(directory, "The directory cannot be null.");
+        this.manifests = Collections.unmodifiableMap(notNull(manifests, "The manifests cannot be null."));
+        this.compressedFile = compressedFile;
+        this.checksum = checksum;
+    }
+
+    /**
+     * 获取本次上传独占的目录，目录内只包含插件源文件。
+     *
+     * @return 表示本次上传独占目录的 {@link File}。
+     */
+    public File getDirectory() {
+        return this.directory;
+    }
+
+    /**
+     * 判断插件包内是否包含指定的配置文件。
+     *
+     * @param fileName 表示配置文件名的 {@link String}。
+     * @return 如果包含则返回 {@code true}，否则返回 {@code false}。
+     */
+    public boolean hasManifest(String fileName) {
+        return this.manifests.containsKey(fileName);
+    }
+
+    /**
+     * 获取指定配置文件的内容。
+     *
+     * @param fileName 表示配置文件名的 {@link String}。
+     * @return 表示配置文件内容的 {@code byte[]}，不存在时为 {@code null}。
+     */
+    public byte[] getManifest(String fileName) {
+        return this.manifests.get(fileName);
+    }
+
+    /**
+     * 获取插件源文件。
+     *
+     * @return 表示插件源文件的 {@link File}，不存在时为 {@code null}。
+     */
+    public File getCompressedFile() {
+        return this.compressedFile;
+    }
+
+    /**
+     * 获取插件源文件的 sha-256 校验值。
+     *
+     * @return 表示十六进制小写校验值的 {@link String}，不存在时为 {@code null}。
+     */
+    public String getChecksum() {
+        return this.checksum;
+    }
+}
@@ -6,6 +6,7 @@
 
 package modelengine.jade.store.tool.upload.support;
 
+import static modelengine.fel.tool.info.schema.PluginSchema.PLUGIN_JSON;
 import static modelengine.fitframework.util.ObjectUtils.cast;
 import static modelengine.jade.store.tool.upload.support.BasicValidator.buildBlankParserException;
 import static modelengine.jade.store.tool.upload.support.BasicValidator.buildEmptyParserException;
@@ -41,6 +42,7 @@ import modelengine.jade.store.service.ToolGroupService;
 import modelengine.jade.store.tool.upload.config.PluginUploadConstraintConfig;
 import modelengine.jade.store.tool.upload.support.processor.DefinitionProcessor;
 import modelengine.jade.store.tool.upload.support.processor.ToolProcessor;
+import modelengine.jade.store.tool.upload.utils.PluginPackage;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -71,6 +73,8 @@ public class BasicValidatorTest {
     private static final String TEMP_DIR_PATH = "src/test/resources/temp";
     private static final String NEW_TOOL_JSON = "src/test/resources/tools.json";
     private static final String MOCK_TOOLS_PATH = "/mock/store/tools/";
+    private static final String EMPTY_FILE_CHECKSUM =
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855";
 
     private final ObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
     private PluginService pluginService;
@@ -134,20 +138,16 @@ public class BasicValidatorTest {
     @Test
     @DisplayName("当缺少指定文件时，抛出异常")
     void shouldExWhenMissFile() {
-        assertThatThrownBy(() -> {
-            File tempDir = new File(TEMP_DIR_PATH);
-            validateNecessaryFiles(tempDir);
-        }).isInstanceOf(ModelEngineException.class)
+        assertThatThrownBy(() -> validateNecessaryFiles(this.tempPluginPackage())).isInstanceOf(
+                        ModelEngineException.class)
                 .hasMessageContaining("The file to upload does not contain the configuration file.");
     }
 
     @Test
     @DisplayName("当完整性校验不一致时，抛出异常")
     void testValidateCompletenessWithValidChecksum() throws Exception {
-        assertThatThrownBy(() -> {
-            File tempDir = new File(TEMP_DIR_PATH);
-            validateCompleteness(tempDir, this.serializer);
-        }).isInstanceOf(ModelEngineException.class)
+        assertThatThrownBy(() -> validateCompleteness(this.tempPluginPackage(), this.serializer)).isInstanceOf(
+                        ModelEngineException.class)
                 .hasMessageContaining("Integrity check failed because the plugin has been modified.");
     }
 
@@ -181,6 +181,15 @@ public class BasicValidatorTest {
         assertThat(ex.getMessage()).contains("msg");
     }
 
+    private PluginPackage tempPluginPackage() throws IOException {
+        File tempDir = new File(TEMP_DIR_PATH);
+        byte[] pluginJson = Files.readAllBytes(Paths.get(TEMP_DIR_PATH, PLUGIN_JSON));
+        return new PluginPackage(tempDir,
+                Collections.singletonMap(PLUGIN_JSON, pluginJson),
+                new File(tempDir, "empty.zip"),
+                EMPTY_FILE_CHECKSUM);
+    }
+
     private void deleteZipFiles() {
         File dir = new File(TEMP_DIR_PATH);
         File[] zipFiles = dir.listFiles((d, name) -> name.endsWith(".zip"));
@@ -10,10 +10,10 @@ import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.buildDefG
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getFileInfo;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.getJsonInfo;
 import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.objToMap;
-import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.unzipPlugin;
+import static modelengine.jade.store.tool.upload.utils.FormatFileUtils.readPluginPackage;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -21,18 +21,22 @@ import modelengine.fel.tool.info.entity.SchemaEntity;
 import modelengine.fel.tool.info.entity.ToolJsonEntity;
 import modelengine.fit.http.entity.FileEntity;
 import modelengine.fit.serialization.json.jackson.JacksonObjectSerializer;
-import modelengine.fitframework.util.FileUtils;
 import modelengine.jade.common.exception.ModelEngineException;
+import modelengine.jade.store.code.PluginRetCode;
 
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.zip.ZipEntry;
@@ -48,8 +52,14 @@ import java.util.zip.ZipOutputStream;
 public class FormatFileUtilsTest {
     private static final String NEW_TOOL_JSON = "src/test/resources/tools.json";
 
+    private static final long MAX_PACKAGE_SIZE = 1024L * 1024;
+    private static final long MAX_MANIFEST_SIZE = 1024L;
+
     private final JacksonObjectSerializer serializer = new JacksonObjectSerializer(null, null, null, true);
 
+    @TempDir
+    private Path baseDir;
+
     @Test
     @DisplayName("当转换为字符串时，成功")
     void shouldOkWhenReturnString() {
@@ -75,19 +85,6 @@ public class FormatFileUtilsTest {
         assertThat(files.length).isEqualTo(2);
     }
 
-    @Test
-    @DisplayName("当获取指定文件时，成功")
-    void shouldOkWhenGetFileByName() {
-        File tempDir = mock(File.class);
-        File expectedFile = mock(File.class);
-        File[] files = {expectedFile};
-        String targetFileName = "testFile.txt";
-        when(tempDir.listFiles()).thenReturn(files);
-        when(expectedFile.getName()).thenReturn(targetFileName);
-        File result = FormatFileUtils.getFileByName(tempDir, targetFileName);
-        assertThat(result.getName()).isEqualTo(targetFileName);
-    }
-
     @Test
     @DisplayName("当 json 转 map 时，成功")
     void shouldOkWhenJsonFileToMap() {
@@ -122,22 +119,98 @@ public class FormatFileUtilsTest {
     }
 
     @Test
-    @DisplayName("给定错误的 zip 文件，解压报错")
-    @Disabled("配置目录不能写死")
-    void givenErrorZipFileThenCatchException() throws IOException {
-        File zipFile = new File("test-archive.zip");
-        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipFile.toPath()))) {
-            ZipEntry entry = new ZipEntry("../unauthorized-file.txt");
-            zos.putNextEntry(entry);
-            zos.write("Malicious content".getBytes(StandardCharsets.UTF_8));
-            zos.closeEntry();
+    @DisplayName("读取插件包时，一次读取得到配置文件、插件源文件及其校验值")
+    void shouldReadManifestsAndChecksumWhenReadPluginPackage() throws Exception {
+        byte[] jar = new byte[64 * 1024];
+        for (int i = 0; i < jar.length; i++) {
+            jar[i] = (byte) (i * 31);
+        }
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("tool.jar", jar);
+        entries.put("lib/dependency.py", "print('dependency')".getBytes(StandardCharsets.UTF_8));
+        entries.put("plugin.json", "{\"name\":\"plugin\"}".getBytes(StandardCharsets.UTF_8));
+        entries.put("tools.json", "{}".getBytes(StandardCharsets.UTF_8));
+
+        PluginPackage pluginPackage = this.read(entries);
+
+        assertThat(pluginPackage.getManifest("plugin.json")).isEqualTo(entries.get("plugin.json"));
+        assertThat(pluginPackage.hasManifest("tools.json")).isTrue();
+        assertThat(pluginPackage.getChecksum()).isEqualTo(sha256(jar));
+        assertThat(pluginPackage.getDirectory().list()).containsExactly("tool.jar");
+        assertThat(pluginPackage.getCompressedFile()).hasBinaryContent(jar);
+    }
+
+    @Test
+    @DisplayName("多次读取插件包时，每次使用独立的目录")
+    void shouldUseSeparateDirectoryWhenReadPluginPackageTwice() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("tool.jar", new byte[] {1, 2, 3});
+
+        PluginPackage first = this.read(entries);
+        PluginPackage second = this.read(entries);
+
+        assertThat(first.getDirectory()).isNotEqualTo(second.getDirectory());
+        assertThat(first.getCompressedFile()).exists();
+        assertThat(second.getCompressedFile()).exists();
+    }
+
+    @Test
+    @DisplayName("插件包解压后超过大小限制时，停止读取并清理目录")
+    void shouldFailAndCleanWhenPackageExceedsLimit() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("tool.jar", new byte[(int) MAX_PACKAGE_SIZE + 1]);
+
+        ModelEngineException exception = catchThrowableOfType(() -> this.read(entries), ModelEngineException.class);
+
+        assertThat(exception.getCode()).isEqualTo(PluginRetCode.UPLOAD_EXCEEDED_LIMIT_FIELD.getCode());
+        assertThat(this.baseDir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("配置文件超过大小限制时，抛出异常")
+    void shouldFailWhenManifestExceedsLimit() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("tools.json", new byte[(int) MAX_MANIFEST_SIZE + 1]);
+
+        ModelEngineException exception = catchThrowableOfType(() -> this.read(entries), ModelEngineException.class);
+
+        assertThat(exception.getCode()).isEqualTo(PluginRetCode.UPLOAD_EXCEEDED_LIMIT_FIELD.getCode());
+        assertThat(this.baseDir.toFile().list()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("插件包内的文件路径越出目录时，不写入磁盘")
+    void shouldIgnoreEntryWhenPathEscapesDirectory() throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        entries.put("../unauthorized-file.jar", "Malicious content".getBytes(StandardCharsets.UTF_8));
+
+        PluginPackage pluginPackage = this.read(entries);
+
+        assertThat(pluginPackage.getCompressedFile()).isNull();
+        assertThat(pluginPackage.getDirectory().list()).isEmpty();
+        assertThat(this.baseDir.resolve("unauthorized-file.jar")).doesNotExist();
+    }
+
+    private PluginPackage read(Map<String, byte[]> entries) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ZipOutputStream zos = new ZipOutputStream(out)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                zos.putNextEntry(new ZipEntry(entry.getKey()));
+                zos.write(entry.getValue());
+                zos.closeEntry();
+            }
         }
         FileEntity fileEntity = mock(FileEntity.class);
-        when(fileEntity.filename()).thenReturn("test-archive.zip");
-        when(fileEntity.getInputStream()).thenReturn(Files.newInputStream(zipFile.toPath()));
-        ModelEngineException modelEngineException =
-                assertThrows(ModelEngineException.class, () -> unzipPlugin(fileEntity));
-        assertThat(modelEngineException.getMessage()).isEqualTo("Failed to unzip plugin file. [file=test-archive.zip]");
-        FileUtils.delete(zipFile);
+        when(fileEntity.filename()).thenReturn("plugin.zip");
+        when(fileEntity.getInputStream()).thenReturn(new ByteArrayInputStream(out.toByteArray()));
+        return readPluginPackage(fileEntity, this.baseDir.toFile(), MAX_PACKAGE_SIZE, MAX_MANIFEST_SIZE);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+            builder.append(String.format("%02x", b & 0xFF));
+        }
+        return builder.toString();
     }
-}
\ No newline at end of file
+}